@@ -0,0 +1,110 @@
+package vrptwfl.metaheuristic.benchmark;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Random;
+
+import vrptwfl.metaheuristic.Config;
+import vrptwfl.metaheuristic.MainALNS;
+import vrptwfl.metaheuristic.alns.insertions.RegretInsertion;
+import vrptwfl.metaheuristic.common.Solution;
+import vrptwfl.metaheuristic.data.Data;
+import vrptwfl.metaheuristic.exceptions.ArgumentOutOfBoundsException;
+import vrptwfl.metaheuristic.instanceGeneration.SolomonInstanceGenerator;
+
+/**
+ * Deterministic fixtures for the micro-benchmarks.
+ * The fixtures are built from the bundled Solomon instances. Hospital-like fixtures
+ * are derived from a Solomon instance by adding skill levels, predecessor jobs
+ * and location capacities (all drawn from a seeded random generator).
+ * 
+ * @author Christian M.M. Frey
+ *
+ */
+public class BenchmarkFixtures {
+	
+	public static final String CONFIG_FILE = "resources/config.yaml";
+	public static final long SEED = 42;
+	
+	/**
+	 * Loads the default configuration, seeds it and binds it to the current thread.
+	 * Has to be called by the thread executing the benchmark (i.e., in a setup method
+	 * of a thread scoped state).
+	 * @return configuration object
+	 */
+	public static Config bindConfig() {
+		Config config = Config.loadFromFile(CONFIG_FILE);
+		config.randomGenerator = new Random(SEED);
+		Config.bindToCurrentThread(config);
+		return config;
+	}
+	
+	/**
+	 * Creates the data object of a fixture.
+	 * @param kind: kind of the fixture ('solomon' or 'hospital')
+	 * @param instanceName: name of the Solomon instance the fixture is built from
+	 * @param nCustomers: number of customers
+	 * @return data object
+	 * @throws ArgumentOutOfBoundsException
+	 * @throws IOException
+	 */
+	public static Data createData(String kind, String instanceName, int nCustomers) throws ArgumentOutOfBoundsException, IOException {
+		Data data = new SolomonInstanceGenerator().loadInstance(instanceName + ".txt", nCustomers);
+		if ("hospital".equals(kind))
+			makeHospitalLike(data, new Random(SEED));
+		MainALNS.setInstanceSpecificParameters(data.getnCustomers(), data.getMaxDistanceInGraph());
+		// as done by the ALNSCore
+		if (Config.getInstance().enableGLS || Config.getInstance().enableGLSFeature)
+			data.initGLSSettings();
+		return data;
+	}
+	
+	/**
+	 * Adds the characteristics of hospital instances to a Solomon data object:
+	 * required skill levels of customers (0-2), skill levels of vehicles (0-2),
+	 * predecessor jobs (every fourth customer requires its preceding customer)
+	 * and location capacities (1-3).
+	 * @param data: data object (Solomon instance)
+	 * @param random: seeded random generator
+	 */
+	private static void makeHospitalLike(Data data, Random random) {
+		int[] requiredSkillLvl = new int[data.getRequiredSkillLvl().length];
+		for (int i = 1; i < requiredSkillLvl.length; i++)
+			requiredSkillLvl[i] = random.nextInt(3);
+		data.setRequiredSkillLvl(requiredSkillLvl);
+		
+		int[] vehiclesSkillLvl = new int[data.getnVehicles()];
+		for (int i = 0; i < vehiclesSkillLvl.length; i++)
+			vehiclesSkillLvl[i] = random.nextInt(3);
+		data.setVehiclesSkillLvl(vehiclesSkillLvl);
+		
+		HashMap<Integer, ArrayList<Integer>> predCustomers = new HashMap<Integer, ArrayList<Integer>>();
+		for (int customer : data.getOriginalCustomerIds()) {
+			ArrayList<Integer> preds = new ArrayList<Integer>();
+			if (customer > 1 && customer % 4 == 0)
+				preds.add(customer - 1);
+			predCustomers.put(customer, preds);
+		}
+		data.setPredCustomers(predCustomers);
+		
+		int[] locationCapacity = new int[data.getLocationCapacity().length];
+		for (int i = 0; i < locationCapacity.length; i++)
+			locationCapacity[i] = 1 + random.nextInt(3);
+		data.setLocationCapacity(locationCapacity);
+	}
+	
+	/**
+	 * Creates the initial solution of a fixture (2-regret insertion without backtracking).
+	 * @param data: data object
+	 * @return initial solution
+	 * @throws ArgumentOutOfBoundsException
+	 */
+	public static Solution createInitialSolution(Data data) throws ArgumentOutOfBoundsException {
+		Solution emptySolution = Solution.getEmptySolution(data);
+		emptySolution.setIsConstruction(true);
+		Solution solution = new RegretInsertion(2, data).solve(emptySolution);
+		solution.setIsConstruction(false);
+		return solution;
+	}
+}
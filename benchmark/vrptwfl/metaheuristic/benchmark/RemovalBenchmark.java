@@ -0,0 +1,107 @@
+package vrptwfl.metaheuristic.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import vrptwfl.metaheuristic.Config;
+import vrptwfl.metaheuristic.alns.removals.AbstractRemoval;
+import vrptwfl.metaheuristic.alns.removals.ClusterKruskalRemoval;
+import vrptwfl.metaheuristic.alns.removals.LocationRelatedRemoval;
+import vrptwfl.metaheuristic.alns.removals.RandomRemoval;
+import vrptwfl.metaheuristic.alns.removals.RandomRouteRemoval;
+import vrptwfl.metaheuristic.alns.removals.ShawSimplifiedRemoval;
+import vrptwfl.metaheuristic.alns.removals.TimeOrientedRemoval;
+import vrptwfl.metaheuristic.alns.removals.WorstRemoval;
+import vrptwfl.metaheuristic.common.Solution;
+import vrptwfl.metaheuristic.data.Data;
+
+/**
+ * Micro-benchmarks of the destroy operators which only depend on the data object
+ * (the historic operators require the state of a running ALNS). Every invocation
+ * destroys a fresh copy of the initial solution; the copy is prepared outside
+ * of the measurement.
+ * 
+ * @author Christian M.M. Frey
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RemovalBenchmark {
+	
+	@Param({"solomon", "hospital"})
+	public String kind;
+	
+	@Param({"R101", "C101", "RC101"})
+	public String instanceName;
+	
+	@Param({"100"})
+	public int nCustomers;
+	
+	@Param({"random", "randomRoute", "worst", "shaw", "timeOriented", "clusterKruskal", "locationRelated"})
+	public String operator;
+	
+	private Solution initialSolution;
+	private Solution solution;
+	private AbstractRemoval removal;
+	
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		BenchmarkFixtures.bindConfig();
+		Data data = BenchmarkFixtures.createData(this.kind, this.instanceName, this.nCustomers);
+		this.initialSolution = BenchmarkFixtures.createInitialSolution(data);
+		this.removal = createRemoval(this.operator, data);
+	}
+	
+	@Setup(Level.Invocation)
+	public void copySolution() {
+		this.solution = this.initialSolution.copyDeep();
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		Config.bindToCurrentThread(null);
+	}
+	
+	@Benchmark
+	public List<Integer> destroy() throws Exception {
+		return this.removal.destroy(this.solution);
+	}
+	
+	/**
+	 * Creates the destroy operator with the attached name.
+	 * @param operator: name of the operator
+	 * @param data: data object
+	 * @return destroy operator
+	 * @throws Exception
+	 */
+	private static AbstractRemoval createRemoval(String operator, Data data) throws Exception {
+		switch (operator) {
+		case "random": return new RandomRemoval(data);
+		case "randomRoute": return new RandomRouteRemoval(data);
+		case "worst": return new WorstRemoval(data, false);
+		case "shaw": return new ShawSimplifiedRemoval(data, false);
+		case "timeOriented": return new TimeOrientedRemoval(data, false, 1.0);
+		case "clusterKruskal": return new ClusterKruskalRemoval(data);
+		case "locationRelated": return new LocationRelatedRemoval(data);
+		default: throw new IllegalArgumentException("Unknown removal operator " + operator);
+		}
+	}
+}
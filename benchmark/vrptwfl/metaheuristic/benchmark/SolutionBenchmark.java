@@ -0,0 +1,77 @@
+package vrptwfl.metaheuristic.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import vrptwfl.metaheuristic.Config;
+import vrptwfl.metaheuristic.common.Solution;
+import vrptwfl.metaheuristic.data.Data;
+
+/**
+ * Micro-benchmarks of the solution kernels: deep copies and the cost calculation
+ * (routing, swapping and penalty costs) with the fixed and the dynamic cost function.
+ * 
+ * @author Christian M.M. Frey
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SolutionBenchmark {
+	
+	@Param({"solomon", "hospital"})
+	public String kind;
+	
+	@Param({"R101", "C101", "RC101"})
+	public String instanceName;
+	
+	@Param({"100"})
+	public int nCustomers;
+	
+	private Solution solution;
+	
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		BenchmarkFixtures.bindConfig();
+		Data data = BenchmarkFixtures.createData(this.kind, this.instanceName, this.nCustomers);
+		this.solution = BenchmarkFixtures.createInitialSolution(data);
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		Config.bindToCurrentThread(null);
+	}
+	
+	@Benchmark
+	public Solution copyDeep() {
+		return this.solution.copyDeep();
+	}
+	
+	@Benchmark
+	public double calculateTotalCostsFixed() {
+		this.solution.calculateTotalCosts(true);
+		return this.solution.getTotalCosts();
+	}
+	
+	@Benchmark
+	public double calculateTotalCostsDynamic() {
+		this.solution.calculateTotalCosts(false);
+		return this.solution.getTotalCosts();
+	}
+}
@@ -0,0 +1,82 @@
+package vrptwfl.metaheuristic.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import vrptwfl.metaheuristic.Config;
+import vrptwfl.metaheuristic.alns.removals.RandomRemoval;
+import vrptwfl.metaheuristic.common.InsertionCandidates;
+import vrptwfl.metaheuristic.common.Solution;
+import vrptwfl.metaheuristic.common.Vehicle;
+import vrptwfl.metaheuristic.data.Data;
+
+/**
+ * Micro-benchmark of the insertion kernel: evaluates the possible insertions
+ * of all unassigned customers into all vehicles (as done by the repair operators
+ * in every step). The unassigned customers are obtained by a seeded random removal
+ * applied on the initial solution.
+ * 
+ * @author Christian M.M. Frey
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VehicleBenchmark {
+	
+	@Param({"solomon", "hospital"})
+	public String kind;
+	
+	@Param({"R101", "C101", "RC101"})
+	public String instanceName;
+	
+	@Param({"100"})
+	public int nCustomers;
+	
+	private Data data;
+	private Solution solution;
+	private int[] unassigned;
+	private InsertionCandidates candidates;
+	
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		BenchmarkFixtures.bindConfig();
+		this.data = BenchmarkFixtures.createData(this.kind, this.instanceName, this.nCustomers);
+		this.solution = BenchmarkFixtures.createInitialSolution(this.data);
+		new RandomRemoval(this.data).destroy(this.solution);
+		this.unassigned = this.solution.getNotAssignedCustomers().toIntArray();
+		this.candidates = new InsertionCandidates();
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		Config.bindToCurrentThread(null);
+	}
+	
+	@Benchmark
+	public void getPossibleInsertions(Blackhole blackhole) {
+		for (int customer : this.unassigned) {
+			for (Vehicle v : this.solution.getVehicles()) {
+				this.candidates.clear();
+				blackhole.consume(v.getPossibleInsertions(customer, this.data, this.solution, this.candidates));
+			}
+		}
+	}
+}
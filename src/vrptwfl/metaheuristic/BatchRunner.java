@@ -0,0 +1,228 @@
+package vrptwfl.metaheuristic;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.yaml.snakeyaml.Yaml;
+
+import vrptwfl.metaheuristic.common.Solution;
+import vrptwfl.metaheuristic.data.Data;
+
+/**
+ * Batch runner solving many instances within one JVM.
+ * A manifest (yaml) defines the instances, the random seeds and the configuration
+ * files. Each combination (instance x seed x config) is scheduled as an individual run
+ * on a bounded worker pool. Every run uses its own configuration object (bound to the
+ * worker thread) and writes its logs into its own output directory. After all runs
+ * are finished, an aggregated results table is written.
+ *
+ * Manifest format:
+ * <pre>
+ * instances: [R101, C101, hospital_instance_i040_b1_f6_v01]
+ * n_customers: 100     # number of customers for solomon instances
+ * seeds: [1, 2, 3]
+ * configs: [config.yaml]  # relative to the resources folder
+ * workers: 4
+ * </pre>
+ *
+ * @author Christian M.M. Frey
+ */
+public class BatchRunner {
+
+	private List<String> instances;
+	private List<Integer> seeds;
+	private List<String> configs;
+	private int nCustomers;
+	private int workers;
+	private String outDir;
+
+	/**
+	 * Constructor of the batch runner. Loads the attached manifest.
+	 * @param manifestFile: path to the yaml manifest
+	 * @param outDir: output directory of the batch
+	 */
+	@SuppressWarnings("unchecked")
+	public BatchRunner(String manifestFile, String outDir) {
+		this.outDir = outDir;
+
+		Map<String, Object> manifest = null;
+		try (InputStream inputStream = new FileInputStream(new File(manifestFile))) {
+			manifest = new Yaml().load(inputStream);
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Could not read batch manifest " + manifestFile, e);
+		}
+
+		this.instances = new ArrayList<String>();
+		for (Object instance : (List<Object>) manifest.get("instances"))
+			this.instances.add(String.valueOf(instance));
+		this.seeds = manifest.get("seeds") != null ? (List<Integer>) manifest.get("seeds") : List.of(42);
+		this.configs = manifest.get("configs") != null ? (List<String>) manifest.get("configs") : List.of("config.yaml");
+		this.nCustomers = manifest.get("n_customers") != null ? (int) manifest.get("n_customers") : 100;
+		this.workers = manifest.get("workers") != null ? (int) manifest.get("workers") : 1;
+	}
+
+	/**
+	 * Runs all combinations (instance x seed x config) of the manifest and writes
+	 * the aggregated results table.
+	 */
+	public void run() {
+		// every run writes into its own output sink, only the results file is shared (appended atomically)
+		ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, this.workers));
+		List<Future<List<RunResult>>> futures = new ArrayList<Future<List<RunResult>>>();
+		for (String config : this.configs)
+			for (String instanceName : this.instances)
+				for (int seed : this.seeds)
+					futures.add(pool.submit(() -> this.solve(instanceName, config, seed)));
+		pool.shutdown();
+
+		List<RunResult> results = new ArrayList<RunResult>();
+		for (Future<List<RunResult>> future : futures) {
+			try {
+				results.addAll(future.get());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break;
+			} catch (ExecutionException e) {
+				e.getCause().printStackTrace();
+			}
+		}
+
+		results.sort(Comparator.comparing((RunResult r) -> r.config).thenComparing(r -> r.instanceName).thenComparing(r -> r.seed));
+		this.writeResults(results);
+		this.writeSummary(results);
+	}
+
+	/**
+	 * Solves a single run of the batch. The configuration is loaded from its file,
+	 * seeded and bound to the current worker thread for the duration of the run.
+	 * @param instanceName: name of the instance
+	 * @param configName: name of the configuration file (in resources folder)
+	 * @param seed: random seed of the run
+	 * @return results of the run (one entry per data object, e.g. morning and evening problem)
+	 * @throws Exception
+	 */
+	private List<RunResult> solve(String instanceName, String configName, int seed) throws Exception {
+		Config config = Config.loadFromFile("resources/" + configName);
+		config.randomGenerator = new Random(seed);
+		Config.bindToCurrentThread(config);
+
+		List<RunResult> results = new ArrayList<RunResult>();
+		try {
+			boolean isSolomonInstance = !instanceName.contains("hospital_instance");
+			Data[] data = isSolomonInstance ? MainALNS.loadSolomonInstance(instanceName, this.nCustomers) : MainALNS.loadHospitalInstance(instanceName);
+			String runDir = this.outDir + "/" + stripExtension(configName) + "/seed_" + seed;
+
+			for (Data d : data) {
+				config.optimalityGapValue = Double.MAX_VALUE;
+				long startTime = System.currentTimeMillis();
+				MainALNS algo = new MainALNS(instanceName, isSolomonInstance);
+				Solution solution = algo.runALNS(d, instanceName, "results.txt", runDir);
+				results.add(new RunResult(instanceName, d.getInstanceName(), configName, seed, solution,
+						System.currentTimeMillis() - startTime, config.optimalityGapValue));
+			}
+		} finally {
+			Config.bindToCurrentThread(null);
+		}
+		return results;
+	}
+
+	/**
+	 * Writes the results of all runs (one line per run and data object).
+	 * @param results: results of all runs
+	 */
+	private void writeResults(List<RunResult> results) {
+		new File(this.outDir).mkdirs();
+		try (FileWriter writer = new FileWriter(this.outDir + "/batch_results.csv")) {
+			writer.write("config;instance;dataName;seed;totalCosts;tourCosts;penaltyCosts;nUnassigned;feasible;timeElapsed;gap\n");
+			for (RunResult r : results)
+				writer.write(r.config + ";" + r.instanceName + ";" + r.dataName + ";" + r.seed + ";" + r.totalCosts + ";" + r.tourCosts + ";"
+						+ r.penaltyCosts + ";" + r.nUnassigned + ";" + r.feasible + ";" + r.timeElapsed + ";" + r.gap + "\n");
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Writes the aggregated results per configuration and data object
+	 * (number of runs, average/best costs, average gap and average time)
+	 * and prints them on the console.
+	 * @param results: results of all runs
+	 */
+	private void writeSummary(List<RunResult> results) {
+		Map<String, List<RunResult>> groups = new LinkedHashMap<String, List<RunResult>>();
+		for (RunResult r : results)
+			groups.computeIfAbsent(r.config + ";" + r.dataName, k -> new ArrayList<RunResult>()).add(r);
+
+		StringBuilder builder = new StringBuilder("config;dataName;runs;avgCosts;bestCosts;avgGap;avgTimeElapsed\n");
+		for (Map.Entry<String, List<RunResult>> group : groups.entrySet()) {
+			List<RunResult> runs = group.getValue();
+			double avgCosts = runs.stream().mapToDouble(r -> r.totalCosts).average().orElse(-1);
+			double bestCosts = runs.stream().mapToDouble(r -> r.totalCosts).min().orElse(-1);
+			double avgGap = runs.stream().mapToDouble(r -> r.gap).average().orElse(-1);
+			double avgTime = runs.stream().mapToLong(r -> r.timeElapsed).average().orElse(-1);
+			builder.append(group.getKey() + ";" + runs.size() + ";" + avgCosts + ";" + bestCosts + ";" + avgGap + ";" + Math.round(avgTime) + "\n");
+		}
+
+		System.out.println("=== BATCH SUMMARY ===");
+		System.out.print(builder.toString());
+		try (FileWriter writer = new FileWriter(this.outDir + "/batch_summary.csv")) {
+			writer.write(builder.toString());
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Removes the file extension of the attached file name.
+	 * @param fileName: file name
+	 * @return file name without extension
+	 */
+	private static String stripExtension(String fileName) {
+		int idx = fileName.lastIndexOf('.');
+		return idx > 0 ? fileName.substring(0, idx) : fileName;
+	}
+
+	/**
+	 * Result of a single run in the batch.
+	 */
+	private static class RunResult {
+		final String instanceName;
+		final String dataName;
+		final String config;
+		final int seed;
+		final double totalCosts;
+		final double tourCosts;
+		final double penaltyCosts;
+		final int nUnassigned;
+		final boolean feasible;
+		final long timeElapsed;
+		final double gap;
+
+		RunResult(String instanceName, String dataName, String config, int seed, Solution solution, long timeElapsed, double gap) {
+			this.instanceName = instanceName;
+			this.dataName = dataName;
+			this.config = config;
+			this.seed = seed;
+			this.totalCosts = solution.getTotalCosts();
+			this.tourCosts = solution.getVehicleTourCosts();
+			this.penaltyCosts = solution.getTotalPenalyCosts();
+			this.nUnassigned = solution.getNotAssignedCustomers().size();
+			this.feasible = solution.isFeasible();
+			this.timeElapsed = timeElapsed;
+			this.gap = gap == Double.MAX_VALUE ? -1 : gap;
+		}
+	}
+}
@@ -38,6 +38,8 @@ public class Config {
 
     // --- ALNS ---
     public int alnsIterations;
+    public long alnsTimeLimit;
+    public int alnsMaxIterationsWithoutImprovement;
     public int lowerBoundRemovals;
     public double lowerBoundRemovalsFactor;
     public int lowerBoundRemovalsMax;
@@ -59,6 +61,7 @@ public class Config {
     public double glsPenaltyInitValue;
     public double glsPenaltyIncrease;
     public double glsPenaltyReduction;
+    public int glsHistorySize;
     // GLS Feature-based
     public boolean enableGLSFeature;
     public double glsFeatureOmega;
@@ -181,6 +184,23 @@ public class Config {
     public boolean splitRegularShift;
     public boolean printHospitalLoaderInfo;
     
+    // --- DATA SNAPSHOTS (preprocessed instances) ---
+    public boolean useDataSnapshots;
+    public String dataSnapshotDir;
+    
+    // --- DISTANCE MATRIX (memory layout, see DistanceMatrix.Layout) ---
+    public String distanceMatrixLayout;
+    public boolean mapDistanceMatrices;
+    public String distanceMatrixDir;
+    
+    // --- METRICS (Prometheus text file export) ---
+    public boolean enableMetrics;
+    public String metricsDir;
+    public int metricsDumpInterval;
+    
+    // --- VALIDATION (shadow evaluation of the incremental solution state) ---
+    public int validationInterval;
+    
     // --- additional values (used for I/O) ---
     public double avgOptimalityGapValue = Double.MAX_VALUE;
     public double optimalityGapValue = Double.MAX_VALUE;
@@ -189,26 +209,68 @@ public class Config {
 
     //NOTE maybe as singleton pattern (getInstance())
     private static Config instance;
+    // configuration bound to the current thread (e.g., runs in a batch being solved concurrently)
+    private static final ThreadLocal<Config> threadInstance = new ThreadLocal<Config>();
     // public Config conf = new Config();
 
+    /**
+     * Retrieve the configuration. If a configuration is bound to the current thread
+     * (see bindToCurrentThread), it is returned. Otherwise the global configuration
+     * being loaded from the static configFile is returned.
+     * @return configuration object
+     */
     public static Config getInstance() {
+    	Config threadConfig = threadInstance.get();
+    	if (threadConfig != null)
+    		return threadConfig;
     	if (instance == null) {
     		instance = new Config();
     	}
     	return instance;
     }
+    
+    /**
+     * Loads a new, independent configuration object from the attached file.
+     * @param file: path to the yaml configuration file
+     * @return configuration object
+     */
+    public static Config loadFromFile(String file) {
+    	return new Config(file);
+    }
+    
+    /**
+     * Binds the attached configuration to the current thread such that all calls
+     * of getInstance() within this thread retrieve it.
+     * @param config: configuration object (null removes the binding)
+     */
+    public static void bindToCurrentThread(Config config) {
+    	if (config == null)
+    		threadInstance.remove();
+    	else
+    		threadInstance.set(config);
+    }
+    
     // private to prevent anyone else from instantiating
     private Config() {
-        loadConfig();
+        loadConfig(configFile);
+    }
+    
+    /**
+     * Constructor loading the configuration from the attached file.
+     * @param file: path to the yaml configuration file
+     */
+    private Config(String file) {
+    	loadConfig(file);
     }
     
     /**
      * Loads the configuration settings from the config.yaml file.
+     * @param file: path to the yaml configuration file
      */
-    private void loadConfig() {
+    private void loadConfig(String file) {
         InputStream inputStream = null;
         try {
-            inputStream = new FileInputStream(new File(configFile));
+            inputStream = new FileInputStream(new File(file));
         } catch (FileNotFoundException e) {
             e.printStackTrace();
         }
@@ -227,6 +289,8 @@ public class Config {
 
         // --- ALNS configurations ---
         alnsIterations = (int) obj.get("alns_iterations");
+        alnsTimeLimit = obj.get("alns_time_limit_ms") != null ? ((Number) obj.get("alns_time_limit_ms")).longValue() : -1;
+        alnsMaxIterationsWithoutImprovement = obj.get("alns_max_iterations_without_improvement") != null ? (int) obj.get("alns_max_iterations_without_improvement") : -1;
         checkIntervalInsertion = (double) obj.get("check_interval_for_insertion");
         
         // --- SAH - sequential allocation heuristic ---
@@ -331,6 +395,7 @@ public class Config {
         glsPenaltyInitValue = (double) obj.get("gls_penaltyInitValue");
         glsPenaltyIncrease = (double) obj.get("gls_penaltyIncrease");
         glsPenaltyReduction = (double) obj.get("gls_penaltyReduction");
+        glsHistorySize = obj.get("gls_history_size") != null ? Math.max(0, (int) obj.get("gls_history_size")) : 0;
         // penalties
         exponentSwappingLocations = (int) obj.get("exponent_swapping_locations");
         costUnservedCustomerViolation = (double) obj.get("cost_factor_unserved_customer");
@@ -379,6 +444,23 @@ public class Config {
         solveAsTwoProblems = (boolean) obj.get("solveAsTwoProblems");
         splitRegularShift = (boolean) obj.get("splitRegularShift");
         printHospitalLoaderInfo = (boolean) obj.get("printHospitalLoaderInfo");
+        
+        // --- DATA SNAPSHOTS ---
+        useDataSnapshots = obj.get("use_data_snapshots") != null && (boolean) obj.get("use_data_snapshots");
+        dataSnapshotDir = obj.get("data_snapshot_dir") != null ? (String) obj.get("data_snapshot_dir") : "./instances/snapshots/";
+        
+        // --- DISTANCE MATRIX ---
+        distanceMatrixLayout = obj.get("distance_matrix_layout") != null ? (String) obj.get("distance_matrix_layout") : "flat";
+        mapDistanceMatrices = obj.get("map_distance_matrices") != null && (boolean) obj.get("map_distance_matrices");
+        distanceMatrixDir = obj.get("distance_matrix_dir") != null ? (String) obj.get("distance_matrix_dir") : "./instances/matrices/";
+        
+        // --- METRICS ---
+        enableMetrics = obj.get("enable_metrics") != null && (boolean) obj.get("enable_metrics");
+        metricsDir = obj.get("metrics_dir") != null ? (String) obj.get("metrics_dir") : "./metrics/";
+        metricsDumpInterval = obj.get("metrics_dump_interval") != null ? Math.max(1, (int) obj.get("metrics_dump_interval")) : 1000;
+        
+        // --- VALIDATION ---
+        validationInterval = obj.get("validation_interval") != null ? Math.max(0, (int) obj.get("validation_interval")) : 0;
     }
     
     public void randomizeConfig () {
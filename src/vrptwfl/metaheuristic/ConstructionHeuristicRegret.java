@@ -6,7 +6,8 @@ import vrptwfl.metaheuristic.alns.insertions.SequentialAllocationHeuristic;
 import vrptwfl.metaheuristic.common.Solution;
 import vrptwfl.metaheuristic.data.Data;
 import vrptwfl.metaheuristic.exceptions.ArgumentOutOfBoundsException;
-import vrptwfl.metaheuristic.utils.WriterUtils;
+import vrptwfl.metaheuristic.jfr.ConstructionEvent;
+import vrptwfl.metaheuristic.utils.OutputSink;
 import vrptwfl.metaheuristic.Config;
 
 /**
@@ -19,14 +20,17 @@ import vrptwfl.metaheuristic.Config;
 public class ConstructionHeuristicRegret {
 
     private Data data;
+    private OutputSink sink;
 
     /**
      * Constructor of the construction heuristic.
      * 
      * @param data: data object
+     * @param sink: output sink of the run
      */
-    public ConstructionHeuristicRegret(Data data) {
+    public ConstructionHeuristicRegret(Data data, OutputSink sink) {
         this.data = data;
+        this.sink = sink;
     }
 
     /**
@@ -38,20 +42,38 @@ public class ConstructionHeuristicRegret {
      * @throws ArgumentOutOfBoundsException
      */
     public Solution constructSolution(int k) throws ArgumentOutOfBoundsException {
+    	ConstructionEvent event = new ConstructionEvent();
+    	event.begin();
     	Solution emptySolution = Solution.getEmptySolution(data);
     	emptySolution.setIsConstruction(true);
+    	Solution solution;
+    	String heuristic;
     	if (Config.getInstance().useSAH) {
     		SequentialAllocationHeuristic inserter = new SequentialAllocationHeuristic(data);
-    		return inserter.solve(emptySolution);
+    		solution = inserter.solve(emptySolution);
+    		heuristic = inserter.getFormattedClassName();
     	}
     	else if (!Config.getInstance().enableBacktracking) {
         	RegretInsertion inserter = new RegretInsertion(k, data);
-        	return inserter.solve(emptySolution);        	
+        	solution = inserter.solve(emptySolution);
+        	heuristic = inserter.getFormattedClassName();
         }
         else {
-        	WriterUtils.initBacktrackingLogging();
-        	RegretInsertionBacktracking inserter = new RegretInsertionBacktracking(k, data);
-        	return inserter.solveBacktrack(emptySolution);
+        	this.sink.initBacktrackingLogging();
+        	RegretInsertionBacktracking inserter = new RegretInsertionBacktracking(k, data, this.sink);
+        	solution = inserter.solveBacktrack(emptySolution);
+        	heuristic = inserter.getFormattedClassName();
         }
+    	event.end();
+    	if (event.shouldCommit()) {
+    		event.instanceName = data.getInstanceName();
+    		event.heuristic = heuristic;
+    		event.customers = data.getnCustomers();
+    		event.unassignedCustomers = solution.getNotAssignedCustomers().size();
+    		event.costs = solution.getTotalCosts();
+    		event.feasible = solution.isFeasible();
+    		event.commit();
+    	}
+    	return solution;
     }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package vrptwfl.metaheuristic;
 
+import vrptwfl.metaheuristic.alns.TerminationPolicy;
 import vrptwfl.metaheuristic.alns.insertions.AbstractInsertion;
 import vrptwfl.metaheuristic.alns.insertions.GreedyInsertion;
 import vrptwfl.metaheuristic.alns.removals.AbstractRemoval;
@@ -9,6 +10,7 @@ import vrptwfl.metaheuristic.common.Solution;
 import vrptwfl.metaheuristic.common.Vehicle;
 import vrptwfl.metaheuristic.data.Data;
 import vrptwfl.metaheuristic.exceptions.ArgumentOutOfBoundsException;
+import vrptwfl.metaheuristic.jfr.LNSPhaseEvent;
 
 /**
  * This class implements the first stage of the optimization procedure as described by
@@ -31,14 +33,31 @@ public class LNSOptimization {
 	private AbstractRemoval destroyOperator;
 	
 	private boolean acceptedNewSolution;
+	
+	// default number of LNS iterations
+	private static final int ITERATIONS = 25;
+	
+	// Termination (iteration cap, time limit, ...)
+	private TerminationPolicy terminationPolicy;
 
 	/**
 	 * Constructor for the LNS optimization procedure. It initializes the insertion
 	 * operation and destroy operation being used in the optimization scheme. 
+	 * The procedure stops after the default number of iterations.
 	 * @param data: Data object
 	 */
 	public LNSOptimization(Data data) {
+		this(data, new TerminationPolicy(ITERATIONS));
+	}
+	
+	/**
+	 * Constructor for the LNS optimization procedure with the attached termination policy.
+	 * @param data: Data object
+	 * @param terminationPolicy: termination policy of the procedure (e.g., a time limit)
+	 */
+	public LNSOptimization(Data data, TerminationPolicy terminationPolicy) {
 		this.data = data;
+		this.terminationPolicy = terminationPolicy;
 		
 		this.repairOperator = new GreedyInsertion(data);
 		this.destroyOperator = new FavVehicleRemoval(data);
@@ -60,6 +79,8 @@ public class LNSOptimization {
 	 */
 	public Solution runLNS (Solution solutionConstr) throws ArgumentOutOfBoundsException {
 		long startTime = System.currentTimeMillis();
+		LNSPhaseEvent event = new LNSPhaseEvent();
+		event.begin();
 		
 		if (solutionConstr.isFeasible()) {
 			for (Vehicle v: solutionConstr.getVehicles())
@@ -71,7 +92,9 @@ public class LNSOptimization {
 		Solution solutionTemp = solutionConstr.copyDeep();
 		Solution solutionCurr = solutionConstr.copyDeep();
 		
-		for (int iteration = 1; iteration<= 25; iteration ++) {
+		this.terminationPolicy.start();
+		int iterationsPerformed = 0;
+		for (int iteration = 1; !this.terminationPolicy.isTerminated(iteration - 1); iteration ++) {
 			//TODO: Strafterm für not scheduled customer hoch setzen (Faktor für erhöhung/minimierung in config setzen)
 			//TODO: check, ob man LNS auch in ALNS verwurschteln kann 
 			//TODO: checkVehicleOpt() ist mit feasible check schon implizit abgedeckt
@@ -93,8 +116,19 @@ public class LNSOptimization {
 			
 			if (!this.acceptedNewSolution)
 				solutionCurr.getVehicles().get(removedVehicle).setAvailable(true);
+			
+			this.terminationPolicy.update(this.acceptedNewSolution, solutionBest);
+			iterationsPerformed = iteration;
 		}
 		
+		event.end();
+		if (event.shouldCommit()) {
+			event.iterations = iterationsPerformed;
+			event.vehiclesBefore = solutionConstr.getUsedVehicles().size();
+			event.vehiclesAfter = solutionBest.getUsedVehicles().size();
+			event.costs = solutionBest.getTotalCosts();
+			event.commit();
+		}
 		System.out.println("Time for LNS - vehicle optimization:" + (System.currentTimeMillis() - startTime));
 		
 		return solutionBest;
@@ -3,15 +3,20 @@ package vrptwfl.metaheuristic;
 import vrptwfl.metaheuristic.alns.ALNSCore;
 import vrptwfl.metaheuristic.common.Solution;
 import vrptwfl.metaheuristic.data.Data;
+import vrptwfl.metaheuristic.data.DataSnapshot;
 import vrptwfl.metaheuristic.data.OptimalSolutions;
 import vrptwfl.metaheuristic.exceptions.ArgumentOutOfBoundsException;
+import vrptwfl.metaheuristic.instanceGeneration.HospitalInstanceGenerator;
 import vrptwfl.metaheuristic.instanceGeneration.HospitalInstanceLoader;
+import vrptwfl.metaheuristic.instanceGeneration.HospitalStreamingLoader;
 import vrptwfl.metaheuristic.instanceGeneration.SolomonInstanceGenerator;
 import vrptwfl.metaheuristic.utils.CalcUtils;
+import vrptwfl.metaheuristic.utils.OutputSink;
 import vrptwfl.metaheuristic.utils.WriterUtils;
 
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Arrays;
 
 /**
@@ -43,54 +48,57 @@ public class MainALNS {
 	 * Format of logging: instanceName, TotalCosts, OptimalityGap, ElapsedTime
 	 * @param instanceName: instance name to be solved
 	 * @param nCustomers: number of customers
+	 * @return solution object after the ALNS procedure
 	 * @throws ArgumentOutOfBoundsException
 	 */
-    public void runALNS(Data data, String instanceName, String outFile, String outDir) throws ArgumentOutOfBoundsException {
+    public Solution runALNS(Data data, String instanceName, String outFile, String outDir) throws ArgumentOutOfBoundsException {
     	System.out.println("Start processing:" + instanceName);
     	// --- INIT WRITERS ---
-    	WriterUtils.initWriters(data, outDir, outFile, data.getInstanceName());
-    	WriterUtils.initPenaltyCounts();
-    	WriterUtils.initSummaryLog();
-    	
-        // --- INIT STEPS ---
-    	setInstanceSpecificParameters(data.getnCustomers(), data.getMaxDistanceInGraph());
+    	try (OutputSink sink = new OutputSink(data, outDir, outFile, data.getInstanceName())) {
+    		sink.initPenaltyCounts();
+    		sink.initSummaryLog();
 
-        // --- INITIAL SOLUTION ---
-        ConstructionHeuristicRegret construction = new ConstructionHeuristicRegret(data);
-        long startTimeConstruction = System.currentTimeMillis();
-        Solution solutionConstr = construction.constructSolution(2);
-        // LOGGING infos of initial solution
-        //WriterUtils.writeBacktrackingPenalties(solutionConstr.getListOfPenalties());
-    	WriterUtils.writeTourCSV(WriterUtils.writerInitialTourCSV, solutionConstr);
-    	WriterUtils.writePenaltyCount(0, solutionConstr);
-    	WriterUtils.writeSummaryLog(0, solutionConstr, System.currentTimeMillis() - startTimeConstruction);
-        printToConsole("Init solution", solutionConstr);
-        
-        // --- LNS - Vehicle optimization ---
-        //LNSOptimization lns = new LNSOptimization(data);
-        //Solution solutionLNS = lns.runLNS(solutionConstr);
-        //printToConsole("LNS solution:", solutionLNS);
-        
+    		// --- INIT STEPS ---
+    		setInstanceSpecificParameters(data.getnCustomers(), data.getMaxDistanceInGraph());
 
-        // --- ALNS SOLUTION ---
-        ALNSCore alns = new ALNSCore(data);
-        Solution solutionALNS = alns.runALNS(solutionConstr);
-        long timeElapsed = (System.currentTimeMillis() - startTimeConstruction);
-        // Print ALNS(+GLS) solution
-        printToConsole("ALNS solution", solutionALNS);
-        System.out.println("Time for construction " + timeElapsed + " ms.");
+    		// --- INITIAL SOLUTION ---
+    		ConstructionHeuristicRegret construction = new ConstructionHeuristicRegret(data, sink);
+    		long startTimeConstruction = System.currentTimeMillis();
+    		Solution solutionConstr = construction.constructSolution(2);
+    		// LOGGING infos of initial solution
+    		sink.writeInitialTourCSV(solutionConstr);
+    		sink.writePenaltyCount(0, solutionConstr);
+    		sink.writeSummaryLog(0, solutionConstr, System.currentTimeMillis() - startTimeConstruction);
+    		printToConsole("Init solution", solutionConstr);
 
-        // --- LOGGING ---
-        if (this.isSolomonInstance)
-        	logResultSolomon(data, solutionALNS, timeElapsed);
-        else 
-        	logResultHospital(data, solutionALNS, timeElapsed);
-        
-        WriterUtils.writePenaltiesDetailedInformation();
-        WriterUtils.writeAllTourInformation();
+    		// --- LNS - Vehicle optimization ---
+    		//LNSOptimization lns = new LNSOptimization(data);
+    		//Solution solutionLNS = lns.runLNS(solutionConstr);
+    		//printToConsole("LNS solution:", solutionLNS);
+
+
+    		// --- ALNS SOLUTION ---
+    		ALNSCore alns = new ALNSCore(data, sink);
+    		Solution solutionALNS = alns.runALNS(solutionConstr);
+    		long timeElapsed = (System.currentTimeMillis() - startTimeConstruction);
+    		// Print ALNS(+GLS) solution
+    		printToConsole("ALNS solution", solutionALNS);
+    		System.out.println("Time for construction " + timeElapsed + " ms.");
+
+    		// --- LOGGING ---
+    		if (this.isSolomonInstance)
+    			logResultSolomon(data, solutionALNS, timeElapsed, sink);
+    		else 
+    			logResultHospital(data, solutionALNS, timeElapsed, sink);
 
-        System.out.println();
-        // TODO Alex: brauchen irgendwas, um Lösung zu speichern (ZF und Touren startzeiten etc.)
+    		sink.writePenaltiesDetailedInformation();
+    		sink.writeAllTourInformation();
+    		sink.writeConfig(Config.getInstance());
+
+    		System.out.println();
+    		// TODO Alex: brauchen irgendwas, um Lösung zu speichern (ZF und Touren startzeiten etc.)
+    		return solutionALNS;
+    	}
     }
 
     /**
@@ -101,7 +109,7 @@ public class MainALNS {
      * @param nCustomers: number of customers
      * @param maxDistance: maximal distance in the input locations
      */
-    private static void setInstanceSpecificParameters(int nCustomers, double maxDistance) {
+    public static void setInstanceSpecificParameters(int nCustomers, double maxDistance) {
         // Set lower bound for removals
     	int lb1 = Config.getInstance().lowerBoundRemovalsMax;
         int lb2 = (int) Math.round(nCustomers * Config.getInstance().lowerBoundRemovalsFactor);
@@ -123,14 +131,20 @@ public class MainALNS {
      * @return array containing the data object in the 0-th position
      */
     public static Data[] loadSolomonInstance(String instanceName, int nCustomers) {
+    	Path sourceFile = SolomonInstanceGenerator.getInstancePath(instanceName + ".txt");
+    	Data[] data = loadSnapshot(instanceName, nCustomers, sourceFile);
+    	if (data != null)
+    		return data;
+    	
     	SolomonInstanceGenerator generator = new SolomonInstanceGenerator();
-        Data[] data = new Data[1];
+        data = new Data[1];
         try {
             data[0] = generator.loadInstance(instanceName + ".txt", nCustomers);
         }
         catch (ArgumentOutOfBoundsException | IOException e) { 
             e.printStackTrace();
         }		
+        storeSnapshot(data, instanceName, nCustomers, sourceFile);
         return data;
     }
     
@@ -139,21 +153,66 @@ public class MainALNS {
      * @param instanceName filename of hospital instance
      * @return array containing data objects (if solveAsTwoProblems is activate in config file -> array contains morning/evening data objects)
      */
-    private static Data[] loadHospitalInstance(String instanceName) {
+    static Data[] loadHospitalInstance(String instanceName) {
+    	Path sourceFile = HospitalStreamingLoader.getInstancePath(instanceName);
+    	Data[] dataArr = loadSnapshot(instanceName, -1, sourceFile);
+    	if (dataArr != null)
+    		return dataArr;
+    	
     	HospitalInstanceLoader loader = new HospitalInstanceLoader();
-        Data[] dataArr;
         dataArr = loader.loadHospitalInstanceFromJSON(instanceName);
+        storeSnapshot(dataArr, instanceName, -1, sourceFile);
         return dataArr;
     }
     
+    /**
+     * Loads the preprocessed data objects of an instance from its snapshot file
+     * (if snapshots are enabled in the config file and a compatible snapshot exists).
+     * @param instanceName: filename of the instance
+     * @param nCustomers: number of customers (-1 for hospital instances)
+     * @param sourceFile: instance file (part of the key of the snapshot)
+     * @return array containing the data objects, null if no snapshot could be used
+     */
+    private static Data[] loadSnapshot(String instanceName, int nCustomers, Path sourceFile) {
+    	if (!Config.getInstance().useDataSnapshots)
+    		return null;
+    	Data[] data = DataSnapshot.readIfExists(DataSnapshot.getSnapshotPath(instanceName, nCustomers, sourceFile));
+    	if (data != null)
+    		System.out.println("Loaded data snapshot for instance: " + instanceName);
+    	return data;
+    }
+    
+    /**
+     * Stores the preprocessed data objects of an instance in a snapshot file
+     * (if snapshots are enabled in the config file).
+     * @param data: loaded data objects
+     * @param instanceName: filename of the instance
+     * @param nCustomers: number of customers (-1 for hospital instances)
+     * @param sourceFile: instance file (part of the key of the snapshot)
+     */
+    private static void storeSnapshot(Data[] data, String instanceName, int nCustomers, Path sourceFile) {
+    	Path path = Config.getInstance().useDataSnapshots ? DataSnapshot.getSnapshotPath(instanceName, nCustomers, sourceFile) : null;
+    	if (path == null)
+    		return;
+    	for (Data d : data) 
+    		if (d == null || d.getDistanceMatrix() == null) 
+    			return; // loading failed, do not persist incomplete data
+    	try {
+			DataSnapshot.write(data, path);
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+    }
+    
     /**
      * Logging of result for solomon instances. Information being logged:
      * <name of instance>, <total costs>, <elapsed time>, <optimality gap>
      * @param data current solomon data object
      * @param solutionALNS Solution object
      * @param timeElapsed elapsed time being logged
+     * @param sink output sink of the run
      */
-    private void logResultSolomon(Data data, Solution solutionALNS, long timeElapsed) {
+    private void logResultSolomon(Data data, Solution solutionALNS, long timeElapsed, OutputSink sink) {
         int i = -1;
         if (data.getnCustomers() == 25) i = 0;
         else if (data.getnCustomers() == 50) i = 1;
@@ -171,10 +230,10 @@ public class MainALNS {
         }        
         
         // Write result
-        WriterUtils.writeSolomonResults(solutionALNS, instanceName, timeElapsed, gap);
-        WriterUtils.writeFinalTour(WriterUtils.writerFinalTour, solutionALNS.getStringRepresentionSolution());
-    	WriterUtils.writeTourCSV(WriterUtils.writerFinalTourCSV, solutionALNS);
-    	WriterUtils.writeUnscheduledInfo(WriterUtils.writerUnscheduled, solutionALNS);
+        sink.writeResult(instanceName, solutionALNS, timeElapsed, gap);
+        sink.writeFinalTour(solutionALNS.getStringRepresentionSolution());
+    	sink.writeFinalTourCSV(solutionALNS);
+    	sink.writeUnscheduledInfo(solutionALNS);
     }
     
     /**
@@ -183,8 +242,9 @@ public class MainALNS {
      * @param data current hospital data object
      * @param solutionALNS Solution object
      * @param timeElapsed elapsed time being logged
+     * @param sink output sink of the run
      */
-    private void logResultHospital(Data data, Solution solutionALNS, long timeElapsed) {
+    private void logResultHospital(Data data, Solution solutionALNS, long timeElapsed, OutputSink sink) {
         boolean exists = false;
         if (data.getCustomersToLocations().size() - 1 == 40) exists = true;
         else if (data.getCustomersToLocations().size() - 1 == 80) exists = true;
@@ -194,6 +254,9 @@ public class MainALNS {
         
         double gap = -1;
         double optimalObjFuncVal = -1;
+        // e.g., synthetic instances with the same number of jobs
+        if (!OptimalSolutions.optimalHospital.containsKey(data.getInstanceName().substring(18)))
+        	exists = false;
         if (exists) {
         	// Calculate optimality gap
     		optimalObjFuncVal = OptimalSolutions.optimalHospital.get(data.getInstanceName().substring(18));
@@ -202,10 +265,10 @@ public class MainALNS {
     		System.out.println("Optimality Gap: " + gap);
         }
         
-    	WriterUtils.writerHospitalResults(data, solutionALNS, timeElapsed, gap);
-    	WriterUtils.writeFinalTour(WriterUtils.writerFinalTour, solutionALNS.getStringRepresentionSolution());
-    	WriterUtils.writeTourCSV(WriterUtils.writerFinalTourCSV, solutionALNS);
-    	WriterUtils.writeUnscheduledInfo(WriterUtils.writerUnscheduled, solutionALNS);
+    	sink.writeResult(data.getInstanceName(), solutionALNS, timeElapsed, gap);
+    	sink.writeFinalTour(solutionALNS.getStringRepresentionSolution());
+    	sink.writeFinalTourCSV(solutionALNS);
+    	sink.writeUnscheduledInfo(solutionALNS);
     }
     
     /**
@@ -246,8 +309,27 @@ public class MainALNS {
         	Config.configFile = String.valueOf(args.length > 6 ? ("resources/"+args[6]): "resources/config.yaml"); 
         	tuningParam(numConfigs, numRunsPerConfig, nCustomers, outDir, outFile);        	
         }
+        else if (mode == 2) {
+        	String manifestFile = "resources/" + args[2];
+        	BatchRunner batch = new BatchRunner(manifestFile, outDir);
+        	batch.run();
+        }
+        else if (mode == 3) {
+        	String manifestFile = "resources/" + args[2];
+        	ParameterTuner tuner = new ParameterTuner(manifestFile, outDir);
+        	tuner.run();
+        }
+        else if (mode == 4) {
+        	String manifestFile = "resources/" + args[2];
+        	SolomonBenchmark benchmark = new SolomonBenchmark(manifestFile, outDir);
+        	benchmark.run();
+        }
+        else if (mode == 5) {
+        	String manifestFile = "resources/" + args[2];
+        	HospitalInstanceGenerator.generateFromManifest(manifestFile, outDir);
+        }
         else {
-        	System.out.println("Unknown mode - 1:run single instance; 2:run parameter tuning");
+        	System.out.println("Unknown mode - 0:run single instance; 1:run parameter tuning; 2:run batch manifest; 3:run parallel parameter tuning (successive halving); 4:run solomon benchmark; 5:generate synthetic hospital instances");
         	System.exit(0);
         }
     }
@@ -268,7 +350,6 @@ public class MainALNS {
     	for (Data d: data) {
         	final MainALNS algo = new MainALNS(instanceName, isSolomonInstance);
         	algo.runALNS(d, instanceName, outFile, outDir);        	
-        	WriterUtils.writeConfig(WriterUtils.writerConfig, Config.getInstance());
         }
     	
         // TODO Alex: Add TimeLimit (?)
@@ -276,6 +357,7 @@ public class MainALNS {
     
     private static void tuningParam(int maxConfigs, int maxRuns, int nCustomers, String outDir, String outFile) throws ArgumentOutOfBoundsException {
     	String bestRun = "";
+    	String lastRun = "";
     	double bestAvgGap = Double.MAX_VALUE;
 
 //    	String[] instanceNamesRandom = {
@@ -322,54 +404,56 @@ public class MainALNS {
     				System.out.println("Run id: " + run);
     				for (Data data : dataArr) {
     					// --- INIT WRITERS ---
-    					WriterUtils.initWriters(data, outDir, outFile, instanceName);
-    					WriterUtils.initPenaltyCounts();
+    					try (OutputSink sink = new OutputSink(data, outDir, outFile, instanceName)) {
+    						sink.initPenaltyCounts();
     					
-    					// --- INIT STEPS ---
-    					setInstanceSpecificParameters(data.getnCustomers(), data.getMaxDistanceInGraph());
+    						// --- INIT STEPS ---
+    						setInstanceSpecificParameters(data.getnCustomers(), data.getMaxDistanceInGraph());
     					
-    					// --- INITIAL SOLUTION ---
-    					ConstructionHeuristicRegret construction = new ConstructionHeuristicRegret(data);
-    					long startTimeConstruction = System.currentTimeMillis();
-    					Solution solutionConstr = construction.constructSolution(2);
-    					// Print initial solution
-    					// printToConsole("Init solution", solutionConstr);
+    						// --- INITIAL SOLUTION ---
+    						ConstructionHeuristicRegret construction = new ConstructionHeuristicRegret(data, sink);
+    						long startTimeConstruction = System.currentTimeMillis();
+    						Solution solutionConstr = construction.constructSolution(2);
+    						// Print initial solution
+    						// printToConsole("Init solution", solutionConstr);
     					
-    					// --- ALNS SOLUTION ---
-    					ALNSCore alns = new ALNSCore(data);
-    					Solution solutionALNS = alns.runALNS(solutionConstr);
-    					long timeElapsed = (System.currentTimeMillis() - startTimeConstruction);
-    					// Print ALNS(+GLS) solution
-    					// printToConsole("ALNS solution", solutionALNS);
-    					System.out.println("Time for construction " + timeElapsed + " ms.");
+    						// --- ALNS SOLUTION ---
+    						ALNSCore alns = new ALNSCore(data, sink);
+    						Solution solutionALNS = alns.runALNS(solutionConstr);
+    						long timeElapsed = (System.currentTimeMillis() - startTimeConstruction);
+    						// Print ALNS(+GLS) solution
+    						// printToConsole("ALNS solution", solutionALNS);
+    						System.out.println("Time for construction " + timeElapsed + " ms.");
     					
-    					if (isSolomonInstance) {    		        	
-    						int i = -1;
-    						if (nCustomers == 25) i = 0;
-    						else if (nCustomers == 50) i = 1;
-    						else if (nCustomers == 100) i = 2;
-    						else ; // no optimal value stored 
-    						// Calculate optimality gap
-    						if (i!=-1) {
-    							double optimalObjFuncVal = OptimalSolutions.optimalObjFuncValue.get(instanceName)[i];
-    							double gap = CalcUtils.calculateGap(optimalObjFuncVal, solutionALNS.getTotalCosts());
+    						if (isSolomonInstance) {    		        	
+    							int i = -1;
+    							if (nCustomers == 25) i = 0;
+    							else if (nCustomers == 50) i = 1;
+    							else if (nCustomers == 100) i = 2;
+    							else ; // no optimal value stored 
+    							// Calculate optimality gap
+    							if (i!=-1) {
+    								double optimalObjFuncVal = OptimalSolutions.optimalObjFuncValue.get(instanceName)[i];
+    								double gap = CalcUtils.calculateGap(optimalObjFuncVal, solutionALNS.getTotalCosts());
+    								avg_optimalityGap += gap;
+    								Config.getInstance().optimalityGapValue = gap; 
+    								sink.writeConfig(Config.getInstance());
+            						System.out.println("Optimality Gap: " + gap);
+    							}
+    						}
+    						else {
+    							// Calculate optimality gap
+    							double optimalObjFuncVal = -1;
+    							double gap = -1;
+    							optimalObjFuncVal = OptimalSolutions.optimalHospital.get(data.getInstanceName().substring(18));
+    							gap = CalcUtils.calculateGap(optimalObjFuncVal, solutionALNS.getTotalCosts());
     							avg_optimalityGap += gap;
-    							Config.getInstance().optimalityGapValue = gap; 
-    							WriterUtils.writeConfig(WriterUtils.writerConfig, Config.getInstance());
-        						System.out.println("Optimality Gap: " + gap);
+    							Config.getInstance().optimalityGapValue = gap;
+    							sink.writeConfig(Config.getInstance());
+    							System.out.println("Optimality Gap: " + gap);
+    							System.out.println();
     						}
-    					}
-    					else {
-    						// Calculate optimality gap
-    						double optimalObjFuncVal = -1;
-    						double gap = -1;
-    						optimalObjFuncVal = OptimalSolutions.optimalHospital.get(data.getInstanceName().substring(18));
-    						gap = CalcUtils.calculateGap(optimalObjFuncVal, solutionALNS.getTotalCosts());
-    						avg_optimalityGap += gap;
-    						Config.getInstance().optimalityGapValue = gap;
-    						WriterUtils.writeConfig(WriterUtils.writerConfig, Config.getInstance());
-    						System.out.println("Optimality Gap: " + gap);
-    						System.out.println();
+    						lastRun = sink.getOutDir();
     					}
     				}
     			}
@@ -382,7 +466,7 @@ public class MainALNS {
     		if (avg_optimalityGap < bestAvgGap) {
     			System.out.println("New best avg.opt.gap. Improved by:"+ (bestAvgGap - avg_optimalityGap));
     			bestAvgGap = avg_optimalityGap;
-    			bestRun = WriterUtils.outDir;
+    			bestRun = lastRun;
     			Config.getInstance().avgOptimalityGapValue = avg_optimalityGap;
 	    		FileWriter writer;
 				try {
@@ -0,0 +1,358 @@
+package vrptwfl.metaheuristic;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.yaml.snakeyaml.Yaml;
+
+import vrptwfl.metaheuristic.common.Solution;
+import vrptwfl.metaheuristic.data.Data;
+import vrptwfl.metaheuristic.utils.WriterUtils;
+
+/**
+ * Parallel hyperparameter tuning using successive halving.
+ * A number of candidate configurations is generated by randomizing the base configuration
+ * (see Config.randomizeConfig); candidate 0 is the unmodified base configuration.
+ * All candidates are evaluated on the instances of the manifest with a small iteration budget.
+ * After each rung only the best 1/eta candidates survive and are evaluated again with
+ * an eta times larger budget, until one candidate remains or the maximal budget is reached.
+ * The score of a candidate is its average relative deviation (in percent) from the best
+ * average costs reached by any candidate of the rung on the respective instance, i.e., the
+ * costs are normalised per instance before they are averaged over the instances.
+ * The runs of a rung are solved concurrently on a worker pool; every run uses its own
+ * configuration object (bound to the worker thread) and its own output sink.
+ * The leaderboard is written after every rung, the best configuration after the last one.
+ *
+ * Manifest format:
+ * <pre>
+ * instances: [R104, R108, C105]
+ * n_customers: 100          # number of customers for solomon instances
+ * base_config: config.yaml  # relative to the resources folder
+ * n_configs: 27             # number of candidate configurations
+ * runs_per_config: 2        # runs (seeds) per instance and candidate
+ * seed: 1                   # seed for generating the candidates and the runs
+ * min_iterations: 500       # ALNS iterations in the first rung
+ * max_iterations: 25000     # ALNS iterations in the last rung
+ * eta: 3                    # reduction factor between two rungs
+ * workers: 4
+ * </pre>
+ *
+ * @author Christian M.M. Frey
+ */
+public class ParameterTuner {
+
+	private List<String> instances;
+	private int nCustomers;
+	private String baseConfig;
+	private int nConfigs;
+	private int runsPerConfig;
+	private int seed;
+	private int minIterations;
+	private int maxIterations;
+	private int eta;
+	private int workers;
+	private String outDir;
+
+	/**
+	 * Constructor of the parameter tuner. Loads the attached manifest.
+	 * @param manifestFile: path to the yaml manifest
+	 * @param outDir: output directory of the tuning
+	 */
+	@SuppressWarnings("unchecked")
+	public ParameterTuner(String manifestFile, String outDir) {
+		this.outDir = outDir;
+
+		Map<String, Object> manifest = null;
+		try (InputStream inputStream = new FileInputStream(new File(manifestFile))) {
+			manifest = new Yaml().load(inputStream);
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Could not read tuning manifest " + manifestFile, e);
+		}
+
+		this.instances = new ArrayList<String>();
+		for (Object instance : (List<Object>) manifest.get("instances"))
+			this.instances.add(String.valueOf(instance));
+		this.nCustomers = manifest.get("n_customers") != null ? (int) manifest.get("n_customers") : 100;
+		this.baseConfig = manifest.get("base_config") != null ? (String) manifest.get("base_config") : "config.yaml";
+		this.nConfigs = manifest.get("n_configs") != null ? (int) manifest.get("n_configs") : 27;
+		this.runsPerConfig = manifest.get("runs_per_config") != null ? (int) manifest.get("runs_per_config") : 1;
+		this.seed = manifest.get("seed") != null ? (int) manifest.get("seed") : 1;
+		this.minIterations = manifest.get("min_iterations") != null ? (int) manifest.get("min_iterations") : 500;
+		this.maxIterations = manifest.get("max_iterations") != null ? (int) manifest.get("max_iterations") : 25000;
+		this.eta = manifest.get("eta") != null ? Math.max(2, (int) manifest.get("eta")) : 3;
+		this.workers = manifest.get("workers") != null ? (int) manifest.get("workers") : 1;
+	}
+
+	/**
+	 * Runs the successive halving procedure and writes the leaderboard as well as
+	 * the best configuration.
+	 */
+	public void run() {
+		List<Candidate> candidates = new ArrayList<Candidate>();
+		for (int id = 0; id < this.nConfigs; id++)
+			candidates.add(new Candidate(id));
+
+		ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, this.workers));
+		try {
+			List<Candidate> survivors = new ArrayList<Candidate>(candidates);
+			int budget = Math.min(this.minIterations, this.maxIterations);
+			for (int rung = 0; ; rung++) {
+				System.out.println("Tuning: rung " + rung + " - " + survivors.size() + " candidates with " + budget + " iterations");
+				this.evaluate(pool, survivors, rung, budget);
+				survivors.sort(Comparator.comparingDouble(Candidate::getScore));
+				this.writeLeaderboard(candidates);
+
+				if (survivors.size() <= 1 || budget >= this.maxIterations)
+					break;
+				survivors = new ArrayList<Candidate>(survivors.subList(0, Math.max(1, survivors.size() / this.eta)));
+				budget = (int) Math.min((long) budget * this.eta, this.maxIterations);
+			}
+
+			Candidate best = survivors.get(0);
+			System.out.println("Tuning: best candidate " + best.id + " (score: " + best.getScore() + ")");
+			this.writeBestConfig(best);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Evaluates the attached candidates with the attached iteration budget.
+	 * Every candidate solves all instances of the manifest runsPerConfig times; all candidates
+	 * use the same seeds, so they are compared on the same random numbers.
+	 * @param pool: worker pool
+	 * @param candidates: candidates being evaluated
+	 * @param rung: current rung
+	 * @param budget: number of ALNS iterations of each run
+	 */
+	private void evaluate(ExecutorService pool, List<Candidate> candidates, int rung, int budget) {
+		List<Future<double[]>> futures = new ArrayList<Future<double[]>>();
+		List<Candidate> owners = new ArrayList<Candidate>();
+		List<Integer> instanceIdxs = new ArrayList<Integer>();
+		for (Candidate candidate : candidates) {
+			candidate.reset(rung, budget, this.instances.size());
+			for (int instanceIdx = 0; instanceIdx < this.instances.size(); instanceIdx++) {
+				String instanceName = this.instances.get(instanceIdx);
+				for (int run = 0; run < this.runsPerConfig; run++) {
+					int runSeed = this.seed + run;
+					futures.add(pool.submit(() -> this.solve(candidate, instanceName, runSeed, rung, budget)));
+					owners.add(candidate);
+					instanceIdxs.add(instanceIdx);
+				}
+			}
+		}
+
+		for (int i = 0; i < futures.size(); i++) {
+			try {
+				owners.get(i).add(instanceIdxs.get(i), futures.get(i).get());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			} catch (ExecutionException e) {
+				// failed run counts as worst possible result
+				e.getCause().printStackTrace();
+				owners.get(i).addFailedRun();
+			}
+		}
+
+		// normalise the costs per instance by the best average costs of the rung
+		for (int instanceIdx = 0; instanceIdx < this.instances.size(); instanceIdx++) {
+			double bestCosts = Double.MAX_VALUE;
+			for (Candidate candidate : candidates)
+				if (!candidate.failed)
+					bestCosts = Math.min(bestCosts, candidate.getAvgCosts(instanceIdx));
+			for (Candidate candidate : candidates)
+				candidate.normalise(instanceIdx, bestCosts);
+		}
+	}
+
+	/**
+	 * Solves a single run of a candidate. The configuration of the candidate is created,
+	 * seeded and bound to the current worker thread for the duration of the run.
+	 * @param candidate: candidate configuration
+	 * @param instanceName: name of the instance
+	 * @param runSeed: random seed of the run
+	 * @param rung: current rung
+	 * @param budget: number of ALNS iterations
+	 * @return average optimality gap (NaN if no optimal value is known), average costs and elapsed time of the run
+	 * @throws Exception
+	 */
+	private double[] solve(Candidate candidate, String instanceName, int runSeed, int rung, int budget) throws Exception {
+		Config config = this.createConfig(candidate.id);
+		config.alnsIterations = budget;
+		config.randomGenerator = new Random(runSeed);
+		Config.bindToCurrentThread(config);
+
+		try {
+			boolean isSolomonInstance = !instanceName.contains("hospital_instance");
+			Data[] data = isSolomonInstance ? MainALNS.loadSolomonInstance(instanceName, this.nCustomers) : MainALNS.loadHospitalInstance(instanceName);
+			String runDir = this.outDir + "/rung_" + rung + "/config_" + candidate.id + "/seed_" + runSeed;
+
+			double gap = 0;
+			double costs = 0;
+			long startTime = System.currentTimeMillis();
+			for (Data d : data) {
+				config.optimalityGapValue = Double.MAX_VALUE;
+				MainALNS algo = new MainALNS(instanceName, isSolomonInstance);
+				Solution solution = algo.runALNS(d, instanceName, "results.txt", runDir);
+				costs += solution.getTotalCosts();
+				gap += config.optimalityGapValue != Double.MAX_VALUE ? config.optimalityGapValue : Double.NaN;
+			}
+			return new double[] {gap / data.length, costs / data.length, System.currentTimeMillis() - startTime};
+		} finally {
+			Config.bindToCurrentThread(null);
+		}
+	}
+
+	/**
+	 * Creates the configuration of the candidate with the attached id. The configuration is
+	 * loaded from the base configuration and randomized with a seed derived from the id, i.e.,
+	 * every call yields an independent but identical configuration object.
+	 * Candidate 0 is the unmodified base configuration.
+	 * @param id: id of the candidate
+	 * @return configuration of the candidate
+	 */
+	private Config createConfig(int id) {
+		Config config = Config.loadFromFile("resources/" + this.baseConfig);
+		if (id == 0)
+			return config;
+
+		// randomizeConfig works on Config.getInstance(), thus the configuration is bound temporarily
+		// (called before a run is bound to the thread or after the tuning)
+		config.randomGenerator = new Random(31L * this.seed + id);
+		Config.bindToCurrentThread(config);
+		try {
+			config.randomizeConfig();
+		} finally {
+			Config.bindToCurrentThread(null);
+		}
+		return config;
+	}
+
+	/**
+	 * Writes the leaderboard of all candidates (candidates having reached a higher rung first,
+	 * then ascending by score).
+	 * @param candidates: all candidates
+	 */
+	private void writeLeaderboard(List<Candidate> candidates) {
+		List<Candidate> sorted = new ArrayList<Candidate>(candidates);
+		sorted.sort(Comparator.comparingInt((Candidate c) -> -c.rung).thenComparingDouble(Candidate::getScore));
+
+		new File(this.outDir).mkdirs();
+		try (FileWriter writer = new FileWriter(this.outDir + "/leaderboard.csv")) {
+			writer.write("rank;candidate;rung;iterations;runs;score;avgGap;avgCosts;avgTimeElapsed\n");
+			int rank = 1;
+			for (Candidate c : sorted)
+				writer.write(rank++ + ";" + c.id + ";" + c.rung + ";" + c.iterations + ";" + c.runs + ";" + c.getScore() + ";" + c.getAvgGap() + ";"
+						+ (c.runs > 0 ? c.sumCosts / c.runs : -1) + ";" + (c.runs > 0 ? Math.round(c.sumTime / c.runs) : -1) + "\n");
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Writes the configuration of the best candidate.
+	 * @param best: best candidate
+	 */
+	private void writeBestConfig(Candidate best) {
+		Config config = this.createConfig(best.id);
+		if (!Double.isNaN(best.getAvgGap()))
+			config.avgOptimalityGapValue = best.getAvgGap();
+		try {
+			WriterUtils.writeConfig(new FileWriter(this.outDir + "/best_config.json"), config);
+			System.out.println("New best config written.");
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Candidate configuration and its results in the rung it reached last.
+	 */
+	private static class Candidate {
+		final int id;
+		int rung = -1;
+		int iterations;
+		int runs;
+		boolean failed;
+		double[] sumCostsPerInstance;
+		int[] runsPerInstance;
+		double sumDeviation;   // sum of the normalised costs over the instances
+		double sumGap;
+		int nGaps;
+		double sumCosts;
+		double sumTime;
+
+		Candidate(int id) {
+			this.id = id;
+		}
+
+		void reset(int rung, int iterations, int nInstances) {
+			this.rung = rung;
+			this.iterations = iterations;
+			this.runs = 0;
+			this.failed = false;
+			this.sumCostsPerInstance = new double[nInstances];
+			this.runsPerInstance = new int[nInstances];
+			this.sumDeviation = 0;
+			this.sumGap = 0;
+			this.nGaps = 0;
+			this.sumCosts = 0;
+			this.sumTime = 0;
+		}
+
+		void add(int instanceIdx, double[] result) {
+			this.runs++;
+			this.runsPerInstance[instanceIdx]++;
+			this.sumCostsPerInstance[instanceIdx] += result[1];
+			if (!Double.isNaN(result[0])) {
+				this.sumGap += result[0];
+				this.nGaps++;
+			}
+			this.sumCosts += result[1];
+			this.sumTime += result[2];
+		}
+
+		void addFailedRun() {
+			this.runs++;
+			this.failed = true;
+		}
+
+		/**
+		 * Adds the relative deviation (in percent) of the candidate's average costs on an instance
+		 * from the attached best average costs on the instance.
+		 * @param instanceIdx: index of the instance
+		 * @param bestCosts: best average costs of all candidates on the instance
+		 */
+		void normalise(int instanceIdx, double bestCosts) {
+			if (this.failed)
+				return;
+			double deviation = this.getAvgCosts(instanceIdx) - bestCosts;
+			this.sumDeviation += bestCosts > 0 ? 100 * deviation / bestCosts : deviation;
+		}
+
+		double getAvgCosts(int instanceIdx) {
+			return this.sumCostsPerInstance[instanceIdx] / this.runsPerInstance[instanceIdx];
+		}
+
+		double getAvgGap() {
+			return this.nGaps > 0 ? this.sumGap / this.nGaps : Double.NaN;
+		}
+
+		double getScore() {
+			return this.runs > 0 && !this.failed ? this.sumDeviation / this.sumCostsPerInstance.length : Double.MAX_VALUE;
+		}
+	}
+}
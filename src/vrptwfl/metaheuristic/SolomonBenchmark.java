@@ -0,0 +1,285 @@
+package vrptwfl.metaheuristic;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.yaml.snakeyaml.Yaml;
+
+import vrptwfl.metaheuristic.alns.ALNSCore;
+import vrptwfl.metaheuristic.common.Solution;
+import vrptwfl.metaheuristic.data.Data;
+import vrptwfl.metaheuristic.data.OptimalSolutions;
+import vrptwfl.metaheuristic.exceptions.ArgumentOutOfBoundsException;
+import vrptwfl.metaheuristic.utils.CalcUtils;
+import vrptwfl.metaheuristic.utils.OutputSink;
+import vrptwfl.metaheuristic.utils.RunResourceMonitor;
+
+/**
+ * End-to-end benchmark on the Solomon instances.
+ * A fixed list of instances is solved for a fixed list of seeds with an iteration
+ * (and optionally a time) budget. The runs are executed sequentially such that the
+ * measured times are not influenced by concurrent runs. For every run the following
+ * metrics are reported: ALNS iterations per second, time to the first feasible solution,
+ * time to reach the target gap and the final gap to the best known solution.
+ * The benchmark score (one number to compare builds) is the number of ALNS iterations
+ * per second aggregated over all runs.
+ *
+ * Manifest format:
+ * <pre>
+ * instances: [R101, C101, RC101]  # default: all instances with a best known solution
+ * n_customers: 100                # 25, 50 or 100
+ * seeds: [1, 2, 3]
+ * config: config.yaml             # relative to the resources folder
+ * iterations: 5000                # ALNS iterations per run
+ * time_limit_ms: -1               # time limit of the ALNS per run (-1: no time limit)
+ * target_gap: 0.05                # target gap for the time-to-target-gap metric
+ * </pre>
+ *
+ * @author Christian M.M. Frey
+ */
+public class SolomonBenchmark {
+
+	private List<String> instances;
+	private List<Integer> seeds;
+	private String config;
+	private int nCustomers;
+	private int iterations;
+	private long timeLimit;
+	private double targetGap;
+	private String outDir;
+
+	/**
+	 * Constructor of the benchmark. Loads the attached manifest.
+	 * @param manifestFile: path to the yaml manifest
+	 * @param outDir: output directory of the benchmark
+	 */
+	@SuppressWarnings("unchecked")
+	public SolomonBenchmark(String manifestFile, String outDir) {
+		this.outDir = outDir;
+
+		Map<String, Object> manifest = null;
+		try (InputStream inputStream = new FileInputStream(new File(manifestFile))) {
+			manifest = new Yaml().load(inputStream);
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Could not read benchmark manifest " + manifestFile, e);
+		}
+
+		this.instances = new ArrayList<String>();
+		if (manifest.get("instances") != null) {
+			for (Object instance : (List<Object>) manifest.get("instances"))
+				this.instances.add(String.valueOf(instance));
+		} else {
+			this.instances.addAll(new TreeSet<String>(OptimalSolutions.optimalObjFuncValue.keySet()));
+		}
+		this.seeds = manifest.get("seeds") != null ? (List<Integer>) manifest.get("seeds") : List.of(1);
+		this.config = manifest.get("config") != null ? (String) manifest.get("config") : "config.yaml";
+		this.nCustomers = manifest.get("n_customers") != null ? (int) manifest.get("n_customers") : 100;
+		this.iterations = manifest.get("iterations") != null ? (int) manifest.get("iterations") : 5000;
+		this.timeLimit = manifest.get("time_limit_ms") != null ? ((Number) manifest.get("time_limit_ms")).longValue() : -1;
+		this.targetGap = manifest.get("target_gap") != null ? ((Number) manifest.get("target_gap")).doubleValue() : 0.05;
+	}
+
+	/**
+	 * Runs all instances for all seeds and writes the results and the summary.
+	 * @throws ArgumentOutOfBoundsException
+	 */
+	public void run() throws ArgumentOutOfBoundsException {
+		List<RunResult> results = new ArrayList<RunResult>();
+		for (String instanceName : this.instances)
+			for (int seed : this.seeds)
+				results.add(this.solve(instanceName, seed));
+
+		this.writeResults(results);
+		this.writeSummary(results);
+	}
+
+	/**
+	 * Solves a single instance with the attached seed.
+	 * @param instanceName: name of the solomon instance
+	 * @param seed: random seed of the run
+	 * @return result of the run
+	 * @throws ArgumentOutOfBoundsException
+	 */
+	private RunResult solve(String instanceName, int seed) throws ArgumentOutOfBoundsException {
+		Config runConfig = Config.loadFromFile("resources/" + this.config);
+		runConfig.randomGenerator = new Random(seed);
+		runConfig.alnsIterations = this.iterations;
+		Config.bindToCurrentThread(runConfig);
+
+		try {
+			System.out.println("Benchmark: " + instanceName + " (seed " + seed + ")");
+			Data data = MainALNS.loadSolomonInstance(instanceName, this.nCustomers)[0];
+			double optimalCosts = getOptimalCosts(instanceName, this.nCustomers);
+
+			try (OutputSink sink = new OutputSink(data, this.outDir + "/runs/seed_" + seed, "results.txt", data.getInstanceName())) {
+				sink.initPenaltyCounts();
+				sink.initSummaryLog();
+				MainALNS.setInstanceSpecificParameters(data.getnCustomers(), data.getMaxDistanceInGraph());
+
+				long startTime = System.currentTimeMillis();
+				ConstructionHeuristicRegret construction = new ConstructionHeuristicRegret(data, sink);
+				Solution solutionConstr = construction.constructSolution(2);
+				long timeConstruction = System.currentTimeMillis() - startTime;
+
+				ALNSCore alns = new ALNSCore(data, sink);
+				alns.setTimeLimit(this.timeLimit);
+				// gap = (costs - optimal) / costs <= targetGap  <=>  costs <= optimal / (1 - targetGap)
+				alns.setTargetCosts(optimalCosts > 0 ? optimalCosts / (1 - this.targetGap) : -1);
+				Solution solutionALNS = alns.runALNS(solutionConstr);
+
+				double gap = optimalCosts > 0 ? CalcUtils.calculateGap(optimalCosts, solutionALNS.getTotalCosts()) : -1;
+				sink.writeResult(instanceName, solutionALNS, timeConstruction + alns.getTimeElapsed(), gap);
+				RunResult result = new RunResult(instanceName, seed, alns.getIterationsPerformed(), timeConstruction, alns.getTimeElapsed(),
+						alns.getTimeFirstFeasible() >= 0 ? timeConstruction + alns.getTimeFirstFeasible() : -1,
+						alns.getTimeTargetReached() >= 0 ? timeConstruction + alns.getTimeTargetReached() : -1,
+						solutionALNS.getTotalCosts(), optimalCosts, gap, solutionALNS.isFeasible());
+				RunResourceMonitor resources = sink.getResourceMonitor();
+				result.setMemoryUsage(resources.getAllocatedBytes(), resources.getGcCount(), resources.getGcTimeMs(), resources.getPeakHeapBytes());
+				return result;
+			}
+		} finally {
+			Config.bindToCurrentThread(null);
+		}
+	}
+
+	/**
+	 * Retrieve the best known costs of the attached instance.
+	 * @param instanceName: name of the solomon instance
+	 * @param nCustomers: number of customers
+	 * @return best known costs (-1 if not available)
+	 */
+	private static double getOptimalCosts(String instanceName, int nCustomers) {
+		double[] values = OptimalSolutions.optimalObjFuncValue.get(instanceName);
+		if (values == null)
+			return -1;
+		if (nCustomers == 25) return values[0];
+		if (nCustomers == 50) return values[1];
+		if (nCustomers == 100) return values[2];
+		return -1;
+	}
+
+	/**
+	 * Writes the results of all runs (one line per run).
+	 * @param results: results of all runs
+	 */
+	private void writeResults(List<RunResult> results) {
+		new File(this.outDir).mkdirs();
+		try (FileWriter writer = new FileWriter(this.outDir + "/benchmark_results.csv")) {
+			writer.write("instance;seed;iterations;timeConstruction;timeALNS;iterationsPerSecond;timeFirstFeasible;timeTargetGap;finalCosts;optimalCosts;finalGap;feasible;"
+					+ "allocatedMB;allocatedKBPerIteration;gcCount;gcTimeMs;peakHeapMB\n");
+			for (RunResult r : results)
+				writer.write(r.instanceName + ";" + r.seed + ";" + r.iterations + ";" + r.timeConstruction + ";" + r.timeALNS + ";"
+						+ r.getIterationsPerSecond() + ";" + r.timeFirstFeasible + ";" + r.timeTargetGap + ";" + r.finalCosts + ";"
+						+ r.optimalCosts + ";" + r.gap + ";" + r.feasible + ";" + r.allocatedBytes / 1048576.0 + ";"
+						+ (r.iterations > 0 ? r.allocatedBytes / 1024.0 / r.iterations : 0) + ";" + r.gcCount + ";" + r.gcTimeMs + ";"
+						+ r.peakHeapBytes / 1048576.0 + "\n");
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Writes the summary per instance (averages over all seeds) and the aggregated benchmark
+	 * score over all runs, and prints it on the console.
+	 * @param results: results of all runs
+	 */
+	private void writeSummary(List<RunResult> results) {
+		Map<String, List<RunResult>> groups = new LinkedHashMap<String, List<RunResult>>();
+		for (RunResult r : results)
+			groups.computeIfAbsent(r.instanceName, k -> new ArrayList<RunResult>()).add(r);
+
+		StringBuilder builder = new StringBuilder("instance;runs;iterationsPerSecond;avgTimeFirstFeasible;avgTimeTargetGap;targetReached;avgFinalGap\n");
+		for (Map.Entry<String, List<RunResult>> group : groups.entrySet())
+			builder.append(group.getKey() + ";" + summarize(group.getValue()) + "\n");
+		builder.append("ALL;" + summarize(results) + "\n");
+
+		long iterations = results.stream().mapToLong(r -> r.iterations).sum();
+		long timeALNS = results.stream().mapToLong(r -> r.timeALNS).sum();
+		double score = timeALNS > 0 ? iterations * 1000.0 / timeALNS : 0;
+
+		System.out.println("=== BENCHMARK SUMMARY ===");
+		System.out.print(builder.toString());
+		System.out.println("Benchmark score (ALNS iterations per second): " + score);
+		try (FileWriter writer = new FileWriter(this.outDir + "/benchmark_summary.csv")) {
+			writer.write(builder.toString());
+			writer.write("score;" + score + "\n");
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Aggregates the attached runs: number of runs, iterations per second (total iterations by
+	 * total ALNS time), average time to the first feasible solution and to the target gap
+	 * (of the runs reaching it), number of runs reaching the target gap and average final gap.
+	 * @param runs: runs being aggregated
+	 * @return aggregated values (csv formatted)
+	 */
+	private static String summarize(List<RunResult> runs) {
+		long iterations = runs.stream().mapToLong(r -> r.iterations).sum();
+		long timeALNS = runs.stream().mapToLong(r -> r.timeALNS).sum();
+		double itPerSecond = timeALNS > 0 ? iterations * 1000.0 / timeALNS : 0;
+		double avgFirstFeasible = runs.stream().filter(r -> r.timeFirstFeasible >= 0).mapToLong(r -> r.timeFirstFeasible).average().orElse(-1);
+		double avgTargetGap = runs.stream().filter(r -> r.timeTargetGap >= 0).mapToLong(r -> r.timeTargetGap).average().orElse(-1);
+		long targetReached = runs.stream().filter(r -> r.timeTargetGap >= 0).count();
+		double avgGap = runs.stream().filter(r -> r.optimalCosts > 0).mapToDouble(r -> r.gap).average().orElse(-1);
+		return runs.size() + ";" + itPerSecond + ";" + avgFirstFeasible + ";" + avgTargetGap + ";" + targetReached + ";" + avgGap;
+	}
+
+	/**
+	 * Result of a single benchmark run (times in ms).
+	 */
+	private static class RunResult {
+		final String instanceName;
+		final int seed;
+		final int iterations;
+		final long timeConstruction;
+		final long timeALNS;
+		final long timeFirstFeasible;
+		final long timeTargetGap;
+		final double finalCosts;
+		final double optimalCosts;
+		final double gap;
+		final boolean feasible;
+		// memory usage of the run (construction and ALNS)
+		long allocatedBytes;
+		long gcCount;
+		long gcTimeMs;
+		long peakHeapBytes;
+
+		RunResult(String instanceName, int seed, int iterations, long timeConstruction, long timeALNS, long timeFirstFeasible,
+				long timeTargetGap, double finalCosts, double optimalCosts, double gap, boolean feasible) {
+			this.instanceName = instanceName;
+			this.seed = seed;
+			this.iterations = iterations;
+			this.timeConstruction = timeConstruction;
+			this.timeALNS = timeALNS;
+			this.timeFirstFeasible = timeFirstFeasible;
+			this.timeTargetGap = timeTargetGap;
+			this.finalCosts = finalCosts;
+			this.optimalCosts = optimalCosts;
+			this.gap = gap;
+			this.feasible = feasible;
+		}
+
+		void setMemoryUsage(long allocatedBytes, long gcCount, long gcTimeMs, long peakHeapBytes) {
+			this.allocatedBytes = allocatedBytes;
+			this.gcCount = gcCount;
+			this.gcTimeMs = gcTimeMs;
+			this.peakHeapBytes = peakHeapBytes;
+		}
+
+		double getIterationsPerSecond() {
+			return this.timeALNS > 0 ? this.iterations * 1000.0 / this.timeALNS : 0;
+		}
+	}
+}
@@ -6,11 +6,18 @@ import vrptwfl.metaheuristic.alns.insertions.GreedyInsertion;
 import vrptwfl.metaheuristic.alns.insertions.RegretInsertion;
 import vrptwfl.metaheuristic.alns.insertions.SkillMatchingInsertion;
 import vrptwfl.metaheuristic.alns.removals.*;
+import vrptwfl.metaheuristic.common.GiantTour;
 import vrptwfl.metaheuristic.common.Solution;
+import vrptwfl.metaheuristic.common.SolutionValidator;
 import vrptwfl.metaheuristic.common.Vehicle;
 import vrptwfl.metaheuristic.data.Data;
 import vrptwfl.metaheuristic.exceptions.ArgumentOutOfBoundsException;
-import vrptwfl.metaheuristic.utils.WriterUtils;
+import vrptwfl.metaheuristic.jfr.ALNSIterationEvent;
+import vrptwfl.metaheuristic.jfr.DestroyEvent;
+import vrptwfl.metaheuristic.jfr.RepairEvent;
+import vrptwfl.metaheuristic.utils.OutputSink;
+
+import jdk.jfr.EventType;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -29,8 +36,16 @@ import java.util.TreeSet;
  */
 public class ALNSCore {
 	
+	// JFR event types (the events of an iteration are only created if their type is enabled)
+	private static final EventType ITERATION_EVENT_TYPE = EventType.getEventType(ALNSIterationEvent.class);
+	private static final EventType DESTROY_EVENT_TYPE = EventType.getEventType(DestroyEvent.class);
+	private static final EventType REPAIR_EVENT_TYPE = EventType.getEventType(RepairEvent.class);
+	
 	// Data
     private Data data;
+    
+    // Logging
+    private OutputSink sink;
 
     // Repair/Destroy Operators
     private AbstractInsertion[] repairOperators;
@@ -38,6 +53,10 @@ public class ALNSCore {
     private int currentDestroyOpIdx;
     private int currentRepairOpIdx;
     
+    // Runtime statistics of the operators (same order as the operator arrays)
+    private OperatorStatistics[] destroyStatistics;
+    private OperatorStatistics[] repairStatistics;
+    
     private AbstractRemoval vehicleRemoval;
     private boolean vehicleIsRemoved;
     
@@ -45,6 +64,7 @@ public class ALNSCore {
     private int currentSigma; 
     private boolean acceptedNewSolution;
     private double temperature;
+    private double temperatureStart;
     private double temperatureEnd;
     private double simulatedAnnealingRandomValue;
     
@@ -63,20 +83,40 @@ public class ALNSCore {
     private double[][] neighborGraph;
     
     // RequestRemoval
-    private TreeSet<Solution> solutionSet;
+    private TreeSet<EliteSolution> solutionSet;
     private double[][] requestGraph;
+    
+    // Termination (iteration cap, time limit, no-improvement cap, target costs)
+    private TerminationPolicy terminationPolicy;
+    
+    // Snapshots of the best solutions (anytime access, e.g., from another thread)
+    private volatile Solution bestSolutionSnapshot;
+    private volatile Solution bestFeasibleSolutionSnapshot;
+    
+    // Run statistics (e.g. for benchmarking)
+    private double targetCosts = -1;
+    private int iterationsPerformed;
+    private long timeElapsed;
+    private long timeFirstFeasible = -1;
+    private long timeTargetReached = -1;
+    
+    // Metrics (Prometheus text file; null if disabled)
+    private ALNSMetrics metrics;
 
     
     /**
      * Constructor for the ALNSCore class. 
      * It initializes the repair and destroy operators as defined in the configuration file.
      * @param data: Data object
+     * @param sink: output sink of the run
      * @throws ArgumentOutOfBoundsException
      */
-    public ALNSCore(Data data) throws ArgumentOutOfBoundsException {    	
+    public ALNSCore(Data data, OutputSink sink) throws ArgumentOutOfBoundsException {    	
     	// Initialize class variables
         this.data = data;
+        this.sink = sink;
         this.visitedSolutions = new HashMap<Integer, Solution>();
+        this.terminationPolicy = TerminationPolicy.fromConfig();
 
         // Initialize Operators
         this.initRepairOperators();
@@ -141,7 +181,11 @@ public class ALNSCore {
         	entry.setDraws(0);
         }
         
-        WriterUtils.initWriterRemovalProbabilities(WriterUtils.writerRemovals, destroyOperators);
+        this.destroyStatistics = new OperatorStatistics[this.destroyOperators.length];
+        for (int i = 0; i < this.destroyOperators.length; i++)
+        	this.destroyStatistics[i] = new OperatorStatistics("destroy", this.destroyOperators[i].getFormattedClassName());
+        
+        this.sink.initRemovalProbabilities(destroyOperators);
     }
 
     /**
@@ -169,8 +213,12 @@ public class ALNSCore {
         	entry.setProbability(1.0/this.repairOperators.length);
         	entry.setDraws(0);
         }
-        WriterUtils.initWriterRepairProbabilities(WriterUtils.writerRepairs, repairOperators);
-        // WriterUtils.initWriterRepairProbabilities(writerRepairs, repairOperators);
+        
+        this.repairStatistics = new OperatorStatistics[this.repairOperators.length];
+        for (int i = 0; i < this.repairOperators.length; i++)
+        	this.repairStatistics[i] = new OperatorStatistics("repair", this.repairOperators[i].getFormattedClassName());
+        
+        this.sink.initRepairProbabilities(repairOperators);
     }
     
     /**
@@ -188,9 +236,9 @@ public class ALNSCore {
      * Initializes the request graph.
      */
     private void initRequestGraph() {
-    	this.solutionSet = new TreeSet<Solution>(new Comparator<Solution>() {
+    	this.solutionSet = new TreeSet<EliteSolution>(new Comparator<EliteSolution>() {
 			@Override
-			public int compare(Solution o1, Solution o2) {
+			public int compare(EliteSolution o1, EliteSolution o2) {
 				return o1.getTotalCosts() < o2.getTotalCosts() ? -1 : 1;
 			}
 		});
@@ -204,6 +252,7 @@ public class ALNSCore {
      */
     private void initTemperature(double costInitialSolution) {
     	this.temperature = -(Config.getInstance().startTempControlParam / Math.log(Config.getInstance().bigOmega)) * costInitialSolution;
+    	this.temperatureStart = this.temperature;
     	this.temperatureEnd = Config.getInstance().minTempPercent * this.temperature;
     }
     
@@ -219,8 +268,9 @@ public class ALNSCore {
      */
     public Solution runALNS(Solution solutionConstr) throws ArgumentOutOfBoundsException {
     	long startTime = System.currentTimeMillis();
-    	WriterUtils.initProcessLog();
-    	WriterUtils.initializeIndividualPenaltiesLogging();
+    	this.terminationPolicy.start();
+    	this.sink.initProcessLog();
+    	this.sink.initIndividualPenaltiesLogging();
     	boolean initialLNSbooleanValue = Config.getInstance().useLNSVehicle;
 
     	solutionConstr.setIsConstruction(false);
@@ -242,8 +292,19 @@ public class ALNSCore {
         Solution solutionBestGlobal = solutionConstr.copyDeep();
         Solution solutionBestGlobalFeasible = solutionConstr.copyDeep();
     	Solution solutionTemp = solutionCurrent.copyDeep();
+    	this.bestSolutionSnapshot = solutionBestGlobal.copyDeep();
+    	this.bestFeasibleSolutionSnapshot = solutionBestGlobalFeasible.isFeasible() ? solutionBestGlobalFeasible.copyDeep() : null;
         
-    	WriterUtils.writeProcessLog(solutionBestGlobal, solutionTemp, solutionCurrent, solutionBestGlobalFeasible, data.getInstanceName(), 0, System.currentTimeMillis() - startTime, temperature, -1.0, null, null, 0);
+    	this.sink.writeProcessLog(solutionBestGlobal, solutionTemp, solutionCurrent, solutionBestGlobalFeasible, data.getInstanceName(), 0, System.currentTimeMillis() - startTime, temperature, -1.0, null, null, 0);
+    	this.iterationsPerformed = 0;
+    	this.timeFirstFeasible = -1;
+    	this.timeTargetReached = -1;
+    	this.updateRunStatistics(solutionBestGlobalFeasible, startTime);
+    	
+    	if (Config.getInstance().enableMetrics) {
+    		this.metrics = new ALNSMetrics(this.data, Config.getInstance().metricsDir);
+    		this.metrics.dump(solutionCurrent, solutionBestGlobal, solutionBestGlobalFeasible, this.temperature);
+    	}
 
         // add information from construction to neighbor graph
         if (Config.getInstance().useHistoricNodePairRemovalRandom || Config.getInstance().useHistoricNodePairRemovalDeterministic) 
@@ -252,29 +313,35 @@ public class ALNSCore {
         	this.updateRequestGraph(solutionConstr);    
         
         // Start ALNS
-        for (int iteration = 1; iteration <= Config.getInstance().alnsIterations; iteration++) {
+        for (int iteration = 1; !this.terminationPolicy.isTerminated(iteration - 1); iteration++) {
+        	// JFR events are only allocated/committed if recording is enabled (checked once per iteration)
+        	ALNSIterationEvent iterationEvent = ITERATION_EVENT_TYPE.isEnabled() ? new ALNSIterationEvent() : null;
+        	DestroyEvent destroyEvent = DESTROY_EVENT_TYPE.isEnabled() ? new DestroyEvent() : null;
+        	RepairEvent repairEvent = REPAIR_EVENT_TYPE.isEnabled() ? new RepairEvent() : null;
+        	if (iterationEvent != null)
+        		iterationEvent.begin();
+        	long iterationStart = System.nanoTime();
         	solutionTemp = solutionCurrent.copyDeep();
 
         	// check for LNS removal 
         	if (Config.getInstance().useLNSVehicle) {
-        		double maxLNSIter = Config.getInstance().percentageOfItersForLNS * Config.getInstance().alnsIterations;
-        		if (iteration <= maxLNSIter && !vehicleIsRemoved) {
+        		// the LNS phase covers the first share of the budget (iterations or time limit)
+        		boolean isLNSPhase = this.terminationPolicy.getProgress(iteration) <= Config.getInstance().percentageOfItersForLNS;
+        		if (isLNSPhase && !vehicleIsRemoved) {
         			vehicleRemoval.destroy(solutionTemp);
         			vehicleIsRemoved = true;
         			int removedVehicle = ((FavVehicleRemoval) vehicleRemoval).getSelectedIdx();
         			solutionTemp.getVehicles().get(removedVehicle).setAvailable(false);  
         			solutionCurrent = solutionTemp.copyDeep();
         		}
-        		if (iteration >maxLNSIter) {
+        		if (!isLNSPhase) {
         			Config.getInstance().useLNSVehicle = false;
         			if (!this.acceptedNewSolution) {
         				int removedVehicle = ((FavVehicleRemoval) vehicleRemoval).getSelectedIdx();
         				solutionTemp.getVehicles().get(removedVehicle).setAvailable(true);  
         				solutionCurrent = solutionBestGlobal.copyDeep();
         			}
-        			System.out.println("=== LNS Result ===");
-        			System.out.println("vehicles used: " + solutionCurrent.getUsedVehicles().size());
-        			System.out.println("=== END LNS ===");
+        			this.sink.writeLNSResult(iteration, solutionCurrent);
         		}
         		
         	}
@@ -285,11 +352,47 @@ public class ALNSCore {
 
             // draw destroy operation
             AbstractRemoval destroyOp = Config.getInstance().drawOpUniformly ? getDestroyOperatorAtRandom() : drawDestroyOperator();
+            long evaluationsBefore = solutionTemp.getRemovalsEvaluated();
+            if (destroyEvent != null)
+            	destroyEvent.begin();
+            long timeBefore = System.nanoTime();
             List<Integer> removals = destroyOp.destroy(solutionTemp);
+            this.destroyStatistics[this.currentDestroyOpIdx].recordCall(System.nanoTime() - timeBefore, 
+            		solutionTemp.getRemovalsEvaluated() - evaluationsBefore, removals.size());
+            if (destroyEvent != null) {
+            	destroyEvent.end();
+            	if (destroyEvent.shouldCommit()) {
+            		destroyEvent.operator = destroyOp.getFormattedClassName();
+            		destroyEvent.removals = removals.size();
+            		destroyEvent.evaluations = solutionTemp.getRemovalsEvaluated() - evaluationsBefore;
+            		destroyEvent.commit();
+            	}
+            }
 
             // draw repair operation
             AbstractInsertion repairOp = Config.getInstance().drawOpUniformly ? getRepairOperatorAtRandom() : drawInsertionOperator();
+            int notAssignedBefore = solutionTemp.getNotAssignedCustomers().size();
+            evaluationsBefore = solutionTemp.getInsertionsEvaluated();
+            if (repairEvent != null)
+            	repairEvent.begin();
+            timeBefore = System.nanoTime();
             repairOp.solve(solutionTemp);
+            this.repairStatistics[this.currentRepairOpIdx].recordCall(System.nanoTime() - timeBefore, 
+            		solutionTemp.getInsertionsEvaluated() - evaluationsBefore, notAssignedBefore - solutionTemp.getNotAssignedCustomers().size());
+            if (repairEvent != null) {
+            	repairEvent.end();
+            	if (repairEvent.shouldCommit()) {
+            		repairEvent.operator = repairOp.getFormattedClassName();
+            		repairEvent.insertions = notAssignedBefore - solutionTemp.getNotAssignedCustomers().size();
+            		repairEvent.evaluations = solutionTemp.getInsertionsEvaluated() - evaluationsBefore;
+            		repairEvent.unassignedCustomers = solutionTemp.getNotAssignedCustomers().size();
+            		repairEvent.commit();
+            	}
+            }
+
+            // shadow evaluation: compare the incrementally maintained state with its recomputation
+            if (Config.getInstance().validationInterval > 0 && iteration % Config.getInstance().validationInterval == 0)
+            	SolutionValidator.validate(solutionTemp, false, "iteration " + iteration + ", " + destroyOp.getFormattedClassName() + " -> " + repairOp.getFormattedClassName());
 
             // update neighbor graph if new solution was found (TODO Alex - check if the solution is really a new one (hashtable?)
             if (Config.getInstance().useHistoricNodePairRemovalRandom || Config.getInstance().useHistoricNodePairRemovalDeterministic) 
@@ -298,7 +401,7 @@ public class ALNSCore {
             	this.updateRequestGraph(solutionTemp);
             
             // Log Process
-            WriterUtils.writeProcessLog(solutionBestGlobal, solutionTemp, solutionCurrent, solutionBestGlobalFeasible, data.getInstanceName(), iteration, System.currentTimeMillis() - startTime, temperature, simulatedAnnealingRandomValue, destroyOp, repairOp, removals.size());
+            this.sink.writeProcessLog(solutionBestGlobal, solutionTemp, solutionCurrent, solutionBestGlobalFeasible, data.getInstanceName(), iteration, System.currentTimeMillis() - startTime, temperature, simulatedAnnealingRandomValue, destroyOp, repairOp, removals.size());
             
             //TODO_DONE: abhängig machen von update interval
             // update solutionCurrent with the new penalty weights
@@ -309,26 +412,32 @@ public class ALNSCore {
             }
 
             // check for improvement of the current solution
+            double costsBestGlobal = solutionBestGlobal.getTotalCosts();
+            double costsCurrent = solutionCurrent.getTotalCosts();
+            double costsBestGlobalFeasible = solutionBestGlobalFeasible.getTotalCosts();
             if (Config.getInstance().useLNSVehicle) {
             	solutionCurrent = this.checkVehicleImprovement(iteration, solutionTemp, solutionCurrent, solutionBestGlobal, solutionBestGlobalFeasible);
             } else {
             	solutionCurrent = this.checkImprovement(iteration, solutionTemp, solutionCurrent, solutionBestGlobal, solutionBestGlobalFeasible);            	
             }
+            double costReduction = costsBestGlobal - solutionBestGlobal.getTotalCosts();
+            if (costReduction > 0)
+            	this.bestSolutionSnapshot = solutionBestGlobal.copyDeep();
+            if (solutionBestGlobalFeasible.isFeasible() && (this.bestFeasibleSolutionSnapshot == null || costsBestGlobalFeasible != solutionBestGlobalFeasible.getTotalCosts()))
+            	this.bestFeasibleSolutionSnapshot = solutionBestGlobalFeasible.copyDeep();
+            this.terminationPolicy.update(costReduction > 0, solutionBestGlobalFeasible);
+            this.destroyStatistics[this.currentDestroyOpIdx].recordOutcome(this.acceptedNewSolution, costReduction);
+            this.repairStatistics[this.currentRepairOpIdx].recordOutcome(this.acceptedNewSolution, costReduction);
             
-            // Verbose
+            // Summary log (progress is exported via the metrics, see ALNSMetrics)
             if (iteration % 1000 == 0) {
-                System.out.println("Iteration " + iteration);
-                System.out.println("Cost temp " + solutionTemp.getTotalCosts());
-                System.out.println("Cost curr " + solutionCurrent.getTotalCosts());
-                System.out.println("Cost glob " + solutionBestGlobal.getTotalCosts());
-                System.out.println("===");
-            	WriterUtils.writeSummaryLog(iteration, solutionBestGlobal, System.currentTimeMillis() - startTime);
+            	this.sink.writeSummaryLog(iteration, solutionBestGlobal, System.currentTimeMillis() - startTime);
             }  
       
             if (!Config.getInstance().useLNSVehicle) {
             	// Call update operations if not in 'LNS-Vehicle Optimization' phase
             	this.updateWeightofOperators(iteration);
-            	this.updateTemperature();            	
+            	this.updateTemperature(iteration);            	
             }
             
             // CHECK SCHIFFER UPDATES
@@ -352,7 +461,6 @@ public class ALNSCore {
             	if (Config.getInstance().enableGLS || Config.getInstance().enableGLSFeature) {
             		if (acceptedNewSolution) {
             			data.updateGLSCounter(solutionTemp);
-            			data.addToGLSSolutionHistory(solutionTemp);
             		}
             		
             		if (iteration % Config.getInstance().glsIterUntilPenaltyUpdate == 0) {
@@ -362,7 +470,7 @@ public class ALNSCore {
             				data.glsFeatureUpdatePenaltyWeights();        			
             			
             			// write additional information
-            			WriterUtils.addToPenaltiesInformation(iteration, solutionTemp);
+            			this.sink.addToPenaltiesInformation(iteration, solutionTemp);
             			
             			// solutionBestGlobal.calculateTotalCosts(true);
             			data.resetGLSSettings();
@@ -372,19 +480,65 @@ public class ALNSCore {
             
             // Tracking of operator probabilities
         	if (iteration % Config.getInstance().updateInterval == 0) {
-        		WriterUtils.writeRemovalProbabilities(WriterUtils.writerRemovals, destroyOperators, iteration);
-        		WriterUtils.writeRepairProbabilities(WriterUtils.writerRepairs, repairOperators, iteration);        		
+        		this.sink.writeRemovalProbabilities(destroyOperators, iteration);
+        		this.sink.writeRepairProbabilities(repairOperators, iteration);        		
         	}
             // END OF ITERATION
         	
-        	WriterUtils.addTourInformation(iteration, solutionTemp);
-        	WriterUtils.writeIndividualPenalties(iteration, solutionTemp);
+        	this.sink.addTourInformation(iteration, solutionTemp);
+        	this.sink.writeIndividualPenalties(iteration, solutionTemp);
+        	
+        	this.iterationsPerformed = iteration;
+        	this.updateRunStatistics(solutionBestGlobalFeasible, startTime);
+        	
+        	if (iterationEvent != null) {
+        		iterationEvent.end();
+        		if (iterationEvent.shouldCommit()) {
+        			iterationEvent.iteration = iteration;
+        			iterationEvent.destroyOperator = destroyOp.getFormattedClassName();
+        			iterationEvent.repairOperator = repairOp.getFormattedClassName();
+        			iterationEvent.removals = removals.size();
+        			iterationEvent.accepted = this.acceptedNewSolution;
+        			iterationEvent.improved = costReduction > 0;
+        			iterationEvent.costDelta = solutionTemp.getTotalCosts() - costsCurrent;
+        			iterationEvent.temperature = this.temperature;
+        			iterationEvent.commit();
+        		}
+        	}
+        	
+        	if (this.metrics != null) {
+        		this.metrics.recordIteration(System.nanoTime() - iterationStart, this.acceptedNewSolution, costReduction > 0);
+        		if (iteration % Config.getInstance().metricsDumpInterval == 0)
+        			this.metrics.dump(solutionCurrent, solutionBestGlobal, solutionBestGlobalFeasible, this.temperature);
+        	}
         }
         
+        this.timeElapsed = System.currentTimeMillis() - startTime;
+        // final summary (costs and memory usage of the run)
+        if (this.iterationsPerformed % 1000 != 0)
+        	this.sink.writeSummaryLog(this.iterationsPerformed, solutionBestGlobal, this.timeElapsed);
+        this.sink.writeOperatorStatistics(this.destroyStatistics, this.repairStatistics);
+        if (this.metrics != null)
+        	this.metrics.dump(solutionCurrent, solutionBestGlobal, solutionBestGlobalFeasible, this.temperature);
         Config.getInstance().useLNSVehicle = initialLNSbooleanValue;
         return solutionBestGlobal;
     }
     
+    /**
+     * Updates the run statistics, i.e., the time until the first feasible solution was
+     * found and the time until the target costs were reached.
+     * @param solutionBestGlobalFeasible: best feasible solution found so far
+     * @param startTime: start time of the ALNS
+     */
+    private void updateRunStatistics(Solution solutionBestGlobalFeasible, long startTime) {
+    	if (!solutionBestGlobalFeasible.isFeasible())
+    		return;
+    	if (this.timeFirstFeasible < 0)
+    		this.timeFirstFeasible = System.currentTimeMillis() - startTime;
+    	if (this.timeTargetReached < 0 && this.targetCosts > 0 && solutionBestGlobalFeasible.getTotalCosts() <= this.targetCosts + Config.getInstance().epsilon)
+    		this.timeTargetReached = System.currentTimeMillis() - startTime;
+    }
+    
     /**
      * Check whether in the attached solution a penalty occurred. If so,
      * the flag indicating the occurrence of penalties are set to true.
@@ -446,13 +600,16 @@ public class ALNSCore {
     // TODO Alex: Testcase um zu checken, ob auch die richtigen werte upgdated werden
     private void updateNeighborGraph(Solution solution) {
         double obj = solution.getTotalCosts();
+        GiantTour giantTour = solution.getGiantTour();
         for (Vehicle vehicle: solution.getVehicles()) {
             if (vehicle.isUsed()) {
-                ArrayList<Integer> customers = vehicle.getCustomers();
-                int pred = customers.get(0);
-                int succ = -1;
-                for (int c = 1; c < customers.size(); c++) {
-                    succ = customers.get(c);
+                // walk the route in the giant tour (depot copies map to customer id 0)
+                int node = giantTour.getStartDepot(vehicle.getId());
+                int endDepot = giantTour.getEndDepot(vehicle.getId());
+                int pred = 0;
+                while (node != endDepot) {
+                    node = giantTour.getNext(node);
+                    int succ = giantTour.getCustomer(node);
                     if (this.neighborGraph[pred][succ] > obj + Config.getInstance().epsilon) 
                     	this.neighborGraph[pred][succ] = obj;
                     pred = succ;
@@ -462,49 +619,39 @@ public class ALNSCore {
     }
     
     /**
-     * Update request graphs.
+     * Update request graphs. The solution is stored as compact elite record (see EliteSolution)
+     * if the solution set has not reached its max limit or if it is better than the worst solution in the set.
      * @param solution: solution object
      */
     private void updateRequestGraph(Solution solution) {
-    	// if size of solution set has not reached its max limit, add new solution
-    	if (this.solutionSet.size() < Config.getInstance().requestGraphSolutionsSize) {
-    		this.solutionSet.add(solution);
-    		adaptWeightsRequestGraph(solution, +1);
-    	}
-    	// if solution set reached its max; check if new solution has better score
-    	else {
-    		// first check if new solution has a better score to the worst score in the solution set
-    		Solution floorSolution = this.solutionSet.last();
-    		if (floorSolution.getTotalCosts() > solution.getTotalCosts()) {
-    			// remove scores from old solution 
-    			Solution removedSol = this.solutionSet.pollLast();
-    			adaptWeightsRequestGraph(removedSol, -1);
-    			
-    			// add scores from new solution
-    			this.solutionSet.add(solution);
-    			adaptWeightsRequestGraph(solution, +1);
-    		}
-    		else ; // do nothing
+    	// if solution set reached its max; check if new solution has a better score than the worst score in the solution set
+    	if (this.solutionSet.size() >= Config.getInstance().requestGraphSolutionsSize) {
+    		if (this.solutionSet.last().getTotalCosts() <= solution.getTotalCosts())
+    			return;
+    		// remove scores from old solution 
+    		adaptWeightsRequestGraph(this.solutionSet.pollLast(), -1);
     	}
+    	
+    	// add scores from new solution
+    	EliteSolution elite = new EliteSolution(solution);
+    	this.solutionSet.add(elite);
+    	adaptWeightsRequestGraph(elite, +1);
     }
     
     /**
      * Adapt weights in the request graph with a value being attached as parameter.
-     * @param solution: solution object - routes which are considered for the update operation
+     * @param elite: elite solution - pairs of customers served in the same route are considered for the update operation
      * @param value: update value
      */
-    private void adaptWeightsRequestGraph(Solution solution, double value) {
-    	for (Vehicle v: solution.getVehicles()) {
-    		for (int i = 1 ; i < v.getCustomers().size()-2; i++) {
-    			for (int j = i+1; j < v.getCustomers().size()-1; j++) {
-    				// Get customer identifiers
-    				int customerI = v.getCustomers().get(i);
-    				int customerJ = v.getCustomers().get(j);
-    				// update request values
-    				this.requestGraph[customerI][customerJ] = Math.max(this.requestGraph[customerI][customerJ] + value, 0);
-    				this.requestGraph[customerJ][customerI] = Math.max(this.requestGraph[customerJ][customerI] + value, 0);
-    			}
-    		}
+    private void adaptWeightsRequestGraph(EliteSolution elite, double value) {
+    	int[] pairs = elite.getCoRoutedPairs();
+    	for (int p = 0; p < pairs.length; p += 2) {
+    		// Get customer identifiers
+    		int customerI = pairs[p];
+    		int customerJ = pairs[p + 1];
+    		// update request values
+    		this.requestGraph[customerI][customerJ] = Math.max(this.requestGraph[customerI][customerJ] + value, 0);
+    		this.requestGraph[customerJ][customerI] = Math.max(this.requestGraph[customerJ][customerI] + value, 0);
     	}
     }
     
@@ -516,7 +663,7 @@ public class ALNSCore {
     		solutionBestGlobalFeasible.setSolution(solutionTemp);
     		solutionBestGlobal.setSolution(solutionTemp);
 
-    		WriterUtils.writePenaltyCount(iteration, solutionBestGlobal);
+    		this.sink.writePenaltyCount(iteration, solutionBestGlobal);
     		solutionBestGlobalFeasible.calculateTotalCosts(true);
     		this.acceptedNewSolution = true;
     		this.vehicleIsRemoved = false;
@@ -564,7 +711,7 @@ public class ALNSCore {
         	this.currentSigma = Config.getInstance().sigma1;
         	solutionBestGlobal.setSolution(solutionTemp);
         	this.acceptedNewSolution = true;
-        	WriterUtils.writePenaltyCount(iteration, solutionBestGlobal);
+        	this.sink.writePenaltyCount(iteration, solutionBestGlobal);
         	return solutionTemp;
         }
         //}
@@ -738,10 +885,15 @@ public class ALNSCore {
     
     /**
      * This method updates the temperature parameter according to the cooling rate.
+     * If the ALNS is bounded by a time limit, the temperature is scaled to the progress of the 
+     * search instead, i.e., it decreases geometrically from its start to its end value over the budget.
+     * @param iteration: current iteration
      * @see vrptwfl.metaheuristic.Config
      */
-    private void updateTemperature() {
-    	if (this.temperature > this.temperatureEnd)
+    private void updateTemperature(int iteration) {
+    	if (this.terminationPolicy.isTimeBound())
+    		this.temperature = this.temperatureStart * Math.pow(this.temperatureEnd / this.temperatureStart, this.terminationPolicy.getProgress(iteration));
+    	else if (this.temperature > this.temperatureEnd)
     		this.temperature *= Config.getInstance().coolingRate;
     }
     
@@ -841,4 +993,102 @@ public class ALNSCore {
 //        return solutionCurrent;
     }
 */
+    
+    //
+    // RUN STATISTICS
+    //
+    /**
+     * Sets a time limit for the ALNS. The search stops after the iteration in which 
+     * the time limit is exceeded (at the latest after Config.getInstance().alnsIterations).
+     * @param timeLimit: time limit in ms (-1: no time limit)
+     * @see TerminationPolicy
+     */
+    public void setTimeLimit(long timeLimit) {
+    	this.terminationPolicy.setTimeLimit(timeLimit);
+    }
+    
+    /**
+     * Sets the target costs. The time until a feasible solution with costs not higher than
+     * the target costs is found is tracked (see getTimeTargetReached).
+     * @param targetCosts: target costs (-1: no target)
+     */
+    public void setTargetCosts(double targetCosts) {
+    	this.targetCosts = targetCosts;
+    }
+    
+    /**
+     * Retrieve the termination policy of the ALNS (initialized from the configuration file).
+     * It can be adapted before the run, e.g., by a target cost stop, and it can be used to 
+     * stop a running search from another thread.
+     * @return termination policy
+     */
+    public TerminationPolicy getTerminationPolicy() {
+    	return this.terminationPolicy;
+    }
+    
+    /**
+     * Retrieve the best solution found so far (anytime access; may be called from another thread 
+     * while the ALNS is running). The returned solution is a snapshot and must not be modified.
+     * @return best solution (null if the ALNS has not been started yet)
+     */
+    public Solution getBestSolution() {
+    	return this.bestSolutionSnapshot;
+    }
+    
+    /**
+     * Retrieve the best feasible solution found so far (anytime access; may be called from another 
+     * thread while the ALNS is running). The returned solution is a snapshot and must not be modified.
+     * @return best feasible solution (null if no feasible solution has been found yet)
+     */
+    public Solution getBestFeasibleSolution() {
+    	return this.bestFeasibleSolutionSnapshot;
+    }
+    
+    /**
+     * Retrieve the number of ALNS iterations performed in the last run.
+     * @return number of iterations
+     */
+    public int getIterationsPerformed() {
+    	return this.iterationsPerformed;
+    }
+    
+    /**
+     * Retrieve the elapsed time of the last run.
+     * @return elapsed time in ms
+     */
+    public long getTimeElapsed() {
+    	return this.timeElapsed;
+    }
+    
+    /**
+     * Retrieve the time until the first feasible solution was found in the last run.
+     * @return time in ms (-1: no feasible solution found)
+     */
+    public long getTimeFirstFeasible() {
+    	return this.timeFirstFeasible;
+    }
+    
+    /**
+     * Retrieve the time until the target costs were reached in the last run.
+     * @return time in ms (-1: target costs not reached)
+     */
+    public long getTimeTargetReached() {
+    	return this.timeTargetReached;
+    }
+    
+    /**
+     * Retrieve the runtime statistics of the destroy operators.
+     * @return statistics of the destroy operators
+     */
+    public OperatorStatistics[] getDestroyStatistics() {
+    	return this.destroyStatistics;
+    }
+    
+    /**
+     * Retrieve the runtime statistics of the repair operators.
+     * @return statistics of the repair operators
+     */
+    public OperatorStatistics[] getRepairStatistics() {
+    	return this.repairStatistics;
+    }
 }
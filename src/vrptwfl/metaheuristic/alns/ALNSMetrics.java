@@ -0,0 +1,146 @@
+package vrptwfl.metaheuristic.alns;
+
+import vrptwfl.metaheuristic.common.Solution;
+import vrptwfl.metaheuristic.data.Data;
+import vrptwfl.metaheuristic.utils.DataUtils;
+import vrptwfl.metaheuristic.utils.MetricsRegistry;
+
+/**
+ * This class collects the health metrics of an ALNS run (iterations, acceptance rate,
+ * costs, temperature, penalty counts and GLS penalty weights) in a metrics registry
+ * and dumps them periodically as Prometheus text file (see Config.metricsDir and
+ * Config.metricsDumpInterval).
+ *
+ * @author Christian M.M. Frey
+ */
+public class ALNSMetrics {
+
+	// upper bounds of the iteration duration buckets (seconds)
+	private static final double[] ITERATION_BUCKETS = {0.0001, 0.00025, 0.0005, 0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1.0};
+
+	private Data data;
+	private String fileName;
+	private MetricsRegistry registry;
+
+	private MetricsRegistry.Counter iterations;
+	private MetricsRegistry.Counter accepted;
+	private MetricsRegistry.Counter newGlobalBest;
+	private MetricsRegistry.Histogram iterationDuration;
+	private MetricsRegistry.Gauge acceptanceRate;
+	private MetricsRegistry.Gauge costsCurrent;
+	private MetricsRegistry.Gauge costsBestGlobal;
+	private MetricsRegistry.Gauge costsBestFeasible;
+	private MetricsRegistry.Gauge temperature;
+	private MetricsRegistry.Gauge lastUpdate;
+	private MetricsRegistry.Gauge[] penaltyCounts;
+	private MetricsRegistry.Gauge[] glsWeightsSum;
+	private MetricsRegistry.Gauge[] glsWeightsMax;
+
+	// iterations and accepted solutions since the last dump (acceptance rate)
+	private long iterationsWindow;
+	private long acceptedWindow;
+
+	/**
+	 * Constructor of the ALNS metrics. Registers all metrics of the run; the metrics
+	 * carry the instance name and the run label (process id and thread id) as labels.
+	 * The run label is part of the file name, i.e., parallel runs (threads or processes)
+	 * on the same instance write to different files.
+	 * @param data: data object
+	 * @param metricsDir: directory the metrics file is written to
+	 */
+	public ALNSMetrics(Data data, String metricsDir) {
+		this.data = data;
+		String run = ProcessHandle.current().pid() + "-" + Thread.currentThread().getId();
+		this.fileName = metricsDir + "/vrptwfl_" + data.getInstanceName() + "_" + run + ".prom";
+		this.registry = new MetricsRegistry("instance", data.getInstanceName(), "run", run);
+
+		this.iterations = registry.counter("vrptwfl_alns_iterations_total", "Number of performed ALNS iterations.");
+		this.accepted = registry.counter("vrptwfl_alns_accepted_total", "Number of accepted temporary solutions.");
+		this.newGlobalBest = registry.counter("vrptwfl_alns_new_global_best_total", "Number of new global best solutions.");
+		this.iterationDuration = registry.histogram("vrptwfl_alns_iteration_duration_seconds", "Duration of an ALNS iteration.", ITERATION_BUCKETS);
+		this.acceptanceRate = registry.gauge("vrptwfl_alns_acceptance_rate", "Share of accepted solutions since the last dump.");
+		this.costsCurrent = registry.gauge("vrptwfl_alns_current_cost", "Costs of the current solution.");
+		this.costsBestGlobal = registry.gauge("vrptwfl_alns_best_cost", "Costs of the global best solution.");
+		this.costsBestFeasible = registry.gauge("vrptwfl_alns_best_feasible_cost", "Costs of the best feasible solution (NaN if no feasible solution was found).");
+		this.temperature = registry.gauge("vrptwfl_alns_temperature", "Temperature of the simulated annealing.");
+		this.lastUpdate = registry.gauge("vrptwfl_alns_last_update_timestamp_seconds", "Unix time of the last dump.");
+
+		DataUtils.PenaltyIdx[] penalties = DataUtils.PenaltyIdx.values();
+		this.penaltyCounts = new MetricsRegistry.Gauge[penalties.length];
+		this.glsWeightsSum = new MetricsRegistry.Gauge[penalties.length];
+		this.glsWeightsMax = new MetricsRegistry.Gauge[penalties.length];
+		for (DataUtils.PenaltyIdx penalty : penalties) {
+			this.penaltyCounts[penalty.getId()] = registry.gauge("vrptwfl_solution_penalties", "Number of violations in the current solution.", "penalty", penalty.name());
+			this.glsWeightsSum[penalty.getId()] = registry.gauge("vrptwfl_gls_penalty_weight_sum", "Sum of the GLS penalty weights over all customers.", "penalty", penalty.name());
+			this.glsWeightsMax[penalty.getId()] = registry.gauge("vrptwfl_gls_penalty_weight_max", "Maximal GLS penalty weight of a customer.", "penalty", penalty.name());
+		}
+	}
+
+	/**
+	 * Records a single ALNS iteration.
+	 * @param nanos: duration of the iteration in nanoseconds
+	 * @param accepted: whether the temporary solution has been accepted
+	 * @param newGlobalBest: whether the temporary solution is a new global best solution
+	 */
+	public void recordIteration(long nanos, boolean accepted, boolean newGlobalBest) {
+		this.iterations.inc();
+		this.iterationsWindow++;
+		this.iterationDuration.observe(nanos / 1e9);
+		if (accepted) {
+			this.accepted.inc();
+			this.acceptedWindow++;
+		}
+		if (newGlobalBest)
+			this.newGlobalBest.inc();
+	}
+
+	/**
+	 * Updates the gauges of the run and dumps all metrics to the metrics file.
+	 * @param solutionCurrent: current solution
+	 * @param solutionBestGlobal: global best solution
+	 * @param solutionBestGlobalFeasible: best feasible solution
+	 * @param temperature: current temperature
+	 */
+	public void dump(Solution solutionCurrent, Solution solutionBestGlobal, Solution solutionBestGlobalFeasible, double temperature) {
+		if (this.iterationsWindow > 0) {
+			this.acceptanceRate.set((double) this.acceptedWindow / this.iterationsWindow);
+			this.iterationsWindow = 0;
+			this.acceptedWindow = 0;
+		}
+
+		this.costsCurrent.set(solutionCurrent.getTotalCosts());
+		this.costsBestGlobal.set(solutionBestGlobal.getTotalCosts());
+		this.costsBestFeasible.set(solutionBestGlobalFeasible.isFeasible() ? solutionBestGlobalFeasible.getTotalCosts() : Double.NaN);
+		this.temperature.set(temperature);
+		this.lastUpdate.set(System.currentTimeMillis() / 1000.0);
+
+		// penalties of the current solution
+		for (int i = 0; i < this.penaltyCounts.length; i++)
+			this.penaltyCounts[i].set(solutionCurrent.getViolations().getCount(i));
+
+		// GLS penalty weights (only available if GLS is enabled)
+		double[][] glsPenalties = this.data.getGLSPenalties();
+		if (glsPenalties != null) {
+			for (int i = 0; i < glsPenalties.length && i < this.glsWeightsSum.length; i++) {
+				double sum = 0;
+				double max = 0;
+				for (int j = 1; j < glsPenalties[i].length; j++) {
+					sum += glsPenalties[i][j];
+					max = Math.max(max, glsPenalties[i][j]);
+				}
+				this.glsWeightsSum[i].set(sum);
+				this.glsWeightsMax[i].set(max);
+			}
+		}
+
+		this.registry.dumpToFile(this.fileName);
+	}
+
+	/**
+	 * Retrieve the path of the metrics file.
+	 * @return path of the metrics file
+	 */
+	public String getFileName() {
+		return this.fileName;
+	}
+}
@@ -0,0 +1,85 @@
+package vrptwfl.metaheuristic.alns;
+
+import java.util.ArrayList;
+
+import vrptwfl.metaheuristic.common.Solution;
+import vrptwfl.metaheuristic.common.Vehicle;
+
+/**
+ * Compact, immutable record of an elite solution being used for the request graph
+ * (historic request pair removal). Instead of a full Solution object (vehicles, location
+ * occupancy, penalty lists), it stores the routes as primitive arrays, the total costs at
+ * the time the record was created and the pairs of customers being served in the same route.
+ * The pairs are computed once when the record is created, such that adding and removing the
+ * record from the request graph only iterates over a primitive array.
+ *
+ * @author Christian M.M. Frey
+ */
+public final class EliteSolution {
+
+	private final double totalCosts;
+	private final int[][] routes;
+	// pairs of customers served in the same route: [i_0, j_0, i_1, j_1, ...]
+	private final int[] coRoutedPairs;
+
+	/**
+	 * Constructor of the elite record. Only used routes are stored (without the depot).
+	 * @param solution: solution being recorded
+	 */
+	public EliteSolution(Solution solution) {
+		this.totalCosts = solution.getTotalCosts();
+
+		ArrayList<int[]> usedRoutes = new ArrayList<int[]>();
+		int nPairs = 0;
+		for (Vehicle vehicle : solution.getVehicles()) {
+			ArrayList<Integer> customers = vehicle.getCustomers();
+			if (customers.size() <= 2)
+				continue;
+			int[] route = new int[customers.size() - 2];
+			for (int i = 0; i < route.length; i++)
+				route[i] = customers.get(i + 1);
+			usedRoutes.add(route);
+			nPairs += route.length * (route.length - 1) / 2;
+		}
+		this.routes = usedRoutes.toArray(new int[usedRoutes.size()][]);
+
+		this.coRoutedPairs = new int[2 * nPairs];
+		int idx = 0;
+		for (int[] route : this.routes) {
+			for (int i = 0; i < route.length - 1; i++) {
+				for (int j = i + 1; j < route.length; j++) {
+					this.coRoutedPairs[idx++] = route[i];
+					this.coRoutedPairs[idx++] = route[j];
+				}
+			}
+		}
+	}
+
+	//
+	// GETTERS
+	//
+	/**
+	 * Retrieve the total costs of the solution at the time the record was created.
+	 * @return total costs
+	 */
+	public double getTotalCosts() {
+		return this.totalCosts;
+	}
+
+	/**
+	 * Retrieve the used routes (customers without the depot). The arrays must not be modified.
+	 * @return routes
+	 */
+	public int[][] getRoutes() {
+		return this.routes;
+	}
+
+	/**
+	 * Retrieve the pairs of customers served in the same route as flat array [i_0, j_0, i_1, j_1, ...].
+	 * The array must not be modified.
+	 * @return co-routed customer pairs
+	 */
+	public int[] getCoRoutedPairs() {
+		return this.coRoutedPairs;
+	}
+}
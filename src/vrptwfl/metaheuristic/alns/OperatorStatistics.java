@@ -0,0 +1,215 @@
+package vrptwfl.metaheuristic.alns;
+
+/**
+ * This class aggregates the runtime statistics of a single destroy or repair operator
+ * during an ALNS run: number of calls, a latency histogram of the calls (System.nanoTime),
+ * the number of evaluated removals/insertions, the number of removed/inserted customers,
+ * as well as the contribution of the operator to the search (accepted solutions, new
+ * global best solutions and the achieved reduction of the global best costs).
+ *
+ * The latency histogram uses logarithmic buckets: each power of two is split into four
+ * sub-buckets, i.e., the relative error of the reported percentiles is below 25%.
+ *
+ * @author Christian M.M. Frey
+ */
+public class OperatorStatistics {
+
+	private static final int SUB_BUCKETS = 4;
+	private static final int SUB_BUCKET_BITS = 2;
+
+	private final String type;
+	private final String operatorName;
+
+	private long calls;
+	private long totalNanos;
+	private long maxNanos;
+	private long[] histogram = new long[64 * SUB_BUCKETS];
+
+	private long evaluations;
+	private long customers;
+	private long accepted;
+	private long newGlobalBest;
+	private double globalCostReduction;
+
+	/**
+	 * Constructor of the operator statistics.
+	 * @param type: type of the operator (destroy/repair)
+	 * @param operatorName: name of the operator
+	 */
+	public OperatorStatistics(String type, String operatorName) {
+		this.type = type;
+		this.operatorName = operatorName;
+	}
+
+	//
+	// UPDATE METHODS
+	//
+	/**
+	 * Records a single call of the operator.
+	 * @param nanos: elapsed time of the call in nanoseconds
+	 * @param evaluations: number of removals/insertions evaluated in the call
+	 * @param customers: number of customers removed/inserted in the call
+	 */
+	public void recordCall(long nanos, long evaluations, long customers) {
+		nanos = Math.max(nanos, 0);
+		this.calls++;
+		this.totalNanos += nanos;
+		this.maxNanos = Math.max(this.maxNanos, nanos);
+		this.histogram[bucketIndex(nanos)]++;
+		this.evaluations += evaluations;
+		this.customers += customers;
+	}
+
+	/**
+	 * Records the outcome of an iteration in which the operator has been applied.
+	 * @param accepted: whether the new solution has been accepted
+	 * @param costReduction: reduction of the global best costs (>0 if a new global best solution has been found)
+	 */
+	public void recordOutcome(boolean accepted, double costReduction) {
+		if (accepted)
+			this.accepted++;
+		if (costReduction > 0) {
+			this.newGlobalBest++;
+			this.globalCostReduction += costReduction;
+		}
+	}
+
+	//
+	// HISTOGRAM
+	//
+	/**
+	 * Retrieve the index of the histogram bucket for the attached latency.
+	 * @param nanos: latency in nanoseconds
+	 * @return index of the bucket
+	 */
+	private static int bucketIndex(long nanos) {
+		if (nanos < SUB_BUCKETS)
+			return (int) nanos;
+		int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+		int subBucket = (int) ((nanos >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1));
+		return exponent * SUB_BUCKETS + subBucket;
+	}
+
+	/**
+	 * Retrieve the (exclusive) upper bound of the histogram bucket with the attached index.
+	 * @param idx: index of the bucket
+	 * @return upper bound of the bucket in nanoseconds
+	 */
+	private static long bucketUpperBound(int idx) {
+		if (idx < SUB_BUCKETS)
+			return idx + 1;
+		int exponent = idx / SUB_BUCKETS;
+		int subBucket = idx % SUB_BUCKETS;
+		return (long) (SUB_BUCKETS + subBucket + 1) << (exponent - SUB_BUCKET_BITS);
+	}
+
+	/**
+	 * Retrieve the estimated percentile of the latencies (upper bound of the bucket
+	 * containing the percentile, at most the maximal latency).
+	 * @param percentile: percentile in the range (0;1]
+	 * @return latency in nanoseconds
+	 */
+	public long getPercentileNanos(double percentile) {
+		if (this.calls == 0)
+			return 0;
+		long rank = (long) Math.ceil(percentile * this.calls);
+		long count = 0;
+		for (int idx = 0; idx < this.histogram.length; idx++) {
+			count += this.histogram[idx];
+			if (count >= rank)
+				return Math.min(bucketUpperBound(idx), this.maxNanos);
+		}
+		return this.maxNanos;
+	}
+
+	//
+	// GETTERS
+	//
+	/**
+	 * Retrieve the type of the operator (destroy/repair).
+	 * @return type of the operator (destroy/repair)
+	 */
+	public String getType() {
+		return this.type;
+	}
+
+	/**
+	 * Retrieve the name of the operator.
+	 * @return name of the operator
+	 */
+	public String getOperatorName() {
+		return this.operatorName;
+	}
+
+	/**
+	 * Retrieve the number of calls.
+	 * @return number of calls
+	 */
+	public long getCalls() {
+		return this.calls;
+	}
+
+	/**
+	 * Retrieve the total time of all calls in nanoseconds.
+	 * @return total time of all calls in nanoseconds
+	 */
+	public long getTotalNanos() {
+		return this.totalNanos;
+	}
+
+	/**
+	 * Retrieve the maximal latency of a call in nanoseconds.
+	 * @return maximal latency of a call in nanoseconds
+	 */
+	public long getMaxNanos() {
+		return this.maxNanos;
+	}
+
+	/**
+	 * Retrieve the mean latency of a call in nanoseconds.
+	 * @return mean latency of a call in nanoseconds
+	 */
+	public long getMeanNanos() {
+		return this.calls > 0 ? this.totalNanos / this.calls : 0;
+	}
+
+	/**
+	 * Retrieve the number of evaluated removals/insertions.
+	 * @return number of evaluated removals/insertions
+	 */
+	public long getEvaluations() {
+		return this.evaluations;
+	}
+
+	/**
+	 * Retrieve the number of removed/inserted customers.
+	 * @return number of removed/inserted customers
+	 */
+	public long getCustomers() {
+		return this.customers;
+	}
+
+	/**
+	 * Retrieve the number of accepted solutions.
+	 * @return number of accepted solutions
+	 */
+	public long getAccepted() {
+		return this.accepted;
+	}
+
+	/**
+	 * Retrieve the number of new global best solutions.
+	 * @return number of new global best solutions
+	 */
+	public long getNewGlobalBest() {
+		return this.newGlobalBest;
+	}
+
+	/**
+	 * Retrieve the total reduction of the global best costs.
+	 * @return total reduction of the global best costs
+	 */
+	public double getGlobalCostReduction() {
+		return this.globalCostReduction;
+	}
+}
@@ -0,0 +1,219 @@
+package vrptwfl.metaheuristic.alns;
+
+import java.util.function.LongSupplier;
+
+import vrptwfl.metaheuristic.Config;
+import vrptwfl.metaheuristic.common.Solution;
+
+/**
+ * Termination policy of a search (ALNS, LNS). The search stops as soon as one of the
+ * following criteria holds:
+ * - the maximal number of iterations is reached (iteration cap)
+ * - the wall-clock time limit is exceeded (deadline, e.g., "plan within 30 seconds")
+ * - the best solution has not been improved for a number of iterations (no-improvement cap)
+ * - a feasible solution with costs not higher than the target costs was found (target costs)
+ * - a stop was requested from another thread (see stop())
+ * Besides, the policy provides the progress of the search relative to its budget, such that
+ * time-dependent schedules (e.g., the temperature of the simulated annealing) can be scaled
+ * to the time limit.
+ *
+ * @author Christian M.M. Frey
+ */
+public class TerminationPolicy {
+
+	/**
+	 * Criterion which terminated the search.
+	 */
+	public enum Reason {
+		NONE,
+		ITERATIONS,
+		TIME_LIMIT,
+		NO_IMPROVEMENT,
+		TARGET_COSTS,
+		STOPPED
+	}
+
+	private final LongSupplier clock;  // wall-clock time in ms
+	private int maxIterations;
+	private long timeLimit = -1;
+	private int maxIterationsWithoutImprovement = -1;
+	private double targetCosts = -1;
+
+	private long startTime;
+	private int iterationsWithoutImprovement;
+	private double bestFeasibleCosts = Double.MAX_VALUE;
+	private Reason reason = Reason.NONE;
+	private volatile boolean stopRequested;
+
+	/**
+	 * Constructor of a termination policy with an iteration cap only.
+	 * @param maxIterations: maximal number of iterations
+	 */
+	public TerminationPolicy(int maxIterations) {
+		this(maxIterations, System::currentTimeMillis);
+	}
+
+	/**
+	 * Constructor of a termination policy with an iteration cap and the attached clock
+	 * (e.g., a manually advanced clock in tests).
+	 * @param maxIterations: maximal number of iterations
+	 * @param clock: supplier of the wall-clock time in ms
+	 */
+	TerminationPolicy(int maxIterations, LongSupplier clock) {
+		this.maxIterations = maxIterations;
+		this.clock = clock;
+	}
+
+	/**
+	 * Creates the termination policy of the ALNS as defined in the configuration file
+	 * (alns_iterations, alns_time_limit_ms, alns_max_iterations_without_improvement).
+	 * @return termination policy
+	 */
+	public static TerminationPolicy fromConfig() {
+		TerminationPolicy policy = new TerminationPolicy(Config.getInstance().alnsIterations);
+		policy.setTimeLimit(Config.getInstance().alnsTimeLimit);
+		policy.setMaxIterationsWithoutImprovement(Config.getInstance().alnsMaxIterationsWithoutImprovement);
+		return policy;
+	}
+
+	/**
+	 * Starts the policy, i.e., the clock of the time limit and the counters are reset.
+	 */
+	public void start() {
+		this.startTime = this.clock.getAsLong();
+		this.iterationsWithoutImprovement = 0;
+		this.bestFeasibleCosts = Double.MAX_VALUE;
+		this.reason = Reason.NONE;
+		this.stopRequested = false;
+	}
+
+	/**
+	 * Updates the policy after an iteration.
+	 * @param improved: whether the best solution was improved in the iteration
+	 * @param solutionBestFeasible: best feasible solution found so far
+	 */
+	public void update(boolean improved, Solution solutionBestFeasible) {
+		this.iterationsWithoutImprovement = improved ? 0 : this.iterationsWithoutImprovement + 1;
+		if (solutionBestFeasible != null && solutionBestFeasible.isFeasible())
+			this.bestFeasibleCosts = Math.min(this.bestFeasibleCosts, solutionBestFeasible.getTotalCosts());
+	}
+
+	/**
+	 * Checks whether the search terminates after the attached number of iterations.
+	 * The criterion terminating the search is available via getReason().
+	 * @param iterationsPerformed: number of iterations performed so far
+	 * @return whether the search terminates
+	 */
+	public boolean isTerminated(int iterationsPerformed) {
+		if (this.stopRequested)
+			this.reason = Reason.STOPPED;
+		else if (this.targetCosts > 0 && this.bestFeasibleCosts <= this.targetCosts + Config.getInstance().epsilon)
+			this.reason = Reason.TARGET_COSTS;
+		else if (this.timeLimit > 0 && this.getTimeElapsed() >= this.timeLimit)
+			this.reason = Reason.TIME_LIMIT;
+		else if (this.maxIterationsWithoutImprovement > 0 && this.iterationsWithoutImprovement >= this.maxIterationsWithoutImprovement)
+			this.reason = Reason.NO_IMPROVEMENT;
+		else if (iterationsPerformed >= this.maxIterations)
+			this.reason = Reason.ITERATIONS;
+		return this.reason != Reason.NONE;
+	}
+
+	/**
+	 * Retrieve the progress of the search relative to its budget, i.e., the share of the
+	 * iterations performed or the share of the time limit elapsed (whichever is larger).
+	 * @param iterationsPerformed: number of iterations performed so far
+	 * @return progress in [0, 1]
+	 */
+	public double getProgress(int iterationsPerformed) {
+		double progress = (double) iterationsPerformed / Math.max(this.maxIterations, 1);
+		if (this.timeLimit > 0)
+			progress = Math.max(progress, (double) this.getTimeElapsed() / this.timeLimit);
+		return Math.min(progress, 1.0);
+	}
+
+	/**
+	 * Requests the search to stop after the current iteration (thread-safe).
+	 */
+	public void stop() {
+		this.stopRequested = true;
+	}
+
+	//
+	// SETTERS
+	//
+	/**
+	 * Sets the maximal number of iterations.
+	 * @param maxIterations: maximal number of iterations
+	 */
+	public void setMaxIterations(int maxIterations) {
+		this.maxIterations = maxIterations;
+	}
+
+	/**
+	 * Sets the wall-clock time limit.
+	 * @param timeLimit: time limit in ms (-1: no time limit)
+	 */
+	public void setTimeLimit(long timeLimit) {
+		this.timeLimit = timeLimit;
+	}
+
+	/**
+	 * Sets the maximal number of consecutive iterations without improvement of the best solution.
+	 * @param maxIterationsWithoutImprovement: number of iterations (-1: no limit)
+	 */
+	public void setMaxIterationsWithoutImprovement(int maxIterationsWithoutImprovement) {
+		this.maxIterationsWithoutImprovement = maxIterationsWithoutImprovement;
+	}
+
+	/**
+	 * Sets the target costs. The search stops as soon as a feasible solution with costs
+	 * not higher than the target costs is found.
+	 * @param targetCosts: target costs (-1: no target)
+	 */
+	public void setTargetCosts(double targetCosts) {
+		this.targetCosts = targetCosts;
+	}
+
+	//
+	// GETTERS
+	//
+	/**
+	 * Retrieve the maximal number of iterations.
+	 * @return maximal number of iterations
+	 */
+	public int getMaxIterations() {
+		return this.maxIterations;
+	}
+
+	/**
+	 * Retrieve the wall-clock time limit.
+	 * @return time limit in ms (-1: no time limit)
+	 */
+	public long getTimeLimit() {
+		return this.timeLimit;
+	}
+
+	/**
+	 * Checks whether the policy is bounded by a time limit.
+	 * @return whether a time limit is set
+	 */
+	public boolean isTimeBound() {
+		return this.timeLimit > 0;
+	}
+
+	/**
+	 * Retrieve the time elapsed since the policy was started.
+	 * @return elapsed time in ms
+	 */
+	public long getTimeElapsed() {
+		return this.clock.getAsLong() - this.startTime;
+	}
+
+	/**
+	 * Retrieve the criterion which terminated the search.
+	 * @return reason (NONE if the search has not terminated yet)
+	 */
+	public Reason getReason() {
+		return this.reason;
+	}
+}
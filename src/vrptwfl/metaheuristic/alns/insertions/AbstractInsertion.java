@@ -78,8 +78,7 @@ public abstract class AbstractInsertion {
                 solution.getVehicles().get((int) nextInsertion[1]).applyInsertion(nextInsertion, this.data, solution);
 
                 // remove element from list of notAssignedCustomers
-                // Integer.valueOf(xy) is needed as otherwise value at position xy will be removed not xy itself
-                solution.getNotAssignedCustomers().remove(Integer.valueOf((int) nextInsertion[0]));
+                solution.getNotAssignedCustomers().removeCustomer((int) nextInsertion[0]);
             }
         }
 
@@ -1,12 +1,11 @@
 package vrptwfl.metaheuristic.alns.insertions;
 
 import vrptwfl.metaheuristic.Config;
+import vrptwfl.metaheuristic.common.InsertionCandidates;
 import vrptwfl.metaheuristic.common.Solution;
 import vrptwfl.metaheuristic.data.Data;
 import vrptwfl.metaheuristic.exceptions.ArgumentOutOfBoundsException;
 
-import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.ListIterator;
 
 /**
@@ -66,7 +65,7 @@ public class RegretInsertion extends AbstractInsertion {
             // get all possible insertions for the customer
             // entries have the form: 
     		// customer, vehicleId, posInRoute, starTime, costs, location, capacity, entryIdxInLoc
-            ArrayList<double[]> possibleInsertionsForCustomer = solution.getPossibleInsertionsForCustomer(customer);
+            InsertionCandidates possibleInsertionsForCustomer = solution.getPossibleInsertionsForCustomer(customer);
 
             // if list is empty, no feasible assignment to any route exists for that customer
             if (possibleInsertionsForCustomer.isEmpty()) {
@@ -81,9 +80,10 @@ public class RegretInsertion extends AbstractInsertion {
                 // if regret is higher than currently highest regret, update maxRegret and update nextInsertion
                 if (regret > maxRegret - Config.getInstance().epsilon) {  // check if regret >= maxRegret
                     // either (regret > maxRegret) or (regret == maxRegret but lower insertion cost (tie-breaker))
-                    if ((regret > maxRegret + Config.getInstance().epsilon) || ((nextInsertion[4]+nextInsertion[8]) < (possibleInsertionsForCustomer.get(0)[4]+possibleInsertionsForCustomer.get(0)[8]) + Config.getInstance().epsilon)) {
+                    int bestInsertion = possibleInsertionsForCustomer.getRanked(0);
+                    if ((regret > maxRegret + Config.getInstance().epsilon) || ((nextInsertion[4]+nextInsertion[8]) < possibleInsertionsForCustomer.getTotalCosts(bestInsertion) + Config.getInstance().epsilon)) {
                         maxRegret = regret;
-                        nextInsertion = possibleInsertionsForCustomer.get(0);
+                        nextInsertion = possibleInsertionsForCustomer.toArray(bestInsertion);
                     }
                 }
             }
@@ -98,24 +98,21 @@ public class RegretInsertion extends AbstractInsertion {
      * The parameter k defines what regret measure to use; 
      * e.g. k=3 means difference between best insertion and 3rd best insertion
      * @param k: regret measure
-     * @param possibleInsertionsForCustomer: list of possible insertions for a customer
+     * @param possibleInsertionsForCustomer: possible insertions for a customer
      * @return regret score
      */
-    private double calculateRegret(int k, ArrayList<double[]> possibleInsertionsForCustomer) {
+    private double calculateRegret(int k, InsertionCandidates possibleInsertionsForCustomer) {
         double regret = 0.;
-        // possibleInsertionsForCustomer.sort(Comparator.comparing(a -> a[4])); // sort by additional costs
-        possibleInsertionsForCustomer.sort(Comparator.comparing(a -> (a[4]+a[8]))); // sort by additional costs
+        possibleInsertionsForCustomer.sortByCosts(true); // sort by additional costs
+        double bestCosts = possibleInsertionsForCustomer.getTotalCosts(possibleInsertionsForCustomer.getRanked(0));
         
         for (int i = k; i>=2; i--) {
             if (possibleInsertionsForCustomer.size() >= i) {
                 // if k-regret can be calculated as there enough at least k insertions
-            	// regret += possibleInsertionsForCustomer.get(i - 1)[4] - possibleInsertionsForCustomer.get(0)[4];
-            	regret += (possibleInsertionsForCustomer.get(i - 1)[4] + possibleInsertionsForCustomer.get(i - 1)[8]) 
-            			- (possibleInsertionsForCustomer.get(0)[4] + possibleInsertionsForCustomer.get(0)[8]);
+            	regret += possibleInsertionsForCustomer.getTotalCosts(possibleInsertionsForCustomer.getRanked(i - 1)) - bestCosts;
             } else {
                 // if list has entries, but not k (i.e. not enough to calculate k-regret)
-                // regret += (i - possibleInsertionsForCustomer.size())*Config.getInstance().bigMRegret - possibleInsertionsForCustomer.get(0)[4];
-                regret += (i - possibleInsertionsForCustomer.size())*Config.getInstance().bigMRegret - (possibleInsertionsForCustomer.get(0)[4] + possibleInsertionsForCustomer.get(0)[8]);
+                regret += (i - possibleInsertionsForCustomer.size())*Config.getInstance().bigMRegret - bestCosts;
             }
 
             // if only the regret between n-th and best should be considered, break loop
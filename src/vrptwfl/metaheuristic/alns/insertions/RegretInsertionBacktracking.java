@@ -1,16 +1,15 @@
 package vrptwfl.metaheuristic.alns.insertions;
 
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Comparator;
 import java.util.ListIterator;
 
 import vrptwfl.metaheuristic.Config;
+import vrptwfl.metaheuristic.common.InsertionCandidates;
 import vrptwfl.metaheuristic.common.Solution;
 import vrptwfl.metaheuristic.data.Data;
 import vrptwfl.metaheuristic.exceptions.ArgumentOutOfBoundsException;
 import vrptwfl.metaheuristic.utils.CalcUtils;
-import vrptwfl.metaheuristic.utils.WriterUtils;
+import vrptwfl.metaheuristic.utils.OutputSink;
 
 /**
  * This class implements the backtracking mechanism using the 
@@ -27,15 +26,18 @@ public class RegretInsertionBacktracking extends AbstractInsertion {
     private ArrayList<Solution> solutionSequence;
     private Solution bestSolutionInTrial = null;
     private Solution bestSolution = null;
+    private OutputSink sink;
 
    /**
     * Initialize k-regret w/ backtracking heuristic
     * @param k: k defines what regret measure to use; e.g. k=3 means difference between best insertion and 3rd best insertion
     * @param data
+    * @param sink: output sink of the run (logging of the backtracking trials)
     * @throws ArgumentOutOfBoundsException
     */
-    public RegretInsertionBacktracking(int k, Data data) throws ArgumentOutOfBoundsException {
+    public RegretInsertionBacktracking(int k, Data data, OutputSink sink) throws ArgumentOutOfBoundsException {
         super(data);
+        this.sink = sink;
         if (k <= 1) 
         	throw new ArgumentOutOfBoundsException("regret parameter k must be greater than one. Value passed was " + k + ".");
         this.k = k;
@@ -47,6 +49,8 @@ public class RegretInsertionBacktracking extends AbstractInsertion {
      * {@inheritDoc}
      */
     public Solution runBacktracking(Solution solution) {
+    	// insertions evaluated in all nodes of the backtracking-trees (copies inherit the counter of their parent)
+    	long insertionsEvaluated = 0;
     	// Try backtracking for x trials
     	for (int trial = 0; trial<Config.getInstance().backtrackTrials; trial++) {
     		long startTime = System.currentTimeMillis();
@@ -76,7 +80,9 @@ public class RegretInsertionBacktracking extends AbstractInsertion {
     			// if in a backtrack-node a tuple (customerID, vehicleId,...) has already been tried, it 
     			// is not further considered as a possible next insertions, i.e, the subprocedure
     			// getNextInsertion() filters tuples having already been explored in earlier iterations
+    			long evaluationsBefore = currSolution.getInsertionsEvaluated();
     			double[] nextInsertion = this.getNextInsertion(currSolution);
+    			insertionsEvaluated += currSolution.getInsertionsEvaluated() - evaluationsBefore;
     			
     			// check if at least one insertion has been found (-1 was initial dummy value and should be replaced by something >= 0)
     			if (nextInsertion[0] != -1) {
@@ -94,7 +100,7 @@ public class RegretInsertionBacktracking extends AbstractInsertion {
     				currSolution.getVehicles().get((int) nextInsertion[1]).applyInsertion(nextInsertion, currSolution.getData(), currSolution);
     				
     				// remove element from list of notAssignedCustomers
-    				currSolution.getNotAssignedCustomers().remove(Integer.valueOf((int) nextInsertion[0]));
+    				currSolution.getNotAssignedCustomers().removeCustomer((int) nextInsertion[0]);
     				
     				// update solution object
     				currSolution.updateSolutionAfterInsertion(false);
@@ -130,7 +136,7 @@ public class RegretInsertionBacktracking extends AbstractInsertion {
     		this.bestSolutionInTrial.updateSolutionAfterInsertion(false);
     		System.out.println("Number of backtrack jumps in this trial: " + this.noBackTrackJumps);
     		System.out.println("Costs of best solution found: " + this.bestSolutionInTrial.getTotalCosts());
-    		WriterUtils.writeBacktrackingInfo(trial, noBackTrackJumps, this.bestSolutionInTrial.getTotalCosts(), (System.currentTimeMillis() - startTime));
+    		this.sink.writeBacktrackingInfo(trial, noBackTrackJumps, this.bestSolutionInTrial.getTotalCosts(), (System.currentTimeMillis() - startTime));
     		
     		if (this.bestSolution==null || this.bestSolutionInTrial.getTotalCosts() < this.bestSolution.getTotalCosts())
     			this.bestSolution = this.bestSolutionInTrial;
@@ -139,6 +145,8 @@ public class RegretInsertionBacktracking extends AbstractInsertion {
         // update best solution object, then return it
         // this.bestInitialSolution.updateSolutionAfterInsertion();
         this.bestSolution.calculateTotalCosts(false);
+        // count the evaluations of all explored branches, not only of the path to the best solution
+        this.bestSolution.addInsertionsEvaluated(solution.getInsertionsEvaluated() + insertionsEvaluated - this.bestSolution.getInsertionsEvaluated());
     	return this.bestSolution;
     }
     
@@ -191,7 +199,7 @@ public class RegretInsertionBacktracking extends AbstractInsertion {
             // get all possible insertions for the customer
             // entries have the form: 
     		// customer, vehicleId, posInRoute, starTime, costs, location, capacity, entryIdxInLoc
-            final ArrayList<double[]> possibleInsertionsForCustomer = solution.getPossibleInsertionsForCustomer(customer);
+            final InsertionCandidates possibleInsertionsForCustomer = solution.getPossibleInsertionsForCustomer(customer);
             
             // check if one of the possibleInesrtions have already been tried in earlier iterations of the backtracking procedure
             // if yes: branch in backtracking has already been explored
@@ -199,9 +207,8 @@ public class RegretInsertionBacktracking extends AbstractInsertion {
             if (solution.getTriedInsertions().get(customer) != null) {
             	for (int j = possibleInsertionsForCustomer.size()-1; j>=0; j--) {
             		final int fj = j;
-            		boolean check =  solution.getTriedInsertions().get(customer).stream().anyMatch(a -> Arrays.equals(a, possibleInsertionsForCustomer.get(fj)));
+            		boolean check =  solution.getTriedInsertions().get(customer).stream().anyMatch(a -> possibleInsertionsForCustomer.matches(fj, a));
             		if (check) {
-            			// System.out.println("Insert known from prev. its -> remove" + Arrays.toString(possibleInsertionsForCustomer.get(fj)));
             			possibleInsertionsForCustomer.remove(j);
             		}
             	}
@@ -222,9 +229,10 @@ public class RegretInsertionBacktracking extends AbstractInsertion {
                 // if regret is higher than currently highest regret, update maxRegret and update nextInsertion
                 if (regret > maxRegret - Config.getInstance().epsilon) {  // check if regret >= maxRegret
                     // either (regret > maxRegret) or (regret == maxRegret but lower insertion cost (tie-breaker))
-                    if ((regret > maxRegret + Config.getInstance().epsilon) || (nextInsertion[4] < possibleInsertionsForCustomer.get(0)[4] + Config.getInstance().epsilon)) {
+                    int bestInsertion = possibleInsertionsForCustomer.getRanked(0);
+                    if ((regret > maxRegret + Config.getInstance().epsilon) || (nextInsertion[4] < possibleInsertionsForCustomer.getCosts(bestInsertion) + Config.getInstance().epsilon)) {
                         maxRegret = regret;
-                        nextInsertion = possibleInsertionsForCustomer.get(0);
+                        nextInsertion = possibleInsertionsForCustomer.toArray(bestInsertion);
                     }
                 } 
                 
@@ -245,20 +253,21 @@ public class RegretInsertionBacktracking extends AbstractInsertion {
      * The parameter k defines what regret measure to use; 
      * e.g. k=3 means difference between best insertion and 3rd best insertion
      * @param k: regret measure
-     * @param possibleInsertionsForCustomer: list of possible insertions for a customer
+     * @param possibleInsertionsForCustomer: possible insertions for a customer
      * @return regret score
      */
-    private double calculateRegret(int k, ArrayList<double[]> possibleInsertionsForCustomer) {
+    private double calculateRegret(int k, InsertionCandidates possibleInsertionsForCustomer) {
         double regret = 0.;
-        possibleInsertionsForCustomer.sort(Comparator.comparing(a -> a[4])); // sort by additional costs
+        possibleInsertionsForCustomer.sortByCosts(false); // sort by additional costs
+        double bestCosts = possibleInsertionsForCustomer.getCosts(possibleInsertionsForCustomer.getRanked(0));
 
         for (int i = k; i>=2; i--) {
             if (possibleInsertionsForCustomer.size() >= i) 
                 // if k-regret can be calculated as there enough at least k insertions
-                regret += possibleInsertionsForCustomer.get(i - 1)[4] - possibleInsertionsForCustomer.get(0)[4];
+                regret += possibleInsertionsForCustomer.getCosts(possibleInsertionsForCustomer.getRanked(i - 1)) - bestCosts;
             else
                 // if list has entries, but not k (i.e. not enough to calculate k-regret)
-                regret += (i - possibleInsertionsForCustomer.size())*Config.getInstance().bigMRegret - possibleInsertionsForCustomer.get(0)[4];
+                regret += (i - possibleInsertionsForCustomer.size())*Config.getInstance().bigMRegret - bestCosts;
             
             // if only the regret between n-th and best should be considered, break loop
             if (!Config.getInstance().regretSumOverAllNRegret) 
@@ -1,10 +1,10 @@
 package vrptwfl.metaheuristic.alns.insertions;
 
-import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.ListIterator;
 
 import vrptwfl.metaheuristic.Config;
+import vrptwfl.metaheuristic.common.InsertionCandidates;
 import vrptwfl.metaheuristic.common.Solution;
 import vrptwfl.metaheuristic.data.Data;
 
@@ -74,7 +74,7 @@ public class SequentialAllocationHeuristic extends AbstractInsertion {
 				
 				timeFlexibility = timeFlex;
 				// get all possible insertions for the customer
-				ArrayList<double[]> possibleInsertionsForCustomer = solution.getPossibleInsertionsForCustomer(customer);
+				InsertionCandidates possibleInsertionsForCustomer = solution.getPossibleInsertionsForCustomer(customer);
 				
 				// if list is empty, no feasible assignment to any route exists for that customer
 				if (possibleInsertionsForCustomer.isEmpty()) {
@@ -84,13 +84,12 @@ public class SequentialAllocationHeuristic extends AbstractInsertion {
 						iter.remove();
 					}
 				} else {
-					possibleInsertionsForCustomer.sort(Comparator.comparing(a -> (a[4]+a[8]))); // sort by additional costs
-					double[] possibleInsertion = possibleInsertionsForCustomer.get(0);
+					int possibleInsertion = possibleInsertionsForCustomer.getBest(0, true); // lowest additional costs
 					
 					// compare cost increase to currently best (lowest) cost increase
-					if ((possibleInsertion[4]+possibleInsertion[8]) + Config.getInstance().epsilon < minCostIncrease) {
-						minCostIncrease = possibleInsertion[4] + possibleInsertion[8];  // update new min cost
-						nextInsertion = possibleInsertion;
+					if (possibleInsertionsForCustomer.getTotalCosts(possibleInsertion) + Config.getInstance().epsilon < minCostIncrease) {
+						minCostIncrease = possibleInsertionsForCustomer.getTotalCosts(possibleInsertion);  // update new min cost
+						nextInsertion = possibleInsertionsForCustomer.toArray(possibleInsertion);
 					}
 				}	
 			}
@@ -1,10 +1,10 @@
 package vrptwfl.metaheuristic.alns.insertions;
 
-import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.ListIterator;
 
 import vrptwfl.metaheuristic.Config;
+import vrptwfl.metaheuristic.common.InsertionCandidates;
 import vrptwfl.metaheuristic.common.Solution;
 import vrptwfl.metaheuristic.common.Vehicle;
 import vrptwfl.metaheuristic.data.Data;
@@ -83,7 +83,7 @@ public class SkillMatchingInsertion extends AbstractInsertion {
         			break;
 
         	// Get possible insertions
-        	ArrayList<double[]> possibleInsertionsForCustomer = solution.getPossibleInsertionsForCustomer(customer);
+        	InsertionCandidates possibleInsertionsForCustomer = solution.getPossibleInsertionsForCustomer(customer);
         	
         	if (possibleInsertionsForCustomer.isEmpty()) {
 	        	if (solution.checkSchedulingOfPredecessors(customer)) {
@@ -91,13 +91,12 @@ public class SkillMatchingInsertion extends AbstractInsertion {
 	        		iter.remove();
 	        	}
         	} else {
-        		possibleInsertionsForCustomer.sort(Comparator.comparing(a -> a[4])); // sort by additional costs
-                double[] possibleInsertion = possibleInsertionsForCustomer.get(0);
+        		int possibleInsertion = possibleInsertionsForCustomer.getBest(0, false); // lowest additional costs
                 
              // compare cost increase to currently best (lowest) cost increase
-                if (possibleInsertion[4] + Config.getInstance().epsilon < minCostIncrease) {
-                	minCostIncrease = possibleInsertion[4];  // update new min cost
-                    nextInsertion = possibleInsertion;
+                if (possibleInsertionsForCustomer.getCosts(possibleInsertion) + Config.getInstance().epsilon < minCostIncrease) {
+                	minCostIncrease = possibleInsertionsForCustomer.getCosts(possibleInsertion);  // update new min cost
+                    nextInsertion = possibleInsertionsForCustomer.toArray(possibleInsertion);
                 }
         	}
         }
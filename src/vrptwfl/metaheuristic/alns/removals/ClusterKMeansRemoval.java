@@ -145,7 +145,7 @@ public class ClusterKMeansRemoval extends AbstractRemoval {
 			int clusterAssignment = this.customerAssignmentToClusters[customerID];
 			int clusterLocation = this.centroidLocIdx[clusterAssignment];
 			// Aggregate distance value
-			totalDist += solution.getData().getDistanceMatrix()[customerLocId][clusterLocation];
+			totalDist += solution.getData().getDistanceBetweenLocations(customerLocId, clusterLocation);
 		}
 		return totalDist;
 	}
@@ -170,8 +170,8 @@ public class ClusterKMeansRemoval extends AbstractRemoval {
 						continue;
 					
 					int locJ = DataUtils.getLocationIndex(customerJ, solution);
-					distances[customerI] += solution.getData().getDistanceMatrix()[locI][locJ];
-					distances[customerJ] += solution.getData().getDistanceMatrix()[locJ][locI];
+					distances[customerI] += solution.getData().getDistanceBetweenLocations(locI, locJ);
+					distances[customerJ] += solution.getData().getDistanceBetweenLocations(locJ, locI);
 				}
 			}
 			int minCustomerIdx = findMinCentroidIdx(distances, clusterId);
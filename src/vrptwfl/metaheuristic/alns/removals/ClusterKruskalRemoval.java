@@ -4,7 +4,9 @@ import vrptwfl.metaheuristic.Config;
 import vrptwfl.metaheuristic.common.Solution;
 import vrptwfl.metaheuristic.common.Vehicle;
 import vrptwfl.metaheuristic.data.Data;
+import vrptwfl.metaheuristic.utils.CustomerScoreBuffer;
 import vrptwfl.metaheuristic.utils.DataUtils;
+import vrptwfl.metaheuristic.utils.ScratchArena;
 
 import java.util.*;
 
@@ -59,6 +61,9 @@ public class ClusterKruskalRemoval extends AbstractRemoval {
             nRemovals--;
         }
 
+        ScratchArena arena = ScratchArena.forCurrentThread();
+        CustomerScoreBuffer closest = arena.borrowScoreBuffer();
+
         // still more removals needed (nRemovals not yet reached) and there is vehicles left from which customers can be removed
         while (nRemovals > 0 && !solution.getUsedVehicles().isEmpty()) {
             // randomly select customer already removed
@@ -73,8 +78,7 @@ public class ClusterKruskalRemoval extends AbstractRemoval {
             // find customer close to reference customer (however, preferably one from a tour that has not yet been processed)
             // TODO_DONE Chris - adapt to multiple locations
             // double[] distanceToFirstCustomer = this.data.getDistanceMatrix()[referenceCustomer];
-            double[] distanceToFirstCustomer = this.data.getDistanceMatrix()[referenceCustomerLocationIdx];
-            ArrayList<double[]> closest = new ArrayList<>();
+            closest.clear();
 
             // add all customers already assigned to the vehicles
             // TODO Alex: check if vehicle schon angefasst wurde (this new request should come from an untouched route)
@@ -88,7 +92,7 @@ public class ClusterKruskalRemoval extends AbstractRemoval {
                     // int customersLocation = DataUtils.getLocationIndex(customer, solution);
                     // int customersLocation = DataUtils.getLocationIndex(customer, solution);
                     int customersLocation = customerLocations[customer];
-                    closest.add(new double[] {customer, vehicle.getId(), distanceToFirstCustomer[customersLocation]});
+                    closest.add(customer, vehicle.getId(), this.data.getDistanceBetweenLocations(referenceCustomerLocationIdx, customersLocation));
                     // closest.add(new double[] {customer, vehicle.getId(), distanceToFirstCustomer[customer]});
                 }
             }
@@ -96,13 +100,13 @@ public class ClusterKruskalRemoval extends AbstractRemoval {
             // if no closest customer has been found
             if (closest.isEmpty()) {
                 // reset tried vehicles (now also vehicles already processed can be used to build another cluster)
-                triedVehicle = new boolean[solution.getVehicles().size()];
+                Arrays.fill(triedVehicle, false);
                 continue;
             }
 
             // --- remove customers from vehicle ---
-            closest.sort(Comparator.comparing(v->v[2]));  // sort according to distance (smallest distance first)
-            Vehicle vehicle = solution.getVehicles().get((int) closest.get(0)[1]); // get vehicle of closest customer
+            closest.sortByScore();  // sort according to distance (smallest distance first)
+            Vehicle vehicle = solution.getVehicles().get(closest.getVehicle(0)); // get vehicle of closest customer
             triedVehicle[vehicle.getId()] = true;
 
             // create  cluster
@@ -115,6 +119,7 @@ public class ClusterKruskalRemoval extends AbstractRemoval {
                 if (nRemovals <= 0) break;
             }
         }
+        arena.release(closest);
 
         return removedCustomers;
     }
@@ -210,8 +215,8 @@ public class ClusterKruskalRemoval extends AbstractRemoval {
                 int customerJ = vehicle.getRealCustomers().get(j);
 
                 // TODO: Chris - Datautils get location
-                int locCustomerI = solution.getData().getCustomersToLocations().get(solution.getData().getOriginalCustomerIds()[customerI]).get(solution.getCustomerAffiliationToLocations()[customerI]);
-                int locCustomerJ = solution.getData().getCustomersToLocations().get(solution.getData().getOriginalCustomerIds()[customerJ]).get(solution.getCustomerAffiliationToLocations()[customerJ]);
+                int locCustomerI = DataUtils.getLocationIndex(customerI, solution);
+                int locCustomerJ = DataUtils.getLocationIndex(customerJ, solution);
 
                 // graph assumes that nodes start at 0
                 // Edge edge = new Edge(i, j, this.data.getDistanceBetweenCustomers(customerI,customerJ));
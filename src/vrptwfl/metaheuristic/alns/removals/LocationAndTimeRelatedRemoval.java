@@ -1,7 +1,6 @@
 package vrptwfl.metaheuristic.alns.removals;
 
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 
 import vrptwfl.metaheuristic.Config;
@@ -10,7 +9,9 @@ import vrptwfl.metaheuristic.common.Vehicle;
 import vrptwfl.metaheuristic.data.Data;
 import vrptwfl.metaheuristic.exceptions.ArgumentOutOfBoundsException;
 import vrptwfl.metaheuristic.utils.CalcUtils;
+import vrptwfl.metaheuristic.utils.CustomerScoreBuffer;
 import vrptwfl.metaheuristic.utils.DataUtils;
+import vrptwfl.metaheuristic.utils.ScratchArena;
 
 /**
  * This class implemented the Location an Time Related Removal operation.
@@ -93,8 +94,8 @@ public class LocationAndTimeRelatedRemoval extends AbstractRemoval {
         // 2) --- get customers closest to the reference customer ---
         // TODODone: Chris: auf mehrere locations anpassen
         // double[] distanceToFirstCustomer = this.data.getDistanceMatrix()[firstCustomer];
-        double[] distanceToFirstCustomer = this.data.getDistanceMatrix()[firstCustomerLocationIdx];
-        List<double[]> closest = new ArrayList<>();
+        ScratchArena arena = ScratchArena.forCurrentThread();
+        CustomerScoreBuffer closest = arena.borrowScoreBuffer();
         
 		// double betaOne = Math.random();		// weight for time relatedness
 		double betaOne = 0.5;
@@ -112,18 +113,18 @@ public class LocationAndTimeRelatedRemoval extends AbstractRemoval {
                 double timeRelatedness = this.weightStartTimeInSolution * timeDiff + (1 - this.weightStartTimeInSolution) * avgStartTime;
                 double locationRelatedness = computeLocationRelatedness(firstCustomer, customer, solution);
                 double score = betaOne * timeRelatedness + betaTwo * locationRelatedness;
-                closest.add(new double[] {customer, vehicle.getId(), score});
+                closest.add(customer, vehicle.getId(), score);
             }
         }
         // sort according to distance (smallest distance first)
-        closest.sort(Comparator.comparing(v->v[2]));
+        closest.sortByScore();
 
         // 4) --- remove customers which are related in time
         int idx = 0;
         while (nRemovals > 0 && idx < closest.size()) {
-            double[] removal = closest.get(idx);
-            removedCustomers.add((int) removal[0]);
-            solution.getVehicles().get((int) removal[1]).applyRemovalForCustomer((int) removal[0], this.data, solution);
+            int removedCustomer = closest.getCustomer(idx);
+            removedCustomers.add(removedCustomer);
+            solution.getVehicles().get(closest.getVehicle(idx)).applyRemovalForCustomer(removedCustomer, this.data, solution);
 
             // remove customer from list of closest customers
             closest.remove(idx);
@@ -131,6 +132,7 @@ public class LocationAndTimeRelatedRemoval extends AbstractRemoval {
             nRemovals--;
             idx++;
         }
+        arena.release(closest);
         return removedCustomers;	
     }
 
@@ -145,9 +147,12 @@ public class LocationAndTimeRelatedRemoval extends AbstractRemoval {
 		ArrayList<Integer> locationsA = s.getData().getCustomersToLocations().get(customerA);
 		ArrayList<Integer> locationsB = s.getData().getCustomersToLocations().get(customerB);
 		double min = Math.min(locationsA.size(), locationsB.size());
-		ArrayList<Integer> copy = new ArrayList<Integer>(locationsA);
-		copy.retainAll(locationsB);
-		return 1.0 - (copy.size() / min);
+		// number of locations of A which are also locations of B (without copying the list)
+		int nShared = 0;
+		for (int location : locationsA)
+			if (locationsB.contains(location))
+				nShared++;
+		return 1.0 - (nShared / min);
 	}
 
 
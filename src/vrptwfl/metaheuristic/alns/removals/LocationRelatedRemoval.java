@@ -1,7 +1,6 @@
 package vrptwfl.metaheuristic.alns.removals;
 
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 
 import vrptwfl.metaheuristic.Config;
@@ -10,7 +9,9 @@ import vrptwfl.metaheuristic.common.Vehicle;
 import vrptwfl.metaheuristic.data.Data;
 import vrptwfl.metaheuristic.exceptions.ArgumentOutOfBoundsException;
 import vrptwfl.metaheuristic.utils.CalcUtils;
+import vrptwfl.metaheuristic.utils.CustomerScoreBuffer;
 import vrptwfl.metaheuristic.utils.DataUtils;
+import vrptwfl.metaheuristic.utils.ScratchArena;
 
 /**
  * This class implements the Location Related Removal operation. 
@@ -63,7 +64,8 @@ public class LocationRelatedRemoval extends AbstractRemoval {
         }
         
         // 2)  Retrieve location related customers
-        List<double[]> closest = new ArrayList<>();
+        ScratchArena arena = ScratchArena.forCurrentThread();
+        CustomerScoreBuffer closest = arena.borrowScoreBuffer();
 
         // add all customers already assigned to the vehicle
         for (Vehicle vehicle: solution.getVehicles()) {
@@ -71,20 +73,20 @@ public class LocationRelatedRemoval extends AbstractRemoval {
             for (int customer: vehicle.getCustomers()) {
                 if (customer == 0) continue;
                 double locationRelatedness = computeRelatedness(firstCustomer, customer, solution);
-                closest.add(new double[] {customer, vehicle.getId(), locationRelatedness});
+                closest.add(customer, vehicle.getId(), locationRelatedness);
             }
         }
         
         // 3) sort according to distance (smallest scores (location relatedness) first)
         // Location relatedness is defined as distance metric; 
-        closest.sort(Comparator.comparing(v->v[2]));
+        closest.sortByScore();
 
         // 4) --- remove customers which are related in their location
         int idx = 0;
         while (nRemovals > 0 && solution.getAssignedCustomers().size() > 0) {
-            double[] removal = closest.get(idx);
-            removedCustomers.add((int) removal[0]);
-            solution.getVehicles().get((int) removal[1]).applyRemovalForCustomer((int) removal[0], this.data, solution);
+            int removedCustomer = closest.getCustomer(idx);
+            removedCustomers.add(removedCustomer);
+            solution.getVehicles().get(closest.getVehicle(idx)).applyRemovalForCustomer(removedCustomer, this.data, solution);
 
             // remove customer from list of closest customers
             closest.remove(idx);
@@ -92,6 +94,7 @@ public class LocationRelatedRemoval extends AbstractRemoval {
             nRemovals--;
             //idx ++;
         }
+        arena.release(closest);
         return removedCustomers;
 	}
 	
@@ -106,9 +109,12 @@ public class LocationRelatedRemoval extends AbstractRemoval {
 		ArrayList<Integer> locationsA = s.getData().getCustomersToLocations().get(customerA);
 		ArrayList<Integer> locationsB = s.getData().getCustomersToLocations().get(customerB);
 		double min = Math.min(locationsA.size(), locationsB.size());
-		ArrayList<Integer> copy = new ArrayList<Integer>(locationsA);
-		copy.retainAll(locationsB);
-		return 1.0 - (copy.size() / min);
+		// number of locations of A which are also locations of B (without copying the list)
+		int nShared = 0;
+		for (int location : locationsA)
+			if (locationsB.contains(location))
+				nShared++;
+		return 1.0 - (nShared / min);
 	}
 
 	/**
@@ -4,6 +4,8 @@ import vrptwfl.metaheuristic.common.Solution;
 import vrptwfl.metaheuristic.common.Vehicle;
 import vrptwfl.metaheuristic.data.Data;
 import vrptwfl.metaheuristic.utils.CalcUtils;
+import vrptwfl.metaheuristic.utils.IntList;
+import vrptwfl.metaheuristic.utils.ScratchArena;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -50,6 +52,21 @@ public class RandomRemoval extends AbstractRemoval {
      * @param sortedPositionsToRemove Sorted list of positions of customers (in the 'giant tour') that will be removed.
      */
     public final List<Integer> removeCustomersFromTours(Solution solution, List<Integer> sortedPositionsToRemove) {
+        ScratchArena arena = ScratchArena.forCurrentThread();
+        IntList positions = arena.borrowIntList();
+        positions.addAll(sortedPositionsToRemove);
+        List<Integer> removedCustomers = this.removeCustomersFromTours(solution, positions);
+        arena.release(positions);
+        return removedCustomers;
+    }
+
+    /**
+     * Removes a subset of customers specified in sortedPositionsToRemove from a given solution
+     * (see removeCustomersFromTours(Solution, List)).
+     * @param solution Solution object from which customers will be removed.
+     * @param sortedPositionsToRemove Sorted positions of customers (in the 'giant tour') that will be removed.
+     */
+    public final List<Integer> removeCustomersFromTours(Solution solution, IntList sortedPositionsToRemove) {
         List<Integer> removedCustomers = new ArrayList<>();
 
         ArrayList<Vehicle> vehicles = solution.getVehicles();
@@ -74,7 +91,8 @@ public class RandomRemoval extends AbstractRemoval {
         int nCustomersAlreadyRemovedInTour = 0; // needed to map correct positions after customers were already removed from tour
 
         // Main loop.  Process all position at which customers should be removed.
-        for (Integer removePosition: sortedPositionsToRemove) { // e.g. [1, 2, 5, 8, 15, 18, 26, 31, 34, 46, 51, 59, ...]
+        for (int p = 0; p < sortedPositionsToRemove.size(); p++) { // e.g. [1, 2, 5, 8, 15, 18, 26, 31, 34, 46, 51, 59, ...]
+            int removePosition = sortedPositionsToRemove.get(p);
 
             // go over all vehicles, start with vStart
             for (int v = vStart; v < nVehicles; v++){
@@ -113,13 +131,17 @@ public class RandomRemoval extends AbstractRemoval {
 
         // get index positions of the nRemovals customers to be removed (there are nCustomers - number of not assigned customers that can be removed)
         // NOTE: these positions are the positions in the tours (not the customer ids!)
-        List<Integer> sortedPositionsToRemove =  CalcUtils.getSortedUniqueRandomNumbersInRange(nRemovals, 0, this.data.getnCustomers() - solution.getNotAssignedCustomers().size() - 1);
+        ScratchArena arena = ScratchArena.forCurrentThread();
+        IntList sortedPositionsToRemove = arena.borrowIntList();
+        CalcUtils.getSortedUniqueRandomNumbersInRange(nRemovals, 0, this.data.getnCustomers() - solution.getNotAssignedCustomers().size() - 1, sortedPositionsToRemove);
 
         // DEBUG Alex - wieder raus, stattdessen TEST CASE!! jeweils 1x, dass ranges immer passen (keiner außerhalb)
 //        System.out.println("\n\nRemovals " + nRemovals + "\t[" + Config.lowerBoundRemovals + ", " + Config.upperBoundRemovals + "]");
 //        System.out.println(sortedPositionsToRemove);
 
-        return this.removeCustomersFromTours(solution, sortedPositionsToRemove);
+        List<Integer> removedCustomers = this.removeCustomersFromTours(solution, sortedPositionsToRemove);
+        arena.release(sortedPositionsToRemove);
+        return removedCustomers;
     }
 //        // access all customers assigned to vehicles (only these can be removed)
 //        int runningPositionNr = 0;
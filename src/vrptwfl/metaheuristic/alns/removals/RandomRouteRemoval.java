@@ -4,6 +4,8 @@ import vrptwfl.metaheuristic.common.Solution;
 import vrptwfl.metaheuristic.common.Vehicle;
 import vrptwfl.metaheuristic.data.Data;
 import vrptwfl.metaheuristic.utils.CalcUtils;
+import vrptwfl.metaheuristic.utils.IntList;
+import vrptwfl.metaheuristic.utils.ScratchArena;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -39,11 +41,13 @@ public class RandomRouteRemoval extends AbstractRemoval {
 
         int nVehicles = solution.getVehicles().size();
         // List<Integer> shuffledVehicleIndices = CalcUtils.getSortedUniqueRandomNumbersInRange(nVehicles, 0, nVehicles-1);
-        List<Integer> shuffledVehicleIndices = CalcUtils.getShuffledUniqueRandomNumbersInRange(nVehicles, 0, nVehicles-1);
+        ScratchArena arena = ScratchArena.forCurrentThread();
+        IntList shuffledVehicleIndices = arena.borrowIntList();
+        CalcUtils.getShuffledUniqueRandomNumbersInRange(nVehicles, 0, nVehicles-1, shuffledVehicleIndices);
 
         vehicleIndexLoop:
-        for (Integer idx: shuffledVehicleIndices) {
-            Vehicle vehicle = solution.getVehicles().get(idx);
+        for (int i = 0; i < shuffledVehicleIndices.size(); i++) {
+            Vehicle vehicle = solution.getVehicles().get(shuffledVehicleIndices.get(i));
             if (!vehicle.isUsed()) continue;
 
             for (int c = 1; c < vehicle.getnCustomersInTour()+1; c++) {  // c starts at 1 as first customer is at position 1 (0 is dummy out)
@@ -53,6 +57,7 @@ public class RandomRouteRemoval extends AbstractRemoval {
                 if (nRemovals == 0) break vehicleIndexLoop;
             }
         }
+        arena.release(shuffledVehicleIndices);
         return removedCustomers;
     }
     
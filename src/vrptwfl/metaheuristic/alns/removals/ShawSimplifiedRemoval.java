@@ -5,7 +5,9 @@ import vrptwfl.metaheuristic.common.Solution;
 import vrptwfl.metaheuristic.common.Vehicle;
 import vrptwfl.metaheuristic.data.Data;
 import vrptwfl.metaheuristic.utils.CalcUtils;
+import vrptwfl.metaheuristic.utils.CustomerScoreBuffer;
 import vrptwfl.metaheuristic.utils.DataUtils;
+import vrptwfl.metaheuristic.utils.ScratchArena;
 
 import java.util.*;
 
@@ -70,6 +72,8 @@ public class ShawSimplifiedRemoval extends AbstractRemoval {
         if (firstCustomer == -1) return removedCustomers;
 
         // --- main loop ---
+        ScratchArena arena = ScratchArena.forCurrentThread();
+        CustomerScoreBuffer closest = arena.borrowScoreBuffer();
         // (randomly) choose an already selected customer i, and select customer j which is closest to i
         while (nRemovals > 0) {
 
@@ -83,8 +87,7 @@ public class ShawSimplifiedRemoval extends AbstractRemoval {
             //  (in distanceToFirstCustomer[customer])
             // TODO Alex - Methode auslagern, wird auch in ClusterKruskal benutzt
             //double[] distanceToFirstCustomer = this.data.getDistanceMatrix()[customerI];
-            double[] distanceToFirstCustomer = this.data.getDistanceMatrix()[firstCustomerLocationIdx];
-            ArrayList<double[]> closest = new ArrayList<>();
+            closest.clear();
 
             // add all customers already assigned to the vehicles
             for (Vehicle vehicle: solution.getVehicles()) {
@@ -93,11 +96,11 @@ public class ShawSimplifiedRemoval extends AbstractRemoval {
                     if (customer == 0) 
                     	continue;
                     int customersLocation = DataUtils.getLocationIndex(customer, solution);
-                    closest.add(new double[] {customer, vehicle.getId(), distanceToFirstCustomer[customersLocation]});
+                    closest.add(customer, vehicle.getId(), this.data.getDistanceBetweenLocations(firstCustomerLocationIdx, customersLocation));
                     // closest.add(new double[] {customer, vehicle.getId(), distanceToFirstCustomer[customer]});
                 }
             }
-            closest.sort(Comparator.comparing(v->v[2]));  // sort according to distance (smallest distance first)
+            closest.sortByScore();  // sort according to distance (smallest distance first)
 
             // select next customer to be removed
             int idxJ = 0;
@@ -105,14 +108,15 @@ public class ShawSimplifiedRemoval extends AbstractRemoval {
                 double rand = Config.getInstance().randomGenerator.nextDouble();
                 idxJ = (int) Math.floor(Math.pow(rand, Config.getInstance().shawRemovalExponent) * closest.size());
             }
-            double[] removal = closest.get(idxJ);
-            removedCustomers.add((int) removal[0]);
-            solution.getVehicles().get((int) removal[1]).applyRemovalForCustomer((int) removal[0], this.data, solution);
+            int removedCustomer = closest.getCustomer(idxJ);
+            removedCustomers.add(removedCustomer);
+            solution.getVehicles().get(closest.getVehicle(idxJ)).applyRemovalForCustomer(removedCustomer, this.data, solution);
 
             // 3) update nRemovals and break loop if desired number of removals has been met
             nRemovals--;
             if (nRemovals == 0) break;
         } // end while (nRemovals > 0)
+        arena.release(closest);
 
         // TODO Alex - entferne alten Teil, wenn man es nicht mehr braucht
 //        // get customers closest to the first one
@@ -53,8 +53,8 @@ public class SkillMismatchRemoval extends AbstractRemoval{
 					int skillDelta1 = Math.abs(reqLvl1 - providedLvl1);
 					int skillDelta2 = Math.abs(reqLvl2 - providedLvl2);
 					
-					if (skillDelta1 > skillDelta2) return -1;
-					else return +1;
+					// descending skill delta (ties must compare as equal, otherwise the sort fails for larger instances)
+					return Integer.compare(skillDelta2, skillDelta1);
 					//if (getSkillDiscrepancy(reqLvl1) > getSkillDiscrepancy(reqLvl2)) return -1;
 					//else if (getSkillDiscrepancy(reqLvl1) < getSkillDiscrepancy(reqLvl2)) return +1;
 					//else return 0;
@@ -6,10 +6,11 @@ import vrptwfl.metaheuristic.common.Vehicle;
 import vrptwfl.metaheuristic.data.Data;
 import vrptwfl.metaheuristic.exceptions.ArgumentOutOfBoundsException;
 import vrptwfl.metaheuristic.utils.CalcUtils;
+import vrptwfl.metaheuristic.utils.CustomerScoreBuffer;
 import vrptwfl.metaheuristic.utils.DataUtils;
+import vrptwfl.metaheuristic.utils.ScratchArena;
 
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 
 /**
@@ -84,8 +85,8 @@ public class TimeOrientedRemoval extends AbstractRemoval {
         // 2) --- get customers closest to the reference customer ---
         // TODODone: Chris: auf mehrere locations anpassen
         // double[] distanceToFirstCustomer = this.data.getDistanceMatrix()[firstCustomer];
-        double[] distanceToFirstCustomer = this.data.getDistanceMatrix()[firstCustomerLocationIdx];
-        List<double[]> closest = new ArrayList<>();
+        ScratchArena arena = ScratchArena.forCurrentThread();
+        CustomerScoreBuffer closest = arena.borrowScoreBuffer();
 
         // add all customers already assigned to the vehicle
         for (Vehicle vehicle: solution.getVehicles()) {
@@ -98,17 +99,17 @@ public class TimeOrientedRemoval extends AbstractRemoval {
                 double avgStartTime = data.getAverageStartTimes(firstCustomer, customer);
                 double timeRelatedness = this.weightStartTimeInSolution * timeDiff + (1 - this.weightStartTimeInSolution) * avgStartTime;
                 int customersLocation = DataUtils.getLocationIndex(customer, solution);
-                closest.add(new double[] {customer, vehicle.getId(), distanceToFirstCustomer[customersLocation], timeRelatedness});
+                closest.add(customer, vehicle.getId(), this.data.getDistanceBetweenLocations(firstCustomerLocationIdx, customersLocation), timeRelatedness);
                 // closest.add(new double[] {customer, vehicle.getId(), distanceToFirstCustomer[customer], timeRelatedness});
             }
         }
         // sort according to distance (smallest distance first)
-        closest.sort(Comparator.comparing(v->v[2]));
+        closest.sortByScore();
         // remove customers which are not close
-        closest = closest.subList(0,  Math.min(closest.size(), Config.getInstance().timeOrientedNrOfClosest));
+        closest.truncate(Config.getInstance().timeOrientedNrOfClosest);
 
         // 3) --- sort according to time difference (smallest difference first)
-        closest.sort(Comparator.comparing(v->v[3]));
+        closest.sortBySecondScore();
 
         // 4) --- remove customers which are related in time
         while (nRemovals > 0) {
@@ -118,16 +119,17 @@ public class TimeOrientedRemoval extends AbstractRemoval {
                 double rand = Config.getInstance().randomGenerator.nextDouble();
                 idx = (int) Math.floor(Math.pow(rand, Config.getInstance().timeOrientedRemovalExponent) * closest.size());
             }
-            double[] removal = closest.get(idx);
+            int removedCustomer = closest.getCustomer(idx);
 
-            removedCustomers.add((int) removal[0]);
-            solution.getVehicles().get((int) removal[1]).applyRemovalForCustomer((int) removal[0], this.data, solution);
+            removedCustomers.add(removedCustomer);
+            solution.getVehicles().get(closest.getVehicle(idx)).applyRemovalForCustomer(removedCustomer, this.data, solution);
 
             // remove customer from list of closest customers
             closest.remove(idx);
 
             nRemovals--;
         }
+        arena.release(closest);
         return removedCustomers;
     }
     
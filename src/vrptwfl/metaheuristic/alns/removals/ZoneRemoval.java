@@ -1,11 +1,9 @@
 package vrptwfl.metaheuristic.alns.removals;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import vrptwfl.metaheuristic.Config;
 import vrptwfl.metaheuristic.common.Solution;
@@ -70,15 +68,14 @@ public class ZoneRemoval extends AbstractRemoval {
         if (firstCustomer == -1) 
         	return removedCustomers;
 
+        // 2) get customers closest to the zone of reference customer
+        // get row from travel distance matrix (the reference location does not change within the main loop)
+        double[] distanceToFirstCustomer = this.data.getDistanceMatrix().getRow(firstCustomerLocationIdx);
+        // arg sort on distance mx
+        int[] argSorted = DataUtils.argsort(distanceToFirstCustomer, true);
+
         // --- main loop ---
         while (nRemovals > 0) {
-            // 2) get customers closest to the zone of reference customer
-            // get row from travel distance matrix
-            double[] distanceToFirstCustomer = this.data.getDistanceMatrix()[firstCustomerLocationIdx];
-            ArrayList<double[]> closest = new ArrayList<>();
-            
-            // arg sort on distance mx
-            int[] argSorted = DataUtils.argsort(distanceToFirstCustomer, true);
             argSort:
             for (int arg = 0; arg<argSorted.length; arg++) {
             	// get location at position arg
@@ -88,11 +85,11 @@ public class ZoneRemoval extends AbstractRemoval {
             	// check if customers can possibly be scheduled in the current location; if not -> no list is stored
             	if (customersAtLocation == null) continue;
             	for (int originalCustomerId : customersAtLocation) {
-            		int schedulingIdx = Arrays.stream(this.data.getOriginalCustomerIds()).boxed().collect(Collectors.toList()).indexOf(originalCustomerId);
+            		int schedulingIdx = indexOf(this.data.getOriginalCustomerIds(), originalCustomerId);
             		if (removedCustomers.contains(schedulingIdx)) continue;
             		
             		// check if customer is in current scheduling problem
-            		if (!Arrays.stream(solution.getData().getOriginalCustomerIds()).boxed().collect(Collectors.toList()).contains(originalCustomerId)) continue;
+            		if (indexOf(solution.getData().getOriginalCustomerIds(), originalCustomerId) == -1) continue;
             		// check if customer is the first customer being already removed
             		if (schedulingIdx == firstCustomer) continue;
             		
@@ -101,7 +98,7 @@ public class ZoneRemoval extends AbstractRemoval {
             			continue;
             		
             		// check if customer is scheduled in the current solution object
-            		if (!solution.getNotAssignedCustomers().contains(schedulingIdx)) {
+            		if (!solution.getNotAssignedCustomers().containsCustomer(schedulingIdx)) {
             			// add customer to removed customers
             			removedCustomers.add(schedulingIdx);
             			// get vehicle
@@ -119,6 +116,19 @@ public class ZoneRemoval extends AbstractRemoval {
         
         return removedCustomers;
     }
+
+    /**
+     * Retrieve the index of the first occurrence of a value in an array.
+     * @param values: array
+     * @param value: value being searched
+     * @return index of the value (-1 if the value is not contained)
+     */
+    private static int indexOf(int[] values, int value) {
+        for (int i = 0; i < values.length; i++)
+            if (values[i] == value)
+                return i;
+        return -1;
+    }
     
     
 	/**
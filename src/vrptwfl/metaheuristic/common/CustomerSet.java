@@ -0,0 +1,247 @@
+package vrptwfl.metaheuristic.common;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.RandomAccess;
+
+import vrptwfl.metaheuristic.Config;
+
+/**
+ * Indexed sparse set of customer ids, e.g., the unassigned customers of a solution.
+ * The members are stored densely in an int[] and the position of each customer within
+ * the dense array is stored in a second array indexed by the customer id (-1: no member).
+ * Thus, adding, removing, checking the membership of a customer and picking a random member
+ * take constant time. A member is removed by moving the last member to its position, i.e.,
+ * the order of the members is not stable w.r.t. removals.
+ * The set implements the List interface (iteration incl. removals via the iterator, sorting,
+ * indexOf), such that it can be used wherever the list of unassigned customers was used.
+ *
+ * @author Christian M.M. Frey
+ */
+public class CustomerSet extends AbstractList<Integer> implements RandomAccess {
+
+	private int[] members;
+	private int[] positions;
+	private int size;
+
+	/**
+	 * Constructor of an empty set.
+	 * @param maxCustomerId: highest customer id expected (the set grows if higher ids are added)
+	 */
+	public CustomerSet(int maxCustomerId) {
+		this.members = new int[Math.max(maxCustomerId + 1, 1)];
+		this.positions = new int[Math.max(maxCustomerId + 1, 1)];
+		Arrays.fill(this.positions, -1);
+	}
+
+	/**
+	 * Copy constructor.
+	 * @param other: set being copied
+	 */
+	public CustomerSet(CustomerSet other) {
+		this.members = Arrays.copyOf(other.members, other.members.length);
+		this.positions = Arrays.copyOf(other.positions, other.positions.length);
+		this.size = other.size;
+	}
+
+	/**
+	 * Replaces the members by the members of the attached set. The arrays are reused
+	 * if both sets have the same capacity.
+	 * @param other: set being copied
+	 */
+	public void copyFrom(CustomerSet other) {
+		if (this.positions.length == other.positions.length) {
+			System.arraycopy(other.members, 0, this.members, 0, other.size);
+			System.arraycopy(other.positions, 0, this.positions, 0, other.positions.length);
+		} else {
+			this.members = Arrays.copyOf(other.members, other.members.length);
+			this.positions = Arrays.copyOf(other.positions, other.positions.length);
+		}
+		this.size = other.size;
+		this.modCount++;
+	}
+
+	/**
+	 * Creates a set containing the attached customers.
+	 * @param customers: customer ids
+	 * @return set of customers
+	 */
+	public static CustomerSet of(int[] customers) {
+		int maxCustomerId = 0;
+		for (int customer : customers)
+			maxCustomerId = Math.max(maxCustomerId, customer);
+		CustomerSet set = new CustomerSet(maxCustomerId);
+		for (int customer : customers)
+			set.addCustomer(customer);
+		return set;
+	}
+
+	/**
+	 * Adds a customer to the set (if it is not a member yet).
+	 * @param customer: customer id
+	 * @return whether the set changed
+	 */
+	public boolean addCustomer(int customer) {
+		if (customer >= this.positions.length)
+			this.grow(customer);
+		if (this.positions[customer] != -1)
+			return false;
+		this.members[this.size] = customer;
+		this.positions[customer] = this.size++;
+		this.modCount++;
+		return true;
+	}
+
+	/**
+	 * Removes a customer from the set (if it is a member).
+	 * @param customer: customer id
+	 * @return whether the set changed
+	 */
+	public boolean removeCustomer(int customer) {
+		if (!this.containsCustomer(customer))
+			return false;
+		this.removeAt(this.positions[customer]);
+		return true;
+	}
+
+	/**
+	 * Checks whether the customer is a member of the set.
+	 * @param customer: customer id
+	 * @return whether the customer is a member
+	 */
+	public boolean containsCustomer(int customer) {
+		return customer >= 0 && customer < this.positions.length && this.positions[customer] != -1;
+	}
+
+	/**
+	 * Retrieve a member drawn uniformly at random (Config.randomGenerator).
+	 * @return customer id (-1 if the set is empty)
+	 */
+	public int getRandomCustomer() {
+		if (this.size == 0)
+			return -1;
+		return this.members[Config.getInstance().randomGenerator.nextInt(this.size)];
+	}
+
+	/**
+	 * Retrieve the member at the attached position.
+	 * @param index: position in the dense array
+	 * @return customer id
+	 */
+	public int getCustomer(int index) {
+		if (index < 0 || index >= this.size)
+			throw new IndexOutOfBoundsException("Index " + index + " of " + this.size);
+		return this.members[index];
+	}
+
+	/**
+	 * Retrieve a copy of the members.
+	 * @return customer ids
+	 */
+	public int[] toIntArray() {
+		return Arrays.copyOf(this.members, this.size);
+	}
+
+	/**
+	 * Removes the member at the attached position; the last member is moved to that position.
+	 * @param index: position in the dense array
+	 * @return customer id of the removed member
+	 */
+	private int removeAt(int index) {
+		int customer = this.members[index];
+		int last = this.members[--this.size];
+		this.members[index] = last;
+		this.positions[last] = index;
+		this.positions[customer] = -1;
+		this.modCount++;
+		return customer;
+	}
+
+	/**
+	 * Enlarges the arrays such that the attached customer id can be stored.
+	 * @param customer: customer id
+	 */
+	private void grow(int customer) {
+		int capacity = Math.max(customer + 1, 2 * this.positions.length);
+		this.members = Arrays.copyOf(this.members, capacity);
+		int oldLength = this.positions.length;
+		this.positions = Arrays.copyOf(this.positions, capacity);
+		Arrays.fill(this.positions, oldLength, capacity, -1);
+	}
+
+	//
+	// LIST INTERFACE
+	//
+	@Override
+	public Integer get(int index) {
+		return this.getCustomer(index);
+	}
+
+	@Override
+	public int size() {
+		return this.size;
+	}
+
+	@Override
+	public boolean add(Integer customer) {
+		return this.addCustomer(customer);
+	}
+
+	@Override
+	public boolean addAll(Collection<? extends Integer> customers) {
+		boolean changed = false;
+		for (int customer : customers)
+			changed |= this.addCustomer(customer);
+		return changed;
+	}
+
+	@Override
+	public Integer remove(int index) {
+		if (index < 0 || index >= this.size)
+			throw new IndexOutOfBoundsException("Index " + index + " of " + this.size);
+		return this.removeAt(index);
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		return o instanceof Integer && this.removeCustomer((Integer) o);
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		return o instanceof Integer && this.containsCustomer((Integer) o);
+	}
+
+	@Override
+	public int indexOf(Object o) {
+		return this.contains(o) ? this.positions[(Integer) o] : -1;
+	}
+
+	@Override
+	public int lastIndexOf(Object o) {
+		return this.indexOf(o);
+	}
+
+	@Override
+	public void clear() {
+		for (int i = 0; i < this.size; i++)
+			this.positions[this.members[i]] = -1;
+		this.size = 0;
+		this.modCount++;
+	}
+
+	@Override
+	public void sort(Comparator<? super Integer> comparator) {
+		Integer[] sorted = new Integer[this.size];
+		for (int i = 0; i < this.size; i++)
+			sorted[i] = this.members[i];
+		Arrays.sort(sorted, comparator);
+		for (int i = 0; i < this.size; i++) {
+			this.members[i] = sorted[i];
+			this.positions[sorted[i]] = i;
+		}
+		this.modCount++;
+	}
+}
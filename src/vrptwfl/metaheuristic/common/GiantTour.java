@@ -0,0 +1,250 @@
+package vrptwfl.metaheuristic.common;
+
+import java.util.Arrays;
+
+/**
+ * Linked giant-tour view on the routes of a solution. All customers and two depot copies
+ * per vehicle (start and end of the route) are nodes of a doubly linked list:
+ * - node c (1 <= c <= maxCustomerId): customer c
+ * - node getStartDepot(v) / getEndDepot(v): depot copies of vehicle v
+ * The routes are chained to a single (circular) giant tour, i.e., the successor of the end
+ * depot of vehicle v is the start depot of vehicle v+1. For each node, the view stores its
+ * successor (next), its predecessor (prev) and the vehicle serving it (routeOf; -1 if the
+ * customer is not assigned). Thus, the neighbours and the route of a customer are retrieved
+ * in constant time and insertions/removals are constant time pointer updates.
+ * The vehicles' lists of customers remain the primary representation of the routes; the view
+ * is kept in sync by Vehicle.applyInsertion and Vehicle.applyRemoval (see SolutionValidator).
+ *
+ * @author Christian M.M. Frey
+ */
+public final class GiantTour {
+
+	private final int firstDepotNode;
+	private final int nVehicles;
+	private final int[] next;
+	private final int[] prev;
+	private final int[] routeOf;
+
+	/**
+	 * Constructor of a giant tour with empty routes.
+	 * @param maxCustomerId: highest customer id
+	 * @param nVehicles: number of vehicles (ids 0, ..., nVehicles-1)
+	 */
+	public GiantTour(int maxCustomerId, int nVehicles) {
+		this.firstDepotNode = maxCustomerId + 1;
+		this.nVehicles = nVehicles;
+		int nNodes = this.firstDepotNode + 2 * nVehicles;
+		this.next = new int[nNodes];
+		this.prev = new int[nNodes];
+		this.routeOf = new int[nNodes];
+		Arrays.fill(this.next, 0, this.firstDepotNode, -1);
+		Arrays.fill(this.prev, 0, this.firstDepotNode, -1);
+		Arrays.fill(this.routeOf, 0, this.firstDepotNode, -1);
+		for (int v = 0; v < nVehicles; v++) {
+			int start = this.getStartDepot(v);
+			int end = this.getEndDepot(v);
+			this.link(start, end);
+			this.link(end, this.getStartDepot((v + 1) % nVehicles));
+			this.routeOf[start] = v;
+			this.routeOf[end] = v;
+		}
+	}
+
+	/**
+	 * Copy constructor.
+	 * @param other: giant tour being copied
+	 */
+	public GiantTour(GiantTour other) {
+		this.firstDepotNode = other.firstDepotNode;
+		this.nVehicles = other.nVehicles;
+		this.next = Arrays.copyOf(other.next, other.next.length);
+		this.prev = Arrays.copyOf(other.prev, other.prev.length);
+		this.routeOf = Arrays.copyOf(other.routeOf, other.routeOf.length);
+	}
+
+	/**
+	 * Replaces the routes by the routes of the attached giant tour.
+	 * @param other: giant tour being copied (same number of customers and vehicles)
+	 */
+	public void copyFrom(GiantTour other) {
+		System.arraycopy(other.next, 0, this.next, 0, this.next.length);
+		System.arraycopy(other.prev, 0, this.prev, 0, this.prev.length);
+		System.arraycopy(other.routeOf, 0, this.routeOf, 0, this.routeOf.length);
+	}
+
+	/**
+	 * Checks whether the giant tour can hold the routes of the attached giant tour (see copyFrom).
+	 * @param other: giant tour
+	 * @return whether both giant tours have the same number of customers and vehicles
+	 */
+	public boolean isCompatible(GiantTour other) {
+		return this.firstDepotNode == other.firstDepotNode && this.nVehicles == other.nVehicles;
+	}
+
+	//
+	// MUTATIONS
+	//
+	/**
+	 * Inserts an unassigned customer into the route of a vehicle.
+	 * @param customer: customer being inserted
+	 * @param vehicleId: id of the vehicle
+	 * @param predecessor: customer after which the customer is inserted (0: start of the route)
+	 */
+	public void insert(int customer, int vehicleId, int predecessor) {
+		this.insertAfter(predecessor == 0 ? this.getStartDepot(vehicleId) : predecessor, customer);
+	}
+
+	/**
+	 * Inserts an unassigned customer after the attached node (in the route of the node).
+	 * @param node: node after which the customer is inserted (customer or start depot)
+	 * @param customer: customer being inserted
+	 */
+	public void insertAfter(int node, int customer) {
+		if (this.routeOf[customer] != -1)
+			throw new IllegalStateException("Customer " + customer + " is already in the route of vehicle " + this.routeOf[customer]);
+		if (this.isEndDepot(node) || this.routeOf[node] == -1)
+			throw new IllegalArgumentException("Cannot insert customer " + customer + " after node " + node);
+		int succ = this.next[node];
+		this.link(node, customer);
+		this.link(customer, succ);
+		this.routeOf[customer] = this.routeOf[node];
+	}
+
+	/**
+	 * Removes a customer from its route.
+	 * @param customer: customer being removed
+	 */
+	public void remove(int customer) {
+		if (this.routeOf[customer] == -1)
+			throw new IllegalStateException("Customer " + customer + " is not assigned to a route");
+		this.link(this.prev[customer], this.next[customer]);
+		this.next[customer] = -1;
+		this.prev[customer] = -1;
+		this.routeOf[customer] = -1;
+	}
+
+	/**
+	 * Moves the segment first, ..., last (consecutive customers of one route) after the attached
+	 * node. Relinking the segment takes constant time; the route of the segment's customers is
+	 * only updated if the segment is moved to another route, and a move within the route first
+	 * checks that the node lies outside the segment (both linear in the segment's length).
+	 * @param first: first customer of the segment
+	 * @param last: last customer of the segment
+	 * @param node: node after which the segment is inserted (customer or start depot; not within the segment)
+	 */
+	public void moveSegment(int first, int last, int node) {
+		if (this.routeOf[first] == -1 || this.isDepot(first) || this.isDepot(last) || this.routeOf[first] != this.routeOf[last])
+			throw new IllegalArgumentException("Nodes " + first + " and " + last + " do not delimit a segment of customers");
+		if (this.isEndDepot(node) || this.routeOf[node] == -1)
+			throw new IllegalArgumentException("Cannot move a segment after node " + node);
+		if (this.routeOf[node] == this.routeOf[first]) {
+			// a node within the segment would close the segment into a cycle
+			for (int c = first; c != last; c = this.next[c]) {
+				if (c == node)
+					throw new IllegalArgumentException("Cannot move a segment after node " + node + " within the segment");
+				if (this.isEndDepot(c))
+					throw new IllegalArgumentException("Nodes " + first + " and " + last + " do not delimit a segment of customers");
+			}
+			if (node == last)
+				throw new IllegalArgumentException("Cannot move a segment after node " + node + " within the segment");
+		}
+		// cut the segment out of its route
+		this.link(this.prev[first], this.next[last]);
+		// splice it in after the attached node
+		int succ = this.next[node];
+		this.link(node, first);
+		this.link(last, succ);
+		int vehicleId = this.routeOf[node];
+		if (this.routeOf[first] != vehicleId) {
+			for (int c = first; c != succ; c = this.next[c])
+				this.routeOf[c] = vehicleId;
+		}
+	}
+
+	/**
+	 * Links two nodes (node1 becomes the predecessor of node2).
+	 * @param node1: predecessor
+	 * @param node2: successor
+	 */
+	private void link(int node1, int node2) {
+		this.next[node1] = node2;
+		this.prev[node2] = node1;
+	}
+
+	//
+	// GETTERS
+	//
+	/**
+	 * Retrieve the customer following the attached customer in its route.
+	 * @param customer: assigned customer
+	 * @return customer id of the successor (0: end of the route)
+	 */
+	public int getSuccessor(int customer) {
+		return this.getCustomer(this.next[customer]);
+	}
+
+	/**
+	 * Retrieve the customer preceding the attached customer in its route.
+	 * @param customer: assigned customer
+	 * @return customer id of the predecessor (0: start of the route)
+	 */
+	public int getPredecessor(int customer) {
+		return this.getCustomer(this.prev[customer]);
+	}
+
+	/**
+	 * Retrieve the customer id of a node.
+	 * @param node: node
+	 * @return customer id (0 for depot nodes)
+	 */
+	public int getCustomer(int node) {
+		return this.isDepot(node) ? 0 : node;
+	}
+
+	/**
+	 * Retrieve the vehicle serving a node.
+	 * @param node: node (e.g., customer id)
+	 * @return vehicle id (-1: customer not assigned)
+	 */
+	public int getRoute(int node) {
+		return this.routeOf[node];
+	}
+
+	/**
+	 * Retrieve the successor of a node in the giant tour.
+	 * @param node: node
+	 * @return successor node (-1: customer not assigned)
+	 */
+	public int getNext(int node) {
+		return this.next[node];
+	}
+
+	/**
+	 * Retrieve the predecessor of a node in the giant tour.
+	 * @param node: node
+	 * @return predecessor node (-1: customer not assigned)
+	 */
+	public int getPrev(int node) {
+		return this.prev[node];
+	}
+
+	public int getStartDepot(int vehicleId) {
+		return this.firstDepotNode + 2 * vehicleId;
+	}
+
+	public int getEndDepot(int vehicleId) {
+		return this.firstDepotNode + 2 * vehicleId + 1;
+	}
+
+	public boolean isDepot(int node) {
+		return node >= this.firstDepotNode || node == 0;
+	}
+
+	public boolean isEndDepot(int node) {
+		return node >= this.firstDepotNode && ((node - this.firstDepotNode) & 1) == 1;
+	}
+
+	public int getNVehicles() {
+		return this.nVehicles;
+	}
+}
@@ -0,0 +1,297 @@
+package vrptwfl.metaheuristic.common;
+
+import vrptwfl.metaheuristic.utils.StableSort;
+
+import java.util.Arrays;
+
+/**
+ * Reusable buffer of insertion candidates stored as parallel primitive columns
+ * (struct of arrays). A candidate is identified by its row index; the columns are:
+ * customer, vehicle, position in route, start time, additional travel costs, location index,
+ * capacity slot, entry index in the location's occupancy list and penalty costs.
+ * The buffer grows geometrically and is cleared (not reallocated) before it is refilled,
+ * such that the evaluation of insertions does not allocate an array per candidate.
+ * Each thread owns one buffer (see forCurrentThread). Only a selected candidate is converted
+ * into the array representation used by Vehicle.applyInsertion (see toArray).
+ *
+ * @author Christian M.M. Frey
+ */
+public final class InsertionCandidates {
+
+	private static final int INITIAL_CAPACITY = 64;
+
+	private static final ThreadLocal<InsertionCandidates> threadBuffer = ThreadLocal.withInitial(InsertionCandidates::new);
+
+	private int[] customer;
+	private int[] vehicle;
+	private int[] position;
+	private double[] startTime;
+	private double[] costs;
+	private int[] locationIdx;
+	private int[] capacitySlot;
+	private int[] entryIdx;
+	private double[] penaltyCosts;
+
+	// scratch arrays for sorting (rank -> row)
+	private int[] order;
+	private int[] orderTmp;
+	private double[] keys;
+	private boolean sorted;
+
+	private int size;
+
+	/**
+	 * Constructor of an empty buffer.
+	 */
+	public InsertionCandidates() {
+		this.allocate(INITIAL_CAPACITY);
+	}
+
+	/**
+	 * Retrieve the (cleared) buffer of the current thread. The buffer is shared: its content is
+	 * valid until the next call of forCurrentThread on this thread (e.g., via 
+	 * Solution.getPossibleInsertionsForCustomer), thus it must not be kept across such calls.
+	 * @return insertion candidates buffer
+	 */
+	public static InsertionCandidates forCurrentThread() {
+		InsertionCandidates candidates = threadBuffer.get();
+		candidates.clear();
+		return candidates;
+	}
+
+	/**
+	 * Removes all candidates (the memory is kept).
+	 */
+	public void clear() {
+		this.size = 0;
+		this.sorted = false;
+	}
+
+	/**
+	 * Appends a candidate.
+	 * @param customer: customer id
+	 * @param vehicle: vehicle id
+	 * @param position: position in the vehicle's route
+	 * @param startTime: start of service
+	 * @param costs: additional travel costs
+	 * @param locationIdx: index of the location within the customer's locations
+	 * @param capacitySlot: capacity slot of the location
+	 * @param entryIdx: entry index in the location's occupancy list
+	 * @param penaltyCosts: penalty costs of the insertion
+	 * @return row index of the candidate
+	 */
+	public int add(int customer, int vehicle, int position, double startTime, double costs,
+			int locationIdx, int capacitySlot, int entryIdx, double penaltyCosts) {
+		if (this.size == this.customer.length)
+			this.allocate(2 * this.customer.length);
+		int i = this.size++;
+		this.customer[i] = customer;
+		this.vehicle[i] = vehicle;
+		this.position[i] = position;
+		this.startTime[i] = startTime;
+		this.costs[i] = costs;
+		this.locationIdx[i] = locationIdx;
+		this.capacitySlot[i] = capacitySlot;
+		this.entryIdx[i] = entryIdx;
+		this.penaltyCosts[i] = penaltyCosts;
+		this.sorted = false;
+		return i;
+	}
+
+	/**
+	 * Removes the candidate at the attached row. The order of the remaining candidates is kept.
+	 * @param i: row index
+	 */
+	public void remove(int i) {
+		int n = this.size - i - 1;
+		System.arraycopy(this.customer, i + 1, this.customer, i, n);
+		System.arraycopy(this.vehicle, i + 1, this.vehicle, i, n);
+		System.arraycopy(this.position, i + 1, this.position, i, n);
+		System.arraycopy(this.startTime, i + 1, this.startTime, i, n);
+		System.arraycopy(this.costs, i + 1, this.costs, i, n);
+		System.arraycopy(this.locationIdx, i + 1, this.locationIdx, i, n);
+		System.arraycopy(this.capacitySlot, i + 1, this.capacitySlot, i, n);
+		System.arraycopy(this.entryIdx, i + 1, this.entryIdx, i, n);
+		System.arraycopy(this.penaltyCosts, i + 1, this.penaltyCosts, i, n);
+		this.size--;
+		this.sorted = false;
+	}
+
+	/**
+	 * Keeps only the candidates of the rows [0, from) and the attached row, which is
+	 * moved to row from. Used to reduce the candidates of a route to its best one.
+	 * @param from: first row of the range being reduced
+	 * @param keep: row index of the candidate being kept (>= from)
+	 */
+	public void truncate(int from, int keep) {
+		this.customer[from] = this.customer[keep];
+		this.vehicle[from] = this.vehicle[keep];
+		this.position[from] = this.position[keep];
+		this.startTime[from] = this.startTime[keep];
+		this.costs[from] = this.costs[keep];
+		this.locationIdx[from] = this.locationIdx[keep];
+		this.capacitySlot[from] = this.capacitySlot[keep];
+		this.entryIdx[from] = this.entryIdx[keep];
+		this.penaltyCosts[from] = this.penaltyCosts[keep];
+		this.size = from + 1;
+		this.sorted = false;
+	}
+
+	/**
+	 * Sets the penalty costs of the candidate at the attached row.
+	 * @param i: row index
+	 * @param penaltyCosts: penalty costs of the insertion
+	 */
+	public void setPenaltyCosts(int i, double penaltyCosts) {
+		this.penaltyCosts[i] = penaltyCosts;
+		this.sorted = false;
+	}
+
+	/**
+	 * Retrieve the row of the candidate with the lowest costs within the rows [from, size).
+	 * On ties, the first candidate is returned.
+	 * @param from: first row being inspected
+	 * @param includePenalty: whether the penalty costs are added to the travel costs
+	 * @return row index (-1 if there is no candidate)
+	 */
+	public int getBest(int from, boolean includePenalty) {
+		int best = -1;
+		double bestCosts = Double.MAX_VALUE;
+		for (int i = from; i < this.size; i++) {
+			double c = includePenalty ? this.getTotalCosts(i) : this.costs[i];
+			if (best == -1 || c < bestCosts) {
+				best = i;
+				bestCosts = c;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Sorts the candidates by their costs (stable); afterwards, getRanked(r) yields the
+	 * row of the r-th cheapest candidate. The rows themselves are not moved.
+	 * @param includePenalty: whether the penalty costs are added to the travel costs
+	 */
+	public void sortByCosts(boolean includePenalty) {
+		for (int i = 0; i < this.size; i++) {
+			this.order[i] = i;
+			this.keys[i] = includePenalty ? this.getTotalCosts(i) : this.costs[i];
+		}
+		StableSort.sortIndices(this.order, this.orderTmp, this.size, this.keys);
+		this.sorted = true;
+	}
+
+	/**
+	 * Retrieve the row of the r-th cheapest candidate (see sortByCosts).
+	 * @param r: rank (0: cheapest candidate)
+	 * @return row index
+	 */
+	public int getRanked(int r) {
+		if (!this.sorted)
+			throw new IllegalStateException("Insertion candidates are not sorted");
+		return this.order[r];
+	}
+
+	/**
+	 * Checks whether the candidate at the attached row equals the attached insertion
+	 * in the array representation (see toArray).
+	 * @param i: row index
+	 * @param insertion: insertion in the array representation
+	 * @return whether both describe the same insertion
+	 */
+	public boolean matches(int i, double[] insertion) {
+		return insertion.length == 9
+				&& insertion[0] == this.customer[i] && insertion[1] == this.vehicle[i]
+				&& insertion[2] == this.position[i] && Double.compare(insertion[3], this.startTime[i]) == 0
+				&& Double.compare(insertion[4], this.costs[i]) == 0 && insertion[5] == this.locationIdx[i]
+				&& insertion[6] == this.capacitySlot[i] && insertion[7] == this.entryIdx[i]
+				&& Double.compare(insertion[8], this.penaltyCosts[i]) == 0;
+	}
+
+	/**
+	 * Retrieve the candidate at the attached row in the array representation:
+	 * [customer, vehicleId, posInRoute, startTime, costs, locationIdx, capacitySlot, entryIdxInLoc, penaltyCosts]
+	 * @param i: row index
+	 * @return insertion array (newly allocated)
+	 */
+	public double[] toArray(int i) {
+		return new double[] {this.customer[i], this.vehicle[i], this.position[i], this.startTime[i], this.costs[i],
+				this.locationIdx[i], this.capacitySlot[i], this.entryIdx[i], this.penaltyCosts[i]};
+	}
+
+	/**
+	 * Enlarges the columns to the attached capacity (the content is kept).
+	 * @param capacity: new capacity
+	 */
+	private void allocate(int capacity) {
+		this.customer = this.customer == null ? new int[capacity] : Arrays.copyOf(this.customer, capacity);
+		this.vehicle = this.vehicle == null ? new int[capacity] : Arrays.copyOf(this.vehicle, capacity);
+		this.position = this.position == null ? new int[capacity] : Arrays.copyOf(this.position, capacity);
+		this.startTime = this.startTime == null ? new double[capacity] : Arrays.copyOf(this.startTime, capacity);
+		this.costs = this.costs == null ? new double[capacity] : Arrays.copyOf(this.costs, capacity);
+		this.locationIdx = this.locationIdx == null ? new int[capacity] : Arrays.copyOf(this.locationIdx, capacity);
+		this.capacitySlot = this.capacitySlot == null ? new int[capacity] : Arrays.copyOf(this.capacitySlot, capacity);
+		this.entryIdx = this.entryIdx == null ? new int[capacity] : Arrays.copyOf(this.entryIdx, capacity);
+		this.penaltyCosts = this.penaltyCosts == null ? new double[capacity] : Arrays.copyOf(this.penaltyCosts, capacity);
+		this.order = new int[capacity];
+		this.orderTmp = new int[capacity];
+		this.keys = new double[capacity];
+		this.sorted = false;
+	}
+
+	//
+	// GETTERS
+	//
+	public int size() {
+		return this.size;
+	}
+
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	public int getCustomer(int i) {
+		return this.customer[i];
+	}
+
+	public int getVehicle(int i) {
+		return this.vehicle[i];
+	}
+
+	public int getPosition(int i) {
+		return this.position[i];
+	}
+
+	public double getStartTime(int i) {
+		return this.startTime[i];
+	}
+
+	public double getCosts(int i) {
+		return this.costs[i];
+	}
+
+	public int getLocationIdx(int i) {
+		return this.locationIdx[i];
+	}
+
+	public int getCapacitySlot(int i) {
+		return this.capacitySlot[i];
+	}
+
+	public int getEntryIdx(int i) {
+		return this.entryIdx[i];
+	}
+
+	public double getPenaltyCosts(int i) {
+		return this.penaltyCosts[i];
+	}
+
+	/**
+	 * Retrieve the costs of the candidate incl. its penalty costs.
+	 * @param i: row index
+	 * @return additional travel costs + penalty costs
+	 */
+	public double getTotalCosts(int i) {
+		return this.costs[i] + this.penaltyCosts[i];
+	}
+}
@@ -27,7 +27,7 @@ import java.util.stream.Collectors;
  */
 public class Solution {
 
-    private ArrayList<Integer> notAssignedCustomers;
+    private CustomerSet notAssignedCustomers;
     private ArrayList<Integer> tempInfeasibleCustomers; // needed to store customer that cannot be assigned to any route
     private ArrayList<Vehicle> vehicles;
     private Data data;
@@ -45,12 +45,18 @@ public class Solution {
     private boolean isConstruction = false;
     private HashMap<Integer, HashMap<Integer, ArrayList<Double[]>>> map; // location -> capacitySlot -> list of service time tuples [start, end]
     private int[] customersAssignedLocations;     // length: customer size + 1 (depot)
+    private int[] customersAssignedLocationIds;   // length: customer size + 1 (depot); absolute location id
     private int[] customersAssignedCapacitySlot;  // length: customer size + 1 (depot)
     private int[] customersAssignedToVehicles;	  // length: customer size + 1 (depot)
+    private GiantTour giantTour;                  // linked view on the routes (kept in sync by the vehicles)
 
     private HashMap<Integer, ArrayList<double[]>> triedInsertions;
     
-    private ArrayList<int[]> listOfPenalties;
+    private ViolationCounter violations;
+    
+    // evaluation counters (inherited by copies; used for the operator statistics of the ALNS)
+    private long insertionsEvaluated;
+    private long removalsEvaluated;
     
     /**
      * Constructor for a solution object.
@@ -65,7 +71,10 @@ public class Solution {
      * @param solutionTemp: solution object whose parameters will be inherited
      */
 	public void setSolution(Solution solutionTemp) {
-		this.notAssignedCustomers = new ArrayList<>(solutionTemp.getNotAssignedCustomers());
+		if (this.notAssignedCustomers != null)
+			this.notAssignedCustomers.copyFrom(solutionTemp.getNotAssignedCustomers());
+		else
+			this.notAssignedCustomers = new CustomerSet(solutionTemp.getNotAssignedCustomers());
 		this.totalCosts = solutionTemp.getTotalCosts();
 		this.penaltyPredJobsViolation = solutionTemp.penaltyPredJobsViolation;
 		this.penaltySkillViolation = solutionTemp.penaltySkillViolation;
@@ -77,12 +86,20 @@ public class Solution {
 		this.swappingCosts = solutionTemp.swappingCosts;
 		this.vehicleTourCosts = solutionTemp.vehicleTourCosts;
 		this.isFeasible = solutionTemp.isFeasible();
-		this.customersAssignedCapacitySlot = Arrays.copyOf(solutionTemp.getCustomerAffiliationToCapacity(), solutionTemp.getCustomerAffiliationToCapacity().length);
-		this.customersAssignedLocations = Arrays.copyOf(solutionTemp.getCustomerAffiliationToLocations(), solutionTemp.getCustomerAffiliationToLocations().length);
-		this.customersAssignedToVehicles = Arrays.copyOf(solutionTemp.getCustomersAssignedToVehicles(), solutionTemp.getCustomersAssignedToVehicles().length);
-		this.listOfPenalties = new ArrayList<int[]>();
-		for (int[] entry: solutionTemp.getListOfPenalties())
-        	this.listOfPenalties.add(Arrays.copyOf(entry, entry.length));
+		this.insertionsEvaluated = solutionTemp.insertionsEvaluated;
+		this.removalsEvaluated = solutionTemp.removalsEvaluated;
+		this.customersAssignedCapacitySlot = copyInto(solutionTemp.getCustomerAffiliationToCapacity(), this.customersAssignedCapacitySlot);
+		this.customersAssignedLocations = copyInto(solutionTemp.getCustomerAffiliationToLocations(), this.customersAssignedLocations);
+		this.customersAssignedLocationIds = copyInto(solutionTemp.getCustomerLocationIds(), this.customersAssignedLocationIds);
+		this.customersAssignedToVehicles = copyInto(solutionTemp.getCustomersAssignedToVehicles(), this.customersAssignedToVehicles);
+		if (this.giantTour != null && this.giantTour.isCompatible(solutionTemp.getGiantTour()))
+			this.giantTour.copyFrom(solutionTemp.getGiantTour());
+		else
+			this.giantTour = new GiantTour(solutionTemp.getGiantTour());
+		if (this.violations != null && this.violations.isCompatible(solutionTemp.getViolations()))
+			this.violations.copyFrom(solutionTemp.getViolations());
+		else
+			this.violations = new ViolationCounter(solutionTemp.getViolations());
 		
         this.triedInsertions = new HashMap<Integer, ArrayList<double[]>>();
 
@@ -93,6 +110,20 @@ public class Solution {
 		this.setVehicles(newVehicles);
 	}
 	
+	/**
+	 * Copies the attached source array into the target array. The target array is reused
+	 * if it has the same length; otherwise, a copy of the source array is created.
+	 * @param source: array being copied
+	 * @param target: array being reused (may be null)
+	 * @return array holding the copy
+	 */
+	private static int[] copyInto(int[] source, int[] target) {
+		if (target == null || target.length != source.length)
+			return Arrays.copyOf(source, source.length);
+		System.arraycopy(source, 0, target, 0, source.length);
+		return target;
+	}
+	
 	/**
 	 * This function yields an empty solution, i.e, it initializes vehicle
 	 * objects and set the field variables to its default values
@@ -104,7 +135,7 @@ public class Solution {
         Solution start = new Solution(data);
         start.setVehicles(data.initializeVehicles());
         // initially add all customers to list of not assigned customers
-        start.setNotAssignedCustomers(new ArrayList<Integer>() {{ for (int i : data.getCustomers()) add(i); }});
+        start.setNotAssignedCustomers(CustomerSet.of(data.getCustomers()));
         start.setTempInfeasibleCustomers(new ArrayList<>());
         start.setFeasible(false);
         
@@ -115,6 +146,11 @@ public class Solution {
         Arrays.fill(start.customersAssignedLocations, -1);
         start.customersAssignedLocations[0] = 0;  // <- Depot
         
+        // Create array indicating the (absolute) location id a customer is assigned to (-1: no assignment)
+        start.customersAssignedLocationIds = new int[data.getCustomers().length+1];
+        Arrays.fill(start.customersAssignedLocationIds, -1);
+        start.customersAssignedLocationIds[0] = data.getCustomersToLocations().get(data.getOriginalCustomerIds()[0]).get(0);  // <- Depot
+        
         // Create array indicating to which capacity slot a customer is assigned to (-1: no assignment)
         start.customersAssignedCapacitySlot = new int[data.getCustomers().length+1];
         Arrays.fill(start.customersAssignedCapacitySlot, -1);
@@ -125,11 +161,14 @@ public class Solution {
         Arrays.fill(start.customersAssignedToVehicles, -1);
         start.customersAssignedToVehicles[0] = 0; // -> Depot
         
-        start.listOfPenalties = new ArrayList<int[]>();
+        start.violations = new ViolationCounter(data.getCustomers().length);
+        
+        // Create giant tour view with empty routes
+        start.giantTour = new GiantTour(data.getCustomers().length, start.vehicles.size());
         
         start.map = new HashMap<Integer, HashMap<Integer, ArrayList<Double[]>>>();
 
-        for (int loc = 0; loc<data.getDistanceMatrix().length; loc++) {
+        for (int loc = 0; loc<data.getDistanceMatrix().size(); loc++) {
         	for (int capacity = 0; capacity < data.getLocationCapacity()[loc]; capacity ++) {
         		ArrayList<Double[]> tmp = new ArrayList<Double[]>();
         		tmp.add(new Double[] {-1.0, data.getStartOfPlanningHorizon()});
@@ -146,8 +185,12 @@ public class Solution {
     // FUNCTIONALITY
     //    
     /**
-     * Retrieve the available Location-TimeWindow (LTW) information of a customer.
+     * Appends the available Location-TimeWindow (LTW) insertions of a customer at the attached
+     * position of a vehicle's route to the insertion candidates (penalty costs: 0).
+     * @param candidates: buffer the insertions are appended to
      * @param customer: customer id
+     * @param vehicleId: id of the vehicle
+     * @param position: position in the vehicle's route
      * @param earliestStartCustomer: earliest start service time 
      * @param latestStartCustomer: latest end service time
      * @param serviceTime: service time duration
@@ -155,10 +198,10 @@ public class Solution {
      * @param succ: successor's id within the route
      * @param endServicePred: end service time of predecessor
      * @param startServiceSucc: start service time of successor
-     * @return
+     * @return number of insertions being appended
      */
-    public ArrayList<double[]> getPossibleLTWInsertionsForCustomer(int customer, double earliestStartCustomer, double latestStartCustomer, int serviceTime, int pred, int succ, double endServicePred, double startServiceSucc) {
-    	ArrayList<double[]> possibleInsertions = new ArrayList<double[]>();
+    public int addPossibleLTWInsertionsForCustomer(InsertionCandidates candidates, int customer, int vehicleId, int position, double earliestStartCustomer, double latestStartCustomer, int serviceTime, int pred, int succ, double endServicePred, double startServiceSucc) {
+    	int nCandidatesBefore = candidates.size();
     	
     	// Iterate customer's possible locations
     	for (int locationIdx=0; locationIdx < this.data.getCustomersToLocations().get(this.data.getOriginalCustomerIds()[customer]).size() ; locationIdx ++) {
@@ -178,7 +221,7 @@ public class Solution {
             if (!(Config.getInstance().enableGLS || Config.getInstance().enableSchiffer || Config.getInstance().enableGLSFeature) || this.isConstruction) {
 	            double[] infoOfLatestPredJob = this.getEndServiceTimeOfLatestPredJob(customer);
 	            // if a predecessor job couldn't be scheduled, the current job can also not be scheduled; break
-	            if (infoOfLatestPredJob[1] == -1) return possibleInsertions;
+	            if (infoOfLatestPredJob[1] == -1) return candidates.size() - nCandidatesBefore;
 	            else if  (infoOfLatestPredJob[2] > 0){
 	            	double distToPredecessorJob = data.getDistanceBetweenLocations(DataUtils.getLocationIndex((int) infoOfLatestPredJob[0], this), location);
 	            	earliestStartAtInsertion = Math.max(earliestStartAtInsertion, infoOfLatestPredJob[1] + distToPredecessorJob);            	
@@ -224,24 +267,24 @@ public class Solution {
 							earliestStartAtInsertion <= latestStartAtInsertion
 							) {
 						double timeStart = earliestStartAtInsertion;
-						double[] possibleInsertion = new double[]{locationIdx, capacity, timeStart, additionalTravelCosts, entryIdx};
-						possibleInsertions.add(possibleInsertion);
+						candidates.add(customer, vehicleId, position, timeStart, additionalTravelCosts, locationIdx, capacity, entryIdx, 0.0);
     					}
     			}    			
     		}
     	}
-    	// no match at all
-    	return possibleInsertions;
+    	return candidates.size() - nCandidatesBefore;
     }
 
 
     /**
-     * Retrieve list of possible next insertions for a customer
+     * Retrieve the possible next insertions for a customer. The insertions are stored in the
+     * shared insertion candidates buffer of the current thread (see InsertionCandidates.forCurrentThread), 
+     * i.e., the returned buffer is valid until the next call on this thread and must not be kept.
      * @param customer: identifier of customer whose next insertions are inspected.
-     * @return list of possible next insertions
+     * @return possible next insertions
      */
-    public ArrayList<double[]> getPossibleInsertionsForCustomer(int customer) {
-        ArrayList<double[]> possibleInsertionsForCustomer = new ArrayList<>();
+    public InsertionCandidates getPossibleInsertionsForCustomer(int customer) {
+        InsertionCandidates possibleInsertionsForCustomer = InsertionCandidates.forCurrentThread();
 //        boolean triedUnusedVehicle = false;
         
         for (Vehicle vehicle: this.getVehicles()) {
@@ -255,14 +298,14 @@ public class Solution {
         	
         	if (!vehicle.isAvailable()) continue;
         	
-            ArrayList<double[]> insertions = vehicle.getPossibleInsertions(customer, this.data, this);
+            int nCandidatesBefore = possibleInsertionsForCustomer.size();
+            int nInsertions = vehicle.getPossibleInsertions(customer, this.data, this, possibleInsertionsForCustomer);
+            this.insertionsEvaluated += nInsertions;
 
-            if (Config.getInstance().regretConsiderAllPossibleInsertionPerRoute) { // add all possible position (can be multiple per route)
-                possibleInsertionsForCustomer.addAll(insertions);
-            } else if (!insertions.isEmpty()){
+            // add all possible position (can be multiple per route) if regretConsiderAllPossibleInsertionPerRoute
+            if (!Config.getInstance().regretConsiderAllPossibleInsertionPerRoute && nInsertions > 0) {
                 // only consider the best possible insertion in this route (as described in Ropke & Pisinger 2007 C&OR §5.2.2 p. 2415)
-                insertions.sort(Comparator.comparing(a -> (a[4]+a[8]))); // sort by additional costs
-                possibleInsertionsForCustomer.add(insertions.get(0));
+                possibleInsertionsForCustomer.truncate(nCandidatesBefore, possibleInsertionsForCustomer.getBest(nCandidatesBefore, true));
             }
         }
         return possibleInsertionsForCustomer;
@@ -280,6 +323,7 @@ public class Solution {
         for (Vehicle vehicle: this.getVehicles()) {
             if (vehicle.isUsed()) {
                 ArrayList<double[]> removals = vehicle.getPossibleRemovals(this.data, this);
+                this.removalsEvaluated += removals.size();
                 possibleRemovals.addAll(removals);
             }
         }
@@ -299,6 +343,7 @@ public class Solution {
         for (Vehicle vehicle: this.getVehicles()) {
             if (vehicle.isUsed()) {
                 ArrayList<double[]> removals = vehicle.getPossibleRemovals(neighborGraph, solution);
+                this.removalsEvaluated += removals.size();
                 possibleRemovals.addAll(removals);
             }
         }
@@ -318,6 +363,7 @@ public class Solution {
     	for (Vehicle v: this.getVehicles()) {
     		if (v.isUsed()) {
     			ArrayList<double[]> removals = v.getPossibleRequestRemovals(requestGraph, solution);
+    			this.removalsEvaluated += removals.size();
     			possibleRemovals.addAll(removals);
     		}
     	}
@@ -439,10 +485,10 @@ public class Solution {
      * variables. 
      */
     private void calculatePenaltyCosts(boolean fixedCosts) {
-    	// the variable listOfPenalties is used for updating the penalty weights
+    	// the violation counter is used for updating the penalty weights
     	// it is cleared here in first place. In each sub-procedure a violation is
-    	// added to this list.
-    	this.listOfPenalties.clear();
+    	// recorded in the counter.
+    	this.violations.clear();
     	this.cumDeltaSkill = 0.0;
     	this.cumDeltaTW = 0.0;
         this.calcCostsForUnservedCustomers(fixedCosts);
@@ -452,7 +498,7 @@ public class Solution {
         
         this.totalPenaltyCosts = this.penaltyUnservedCustomers + this.penaltyTimeWindowViolation +
         						 this.penaltyPredJobsViolation + this.penaltySkillViolation;
-        if (this.listOfPenalties.size() > 0)
+        if (this.violations.getTotal() > 0)
         	this.isFeasible = false;
     }
 
@@ -476,7 +522,7 @@ public class Solution {
     		else
     			this.penaltyUnservedCustomers += Config.getInstance().penaltyUnservedCustomer;
     		
-    		this.listOfPenalties.add(new int[] {DataUtils.PenaltyIdx.Unscheduled.getId(), unscheduledCustomer});
+    		this.violations.add(DataUtils.PenaltyIdx.Unscheduled.getId(), unscheduledCustomer);
     	}
     }
     
@@ -496,9 +542,19 @@ public class Solution {
      */
     public double getViolationCostsForInsertion(double[] newInsertion, boolean fixedCosts) {
     	// customer, vehicleId, posInRoute, starTime, costs, location, capacity, entryIdxInLoc
-    	int customerID = (int) newInsertion[0];
-    	int vehicleID = (int) newInsertion[1];
-    	double startTime = newInsertion[3];
+    	return this.getViolationCostsForInsertion((int) newInsertion[0], (int) newInsertion[1], newInsertion[3], fixedCosts);
+    }
+    
+    /**
+     * Retrieve the violation costs of inserting a customer into a vehicle's route at the attached 
+     * start time (see getViolationCostsForInsertion(double[], boolean)).
+     * @param customerID: customer id
+     * @param vehicleID: vehicle id
+     * @param startTime: start of service
+     * @param fixedCosts: boolean if global or dynamic cost function is used for the computation
+     * @return violation costs
+     */
+    public double getViolationCostsForInsertion(int customerID, int vehicleID, double startTime, boolean fixedCosts) {
     	
     	// POSSIBLE SKILL VIOLATION
     	double skillViolation = 0.0;
@@ -592,7 +648,7 @@ public class Solution {
     		// potentially add violation to list of violations and update global violation costs
     		if (customerSkillViolation != 0.0) {
     			this.penaltySkillViolation += customerSkillViolation;
-    			this.listOfPenalties.add(new int[] {DataUtils.PenaltyIdx.SkillLvl.getId(), customerID});
+    			this.violations.add(DataUtils.PenaltyIdx.SkillLvl.getId(), customerID);
     		}
     	}
     }
@@ -646,7 +702,7 @@ public class Solution {
     		if (customerPredJobViolation != 0.0) {
     			// int entryJobId = Arrays.stream(this.data.getOriginalCustomerIds()).boxed().collect(Collectors.toList()).indexOf(entry.getKey());
     			this.penaltyPredJobsViolation += customerPredJobViolation;
-				this.listOfPenalties.add(new int[] {DataUtils.PenaltyIdx.Predecessor.getId(), entryJobId});    			
+				this.violations.add(DataUtils.PenaltyIdx.Predecessor.getId(), entryJobId);
     		}
     	}
     }
@@ -716,7 +772,7 @@ public class Solution {
     		// potentially add violation to list of violations and update global violation costs
     		if (customerTimeWindowViolation != 0.0) {
     			this.penaltyTimeWindowViolation += customerTimeWindowViolation;
-    			this.listOfPenalties.add(new int[] {DataUtils.PenaltyIdx.TWViolation.getId(), customerID});
+    			this.violations.add(DataUtils.PenaltyIdx.TWViolation.getId(), customerID);
     		}
     	}
     }
@@ -871,8 +927,7 @@ public class Solution {
 //    		if (this.customersAssignedToVehicles[predCustomerId] == -1)
 //    			return false;
     		
-    		int predecessorInNotScheduledYet = this.notAssignedCustomers.indexOf(predCustomerId);
-    		if (predecessorInNotScheduledYet != -1)
+    		if (this.notAssignedCustomers.containsCustomer(predCustomerId))
     			flag = false;
     	}
     	// All predecessor jobs are scheduled -> Return true
@@ -929,10 +984,10 @@ public class Solution {
     }
     
     /**
-     * Get list of unassigned customers.
-     * @return list of unassigned customers
+     * Get set of unassigned customers (indexed set, see CustomerSet).
+     * @return set of unassigned customers
      */
-    public ArrayList<Integer> getNotAssignedCustomers() {
+    public CustomerSet getNotAssignedCustomers() {
         return notAssignedCustomers;
     }
 
@@ -960,6 +1015,15 @@ public class Solution {
     	return customersAssignedLocations;
     }
     
+    /**
+     * Get array storing the (absolute) location id each customer is assigned to (-1: no assignment).
+     * The array is maintained together with the customers' affiliation to locations.
+     * @return customers' location ids
+     */
+    public int[] getCustomerLocationIds() {
+    	return customersAssignedLocationIds;
+    }
+    
     /**
      * Get array storing the customers' affiliation to the capacity slots of 
      * the locations.
@@ -977,6 +1041,15 @@ public class Solution {
     	return customersAssignedToVehicles;
     }
     
+    /**
+     * Get the linked giant tour view on the vehicles' routes, i.e., predecessor, successor
+     * and route of a customer in constant time (see GiantTour)
+     * @return giant tour view
+     */
+    public GiantTour getGiantTour() {
+    	return giantTour;
+    }
+    
     /**
      * Retrieve customer to locations mapping. The keys are the customer ids,
      * and the values are the list of possible locations per customer.
@@ -994,6 +1067,33 @@ public class Solution {
     	return data;
     }
     
+    /**
+     * Retrieve the number of possible insertions having been evaluated on this solution object
+     * (see getPossibleInsertionsForCustomer).
+     * @return number of evaluated insertions
+     */
+    public long getInsertionsEvaluated() {
+    	return this.insertionsEvaluated;
+    }
+    
+    /**
+     * Retrieve the number of possible removals having been evaluated on this solution object
+     * (see getPossibleRemovalsSortedBy...).
+     * @return number of evaluated removals
+     */
+    public long getRemovalsEvaluated() {
+    	return this.removalsEvaluated;
+    }
+    
+    /**
+     * Adds insertions having been evaluated on other solution objects, e.g., on the abandoned
+     * branches of a backtracking search leading to this solution.
+     * @param nInsertions: number of evaluated insertions
+     */
+    public void addInsertionsEvaluated(long nInsertions) {
+    	this.insertionsEvaluated += nInsertions;
+    }
+    
     /**
      * Get a mapping containing information about tuples which have already been
      * explored in the backtracking tree. The key values are the customer ids. 
@@ -1045,11 +1145,12 @@ public class Solution {
     }
     
     /**
-     * Retrieve list storing penalties of the past solution objects
-     * @return list of penalties
+     * Retrieve the violations (penalty type and customer) of the solution
+     * recorded by the last calculation of the penalty costs.
+     * @return violation counter
      */
-    public ArrayList<int[]> getListOfPenalties() {
-    	return this.listOfPenalties;
+    public ViolationCounter getViolations() {
+    	return this.violations;
     }
     
     /**
@@ -1093,6 +1194,7 @@ public class Solution {
      */
     public void setCustomerAffiliationToLocation (int customer, int locationAffiliation) {
     	this.customersAssignedLocations[customer] = locationAffiliation;
+    	this.customersAssignedLocationIds[customer] = this.data.getCustomersToLocations().get(this.data.getOriginalCustomerIds()[customer]).get(locationAffiliation);
     }
     
     /**
@@ -1130,10 +1232,10 @@ public class Solution {
     // SETTERS
     //
     /**
-     * Set list of unassigned customers.
-     * @param notAssignedCustomers: list of unassigned customers
+     * Set the set of unassigned customers.
+     * @param notAssignedCustomers: set of unassigned customers
      */
-    public void setNotAssignedCustomers(ArrayList<Integer> notAssignedCustomers) {
+    public void setNotAssignedCustomers(CustomerSet notAssignedCustomers) {
         this.notAssignedCustomers = notAssignedCustomers;
     }
 
@@ -1178,11 +1280,11 @@ public class Solution {
     }
     
     /**
-     * Set list of penalties.
-     * @param listOfPenalties: list containing information about the penalties in this solution
+     * Set the violations of the solution.
+     * @param violations: violation counter containing information about the penalties in this solution
      */
-    public void setListOfPenalties(ArrayList<int[]> listOfPenalties) {
-    	this.listOfPenalties = listOfPenalties;
+    public void setViolations(ViolationCounter violations) {
+    	this.violations = violations;
     }
 
 
@@ -1195,6 +1297,7 @@ public class Solution {
      */
     public void freeCustomerAffiliationToLocation(int customer) {
     	this.customersAssignedLocations[customer] = -1;
+    	this.customersAssignedLocationIds[customer] = -1;
     }
     
     /**
@@ -1241,7 +1344,7 @@ public class Solution {
      */
     public Solution copyDeep() {
         Solution sol = new Solution(this.data);
-        sol.setNotAssignedCustomers(new ArrayList<>(this.notAssignedCustomers));
+        sol.setNotAssignedCustomers(new CustomerSet(this.notAssignedCustomers));
         sol.setTempInfeasibleCustomers(new ArrayList<>(this.tempInfeasibleCustomers));
         sol.setTotalCosts(this.totalCosts);
         sol.setFeasible(this.isFeasible);
@@ -1255,6 +1358,8 @@ public class Solution {
         sol.swappingCosts = this.swappingCosts;
         sol.vehicleTourCosts = this.vehicleTourCosts;
         sol.isConstruction = this.isConstruction;
+        sol.insertionsEvaluated = this.insertionsEvaluated;
+        sol.removalsEvaluated = this.removalsEvaluated;
 
         ArrayList<Vehicle> newVehicles = new ArrayList<>();
         for (Vehicle veh: this.vehicles) {
@@ -1264,12 +1369,12 @@ public class Solution {
 
         sol.customersAssignedCapacitySlot = Arrays.copyOf(this.customersAssignedCapacitySlot, this.customersAssignedCapacitySlot.length);
         sol.customersAssignedLocations = Arrays.copyOf(this.customersAssignedLocations, this.customersAssignedLocations.length);
+        sol.customersAssignedLocationIds = Arrays.copyOf(this.customersAssignedLocationIds, this.customersAssignedLocationIds.length);
         sol.customersAssignedToVehicles = Arrays.copyOf(this.customersAssignedToVehicles,  this.customersAssignedToVehicles.length);
+        sol.giantTour = new GiantTour(this.giantTour);
         
         // TODO: GLS - list of penalties
-        sol.listOfPenalties = new ArrayList<int[]>();
-        for (int[] entry: this.listOfPenalties)
-        	sol.listOfPenalties.add(Arrays.copyOf(entry, entry.length));
+        sol.violations = new ViolationCounter(this.violations);
         
         
         sol.map = new HashMap<Integer, HashMap<Integer, ArrayList<Double[]>>>();
@@ -0,0 +1,341 @@
+package vrptwfl.metaheuristic.common;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import vrptwfl.metaheuristic.Config;
+import vrptwfl.metaheuristic.exceptions.SolutionStateException;
+import vrptwfl.metaheuristic.utils.DataUtils;
+
+/**
+ * Shadow evaluation of a solution (validation mode, see Config.validationInterval).
+ * The state of a solution being maintained incrementally by the insertion and removal
+ * operations is recomputed from scratch and compared with the maintained state:
+ * - assignment of customers to vehicles (customersAssignedToVehicles) and the list of unassigned customers
+ * - occupancy of the locations' capacity slots (service intervals per location and capacity slot)
+ * - tour lengths of the vehicles
+ * - objective function, i.e., total costs, routing costs, swapping costs and the penalty vector
+ *   (penalty costs per penalty type as well as the list of violations)
+ * Any difference is reported with the maintained and the recomputed value.
+ *
+ * @author Christian M.M. Frey
+ */
+public class SolutionValidator {
+
+	// maximal number of reported differences
+	private static final int MAX_DIFFERENCES = 25;
+
+	/**
+	 * Validates the attached solution and throws an exception listing all differences
+	 * between the maintained and the recomputed state (fail fast).
+	 * @param solution: solution being validated
+	 * @param fixedCosts: cost function the maintained costs have been computed with
+	 * @param context: description of the state being validated (e.g., iteration and operators)
+	 * @throws SolutionStateException: if the maintained state differs from the recomputed one
+	 */
+	public static void validate(Solution solution, boolean fixedCosts, String context) throws SolutionStateException {
+		List<String> differences = findDifferences(solution, fixedCosts);
+		if (differences.isEmpty())
+			return;
+
+		StringBuilder builder = new StringBuilder("Solution state differs from its recomputation (" + context + "):");
+		for (int i = 0; i < differences.size() && i < MAX_DIFFERENCES; i++)
+			builder.append("\n - " + differences.get(i));
+		if (differences.size() > MAX_DIFFERENCES)
+			builder.append("\n - ... (" + (differences.size() - MAX_DIFFERENCES) + " further differences)");
+		throw new SolutionStateException(builder.toString());
+	}
+
+	/**
+	 * Retrieve all differences between the maintained and the recomputed state of the attached solution.
+	 * @param solution: solution being validated
+	 * @param fixedCosts: cost function the maintained costs have been computed with
+	 * @return list of differences (empty if the states are equal)
+	 */
+	public static List<String> findDifferences(Solution solution, boolean fixedCosts) {
+		List<String> differences = new ArrayList<String>();
+		checkAssignments(solution, differences);
+		checkGiantTour(solution, differences);
+		// the remaining checks rely on consistent routes
+		if (!differences.isEmpty())
+			return differences;
+		checkLocationOccupancy(solution, differences);
+		checkCosts(solution, fixedCosts, differences);
+		return differences;
+	}
+
+	//
+	// ASSIGNMENTS
+	//
+	/**
+	 * Recomputes the assignment of customers to vehicles from the vehicles' routes and compares
+	 * it with the maintained assignment and the list of unassigned customers.
+	 * @param solution: solution being validated
+	 * @param differences: list the differences are added to
+	 */
+	private static void checkAssignments(Solution solution, List<String> differences) {
+		int[] maintained = solution.getCustomersAssignedToVehicles();
+		int[] recomputed = new int[maintained.length];
+		Arrays.fill(recomputed, -1);
+		recomputed[0] = 0; // depot
+
+		for (Vehicle vehicle : solution.getVehicles()) {
+			List<Integer> route = vehicle.getCustomers();
+			if (route.size() < 2 || route.get(0) != 0 || route.get(route.size() - 1) != 0)
+				differences.add("route of vehicle " + vehicle.getId() + " does not start/end at the depot: " + route);
+			if (vehicle.getStartOfServices().size() != route.size() || vehicle.getEndOfServices().size() != route.size())
+				differences.add("vehicle " + vehicle.getId() + ": " + route.size() + " route entries but " + vehicle.getStartOfServices().size()
+						+ " service starts and " + vehicle.getEndOfServices().size() + " service ends");
+			if (vehicle.getnCustomersInTour() != route.size() - 2)
+				differences.add("vehicle " + vehicle.getId() + ": nCustomersInTour maintained " + vehicle.getnCustomersInTour() + ", recomputed " + (route.size() - 2));
+			for (int i = 1; i < route.size() - 1; i++) {
+				int customer = route.get(i);
+				if (recomputed[customer] != -1)
+					differences.add("customer " + customer + " is scheduled in the routes of vehicles " + recomputed[customer] + " and " + vehicle.getId());
+				recomputed[customer] = vehicle.getId();
+			}
+		}
+
+		int[] unassigned = new int[maintained.length];
+		List<List<Integer>> unassignedLists = List.of(solution.getNotAssignedCustomers(), solution.getTempInfeasibleCustomers());
+		for (List<Integer> customers : unassignedLists) {
+			for (int customer : customers) {
+				if (++unassigned[customer] > 1)
+					differences.add("customer " + customer + " is listed " + unassigned[customer] + " times as unassigned");
+				if (recomputed[customer] != -1)
+					differences.add("customer " + customer + " is listed as unassigned but scheduled in the route of vehicle " + recomputed[customer]);
+			}
+		}
+
+		for (int customer : solution.getData().getCustomers()) {
+			if (recomputed[customer] == -1 && unassigned[customer] == 0)
+				differences.add("customer " + customer + " is neither scheduled nor listed as unassigned");
+			if (recomputed[customer] == -1 && (solution.getCustomerAffiliationToLocations()[customer] != -1 || solution.getCustomerAffiliationToCapacity()[customer] != -1))
+				differences.add("unscheduled customer " + customer + " still has a location (" + solution.getCustomerAffiliationToLocations()[customer]
+						+ ") or capacity slot (" + solution.getCustomerAffiliationToCapacity()[customer] + ")");
+			int locationAffiliation = solution.getCustomerAffiliationToLocations()[customer];
+			int expectedLocationId = locationAffiliation == -1 ? -1 
+					: solution.getData().getCustomersToLocations().get(solution.getData().getOriginalCustomerIds()[customer]).get(locationAffiliation);
+			if (solution.getCustomerLocationIds()[customer] != expectedLocationId)
+				differences.add("location id of customer " + customer + ": maintained " + solution.getCustomerLocationIds()[customer] + ", recomputed " + expectedLocationId);
+		}
+
+		for (int customer = 0; customer < maintained.length; customer++)
+			if (maintained[customer] != recomputed[customer])
+				differences.add("customersAssignedToVehicles[" + customer + "]: maintained " + maintained[customer] + ", recomputed " + recomputed[customer]);
+	}
+
+	/**
+	 * Walks the routes of the vehicles and compares them with the linked giant tour view
+	 * (neighbours and route of each customer) and checks that unassigned customers are unlinked.
+	 * @param solution: solution being validated
+	 * @param differences: list the differences are added to
+	 */
+	private static void checkGiantTour(Solution solution, List<String> differences) {
+		GiantTour giantTour = solution.getGiantTour();
+		for (Vehicle vehicle : solution.getVehicles()) {
+			List<Integer> route = vehicle.getCustomers();
+			int node = giantTour.getStartDepot(vehicle.getId());
+			for (int i = 1; i < route.size(); i++) {
+				node = giantTour.getNext(node);
+				int expected = i < route.size() - 1 ? route.get(i) : giantTour.getEndDepot(vehicle.getId());
+				if (node != expected || giantTour.getRoute(node) != vehicle.getId()) {
+					differences.add("giant tour of vehicle " + vehicle.getId() + " differs from its route " + route + " at position " + i
+							+ ": node " + node + " (route " + giantTour.getRoute(node) + ")");
+					break;
+				}
+			}
+		}
+		for (int customer : solution.getNotAssignedCustomers())
+			if (giantTour.getRoute(customer) != -1 || giantTour.getNext(customer) != -1)
+				differences.add("unassigned customer " + customer + " is linked in the giant tour (route " + giantTour.getRoute(customer) + ")");
+	}
+
+	//
+	// LOCATION OCCUPANCY
+	//
+	/**
+	 * Recomputes the service intervals per location and capacity slot from the vehicles' routes
+	 * and compares them with the maintained occupancy (without the boundary entries of the slots).
+	 * @param solution: solution being validated
+	 * @param differences: list the differences are added to
+	 */
+	private static void checkLocationOccupancy(Solution solution, List<String> differences) {
+		Map<Integer, Map<Integer, List<double[]>>> recomputed = new TreeMap<Integer, Map<Integer, List<double[]>>>();
+		for (Vehicle vehicle : solution.getVehicles()) {
+			List<Integer> route = vehicle.getCustomers();
+			for (int i = 1; i < route.size() - 1; i++) {
+				int customer = route.get(i);
+				int location = DataUtils.getLocationIndex(customer, solution);
+				int capacitySlot = solution.getCustomerAffiliationToCapacity()[customer];
+				recomputed.computeIfAbsent(location, k -> new TreeMap<Integer, List<double[]>>())
+						.computeIfAbsent(capacitySlot, k -> new ArrayList<double[]>())
+						.add(new double[] {vehicle.getStartOfServices().get(i), vehicle.getEndOfServices().get(i), customer});
+			}
+		}
+
+		HashMap<Integer, HashMap<Integer, ArrayList<Double[]>>> maintained = solution.getMap();
+		for (Map.Entry<Integer, Map<Integer, List<double[]>>> locationEntry : recomputed.entrySet()) {
+			for (Map.Entry<Integer, List<double[]>> slotEntry : locationEntry.getValue().entrySet()) {
+				if (maintained.get(locationEntry.getKey()) == null || maintained.get(locationEntry.getKey()).get(slotEntry.getKey()) == null)
+					differences.add("location " + locationEntry.getKey() + ", capacity slot " + slotEntry.getKey() + " is used by customers "
+							+ getCustomers(slotEntry.getValue()) + " but does not exist");
+			}
+		}
+
+		for (Map.Entry<Integer, HashMap<Integer, ArrayList<Double[]>>> locationEntry : maintained.entrySet()) {
+			for (Map.Entry<Integer, ArrayList<Double[]>> slotEntry : locationEntry.getValue().entrySet()) {
+				ArrayList<Double[]> slot = slotEntry.getValue();
+				List<double[]> maintainedIntervals = new ArrayList<double[]>();
+				for (int i = 1; i < slot.size() - 1; i++)
+					maintainedIntervals.add(new double[] {slot.get(i)[0], slot.get(i)[1]});
+				List<double[]> recomputedIntervals = recomputed.containsKey(locationEntry.getKey()) && recomputed.get(locationEntry.getKey()).containsKey(slotEntry.getKey())
+						? recomputed.get(locationEntry.getKey()).get(slotEntry.getKey()) : new ArrayList<double[]>();
+
+				if (!sameIntervals(maintainedIntervals, recomputedIntervals))
+					differences.add("occupancy of location " + locationEntry.getKey() + ", capacity slot " + slotEntry.getKey() + ": maintained "
+							+ formatIntervals(maintainedIntervals) + ", recomputed " + formatIntervals(recomputedIntervals)
+							+ " (customers " + getCustomers(recomputedIntervals) + ")");
+			}
+		}
+	}
+
+	/**
+	 * Checks whether the attached lists contain the same service intervals (in any order).
+	 * @param intervals1: first list of intervals [start, end, ...]
+	 * @param intervals2: second list of intervals [start, end, ...]
+	 * @return whether the lists contain the same intervals
+	 */
+	private static boolean sameIntervals(List<double[]> intervals1, List<double[]> intervals2) {
+		if (intervals1.size() != intervals2.size())
+			return false;
+		List<double[]> sorted1 = sortIntervals(intervals1);
+		List<double[]> sorted2 = sortIntervals(intervals2);
+		for (int i = 0; i < sorted1.size(); i++)
+			if (!equal(sorted1.get(i)[0], sorted2.get(i)[0]) || !equal(sorted1.get(i)[1], sorted2.get(i)[1]))
+				return false;
+		return true;
+	}
+
+	/**
+	 * Retrieve a copy of the attached intervals sorted by their start and end.
+	 * @param intervals: list of intervals [start, end, ...]
+	 * @return sorted copy of the intervals
+	 */
+	private static List<double[]> sortIntervals(List<double[]> intervals) {
+		List<double[]> sorted = new ArrayList<double[]>(intervals);
+		sorted.sort(Comparator.<double[]>comparingDouble(a -> a[0]).thenComparingDouble(a -> a[1]));
+		return sorted;
+	}
+
+	/**
+	 * Formats the attached intervals (sorted by their start).
+	 * @param intervals: list of intervals [start, end, ...]
+	 * @return formatted intervals
+	 */
+	private static String formatIntervals(List<double[]> intervals) {
+		StringBuilder builder = new StringBuilder("[");
+		for (double[] interval : sortIntervals(intervals))
+			builder.append((builder.length() > 1 ? ", " : "") + interval[0] + "-" + interval[1]);
+		return builder.append("]").toString();
+	}
+
+	/**
+	 * Retrieve the customers of the attached recomputed intervals [start, end, customer].
+	 * @param intervals: list of recomputed intervals
+	 * @return customers
+	 */
+	private static List<Integer> getCustomers(List<double[]> intervals) {
+		List<Integer> customers = new ArrayList<Integer>();
+		for (double[] interval : sortIntervals(intervals))
+			if (interval.length > 2)
+				customers.add((int) interval[2]);
+		return customers;
+	}
+
+	//
+	// COSTS
+	//
+	/**
+	 * Recomputes the tour lengths of all vehicles from the distance matrix, and the objective function
+	 * and the penalty vector on a copy of the solution, and compares them with the maintained values.
+	 * @param solution: solution being validated
+	 * @param fixedCosts: cost function the maintained costs have been computed with
+	 * @param differences: list the differences are added to
+	 */
+	private static void checkCosts(Solution solution, boolean fixedCosts, List<String> differences) {
+		Solution copy = solution.copyDeep();
+		for (Vehicle vehicle : copy.getVehicles()) {
+			List<Integer> route = vehicle.getCustomers();
+			double tourLength = 0.0;
+			for (int i = 0; i < route.size() - 1; i++)
+				tourLength += copy.getData().getDistanceBetweenLocations(DataUtils.getLocationIndex(route.get(i), copy), DataUtils.getLocationIndex(route.get(i + 1), copy));
+			compare("tour length of vehicle " + vehicle.getId(), vehicle.getTourLength(), tourLength, differences);
+			vehicle.setTourLength(tourLength);
+		}
+		copy.calculateTotalCosts(fixedCosts);
+
+		compare("totalCosts", solution.getTotalCosts(), copy.getTotalCosts(), differences);
+		compare("vehicleTourCosts", solution.getVehicleTourCosts(), copy.getVehicleTourCosts(), differences);
+		compare("swappingCosts", solution.getSwappingCosts(), copy.getSwappingCosts(), differences);
+		compare("totalPenaltyCosts", solution.getTotalPenalyCosts(), copy.getTotalPenalyCosts(), differences);
+		compare("penalty " + DataUtils.PenaltyIdx.Unscheduled, solution.getPenaltyUnservedCustomers(), copy.getPenaltyUnservedCustomers(), differences);
+		compare("penalty " + DataUtils.PenaltyIdx.TWViolation, solution.getPenaltyTimeWindowViolation(), copy.getPenaltyTimeWindowViolation(), differences);
+		compare("penalty " + DataUtils.PenaltyIdx.Predecessor, solution.getPenaltyPredJobsViolation(), copy.getPenaltyPredJobsViolation(), differences);
+		compare("penalty " + DataUtils.PenaltyIdx.SkillLvl, solution.getPenaltySkillViolation(), copy.getPenaltySkillViolation(), differences);
+
+		// list of violations (penalty type and customer)
+		Map<String, Integer> violations = new TreeMap<String, Integer>();
+		addViolations(solution.getViolations(), 1, violations);
+		addViolations(copy.getViolations(), -1, violations);
+		for (Map.Entry<String, Integer> entry : violations.entrySet()) {
+			if (entry.getValue() > 0)
+				differences.add("violation " + entry.getKey() + " is maintained but not recomputed");
+			else if (entry.getValue() < 0)
+				differences.add("violation " + entry.getKey() + " is recomputed but not maintained");
+		}
+	}
+
+	/**
+	 * Adds the violations of a counter (weighted by the attached sign) to the multiset of violations.
+	 * @param counter: violation counter
+	 * @param sign: +1 (maintained violations) or -1 (recomputed violations)
+	 * @param violations: multiset of violations (key: penalty type and customer)
+	 */
+	private static void addViolations(ViolationCounter counter, int sign, Map<String, Integer> violations) {
+		for (int penaltyIdx = 0; penaltyIdx < DataUtils.PenaltyIdx.values().length; penaltyIdx++) {
+			for (int i = 0; i < counter.getNViolatingCustomers(penaltyIdx); i++) {
+				int customer = counter.getViolatingCustomer(penaltyIdx, i);
+				violations.merge(DataUtils.PenaltyIdx.values()[penaltyIdx] + " of customer " + customer, sign * counter.getCount(penaltyIdx, customer), Integer::sum);
+			}
+		}
+	}
+
+	/**
+	 * Compares a maintained with a recomputed value (tolerance: Config.epsilon, relative for large values).
+	 * @param name: name of the value
+	 * @param maintained: maintained value
+	 * @param recomputed: recomputed value
+	 * @param differences: list the difference is added to
+	 */
+	private static void compare(String name, double maintained, double recomputed, List<String> differences) {
+		if (!equal(maintained, recomputed))
+			differences.add(name + ": maintained " + maintained + ", recomputed " + recomputed + " (delta " + (maintained - recomputed) + ")");
+	}
+
+	/**
+	 * Checks whether the attached values are equal (tolerance: Config.epsilon, relative for large values).
+	 * @param value1: first value
+	 * @param value2: second value
+	 * @return whether the values are equal
+	 */
+	private static boolean equal(double value1, double value2) {
+		double tolerance = Config.getInstance().epsilon * Math.max(1.0, Math.max(Math.abs(value1), Math.abs(value2)) * 1e-4);
+		return Math.abs(value1 - value2) <= tolerance;
+	}
+}
@@ -92,21 +92,22 @@ public class Vehicle {
      * @param customer: customer to be inserted
      * @param data: Data object
      * @param solution: Solution object where customer shall be inserted
-     * @return list with all possible insertions
+     * @param candidates: buffer the possible insertions are appended to
+     * @return number of possible insertions being appended
      */
-    public ArrayList<double[]> getPossibleInsertions(int customer, Data data, Solution solution) {
-        ArrayList<double[]> possibleInsertions = new ArrayList<>();
+    public int getPossibleInsertions(int customer, Data data, Solution solution, InsertionCandidates candidates) {
+        int nCandidatesBefore = candidates.size();
 
         // XXX : GLS - SKILL Violation
         // SKILL CHECK - insufficient skill level
         if (!(Config.getInstance().enableGLS || Config.getInstance().enableSchiffer || Config.getInstance().enableGLSFeature ) || solution.isConstruction()) {
         	if (this.skillLvl < data.getRequiredSkillLvl()[customer])
-        		return possibleInsertions;        	
+        		return 0;
         }
         
         // CAPACITY CHECK - if capacity limit is reached, the customer can't be inserted
         if (this.capacityUsed + data.getDemands()[customer] > this.capacityLimit) 
-        	return possibleInsertions;
+        	return 0;
 
         // Get service interval for customer
         double earliestStartCustomer = data.getEarliestStartTimes()[customer];
@@ -124,51 +125,34 @@ public class Vehicle {
             double endServicePred = this.endOfServices.get(i);
             double startServiceSucc = this.startOfServices.get(i+1);
             
-            ArrayList<double[]> customersPossibleLTW = new ArrayList<double[]>();
-			// Get possible insertions - return array in format 
-            // [location, capacitySlot, startTimeService, costs, entryIdxInLoc]
+            int nCandidatesAtPosition = candidates.size();
+			// Append possible insertions to the candidates 
+            // [customer, vehicleId, posInRoute, startTimeService, costs, location, capacitySlot, entryIdxInLoc, penaltyCosts]
                 		
             // check w/o violations
-            customersPossibleLTW = solution.getPossibleLTWInsertionsForCustomer(customer, earliestStartCustomer, latestStartCustomer, data.getServiceDurations()[customer], pred, succ, endServicePred, startServiceSucc);
+            int nPossibleLTW = solution.addPossibleLTWInsertionsForCustomer(candidates, customer, this.id, i+1, earliestStartCustomer, latestStartCustomer, data.getServiceDurations()[customer], pred, succ, endServicePred, startServiceSucc);
 
     		// check w/ left-sided % right-sided time violations
 	        if ((Config.getInstance().enableGLS||Config.getInstance().enableSchiffer || Config.getInstance().enableGLSFeature) && !solution.isConstruction()) {
-	            if (customersPossibleLTW.size() == 0) {
+	            if (nPossibleLTW == 0) {
     	        	double corruptedEarliestStartCustomer = Math.max(earliestStartCustomer - Config.getInstance().maxTimeWindowViolation, 0);
-    	            customersPossibleLTW = solution.getPossibleLTWInsertionsForCustomer(customer, corruptedEarliestStartCustomer, latestStartCustomer, data.getServiceDurations()[customer], pred, succ, endServicePred, startServiceSucc);
+    	            nPossibleLTW = solution.addPossibleLTWInsertionsForCustomer(candidates, customer, this.id, i+1, corruptedEarliestStartCustomer, latestStartCustomer, data.getServiceDurations()[customer], pred, succ, endServicePred, startServiceSucc);
 	    	    }
-	            if (customersPossibleLTW.size() == 0) {
+	            if (nPossibleLTW == 0) {
     	        	double corruptedLatestStartCustomer = Math.min(latestStartCustomer + Config.getInstance().maxTimeWindowViolation,  solution.getData().getEndOfPlanningHorizon());
-    	            customersPossibleLTW = solution.getPossibleLTWInsertionsForCustomer(customer, earliestStartCustomer, corruptedLatestStartCustomer, data.getServiceDurations()[customer], pred, succ, endServicePred, startServiceSucc);
+    	            nPossibleLTW = solution.addPossibleLTWInsertionsForCustomer(candidates, customer, this.id, i+1, earliestStartCustomer, corruptedLatestStartCustomer, data.getServiceDurations()[customer], pred, succ, endServicePred, startServiceSucc);
     	        }
 	        }
     		    		
-            if (customersPossibleLTW.size() == 0) {
-            	// no insertion could be found
-            	continue;
-            }
-            else  // add insertions
-            	for (int newEntry = 0 ; newEntry<customersPossibleLTW.size(); newEntry++) {
-            		// customer, vehicleId, posInRoute, starTime, costs, location, capacity, entryIdxInLoc
-            		double[] newInsertion = new double[] {customer, 
-            				this.id, 
-            				i+1, 
-            				customersPossibleLTW.get(newEntry)[2], 
-            				customersPossibleLTW.get(newEntry)[3], 
-            				customersPossibleLTW.get(newEntry)[0], 
-            				customersPossibleLTW.get(newEntry)[1], 
-            				customersPossibleLTW.get(newEntry)[4],
-            				0.0};
-
-            		if (Config.getInstance().enableGLS || Config.getInstance().enableSchiffer || Config.getInstance().enableGLSFeature) {
-            			double penaltyCosts = solution.getViolationCostsForInsertion(newInsertion, false);
-            			newInsertion[8] += penaltyCosts;
-            		}
-
-            		possibleInsertions.add(newInsertion);
-            	}
+            // add penalty costs of the insertions
+    		if (Config.getInstance().enableGLS || Config.getInstance().enableSchiffer || Config.getInstance().enableGLSFeature) {
+    			for (int newEntry = nCandidatesAtPosition; newEntry < candidates.size(); newEntry++) {
+    				double penaltyCosts = solution.getViolationCostsForInsertion(customer, this.id, candidates.getStartTime(newEntry), false);
+    				candidates.setPenaltyCosts(newEntry, penaltyCosts);
+    			}
+    		}
         }
-        return possibleInsertions;
+        return candidates.size() - nCandidatesBefore;
     }
     
     /**
@@ -195,9 +179,9 @@ public class Vehicle {
             succ = this.customers.get(i+1);
 
             // Get locations
-            int locSucc = solution.getData().getCustomersToLocations().get(solution.getData().getOriginalCustomerIds()[succ]).get(solution.getCustomerAffiliationToLocations()[succ]);
-            int locPred = solution.getData().getCustomersToLocations().get(solution.getData().getOriginalCustomerIds()[pred]).get(solution.getCustomerAffiliationToLocations()[pred]);
-            int locCustomer = solution.getData().getCustomersToLocations().get(solution.getData().getOriginalCustomerIds()[customer]).get(solution.getCustomerAffiliationToLocations()[customer]);
+            int locSucc = DataUtils.getLocationIndex(succ, solution);
+            int locPred = DataUtils.getLocationIndex(pred, solution);
+            int locCustomer = DataUtils.getLocationIndex(customer, solution);
             
             // Get distances
             double distToCustomer = solution.getData().getDistanceBetweenLocations(locPred, locCustomer);
@@ -318,6 +302,7 @@ public class Vehicle {
         int locationCapacityOccupied = (int) insertion[6];
 
         this.customers.add(pos, customer);
+        solution.getGiantTour().insert(customer, this.id, this.customers.get(pos - 1));
         this.nCustomersInTour++;
         this.startOfServices.add(pos, start);
         this.endOfServices.add(pos, start+duration);
@@ -356,6 +341,7 @@ public class Vehicle {
         int demand = data.getDemands()[customer];
         this.capacityUsed -= demand;
         this.customers.remove(removePosition);
+        solution.getGiantTour().remove(customer);
         this.startOfServices.remove(removePosition);
         this.endOfServices.remove(removePosition);
         this.nCustomersInTour--;
@@ -365,9 +351,9 @@ public class Vehicle {
         // Calculate new tour costs after removal
         // TODO_DONE Chris - costs have to be calculated if call comes from applyRemovalForCustomer(...)
         // Get locations
-        int locSucc = solution.getData().getCustomersToLocations().get(solution.getData().getOriginalCustomerIds()[succ]).get(solution.getCustomerAffiliationToLocations()[succ]);
-        int locPred = solution.getData().getCustomersToLocations().get(solution.getData().getOriginalCustomerIds()[pred]).get(solution.getCustomerAffiliationToLocations()[pred]);
-        int locCustomer = solution.getData().getCustomersToLocations().get(solution.getData().getOriginalCustomerIds()[customer]).get(solution.getCustomerAffiliationToLocations()[customer]);
+        int locSucc = DataUtils.getLocationIndex(succ, solution);
+        int locPred = DataUtils.getLocationIndex(pred, solution);
+        int locCustomer = DataUtils.getLocationIndex(customer, solution);
         // Calculate distances
         double distToCustomer = solution.getData().getDistanceBetweenLocations(locPred, locCustomer);
         double distFromCustomer = solution.getData().getDistanceBetweenLocations(locCustomer, locSucc);
@@ -409,8 +395,8 @@ public class Vehicle {
     public double getSwappingCosts(Solution s) {
     	double swappingCosts = 0.0;
     	for (int i = 1 ; i < this.customers.size()-1; i++)
-    		swappingCosts += s.getData().getSwappingCosts()[s.getData().getCustomersPreferredLocation()[this.customers.get(i)]]
-    													   [DataUtils.getLocationIndex(this.customers.get(i), s)];
+    		swappingCosts += s.getData().getSwappingCostsBetweenLocations(s.getData().getCustomersPreferredLocation()[this.customers.get(i)], 
+    													   DataUtils.getLocationIndex(this.customers.get(i), s));
     	return swappingCosts;
     }
     
@@ -636,7 +622,7 @@ public class Vehicle {
     	DecimalFormat df = new DecimalFormat("0.0");
     	// TODO Alex -logger debug
     	System.out.println("Tour of vehicle " + this.id + " (n=" +  this.nCustomersInTour +  ") (TourCosts:" + df.format(this.tourLength) + "):"); 
-        System.out.print(this.customers.get(0) + " --(" + sol.getData().getDistanceBetweenLocations(0, sol.getData().getCustomersToLocations().get(sol.getData().getOriginalCustomerIds()[this.customers.get(1)]).get(sol.getCustomerAffiliationToLocations()[this.customers.get(1)])) + ")-> ");
+        System.out.print(this.customers.get(0) + " --(" + sol.getData().getDistanceBetweenLocations(0, DataUtils.getLocationIndex(this.customers.get(1), sol)) + ")-> ");
         for (int i = 1; i < this.customers.size() - 1; i++) {
         	int originalCustomerId = sol.getData().getOriginalCustomerIds()[this.customers.get(i)]; 
         	System.out.print(this.customers.get(i) + 
@@ -649,8 +635,8 @@ public class Vehicle {
             		sol.getData().getEarliestStartTimes()[this.customers.get(i)] + "-" + 
             		sol.getData().getLatestStartTimes()[this.customers.get(i)] + ")" + " --");
             
-            int locPred = sol.getData().getCustomersToLocations().get(sol.getData().getOriginalCustomerIds()[this.customers.get(i)]).get(sol.getCustomerAffiliationToLocations()[this.customers.get(i)]);
-            int locSucc = sol.getData().getCustomersToLocations().get(sol.getData().getOriginalCustomerIds()[this.customers.get(i+1)]).get(sol.getCustomerAffiliationToLocations()[this.customers.get(i+1)]);
+            int locPred = DataUtils.getLocationIndex(this.customers.get(i), sol);
+            int locSucc = DataUtils.getLocationIndex(this.customers.get(i+1), sol);
 
             if (i==this.customers.size()-2)
                 System.out.print("(" + sol.getData().getDistanceBetweenLocations(locPred, 0) + ")-> ");
@@ -667,7 +653,7 @@ public class Vehicle {
     	StringBuilder builder = new StringBuilder("");
     	DecimalFormat df = new DecimalFormat("0.0");
     	builder.append("Tour of vehicle " + this.id + " (n=" +  this.nCustomersInTour +  ") (TourCosts:" + df.format(this.tourLength) + "):\n");
-        builder.append(this.customers.get(0) + " --(" + sol.getData().getDistanceBetweenLocations(0, sol.getData().getCustomersToLocations().get(sol.getData().getOriginalCustomerIds()[this.customers.get(1)]).get(sol.getCustomerAffiliationToLocations()[this.customers.get(1)])) + ")-> ");
+        builder.append(this.customers.get(0) + " --(" + sol.getData().getDistanceBetweenLocations(0, DataUtils.getLocationIndex(this.customers.get(1), sol)) + ")-> ");
         for (int i = 1; i < this.customers.size() - 1; i++) {
         	int originalCustomerId = sol.getData().getOriginalCustomerIds()[this.customers.get(i)];
             builder.append(this.customers.get(i) + 
@@ -679,8 +665,8 @@ public class Vehicle {
             		this.endOfServices.get(i) +  "|" + 
             		sol.getData().getEarliestStartTimes()[this.customers.get(i)] + "-" + 
             		sol.getData().getLatestStartTimes()[this.customers.get(i)]+  ")" + " --");            
-            int locPred = sol.getData().getCustomersToLocations().get(sol.getData().getOriginalCustomerIds()[this.customers.get(i)]).get(sol.getCustomerAffiliationToLocations()[this.customers.get(i)]);
-            int locSucc = sol.getData().getCustomersToLocations().get(sol.getData().getOriginalCustomerIds()[this.customers.get(i+1)]).get(sol.getCustomerAffiliationToLocations()[this.customers.get(i+1)]);
+            int locPred = DataUtils.getLocationIndex(this.customers.get(i), sol);
+            int locSucc = DataUtils.getLocationIndex(this.customers.get(i+1), sol);
 
             if (i==this.customers.size()-2)
             	builder.append("(" + sol.getData().getDistanceBetweenLocations(locPred, 0) + ")-> ");
@@ -0,0 +1,145 @@
+package vrptwfl.metaheuristic.common;
+
+import vrptwfl.metaheuristic.utils.DataUtils;
+
+/**
+ * Preallocated record of the violations (penalties) of a solution. For each penalty type
+ * (DataUtils.PenaltyIdx), the counter stores the number of violations, the number of
+ * violations per customer and the list of violating customers (in the order of their first
+ * violation). The arrays are allocated once per solution and reset in place, i.e., recording
+ * the violations during the evaluation of a solution does not allocate any memory. The reset
+ * and the copy only touch the violating customers.
+ *
+ * @author Christian M.M. Frey
+ */
+public final class ViolationCounter {
+
+	private final int[][] counts;      // [penaltyIdx][customer] -> number of violations
+	private final int[][] violators;   // [penaltyIdx][i] -> i-th violating customer
+	private final int[] nViolators;    // [penaltyIdx] -> number of violating customers
+	private final int[] nViolations;   // [penaltyIdx] -> number of violations
+	private int total;
+
+	/**
+	 * Constructor of an empty counter.
+	 * @param maxCustomerId: highest customer id
+	 */
+	public ViolationCounter(int maxCustomerId) {
+		int nTypes = DataUtils.PenaltyIdx.values().length;
+		this.counts = new int[nTypes][maxCustomerId + 1];
+		this.violators = new int[nTypes][maxCustomerId + 1];
+		this.nViolators = new int[nTypes];
+		this.nViolations = new int[nTypes];
+	}
+
+	/**
+	 * Copy constructor.
+	 * @param other: counter being copied
+	 */
+	public ViolationCounter(ViolationCounter other) {
+		this(other.counts[0].length - 1);
+		this.copyFrom(other);
+	}
+
+	/**
+	 * Records a violation.
+	 * @param penaltyIdx: penalty type (DataUtils.PenaltyIdx)
+	 * @param customer: customer id
+	 */
+	public void add(int penaltyIdx, int customer) {
+		if (this.counts[penaltyIdx][customer]++ == 0)
+			this.violators[penaltyIdx][this.nViolators[penaltyIdx]++] = customer;
+		this.nViolations[penaltyIdx]++;
+		this.total++;
+	}
+
+	/**
+	 * Removes all violations (the memory is kept).
+	 */
+	public void clear() {
+		for (int type = 0; type < this.counts.length; type++) {
+			for (int i = 0; i < this.nViolators[type]; i++)
+				this.counts[type][this.violators[type][i]] = 0;
+			this.nViolators[type] = 0;
+			this.nViolations[type] = 0;
+		}
+		this.total = 0;
+	}
+
+	/**
+	 * Replaces the violations by the violations of the attached counter.
+	 * @param other: counter being copied (same number of customers)
+	 */
+	public void copyFrom(ViolationCounter other) {
+		this.clear();
+		for (int type = 0; type < this.counts.length; type++) {
+			int n = other.nViolators[type];
+			System.arraycopy(other.violators[type], 0, this.violators[type], 0, n);
+			for (int i = 0; i < n; i++) {
+				int customer = other.violators[type][i];
+				this.counts[type][customer] = other.counts[type][customer];
+			}
+			this.nViolators[type] = n;
+			this.nViolations[type] = other.nViolations[type];
+		}
+		this.total = other.total;
+	}
+
+	/**
+	 * Checks whether the counter can hold the violations of the attached counter (see copyFrom).
+	 * @param other: counter
+	 * @return whether both counters have the same number of customers
+	 */
+	public boolean isCompatible(ViolationCounter other) {
+		return this.counts[0].length == other.counts[0].length;
+	}
+
+	//
+	// GETTERS
+	//
+	/**
+	 * Retrieve the number of violations of all penalty types.
+	 * @return number of violations
+	 */
+	public int getTotal() {
+		return this.total;
+	}
+
+	/**
+	 * Retrieve the number of violations of a penalty type.
+	 * @param penaltyIdx: penalty type (DataUtils.PenaltyIdx)
+	 * @return number of violations
+	 */
+	public int getCount(int penaltyIdx) {
+		return this.nViolations[penaltyIdx];
+	}
+
+	/**
+	 * Retrieve the number of violations of a penalty type by a customer.
+	 * @param penaltyIdx: penalty type (DataUtils.PenaltyIdx)
+	 * @param customer: customer id
+	 * @return number of violations
+	 */
+	public int getCount(int penaltyIdx, int customer) {
+		return this.counts[penaltyIdx][customer];
+	}
+
+	/**
+	 * Retrieve the number of customers violating a penalty type.
+	 * @param penaltyIdx: penalty type (DataUtils.PenaltyIdx)
+	 * @return number of violating customers
+	 */
+	public int getNViolatingCustomers(int penaltyIdx) {
+		return this.nViolators[penaltyIdx];
+	}
+
+	/**
+	 * Retrieve the i-th customer violating a penalty type (in the order of the first violations).
+	 * @param penaltyIdx: penalty type (DataUtils.PenaltyIdx)
+	 * @param i: index of the violating customer
+	 * @return customer id
+	 */
+	public int getViolatingCustomer(int penaltyIdx, int i) {
+		return this.violators[penaltyIdx][i];
+	}
+}
@@ -3,8 +3,12 @@ package vrptwfl.metaheuristic.data;
 import vrptwfl.metaheuristic.Config;
 import vrptwfl.metaheuristic.common.Solution;
 import vrptwfl.metaheuristic.common.Vehicle;
+import vrptwfl.metaheuristic.common.ViolationCounter;
 import vrptwfl.metaheuristic.utils.DataUtils;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
@@ -25,6 +29,7 @@ import java.util.stream.Collectors;
 public class Data {
 
     private String instanceName;
+    private Path sourceFile;  // file the data is loaded from (part of the key of mapped matrices)
     private int nCustomers;
     private int nVehicles;
     private int vehicleCapacity;
@@ -39,8 +44,8 @@ public class Data {
     private double maxDistanceInGraph;
     private double startOfPlanningHorizon;
     private double endOfPlanningHorizon;
-    private double[][] distanceMatrix;
-    private double[][] swappingCosts;
+    private DistanceMatrix distanceMatrix;
+    private DistanceMatrix swappingCosts;
     private double[][] averageStartTimes;
     // private double[][] locationCoordinates; // used for kmeans removal
     private int[] originalCustomerIds;
@@ -55,7 +60,7 @@ public class Data {
     private double[][] glsCounterViolations;
     private double[][] glsPenalties;
     private double[] sumGLSCounterViolations;
-    private ArrayList<Solution> glsSolutionHistory;
+    private GLSViolationHistory glsViolationHistory;
 
 	/**
 	 * Constructor for data object.
@@ -80,6 +85,7 @@ public class Data {
      * @param earliestStartTimes: array of customers' earliest start service times
      * @param latestStartTimes: array of customers' latest start service times
      * @param serviceDurations: customers' service durations
+     * @param sourceFile: instance file the data is loaded from
      */
     public Data(String instanceName, int nCustomers, int nVehicles, int vehicleCapacity, int[] customers,
                 int[] locationCapacity, 
@@ -88,8 +94,9 @@ public class Data {
                 HashMap<java.awt.geom.Point2D, Integer> location2Id,
                 int[] demands, int[] earliestStartTimes, int[] latestStartTimes, int[] serviceDurations,
                 int[] requiredSkillLvl, int[] vehiclesSkillLvl, HashMap<Integer, ArrayList<Integer>> predJobs,
-                int[] preferredLocations) {
+                int[] preferredLocations, Path sourceFile) {
         this.instanceName = instanceName;
+        this.sourceFile = sourceFile;
         this.nCustomers = nCustomers;
         this.nVehicles = nVehicles;
         this.vehicleCapacity = vehicleCapacity;
@@ -138,26 +145,24 @@ public class Data {
 
     /**
      * Initializes the class variable distanceMatrix for storing the distances
-     * between the various locations within the data input.
+     * between the various locations within the data input (layout: Config.distanceMatrixLayout).
      * Initializes also the max distance which can be observed upon the locations.
      * The distance matrix is only formulated on the locations and is not customer dependent.
      */
     private void createDistanceMatrix(Map<java.awt.geom.Point2D, Integer> location2Id) {
-    	int n = location2Id.size();
-    	int m = location2Id.size();
-    	this.distanceMatrix = new double[n][m];
         this.maxDistanceInGraph = 0.;
         
-        Map<Object, Object> sortedMap = location2Id.entrySet().stream().collect(Collectors.toMap(Map.Entry::getValue, Map.Entry::getKey));
+        Map<Integer, java.awt.geom.Point2D> sortedMap = location2Id.entrySet().stream().collect(Collectors.toMap(Map.Entry::getValue, Map.Entry::getKey));
+        java.awt.geom.Point2D[] points = new java.awt.geom.Point2D[location2Id.size()];
+        for (Map.Entry<Integer, java.awt.geom.Point2D> entry : sortedMap.entrySet())
+        	points[entry.getKey()] = entry.getValue();
         
-        for (int i = 0; i<n-1; i++) {
-        	this.distanceMatrix[i][i] = 0;
-        	for (int j = i+1; j<m; j++) {
-        		double distance = this.getDistanceValue((java.awt.geom.Point2D) sortedMap.get(i), 
-        												(java.awt.geom.Point2D) sortedMap.get(j));
-        		this.distanceMatrix[i][j] = distance;
-        		this.distanceMatrix[j][i] = distance;
-        		
+        this.distanceMatrix = createMatrix(this.instanceName, this.sourceFile, "distances", points.length, getDistanceMatrixLayout(), 
+        		(i, j) -> i == j ? 0.0 : this.getDistanceValue(points[i], points[j]));
+        
+        for (int i = 0; i < points.length; i++) {
+        	for (int j = 0; j < i; j++) {
+        		double distance = this.distanceMatrix.get(i, j);
         		if (distance > this.maxDistanceInGraph + Config.getInstance().epsilon) 
         			this.maxDistanceInGraph = distance;
         	}
@@ -168,20 +173,62 @@ public class Data {
      * Creates matrix of swapping costs. If a customer cannot be served at its 
      * preferential location, the total costs subsumes the swapping costs of all
      * customers which are served at any of their non-preferential locations.
+     * The matrix uses the layout of the distance matrix.
      */
     public void createSwappingCosts() {
-    	this.swappingCosts = new double[this.distanceMatrix.length][this.distanceMatrix[0].length];
-    	if (Config.getInstance().exponentSwappingLocations >= 0) {
-    		for (int n = 0; n < swappingCosts.length; n++) {
-    			for (int m = n+1; m < swappingCosts[n].length; m++) {
-    				double dist = this.distanceMatrix[n][m];
-    				double swapCost = Math.pow(dist, Config.getInstance().exponentSwappingLocations);
-    				this.swappingCosts[n][m] = swapCost;
-    				this.swappingCosts[m][n] = swapCost;
-    			}
-    		}    		
+    	int exponent = Config.getInstance().exponentSwappingLocations;
+    	this.swappingCosts = createMatrix(this.instanceName, this.sourceFile, "swapping", this.distanceMatrix.size(), this.distanceMatrix.getLayout(), 
+    			(n, m) -> (exponent >= 0 && n != m) ? Math.pow(this.distanceMatrix.get(n, m), exponent) : 0.0);
+    }
+    
+    /**
+     * Retrieve the key identifying the content of a source file (modification time and size),
+     * which is part of the names of mapped matrices and data snapshots (see DataSnapshot).
+     * @param sourceFile: source file
+     * @return key of the source file, null if the file is unknown or cannot be read
+     */
+    static String getSourceKey(Path sourceFile) {
+    	if (sourceFile == null)
+    		return null;
+    	try {
+    		return Long.toHexString(Files.getLastModifiedTime(sourceFile).toMillis()) + "-" + Long.toHexString(Files.size(sourceFile));
+    	} catch (IOException e) {
+    		return null;
     	}
     }
+    
+    /**
+     * Retrieve the memory layout of the distance matrices as defined in the configuration file.
+     * @return layout of the distance matrices
+     */
+    public static DistanceMatrix.Layout getDistanceMatrixLayout() {
+    	return DistanceMatrix.Layout.fromString(Config.getInstance().distanceMatrixLayout);
+    }
+    
+    /**
+     * Creates a matrix (distances, swapping costs) of an instance. If mapped distance matrices
+     * are enabled in the configuration file, the matrix is stored off-heap in a file within 
+     * Config.distanceMatrixDir, which is created once and shared by all solver threads and by 
+     * parallel processes on the same host (see MappedDistanceMatrix). The name of the file 
+     * contains the modification time and the size of the source file, i.e., an edited instance 
+     * file yields a new matrix file. Otherwise (or if the source file is unknown), the matrix is 
+     * stored on the heap.
+     * @param instanceName: name of the instance
+     * @param sourceFile: file the values are loaded from (null: unknown)
+     * @param kind: kind of the matrix (part of the file name, e.g., "distances")
+     * @param size: number of rows (= number of columns)
+     * @param layout: memory layout (triangular layouts require symmetric values)
+     * @param values: entries of the matrix
+     * @return matrix
+     */
+    public static DistanceMatrix createMatrix(String instanceName, Path sourceFile, String kind, int size, DistanceMatrix.Layout layout, DistanceMatrix.Values values) {
+    	String sourceKey = Config.getInstance().mapDistanceMatrices ? getSourceKey(sourceFile) : null;
+    	if (sourceKey == null)
+    		return DistanceMatrix.create(size, layout, values);
+    	String fileName = instanceName + "_" + kind + "_" + size + "_" + layout.name().toLowerCase() + "_" 
+    			+ Integer.toHexString(DataSnapshot.getConfigHash()) + "_" + sourceKey + ".matrix";
+    	return MappedDistanceMatrix.open(Path.of(Config.getInstance().distanceMatrixDir, fileName), size, layout, values);
+    }
 
 	/**
 	 * Calling this method will initialize n vehicles according to 
@@ -203,7 +250,7 @@ public class Data {
     public void initGLSSettings() {
     	this.glsCounterViolations = new double[DataUtils.PenaltyIdx.values().length][this.getnCustomers() + 1];
     	this.sumGLSCounterViolations = new double[DataUtils.PenaltyIdx.values().length];
-    	this.glsSolutionHistory = new ArrayList<Solution>();
+    	this.glsViolationHistory = new GLSViolationHistory(Config.getInstance().glsHistorySize);
     	
     	this.glsPenalties = new double[DataUtils.PenaltyIdx.values().length][this.getnCustomers() + 1];
     	for (double[] row: this.glsPenalties)
@@ -212,37 +259,36 @@ public class Data {
     }
     
     /**
-     * Reset the violation counters used for guided local search (GLS)
+     * Reset the violation counters used for guided local search (GLS).
+     * The counters are reset in place.
      */
     public void resetGLSSettings () {
-    	this.glsCounterViolations = new double[DataUtils.PenaltyIdx.values().length][this.getnCustomers() + 1];    	
-    	this.sumGLSCounterViolations = new double[DataUtils.PenaltyIdx.values().length];
-    	this.glsSolutionHistory.clear();
+    	for (double[] row: this.glsCounterViolations)
+    		Arrays.fill(row, 0.0);
+    	Arrays.fill(this.sumGLSCounterViolations, 0.0);
+    	this.glsViolationHistory.clear();
     }
     
     /**
      * Update of the GLS counter in the attached solution object.
-     * The method iterates the solution's list of penalties and increments the 
-     * occurrence of a violation for the computation of the GLS parameters
+     * The method iterates the solution's violating customers and increments the 
+     * occurrence of a violation for the computation of the GLS parameters (streaming 
+     * aggregation, i.e., the solution itself is not kept). If a history size is configured 
+     * (Config.glsHistorySize), a compact violation summary of the solution is recorded as well.
      * @param s: solution object
      */
     public void updateGLSCounter (Solution s) {
     	// Iterate observed penalties in attached solution
-    	for (int[] entry: s.getListOfPenalties()) {
-    		// Increment counter of occurrence of penalty (entry[0]: penalty identifier (DataUtils.PenaltyIdx); entry[1]: customer id)
-    		this.glsCounterViolations[entry[0]][entry[1]] ++;
-    		this.sumGLSCounterViolations[entry[0]] ++;
-    	}    		
-    }
-    
-    /**
-     * Add a solution to the history of processed solution. 
-     * After a pre-defined number of iterations the history of solution is 
-     * used to updated the GLS parameters.
-     * @param s: solution object being added to the history
-     */
-    public void addToGLSSolutionHistory(Solution s) {
-    	this.glsSolutionHistory.add(s);
+    	ViolationCounter violations = s.getViolations();
+    	for (int penaltyIdx = 0; penaltyIdx < this.sumGLSCounterViolations.length; penaltyIdx++) {
+    		// Increment counter of occurrence of penalty per violating customer
+    		for (int i = 0; i < violations.getNViolatingCustomers(penaltyIdx); i++) {
+    			int customer = violations.getViolatingCustomer(penaltyIdx, i);
+    			this.glsCounterViolations[penaltyIdx][customer] += violations.getCount(penaltyIdx, customer);
+    		}
+    		this.sumGLSCounterViolations[penaltyIdx] += violations.getCount(penaltyIdx);
+    	}
+    	this.glsViolationHistory.record(s);
     }
     
     /**
@@ -418,7 +464,17 @@ public class Data {
      * @return distance between two locations
      */
     public double getDistanceBetweenLocations (int location1, int location2) {
-    	return this.getDistanceMatrix()[location1][location2];
+    	return this.distanceMatrix.get(location1, location2);
+    }
+    
+    /**
+     * Retrieve the swapping costs between two locations.
+     * @param location1: id of first location (e.g., preferred location)
+     * @param location2: id of second location
+     * @return swapping costs between two locations
+     */
+    public double getSwappingCostsBetweenLocations (int location1, int location2) {
+    	return this.swappingCosts.get(location1, location2);
     }
 
     
@@ -469,7 +525,7 @@ public class Data {
      * Retrieve the distance matrix
      * @return distance matrix
      */
-    public double[][] getDistanceMatrix() {
+    public DistanceMatrix getDistanceMatrix() {
         return distanceMatrix;
     }
 
@@ -481,6 +537,14 @@ public class Data {
         return instanceName;
     }
 
+    /**
+     * Get the file the data is loaded from (instance file or snapshot).
+     * @return source file (null if unknown)
+     */
+    public Path getSourceFile() {
+        return sourceFile;
+    }
+
     /**
      * Get number of vehicles
      * @return number of vehicles
@@ -593,10 +657,26 @@ public class Data {
      * Retrieve matrix storing the swapping costs from one location to another
      * @return: Swapping costs
      */
-    public double[][] getSwappingCosts() {
+    public DistanceMatrix getSwappingCosts() {
     	return this.swappingCosts;
     }
     
+    /**
+     * Retrieve matrix storing the average start service times between customers
+     * @return: average start service times (index 0 is depot)
+     */
+    public double[][] getAverageStartTimesMatrix() {
+    	return this.averageStartTimes;
+    }
+    
+    /**
+     * Retrieve the vehicles' skill levels
+     * @return: skill level for all vehicles (i-th position = skill level of i-th vehicle)
+     */
+    public int[] getVehiclesSkillLvl() {
+    	return this.vehiclesSkillLvl;
+    }
+    
     /**
      * Retrieve the violations counter used in the guided local search (GLS) heuristic
      * @return counter of violation occurrences
@@ -613,6 +693,14 @@ public class Data {
     	return this.sumGLSCounterViolations;
     }
     
+    /**
+     * Retrieve the violation summaries of the solutions observed since the last GLS update
+     * @return history of violation summaries (bounded by Config.glsHistorySize)
+     */
+    public GLSViolationHistory getGLSViolationHistory() {
+    	return this.glsViolationHistory;
+    }
+    
     /**
      * Retrieve the penalty values used in the guided local search (GLS) heuristic.
      * @return penalties (GLS)
@@ -693,10 +781,34 @@ public class Data {
      * Sets the distance matrix (nLocations x nLocations) of the data object.
      * @param distanceMatrix: distance matrix
      */
-    public void setDistanceMatrix(double[][] distanceMatrix) {
+    public void setDistanceMatrix(DistanceMatrix distanceMatrix) {
     	this.distanceMatrix = distanceMatrix;
     }
     
+    /**
+     * Sets the file the data is loaded from (see createMatrix).
+     * @param sourceFile: source file
+     */
+    public void setSourceFile(Path sourceFile) {
+    	this.sourceFile = sourceFile;
+    }
+    
+    /**
+     * Sets the matrix of swapping costs (nLocations x nLocations) of the data object.
+     * @param swappingCosts: swapping costs
+     */
+    public void setSwappingCosts(DistanceMatrix swappingCosts) {
+    	this.swappingCosts = swappingCosts;
+    }
+    
+    /**
+     * Sets the matrix of average start service times ((nCustomers+1) x (nCustomers+1)).
+     * @param averageStartTimes: average start service times
+     */
+    public void setAverageStartTimes(double[][] averageStartTimes) {
+    	this.averageStartTimes = averageStartTimes;
+    }
+    
     /**
      * Sets the capacity slots of the locations
      * @param locationCapacity: list of capacity slots. i-th index indicates the number of slots for the i-th location (0=depot)
@@ -705,6 +817,14 @@ public class Data {
     	this.locationCapacity = DataUtils.convertListToArray(locationCapacity);
     }
     
+    /**
+     * Sets the capacity slots of the locations
+     * @param locationCapacity: array of capacity slots. i-th index indicates the number of slots for the i-th location (0=depot)
+     */
+    public void setLocationCapacity(int[] locationCapacity) {
+    	this.locationCapacity = locationCapacity;
+    }
+    
     /**
      * Sets the maximal distance between locations = max value in distance matrix
      * @param maxDistValue: maximal distance
@@ -0,0 +1,494 @@
+package vrptwfl.metaheuristic.data;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import vrptwfl.metaheuristic.Config;
+
+/**
+ * This class implements a binary snapshot of fully prepared data objects.
+ * A snapshot contains all information being computed while loading an instance,
+ * i.e., the distance matrix, the swapping costs, the average start times, the
+ * mappings between customers and locations as well as the predecessor jobs.
+ * Snapshots are keyed by the instance name, the modification time and size of the
+ * instance file and a hash of the configuration values being used during the preprocessing,
+ * i.e., an edited instance file yields a new snapshot. Reading a snapshot maps the file into
+ * memory (in segments of 1 GB, see SegmentedReader) such that repeated runs on the same 
+ * instance skip the preprocessing steps.
+ *
+ * @author Christian M.M. Frey
+ *
+ */
+public class DataSnapshot {
+
+	private static final int MAGIC = 0x56525046; // "VRPF"
+	private static final int VERSION = 2;
+	private static final int SEGMENT_BITS = 30;
+
+	/**
+	 * Retrieve the path of the snapshot file for the attached instance.
+	 * The file name is composed of the instance name, the number of customers,
+	 * the hash of the preprocessing relevant configuration values and the key of
+	 * the instance file (modification time and size, see Data.getSourceKey).
+	 * @param instanceName: name of the instance
+	 * @param nCustomers: number of customers (-1 if the whole instance is loaded)
+	 * @param sourceFile: instance file
+	 * @return path to the snapshot file, null if the instance file cannot be read
+	 */
+	public static Path getSnapshotPath(String instanceName, int nCustomers, Path sourceFile) {
+		String sourceKey = Data.getSourceKey(sourceFile);
+		if (sourceKey == null)
+			return null;
+		String fileName = instanceName + "_" + nCustomers + "_" + Integer.toHexString(getConfigHash()) + "_" + sourceKey + ".snapshot";
+		return Path.of(Config.getInstance().dataSnapshotDir, fileName);
+	}
+
+	/**
+	 * Calculates the hash of all configuration values which influence the
+	 * preprocessing of an instance. Changing any of these values yields
+	 * a new snapshot file.
+	 * @return hash of the relevant configuration values
+	 */
+	public static int getConfigHash() {
+		Config config = Config.getInstance();
+		return Arrays.hashCode(new double[] {
+				VERSION,
+				config.epsilon,
+				config.roundingPrecisionFactor,
+				config.exponentSwappingLocations,
+				config.numberOfLocationsPerCustomer,
+				config.planningIntervals,
+				config.maxCapacityVehicles,
+				config.solveAsTwoProblems ? 1 : 0,
+				config.splitRegularShift ? 1 : 0
+		});
+	}
+
+	/**
+	 * Writes the attached data objects into a snapshot file. The file is first
+	 * written to a temporary file and then moved such that concurrent readers
+	 * never observe a partially written snapshot. The header stores the path and
+	 * the key of the instance file the data objects are loaded from.
+	 * @param data: data objects being stored (loaded from the same instance file)
+	 * @param path: path of the snapshot file
+	 * @throws IOException: occurs if the snapshot could not be written
+	 */
+	public static void write(Data[] data, Path path) throws IOException {
+		Path sourceFile = data.length > 0 ? data[0].getSourceFile() : null;
+		String sourceKey = Data.getSourceKey(sourceFile);
+		if (sourceKey == null)
+			throw new IOException("Instance file " + sourceFile + " of the snapshot cannot be read");
+		File parent = path.toAbsolutePath().getParent().toFile();
+		parent.mkdirs();
+		Path tmp = Files.createTempFile(parent.toPath(), path.getFileName().toString(), ".tmp");
+
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp.toFile()), 1 << 16))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(getConfigHash());
+			writeString(out, sourceFile.toString());
+			writeString(out, sourceKey);
+			out.writeInt(data.length);
+			for (Data d : data)
+				writeData(out, d);
+		}
+		Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	/**
+	 * Reads the data objects stored in the attached snapshot file. The instance file stored
+	 * in the header is restored as source file of the data objects.
+	 * @param path: path of the snapshot file
+	 * @return data objects stored in the snapshot, null if the snapshot is not compatible with the 
+	 * current configuration or if the instance file has been modified since the snapshot was written
+	 * @throws IOException: occurs if the snapshot could not be read
+	 */
+	public static Data[] read(Path path) throws IOException {
+		return read(path, SEGMENT_BITS);
+	}
+
+	/**
+	 * Reads the data objects stored in the attached snapshot file, mapped in segments of the 
+	 * attached size (see read(Path)).
+	 * @param path: path of the snapshot file
+	 * @param segmentBits: log2 of the segment size in bytes (3 to 30)
+	 * @return data objects stored in the snapshot, null if the snapshot is not compatible or stale
+	 * @throws IOException: occurs if the snapshot could not be read
+	 */
+	static Data[] read(Path path, int segmentBits) throws IOException {
+		if (segmentBits < 3 || segmentBits > SEGMENT_BITS)
+			throw new IllegalArgumentException("Segment size of 2^" + segmentBits + " bytes is not supported");
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			SegmentedReader reader = new SegmentedReader(channel, segmentBits);
+
+			if (reader.getInt() != MAGIC || reader.getInt() != VERSION || reader.getInt() != getConfigHash())
+				return null;
+			Path sourceFile = Path.of(reader.getString());
+			if (!reader.getString().equals(Data.getSourceKey(sourceFile)))
+				return null;
+
+			Data[] data = new Data[reader.getInt()];
+			for (int i = 0; i < data.length; i++)
+				data[i] = readData(reader, sourceFile);
+			return data;
+		}
+	}
+
+	/**
+	 * Loads the data objects from the snapshot file if it exists.
+	 * @param path: path of the snapshot file (null: no snapshot)
+	 * @return data objects, null if no (compatible) snapshot exists
+	 */
+	public static Data[] readIfExists(Path path) {
+		if (path == null || !Files.isRegularFile(path))
+			return null;
+		try {
+			return read(path);
+		} catch (IOException | RuntimeException e) {
+			// corrupt or truncated snapshot -> fall back to loading the instance
+			e.printStackTrace();
+			return null;
+		}
+	}
+
+
+	//
+	// WRITE HELPERS
+	//
+	/**
+	 * Writes a single data object.
+	 * @param out: output stream
+	 * @param d: data object
+	 * @throws IOException
+	 */
+	private static void writeData(DataOutputStream out, Data d) throws IOException {
+		writeString(out, d.getInstanceName());
+
+		out.writeInt(d.getnCustomers());
+		out.writeInt(d.getnVehicles());
+		out.writeInt(d.getVehicleCapacity());
+		out.writeDouble(d.getMaxDistanceInGraph());
+		out.writeDouble(d.getStartOfPlanningHorizon());
+		out.writeDouble(d.getEndOfPlanningHorizon());
+
+		writeIntArray(out, d.getCustomers());
+		writeIntArray(out, d.getLocationCapacity());
+		writeIntArray(out, d.getDemands());
+		writeIntArray(out, d.getRequiredSkillLvl());
+		writeIntArray(out, d.getVehiclesSkillLvl());
+		writeIntArray(out, d.getEarliestStartTimes());
+		writeIntArray(out, d.getLatestStartTimes());
+		writeIntArray(out, d.getServiceDurations());
+		writeIntArray(out, d.getOriginalCustomerIds());
+		writeIntArray(out, d.getCustomersPreferredLocation());
+
+		writeMatrix(out, d.getDistanceMatrix());
+		writeMatrix(out, d.getSwappingCosts());
+		writeMatrix(out, d.getAverageStartTimesMatrix());
+
+		writeMap(out, d.getPredCustomers());
+		writeMap(out, d.getCustomersToLocations());
+		writeMap(out, d.getLocationsToCustomers());
+	}
+
+	/**
+	 * Writes a string (UTF-8, length prefixed).
+	 * @param out: output stream
+	 * @param str: string
+	 * @throws IOException
+	 */
+	private static void writeString(DataOutputStream out, String str) throws IOException {
+		byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	/**
+	 * Writes an integer array (length prefixed, -1 for null).
+	 * @param out: output stream
+	 * @param arr: integer array
+	 * @throws IOException
+	 */
+	private static void writeIntArray(DataOutputStream out, int[] arr) throws IOException {
+		if (arr == null) {
+			out.writeInt(-1);
+			return;
+		}
+		out.writeInt(arr.length);
+		for (int v : arr)
+			out.writeInt(v);
+	}
+
+	/**
+	 * Writes a (rectangular) double matrix (row and column count prefixed, -1 for null).
+	 * @param out: output stream
+	 * @param matrix: double matrix
+	 * @throws IOException
+	 */
+	private static void writeMatrix(DataOutputStream out, double[][] matrix) throws IOException {
+		if (matrix == null) {
+			out.writeInt(-1);
+			return;
+		}
+		out.writeInt(matrix.length);
+		out.writeInt(matrix.length > 0 ? matrix[0].length : 0);
+		for (double[] row : matrix)
+			for (double v : row)
+				out.writeDouble(v);
+	}
+
+	/**
+	 * Writes a distance matrix in the same format as a double matrix (independent of its layout).
+	 * @param out: output stream
+	 * @param matrix: distance matrix
+	 * @throws IOException
+	 */
+	private static void writeMatrix(DataOutputStream out, DistanceMatrix matrix) throws IOException {
+		if (matrix == null) {
+			out.writeInt(-1);
+			return;
+		}
+		out.writeInt(matrix.size());
+		out.writeInt(matrix.size());
+		for (int i = 0; i < matrix.size(); i++)
+			for (int j = 0; j < matrix.size(); j++)
+				out.writeDouble(matrix.get(i, j));
+	}
+
+	/**
+	 * Writes a mapping from identifiers to lists of identifiers (-1 for null).
+	 * @param out: output stream
+	 * @param map: mapping being stored
+	 * @throws IOException
+	 */
+	private static void writeMap(DataOutputStream out, HashMap<Integer, ArrayList<Integer>> map) throws IOException {
+		if (map == null) {
+			out.writeInt(-1);
+			return;
+		}
+		out.writeInt(map.size());
+		for (Map.Entry<Integer, ArrayList<Integer>> entry : map.entrySet()) {
+			out.writeInt(entry.getKey());
+			ArrayList<Integer> values = entry.getValue();
+			if (values == null) {
+				out.writeInt(-1);
+				continue;
+			}
+			out.writeInt(values.size());
+			for (int v : values)
+				out.writeInt(v);
+		}
+	}
+
+
+	//
+	// READ HELPERS
+	//
+	/**
+	 * Reads a single data object from the mapped file.
+	 * @param reader: reader of the mapped file
+	 * @param sourceFile: instance file the data object is loaded from
+	 * @return data object
+	 */
+	private static Data readData(SegmentedReader reader, Path sourceFile) {
+		Data d = new Data(reader.getString());
+		d.setSourceFile(sourceFile);
+
+		d.setNCustomers(reader.getInt());
+		d.setNVehicles(reader.getInt());
+		d.setVehicleCapacity(reader.getInt());
+		d.setMaxDistanceInGraph(reader.getDouble());
+		d.setStartOfPlanningHorizon((int) reader.getDouble());
+		d.setEndOfPlanningHorizon((int) reader.getDouble());
+
+		d.setCustomers(readIntArray(reader));
+		d.setLocationCapacity(readIntArray(reader));
+		d.setDemands(readIntArray(reader));
+		d.setRequiredSkillLvl(readIntArray(reader));
+		d.setVehiclesSkillLvl(readIntArray(reader));
+		d.setEarliestStartTimes(readIntArray(reader));
+		d.setLatestStartTimes(readIntArray(reader));
+		d.setServiceDurations(readIntArray(reader));
+		d.setOriginalCustomerIds(readIntArray(reader));
+		d.setCustomersPreferredLocation(readIntArray(reader));
+
+		d.setDistanceMatrix(readDistanceMatrix(reader, d, "distances"));
+		d.setSwappingCosts(readDistanceMatrix(reader, d, "swapping"));
+		d.setAverageStartTimes(readMatrix(reader));
+
+		d.setPredCustomers(readMap(reader));
+		d.setCustomerToLocation(readMap(reader));
+		d.setLocationsToCustomers(readMap(reader));
+		return d;
+	}
+
+	/**
+	 * Reads an integer array from the mapped file.
+	 * @param reader: reader of the mapped file
+	 * @return integer array
+	 */
+	private static int[] readIntArray(SegmentedReader reader) {
+		int length = reader.getInt();
+		if (length < 0)
+			return null;
+		int[] arr = new int[length];
+		for (int i = 0; i < length; i++)
+			arr[i] = reader.getInt();
+		return arr;
+	}
+
+	/**
+	 * Reads a double matrix from the mapped file.
+	 * @param reader: reader of the mapped file
+	 * @return double matrix
+	 */
+	private static double[][] readMatrix(SegmentedReader reader) {
+		int rows = reader.getInt();
+		if (rows < 0)
+			return null;
+		int cols = reader.getInt();
+		double[][] matrix = new double[rows][cols];
+		for (double[] row : matrix)
+			for (int j = 0; j < cols; j++)
+				row[j] = reader.getDouble();
+		return matrix;
+	}
+
+	/**
+	 * Reads a distance matrix from the mapped file. The matrix is stored in the 
+	 * layout defined in the configuration file (see Data.getDistanceMatrixLayout).
+	 * @param reader: reader of the mapped file
+	 * @param d: data object the matrix belongs to (instance name and source file)
+	 * @param kind: kind of the matrix (see Data.createMatrix)
+	 * @return distance matrix
+	 */
+	private static DistanceMatrix readDistanceMatrix(SegmentedReader reader, Data d, String kind) {
+		int rows = reader.getInt();
+		if (rows < 0)
+			return null;
+		int cols = reader.getInt();
+		long start = reader.position();
+		DistanceMatrix.Values values = (i, j) -> reader.getDouble(start + ((long) i * cols + j) * Double.BYTES);
+		DistanceMatrix matrix = Data.createMatrix(d.getInstanceName(), d.getSourceFile(), kind, rows, 
+				DistanceMatrix.checkLayout(rows, Data.getDistanceMatrixLayout(), values), values);
+		reader.position(start + (long) rows * cols * Double.BYTES);
+		return matrix;
+	}
+
+	/**
+	 * Reads a mapping from identifiers to lists of identifiers from the mapped file.
+	 * @param reader: reader of the mapped file
+	 * @return mapping
+	 */
+	private static HashMap<Integer, ArrayList<Integer>> readMap(SegmentedReader reader) {
+		int size = reader.getInt();
+		if (size < 0)
+			return null;
+		HashMap<Integer, ArrayList<Integer>> map = new HashMap<Integer, ArrayList<Integer>>(size * 2);
+		for (int i = 0; i < size; i++) {
+			int key = reader.getInt();
+			int length = reader.getInt();
+			if (length < 0) {
+				map.put(key, null);
+				continue;
+			}
+			ArrayList<Integer> values = new ArrayList<Integer>(length);
+			for (int j = 0; j < length; j++)
+				values.add(reader.getInt());
+			map.put(key, values);
+		}
+		return map;
+	}
+
+	/**
+	 * Sequential reader of a snapshot file being mapped read-only in segments, since a single 
+	 * mapping is limited to 2 GB (see MappedDistanceMatrix). Consecutive segments overlap by 
+	 * Long.BYTES bytes, i.e., a value starting within a segment can always be read from it, 
+	 * even if it crosses the segment boundary. Positions are file offsets (long).
+	 */
+	private static final class SegmentedReader {
+
+		private final MappedByteBuffer[] segments;
+		private final int segmentBits;
+		private final long segmentMask;
+		private long position;
+
+		/**
+		 * Constructor of the reader. Maps the attached file read-only.
+		 * @param channel: file channel of the snapshot
+		 * @param segmentBits: log2 of the segment size in bytes
+		 * @throws IOException: occurs if the file could not be mapped
+		 */
+		SegmentedReader(FileChannel channel, int segmentBits) throws IOException {
+			this.segmentBits = segmentBits;
+			this.segmentMask = (1L << segmentBits) - 1;
+			long size = channel.size();
+			int nSegments = (int) ((size + this.segmentMask) >>> segmentBits);
+			this.segments = new MappedByteBuffer[Math.max(nSegments, 1)];
+			for (int s = 0; s < this.segments.length; s++) {
+				long offset = (long) s << segmentBits;
+				long length = Math.min(this.segmentMask + 1 + Long.BYTES, size - offset);
+				this.segments[s] = channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.max(length, 0));
+			}
+		}
+
+		long position() {
+			return this.position;
+		}
+
+		void position(long position) {
+			this.position = position;
+		}
+
+		int getInt() {
+			int value = this.segment(this.position).getInt(this.offset(this.position));
+			this.position += Integer.BYTES;
+			return value;
+		}
+
+		double getDouble() {
+			double value = this.getDouble(this.position);
+			this.position += Double.BYTES;
+			return value;
+		}
+
+		/**
+		 * Reads the double at the attached file offset (the position is not changed).
+		 * @param position: file offset
+		 * @return value
+		 */
+		double getDouble(long position) {
+			return this.segment(position).getDouble(this.offset(position));
+		}
+
+		String getString() {
+			byte[] bytes = new byte[this.getInt()];
+			for (int i = 0; i < bytes.length; i++)
+				bytes[i] = this.segment(this.position + i).get(this.offset(this.position + i));
+			this.position += bytes.length;
+			return new String(bytes, StandardCharsets.UTF_8);
+		}
+
+		private MappedByteBuffer segment(long position) {
+			return this.segments[(int) (position >>> this.segmentBits)];
+		}
+
+		private int offset(long position) {
+			return (int) (position & this.segmentMask);
+		}
+	}
+}
@@ -0,0 +1,362 @@
+package vrptwfl.metaheuristic.data;
+
+/**
+ * Storage of a square matrix of distances (or swapping costs) between locations.
+ * The matrix is immutable after its creation. Several memory layouts are available
+ * (see Layout); all of them are accessed by get(i, j):
+ * - FLAT: row-major double[] (exact values, default)
+ * - FLOAT: row-major float[] (half the memory; exact for integral distances, e.g., minutes)
+ * - TRIANGULAR: packed lower triangle incl. the diagonal as double[] (symmetric matrices only)
+ * - TRIANGULAR_FLOAT: packed lower triangle as float[] (symmetric matrices only)
+ * The layouts are implemented as final subclasses. Since a run uses a single layout,
+ * the accessor is monomorphic and inlined by the JIT. For very large instances, the
+ * entries can be kept off-heap in a memory-mapped file (see MappedDistanceMatrix).
+ *
+ * @author Christian M.M. Frey
+ */
+public abstract class DistanceMatrix {
+
+	/**
+	 * Memory layout of a distance matrix.
+	 */
+	public enum Layout {
+		FLAT,
+		FLOAT,
+		TRIANGULAR,
+		TRIANGULAR_FLOAT;
+
+		/**
+		 * Retrieve the layout with the attached name (case-insensitive, e.g., "triangular_float").
+		 * @param name: name of the layout
+		 * @return layout (FLAT if the name is null)
+		 */
+		public static Layout fromString(String name) {
+			return name == null ? FLAT : Layout.valueOf(name.trim().toUpperCase());
+		}
+
+		/**
+		 * Checks whether the layout stores the lower triangle only.
+		 * @return whether the layout requires a symmetric matrix
+		 */
+		public boolean isSymmetric() {
+			return this == TRIANGULAR || this == TRIANGULAR_FLOAT;
+		}
+	}
+
+	/**
+	 * Function providing the entries of a matrix being created.
+	 */
+	public interface Values {
+		/**
+		 * Retrieve the entry (i, j).
+		 * @param i: row
+		 * @param j: column
+		 * @return value
+		 */
+		double get(int i, int j);
+	}
+
+	protected final int size;
+
+	/**
+	 * Constructor of the matrix.
+	 * @param size: number of rows (= number of columns)
+	 */
+	protected DistanceMatrix(int size) {
+		this.size = size;
+	}
+
+	/**
+	 * Creates a matrix with the attached layout. For the triangular layouts only the
+	 * entries (i, j) with j <= i are evaluated, i.e., the values must be symmetric.
+	 * @param size: number of rows (= number of columns)
+	 * @param layout: memory layout
+	 * @param values: entries of the matrix
+	 * @return distance matrix
+	 */
+	public static DistanceMatrix create(int size, Layout layout, Values values) {
+		switch (layout) {
+		case FLOAT: return new FloatMatrix(size, values);
+		case TRIANGULAR: return new TriangularMatrix(size, values);
+		case TRIANGULAR_FLOAT: return new TriangularFloatMatrix(size, values);
+		default: return new FlatMatrix(size, values);
+		}
+	}
+
+	/**
+	 * Creates a matrix with the FLAT layout backed by the attached row-major array, i.e.,
+	 * the array is adopted (not copied) and must not be modified afterwards.
+	 * @param size: number of rows (= number of columns)
+	 * @param values: entries of the matrix in row-major order (length: size * size)
+	 * @return distance matrix
+	 */
+	public static DistanceMatrix wrap(int size, double[] values) {
+		if (values.length != flatLength(size))
+			throw new IllegalArgumentException("Row-major array of length " + values.length + " does not match " + size + " locations");
+		return new FlatMatrix(size, values);
+	}
+
+	/**
+	 * Creates a matrix with the attached layout from values of unknown symmetry
+	 * (see checkLayout).
+	 * @param size: number of rows (= number of columns)
+	 * @param layout: memory layout
+	 * @param values: entries of the matrix
+	 * @return distance matrix
+	 */
+	public static DistanceMatrix createChecked(int size, Layout layout, Values values) {
+		return create(size, checkLayout(size, layout, values), values);
+	}
+
+	/**
+	 * Checks whether the attached layout can store values of unknown symmetry, i.e., a triangular
+	 * layout requires a symmetric matrix. An asymmetric matrix with a triangular layout is a
+	 * configuration error (distance_matrix_layout) and is rejected.
+	 * @param size: number of rows (= number of columns)
+	 * @param layout: requested memory layout
+	 * @param values: entries of the matrix
+	 * @return memory layout being used (= the attached layout)
+	 * @throws IllegalArgumentException: if a triangular layout is requested for an asymmetric matrix
+	 */
+	public static Layout checkLayout(int size, Layout layout, Values values) {
+		if (layout.isSymmetric() && !isSymmetric(size, values))
+			throw new IllegalArgumentException("Distance matrix of " + size + " locations is not symmetric; layout " + layout 
+					+ " requires symmetric values (use " + (layout == Layout.TRIANGULAR ? Layout.FLAT : Layout.FLOAT) + ")");
+		return layout;
+	}
+
+	/**
+	 * Creates a matrix with the attached layout from a (square) two-dimensional array
+	 * (see createChecked).
+	 * @param matrix: entries of the matrix
+	 * @param layout: memory layout
+	 * @return distance matrix
+	 */
+	public static DistanceMatrix create(double[][] matrix, Layout layout) {
+		return createChecked(matrix.length, layout, (i, j) -> matrix[i][j]);
+	}
+
+	/**
+	 * Checks whether the attached values form a symmetric matrix.
+	 * @param size: number of rows (= number of columns)
+	 * @param values: entries of the matrix
+	 * @return whether the matrix is symmetric
+	 */
+	public static boolean isSymmetric(int size, Values values) {
+		for (int i = 0; i < size; i++)
+			for (int j = 0; j < i; j++)
+				if (Double.compare(values.get(i, j), values.get(j, i)) != 0)
+					return false;
+		return true;
+	}
+
+	/**
+	 * Retrieve the entry (i, j), e.g., the distance between location i and location j.
+	 * @param i: row
+	 * @param j: column
+	 * @return value
+	 */
+	public abstract double get(int i, int j);
+
+	/**
+	 * Retrieve the memory layout of the matrix.
+	 * @return layout
+	 */
+	public abstract Layout getLayout();
+
+	/**
+	 * Retrieve the number of bytes used to store the entries.
+	 * @return size of the storage in bytes
+	 */
+	public abstract long getStorageBytes();
+
+	/**
+	 * Retrieve the number of rows (= number of columns).
+	 * @return size of the matrix
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Retrieve a copy of the i-th row.
+	 * @param i: row
+	 * @return entries of the row
+	 */
+	public double[] getRow(int i) {
+		double[] row = new double[this.size];
+		for (int j = 0; j < this.size; j++)
+			row[j] = this.get(i, j);
+		return row;
+	}
+
+	/**
+	 * Retrieve the index of entry (i, j) in a packed lower triangle.
+	 * @param i: row
+	 * @param j: column
+	 * @return index in the packed array
+	 */
+	static long triangularIndex(int i, int j) {
+		if (j > i) {
+			int tmp = i;
+			i = j;
+			j = tmp;
+		}
+		return (long) i * (i + 1) / 2 + j;
+	}
+
+	/**
+	 * Retrieve the number of entries of a packed lower triangle (incl. the diagonal).
+	 * @param size: number of rows
+	 * @return number of entries
+	 */
+	static int triangularLength(int size) {
+		long length = (long) size * (size + 1) / 2;
+		if (length > Integer.MAX_VALUE - 8)
+			throw new IllegalArgumentException("Distance matrix of " + size + " locations exceeds the maximal array length");
+		return (int) length;
+	}
+
+	/**
+	 * Retrieve the number of entries of a full matrix.
+	 * @param size: number of rows
+	 * @return number of entries
+	 */
+	static int flatLength(int size) {
+		long length = (long) size * size;
+		if (length > Integer.MAX_VALUE - 8)
+			throw new IllegalArgumentException("Distance matrix of " + size + " locations exceeds the maximal array length");
+		return (int) length;
+	}
+
+
+	//
+	// LAYOUTS
+	//
+	/**
+	 * Row-major double[] layout.
+	 */
+	private static final class FlatMatrix extends DistanceMatrix {
+		private final double[] values;
+
+		FlatMatrix(int size, Values values) {
+			super(size);
+			this.values = new double[flatLength(size)];
+			for (int i = 0; i < size; i++)
+				for (int j = 0; j < size; j++)
+					this.values[i * size + j] = values.get(i, j);
+		}
+
+		FlatMatrix(int size, double[] values) {
+			super(size);
+			this.values = values;
+		}
+
+		@Override
+		public double get(int i, int j) {
+			return this.values[i * this.size + j];
+		}
+
+		@Override
+		public Layout getLayout() {
+			return Layout.FLAT;
+		}
+
+		@Override
+		public long getStorageBytes() {
+			return (long) this.values.length * Double.BYTES;
+		}
+	}
+
+	/**
+	 * Row-major float[] layout.
+	 */
+	private static final class FloatMatrix extends DistanceMatrix {
+		private final float[] values;
+
+		FloatMatrix(int size, Values values) {
+			super(size);
+			this.values = new float[flatLength(size)];
+			for (int i = 0; i < size; i++)
+				for (int j = 0; j < size; j++)
+					this.values[i * size + j] = (float) values.get(i, j);
+		}
+
+		@Override
+		public double get(int i, int j) {
+			return this.values[i * this.size + j];
+		}
+
+		@Override
+		public Layout getLayout() {
+			return Layout.FLOAT;
+		}
+
+		@Override
+		public long getStorageBytes() {
+			return (long) this.values.length * Float.BYTES;
+		}
+	}
+
+	/**
+	 * Packed lower triangle (incl. the diagonal) as double[].
+	 */
+	private static final class TriangularMatrix extends DistanceMatrix {
+		private final double[] values;
+
+		TriangularMatrix(int size, Values values) {
+			super(size);
+			this.values = new double[triangularLength(size)];
+			int idx = 0;
+			for (int i = 0; i < size; i++)
+				for (int j = 0; j <= i; j++)
+					this.values[idx++] = values.get(i, j);
+		}
+
+		@Override
+		public double get(int i, int j) {
+			return this.values[(int) triangularIndex(i, j)];
+		}
+
+		@Override
+		public Layout getLayout() {
+			return Layout.TRIANGULAR;
+		}
+
+		@Override
+		public long getStorageBytes() {
+			return (long) this.values.length * Double.BYTES;
+		}
+	}
+
+	/**
+	 * Packed lower triangle (incl. the diagonal) as float[].
+	 */
+	private static final class TriangularFloatMatrix extends DistanceMatrix {
+		private final float[] values;
+
+		TriangularFloatMatrix(int size, Values values) {
+			super(size);
+			this.values = new float[triangularLength(size)];
+			int idx = 0;
+			for (int i = 0; i < size; i++)
+				for (int j = 0; j <= i; j++)
+					this.values[idx++] = (float) values.get(i, j);
+		}
+
+		@Override
+		public double get(int i, int j) {
+			return this.values[(int) triangularIndex(i, j)];
+		}
+
+		@Override
+		public Layout getLayout() {
+			return Layout.TRIANGULAR_FLOAT;
+		}
+
+		@Override
+		public long getStorageBytes() {
+			return (long) this.values.length * Float.BYTES;
+		}
+	}
+}
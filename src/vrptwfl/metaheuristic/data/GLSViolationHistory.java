@@ -0,0 +1,108 @@
+package vrptwfl.metaheuristic.data;
+
+import vrptwfl.metaheuristic.common.Solution;
+import vrptwfl.metaheuristic.utils.DataUtils;
+
+/**
+ * Fixed-capacity ring of compact violation summaries of the solutions observed by the
+ * guided local search (GLS). For each observed solution, the number of violations per
+ * penalty type (DataUtils.PenaltyIdx) and the solution's total costs are stored; if the
+ * ring is full, the oldest summary is overwritten. In contrast to a history of solution
+ * objects, the memory of the history is allocated once and independent of the solutions.
+ *
+ * @author Christian M.M. Frey
+ */
+public class GLSViolationHistory {
+
+	private final int capacity;
+	private final int[][] violations;
+	private final double[] totalCosts;
+
+	private int next;
+	private int size;
+	private long nRecorded;
+
+	/**
+	 * Constructor of the violation history.
+	 * @param capacity: maximal number of summaries being kept
+	 */
+	public GLSViolationHistory(int capacity) {
+		this.capacity = capacity;
+		this.violations = new int[capacity][DataUtils.PenaltyIdx.values().length];
+		this.totalCosts = new double[capacity];
+	}
+
+	/**
+	 * Records the violation summary of the attached solution.
+	 * @param s: solution object
+	 */
+	public void record(Solution s) {
+		if (this.capacity == 0)
+			return;
+		int[] summary = this.violations[this.next];
+		for (int penaltyIdx = 0; penaltyIdx < summary.length; penaltyIdx++)
+			summary[penaltyIdx] = s.getViolations().getCount(penaltyIdx);
+		this.totalCosts[this.next] = s.getTotalCosts();
+
+		this.next = (this.next + 1) % this.capacity;
+		this.size = Math.min(this.size + 1, this.capacity);
+		this.nRecorded++;
+	}
+
+	/**
+	 * Removes all summaries (the memory is kept).
+	 */
+	public void clear() {
+		this.next = 0;
+		this.size = 0;
+	}
+
+	//
+	// GETTERS
+	//
+	/**
+	 * Retrieve the number of summaries currently kept.
+	 * @return number of summaries
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Retrieve the number of violations per penalty type of the i-th summary (0: oldest summary).
+	 * The array must not be modified.
+	 * @param i: index of the summary
+	 * @return number of violations (index: DataUtils.PenaltyIdx)
+	 */
+	public int[] getViolations(int i) {
+		return this.violations[this.getSlot(i)];
+	}
+
+	/**
+	 * Retrieve the total costs of the solution of the i-th summary (0: oldest summary).
+	 * @param i: index of the summary
+	 * @return total costs
+	 */
+	public double getTotalCosts(int i) {
+		return this.totalCosts[this.getSlot(i)];
+	}
+
+	/**
+	 * Retrieve the number of summaries recorded since the history was created.
+	 * @return number of recorded summaries
+	 */
+	public long getNRecorded() {
+		return this.nRecorded;
+	}
+
+	/**
+	 * Retrieve the slot of the i-th summary in the ring.
+	 * @param i: index of the summary (0: oldest summary)
+	 * @return slot in the ring
+	 */
+	private int getSlot(int i) {
+		if (i < 0 || i >= this.size)
+			throw new IndexOutOfBoundsException("Summary " + i + " of " + this.size);
+		return (this.next - this.size + i + this.capacity) % this.capacity;
+	}
+}
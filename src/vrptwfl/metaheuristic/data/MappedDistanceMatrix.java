@@ -0,0 +1,249 @@
+package vrptwfl.metaheuristic.data;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Distance matrix backed by a memory-mapped file (off-heap). The file is created once
+ * when an instance is prepared and is mapped read-only afterwards; all solver threads of
+ * the JVM share one mapping (see open) and parallel processes on the same host share the
+ * physical pages through the page cache. The heap usage is thus independent of the size
+ * of the instance.
+ * The entries are stored in the memory layout of the matrix (see DistanceMatrix.Layout)
+ * in native byte order after a header (magic, version, layout, size). Since a single
+ * mapping is limited to 2 GB, the file is mapped in segments of 1 GB (smaller segments
+ * can be requested for testing the access across segment boundaries).
+ *
+ * @author Christian M.M. Frey
+ */
+public final class MappedDistanceMatrix extends DistanceMatrix {
+
+	private static final int MAGIC = 0x56524d58; // "VRMX"
+	private static final int VERSION = 1;
+	private static final int HEADER_BYTES = 4 * Integer.BYTES;
+	private static final int SEGMENT_BITS = 30;
+
+	// mappings shared by all threads of the JVM (key: path of the file)
+	private static final ConcurrentHashMap<Path, MappedDistanceMatrix> MAPPINGS = new ConcurrentHashMap<Path, MappedDistanceMatrix>();
+
+	private final Layout layout;
+	private final boolean triangular;
+	private final boolean singlePrecision;
+	private final MappedByteBuffer[] segments;
+	private final int segmentBits;
+	private final long segmentMask;
+	private final long storageBytes;
+
+	/**
+	 * Constructor of the matrix. Maps the attached file read-only.
+	 * @param path: path of the matrix file
+	 * @param header: header of the matrix file (magic, version, layout, size)
+	 * @param segmentBits: log2 of the segment size in bytes (at least 3)
+	 * @throws IOException: occurs if the file could not be mapped
+	 */
+	private MappedDistanceMatrix(Path path, int[] header, int segmentBits) throws IOException {
+		super(header[3]);
+		this.segmentBits = segmentBits;
+		this.segmentMask = (1L << segmentBits) - 1;
+		this.layout = Layout.values()[header[2]];
+		this.triangular = this.layout.isSymmetric();
+		this.singlePrecision = this.layout == Layout.FLOAT || this.layout == Layout.TRIANGULAR_FLOAT;
+		this.storageBytes = getStorageBytes(this.size, this.layout);
+
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			if (channel.size() != HEADER_BYTES + this.storageBytes)
+				throw new IOException("Matrix file " + path + " is truncated");
+			int nSegments = (int) ((this.storageBytes + this.segmentMask) >>> segmentBits);
+			this.segments = new MappedByteBuffer[Math.max(nSegments, 1)];
+			for (int s = 0; s < this.segments.length; s++) {
+				long offset = (long) s << segmentBits;
+				long length = Math.min(this.segmentMask + 1, this.storageBytes - offset);
+				this.segments[s] = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES + offset, Math.max(length, 0));
+				this.segments[s].order(ByteOrder.nativeOrder());
+			}
+		}
+	}
+
+	/**
+	 * Retrieve the memory-mapped matrix stored in the attached file. If the file does not
+	 * exist (or does not match the attached size and layout), it is created from the attached
+	 * values first. The file is written to a temporary file and then moved, such that
+	 * concurrent processes never observe a partially written matrix.
+	 * @param path: path of the matrix file
+	 * @param size: number of rows (= number of columns)
+	 * @param layout: memory layout
+	 * @param values: entries of the matrix (only evaluated if the file is created)
+	 * @return memory-mapped matrix
+	 */
+	public static MappedDistanceMatrix open(Path path, int size, Layout layout, Values values) {
+		return open(path, size, layout, values, SEGMENT_BITS);
+	}
+
+	/**
+	 * Retrieve the memory-mapped matrix stored in the attached file, mapped in segments of
+	 * the attached size (see open(Path, int, Layout, Values)).
+	 * @param path: path of the matrix file
+	 * @param size: number of rows (= number of columns)
+	 * @param layout: memory layout
+	 * @param values: entries of the matrix (only evaluated if the file is created)
+	 * @param segmentBits: log2 of the segment size in bytes (3 to 30)
+	 * @return memory-mapped matrix
+	 */
+	static MappedDistanceMatrix open(Path path, int size, Layout layout, Values values, int segmentBits) {
+		if (segmentBits < 3 || segmentBits > SEGMENT_BITS)
+			throw new IllegalArgumentException("Segment size of 2^" + segmentBits + " bytes is not supported");
+		return MAPPINGS.compute(path.toAbsolutePath(), (key, mapped) -> {
+			if (mapped != null && mapped.size() == size && mapped.getLayout() == layout && mapped.segmentBits == segmentBits)
+				return mapped;
+			try {
+				if (!matchesHeader(key, size, layout))
+					write(key, size, layout, values);
+				return new MappedDistanceMatrix(key, readHeader(key), segmentBits);
+			} catch (IOException e) {
+				throw new UncheckedIOException("Could not map distance matrix " + key, e);
+			}
+		});
+	}
+
+	/**
+	 * Writes the attached values into a matrix file.
+	 * @param path: path of the matrix file
+	 * @param size: number of rows (= number of columns)
+	 * @param layout: memory layout
+	 * @param values: entries of the matrix
+	 * @throws IOException: occurs if the file could not be written
+	 */
+	private static void write(Path path, int size, Layout layout, Values values) throws IOException {
+		File parent = path.toAbsolutePath().getParent().toFile();
+		if (!parent.exists())
+			parent.mkdirs();
+		Path tmp = Files.createTempFile(parent.toPath(), path.getFileName().toString(), ".tmp");
+		boolean singlePrecision = layout == Layout.FLOAT || layout == Layout.TRIANGULAR_FLOAT;
+
+		try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			ByteBuffer buffer = ByteBuffer.allocate(1 << 20).order(ByteOrder.nativeOrder());
+			buffer.putInt(MAGIC).putInt(VERSION).putInt(layout.ordinal()).putInt(size);
+			for (int i = 0; i < size; i++) {
+				int nColumns = layout.isSymmetric() ? i + 1 : size;
+				for (int j = 0; j < nColumns; j++) {
+					if (buffer.remaining() < Double.BYTES)
+						flush(channel, buffer);
+					if (singlePrecision)
+						buffer.putFloat((float) values.get(i, j));
+					else
+						buffer.putDouble(values.get(i, j));
+				}
+			}
+			flush(channel, buffer);
+		}
+		Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	/**
+	 * Writes the content of the buffer into the channel and clears the buffer.
+	 * @param channel: file channel
+	 * @param buffer: buffer being written
+	 * @throws IOException
+	 */
+	private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining())
+			channel.write(buffer);
+		buffer.clear();
+	}
+
+	/**
+	 * Reads the header of a matrix file.
+	 * @param path: path of the matrix file
+	 * @return header (magic, version, layout, size)
+	 * @throws IOException: occurs if the file could not be read or is not a matrix file
+	 */
+	private static int[] readHeader(Path path) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.nativeOrder());
+			while (buffer.hasRemaining()) {
+				if (channel.read(buffer) < 0)
+					break;
+			}
+			buffer.flip();
+			if (buffer.remaining() < HEADER_BYTES)
+				throw new IOException("Matrix file " + path + " is truncated");
+			int[] header = new int[] {buffer.getInt(), buffer.getInt(), buffer.getInt(), buffer.getInt()};
+			if (header[0] != MAGIC || header[1] != VERSION || header[2] < 0 || header[2] >= Layout.values().length)
+				throw new IOException("File " + path + " is not a matrix file of version " + VERSION);
+			return header;
+		}
+	}
+
+	/**
+	 * Checks whether the attached file is a complete matrix file with the attached size and layout.
+	 * @param path: path of the matrix file
+	 * @param size: number of rows (= number of columns)
+	 * @param layout: memory layout
+	 * @return whether the file matches
+	 */
+	private static boolean matchesHeader(Path path, int size, Layout layout) {
+		if (!Files.isRegularFile(path))
+			return false;
+		try {
+			int[] header = readHeader(path);
+			return header[2] == layout.ordinal() && header[3] == size && Files.size(path) == HEADER_BYTES + getStorageBytes(size, layout);
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Retrieve the number of bytes of the entries of a matrix.
+	 * @param size: number of rows (= number of columns)
+	 * @param layout: memory layout
+	 * @return number of bytes
+	 */
+	private static long getStorageBytes(int size, Layout layout) {
+		long nEntries = layout.isSymmetric() ? (long) size * (size + 1) / 2 : (long) size * size;
+		return nEntries * (layout == Layout.FLOAT || layout == Layout.TRIANGULAR_FLOAT ? Float.BYTES : Double.BYTES);
+	}
+
+	@Override
+	public double get(int i, int j) {
+		long index = this.triangular ? triangularIndex(i, j) : (long) i * this.size + j;
+		if (this.singlePrecision) {
+			long offset = index << 2;
+			return this.segments[(int) (offset >>> this.segmentBits)].getFloat((int) (offset & this.segmentMask));
+		}
+		long offset = index << 3;
+		return this.segments[(int) (offset >>> this.segmentBits)].getDouble((int) (offset & this.segmentMask));
+	}
+
+	@Override
+	public Layout getLayout() {
+		return this.layout;
+	}
+
+	/**
+	 * Retrieve the number of mapped segments.
+	 * @return number of segments
+	 */
+	int getNSegments() {
+		return this.segments.length;
+	}
+
+	/**
+	 * Retrieve the number of bytes used to store the entries (off-heap).
+	 * @return size of the mapped entries in bytes
+	 */
+	@Override
+	public long getStorageBytes() {
+		return this.storageBytes;
+	}
+}
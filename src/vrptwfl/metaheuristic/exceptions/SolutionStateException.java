@@ -0,0 +1,18 @@
+package vrptwfl.metaheuristic.exceptions;
+
+/**
+ * Thrown if the incrementally maintained state of a solution (costs, penalties,
+ * assignments, location occupancy) differs from the state being recomputed from
+ * scratch (see SolutionValidator).
+ *
+ * @author Christian M.M. Frey
+ */
+public class SolutionStateException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public SolutionStateException(String string) {
+		super(string);
+	}
+
+}
@@ -0,0 +1,458 @@
+package vrptwfl.metaheuristic.instanceGeneration;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.yaml.snakeyaml.Yaml;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * Seeded generator for synthetic hospital instances (e.g., for scaling tests with
+ * thousands of jobs). The generated instances use the JSON schema of the hospital
+ * instances (therapists, rooms, jobs, distances), i.e., they are loaded like the
+ * original instances by the HospitalInstanceLoader.
+ *
+ * Times are given in planning intervals (Config.planningIntervals, default 5 min):
+ * the morning shift lasts from 0 to 48 (8am-12am), the evening shift from 60 to 108 (1pm-5pm).
+ * Every job lies completely within one of the shifts such that the instances can also be
+ * solved as two problems (morning and evening). Room 0 is the depot; the rooms are placed
+ * randomly in a square area and the distances are the scaled euclidean distances.
+ *
+ * Manifest format (MainALNS mode 5):
+ * <pre>
+ * seed: 1
+ * instances:                          # one entry per generated instance (optional key 'name'); missing keys are taken from the top level
+ *   - {jobs: 1000, rooms: 100, therapists: 60}
+ *   - {jobs: 5000, rooms: 400, therapists: 300, time_window_tightness: 0.8}
+ * skill_levels: 3                     # skill levels 0 .. skill_levels-1
+ * short_shift_share: 0.3              # share of therapists with a short shift (morning or evening)
+ * predecessor_share: 0.2              # share of jobs being part of a predecessor chain
+ * max_chain_length: 3                 # maximal length of a predecessor chain
+ * time_window_tightness: 0.5          # 0: time window = whole shift; 1: fixed starting time
+ * locations_per_job: 3                # number of possible locations of a job (preferred location + nearest rooms)
+ * room_capacity: [1, 3]               # capacity of a room is drawn from [min, max]
+ * duration: [2, 6]                    # duration of a job is drawn from [min, max] planning intervals
+ * max_travel_time: 3                  # travel time between the most distant rooms (planning intervals)
+ * </pre>
+ *
+ * @author Christian M.M. Frey
+ */
+public class HospitalInstanceGenerator {
+
+	// shifts in planning intervals of 5 min (see HospitalInstanceLoader)
+	private static final int START_MORNING_SHIFT = 0;
+	private static final int END_MORNING_SHIFT = 48;
+	private static final int START_EVENING_SHIFT = 60;
+	private static final int END_EVENING_SHIFT = 108;
+
+	private Random random;
+
+	private int nJobs = 120;
+	private int nRooms = 20;
+	private int nTherapists = 10;
+	private int skillLevels = 3;
+	private double shortShiftShare = 0.3;
+	private double predecessorShare = 0.2;
+	private int maxChainLength = 3;
+	private double timeWindowTightness = 0.5;
+	private int locationsPerJob = 3;
+	private int minRoomCapacity = 1;
+	private int maxRoomCapacity = 3;
+	private int minDuration = 2;
+	private int maxDuration = 6;
+	private double maxTravelTime = 3;
+
+	// possible locations of a job per preferred location
+	private int[][] nearestRooms;
+
+	/**
+	 * Constructor of the generator.
+	 * @param seed: seed of the random generator
+	 */
+	public HospitalInstanceGenerator(long seed) {
+		this.random = new Random(seed);
+	}
+
+	//
+	// MANIFEST
+	//
+	/**
+	 * Generates all instances of the attached manifest and writes them as JSON files
+	 * to the attached directory (file name: instance name + .json).
+	 * @param manifestFile: path to the yaml manifest
+	 * @param outDir: directory the instances are written to
+	 */
+	@SuppressWarnings("unchecked")
+	public static void generateFromManifest(String manifestFile, String outDir) {
+		Map<String, Object> manifest = null;
+		try (InputStream inputStream = new FileInputStream(new File(manifestFile))) {
+			manifest = new Yaml().load(inputStream);
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Could not read generator manifest " + manifestFile, e);
+		}
+
+		long seed = manifest.get("seed") != null ? ((Number) manifest.get("seed")).longValue() : 1;
+		List<Map<String, Object>> instances = manifest.get("instances") != null ? (List<Map<String, Object>>) manifest.get("instances") : List.of(Map.of());
+		new File(outDir).mkdirs();
+
+		for (int i = 0; i < instances.size(); i++) {
+			Map<String, Object> settings = new HashMap<String, Object>(manifest);
+			settings.putAll(instances.get(i));
+
+			// each instance has its own seed such that instances can be added/removed without changing the others
+			HospitalInstanceGenerator generator = new HospitalInstanceGenerator(seed + i);
+			generator.applySettings(settings);
+			String instanceName = settings.get("name") != null ? (String) settings.get("name") : generator.getInstanceName(seed + i);
+
+			long startTime = System.currentTimeMillis();
+			ImportedInstance instance = generator.generate();
+			String path = outDir + File.separator + instanceName + ".json";
+			writeToJSON(instance, path);
+			System.out.println("Generated " + path + " (" + generator.nJobs + " jobs, " + generator.nRooms + " rooms, "
+					+ generator.nTherapists + " therapists) in " + (System.currentTimeMillis() - startTime) + " ms");
+		}
+	}
+
+	/**
+	 * Sets the parameters of the generator from the attached settings (manifest keys).
+	 * Parameters which are not attached keep their default values.
+	 * @param settings: settings of the instance
+	 */
+	@SuppressWarnings("unchecked")
+	private void applySettings(Map<String, Object> settings) {
+		if (settings.get("jobs") != null) this.setNJobs((int) settings.get("jobs"));
+		if (settings.get("rooms") != null) this.setNRooms((int) settings.get("rooms"));
+		if (settings.get("therapists") != null) this.setNTherapists((int) settings.get("therapists"));
+		if (settings.get("skill_levels") != null) this.setSkillLevels((int) settings.get("skill_levels"));
+		if (settings.get("short_shift_share") != null) this.setShortShiftShare(((Number) settings.get("short_shift_share")).doubleValue());
+		if (settings.get("predecessor_share") != null) this.setPredecessorShare(((Number) settings.get("predecessor_share")).doubleValue());
+		if (settings.get("max_chain_length") != null) this.setMaxChainLength((int) settings.get("max_chain_length"));
+		if (settings.get("time_window_tightness") != null) this.setTimeWindowTightness(((Number) settings.get("time_window_tightness")).doubleValue());
+		if (settings.get("locations_per_job") != null) this.setLocationsPerJob((int) settings.get("locations_per_job"));
+		if (settings.get("max_travel_time") != null) this.setMaxTravelTime(((Number) settings.get("max_travel_time")).doubleValue());
+		if (settings.get("room_capacity") != null) {
+			List<Integer> capacity = (List<Integer>) settings.get("room_capacity");
+			this.setRoomCapacity(capacity.get(0), capacity.get(1));
+		}
+		if (settings.get("duration") != null) {
+			List<Integer> duration = (List<Integer>) settings.get("duration");
+			this.setDuration(duration.get(0), duration.get(1));
+		}
+	}
+
+	/**
+	 * Retrieve the default name of an instance with the current parameters. The name contains
+	 * 'hospital_instance' such that it is processed as hospital instance by MainALNS.
+	 * @param seed: seed of the instance
+	 * @return instance name
+	 */
+	public String getInstanceName(long seed) {
+		return String.format("hospital_instance_synthetic_j%05d_r%d_t%d_s%d", this.nJobs, this.nRooms, this.nTherapists, seed);
+	}
+
+	//
+	// GENERATION
+	//
+	/**
+	 * Generates an instance with the current parameters.
+	 * @return generated instance
+	 */
+	public ImportedInstance generate() {
+		if (this.nJobs < 1 || this.nRooms < 1 || this.nTherapists < 1 || this.skillLevels < 1)
+			throw new IllegalArgumentException("At least one job, room, therapist and skill level are required");
+		if (this.minDuration < 1 || this.maxDuration < this.minDuration || this.maxDuration > END_MORNING_SHIFT - START_MORNING_SHIFT)
+			throw new IllegalArgumentException("Invalid job durations [" + this.minDuration + ", " + this.maxDuration + "]");
+
+		ImportedInstance instance = new ImportedInstance();
+		instance.setTherapists(this.generateTherapists());
+		double[][] coordinates = this.generateRoomCoordinates();
+		instance.setRooms(this.generateRooms());
+		instance.setDistances(this.generateDistances(coordinates));
+		instance.setJobs(this.generateJobs(instance.getTherapists(), coordinates));
+		return instance;
+	}
+
+	/**
+	 * Generates the therapists. The first therapist has a regular shift and the highest
+	 * skill level, i.e., every job can be processed in both shifts by at least one therapist.
+	 * @return therapists
+	 */
+	private ImportedTherapist[] generateTherapists() {
+		ImportedTherapist[] therapists = new ImportedTherapist[this.nTherapists];
+		therapists[0] = new ImportedTherapist(0, this.skillLevels - 1, false, true);
+		for (int t = 1; t < this.nTherapists; t++) {
+			boolean shortShift = this.random.nextDouble() < this.shortShiftShare;
+			therapists[t] = new ImportedTherapist(t, this.random.nextInt(this.skillLevels), shortShift, this.random.nextBoolean());
+		}
+		return therapists;
+	}
+
+	/**
+	 * Generates the rooms (index 0: depot, index 1..nRooms: rooms with a capacity in [min, max]).
+	 * @return rooms
+	 */
+	private ImportedRoom[] generateRooms() {
+		ImportedRoom[] rooms = new ImportedRoom[this.nRooms + 1];
+		for (int r = 0; r <= this.nRooms; r++) {
+			rooms[r] = new ImportedRoom();
+			rooms[r].setId(r);
+			rooms[r].setDepot(r == 0);
+			rooms[r].setCapacity(r == 0 ? 0 : this.minRoomCapacity + this.random.nextInt(this.maxRoomCapacity - this.minRoomCapacity + 1));
+		}
+		return rooms;
+	}
+
+	/**
+	 * Generates the coordinates of the depot (center) and the rooms in the unit square.
+	 * @return coordinates (index 0: x, index 1: y) of the locations
+	 */
+	private double[][] generateRoomCoordinates() {
+		double[][] coordinates = new double[2][this.nRooms + 1];
+		coordinates[0][0] = 0.5;
+		coordinates[1][0] = 0.5;
+		for (int r = 1; r <= this.nRooms; r++) {
+			coordinates[0][r] = this.random.nextDouble();
+			coordinates[1][r] = this.random.nextDouble();
+		}
+		return coordinates;
+	}
+
+	/**
+	 * Generates the distance matrix between the locations. The euclidean distances are
+	 * scaled such that the most distant rooms (diagonal of the area) are max_travel_time apart.
+	 * @param coordinates: coordinates of the locations
+	 * @return distance matrix (rounded to one decimal place)
+	 */
+	private double[][] generateDistances(double[][] coordinates) {
+		double scale = this.maxTravelTime / Math.sqrt(2);
+		double[][] distances = new double[this.nRooms + 1][this.nRooms + 1];
+		for (int i = 0; i <= this.nRooms; i++) {
+			for (int j = i + 1; j <= this.nRooms; j++) {
+				double distance = Math.round(Math.hypot(coordinates[0][i] - coordinates[0][j], coordinates[1][i] - coordinates[1][j]) * scale * 10) / 10.0;
+				distances[i][j] = distance;
+				distances[j][i] = distance;
+			}
+		}
+		return distances;
+	}
+
+	/**
+	 * Generates the jobs. Jobs being part of a predecessor chain are generated consecutively within
+	 * the same shift; the time window of a job in a chain starts after the earliest end of its predecessor.
+	 * The required skill level of a job is drawn below the skill level of a randomly chosen therapist,
+	 * i.e., lower skill levels are required more often.
+	 * @param therapists: generated therapists
+	 * @param coordinates: coordinates of the locations
+	 * @return jobs
+	 */
+	private ImportedJob[] generateJobs(ImportedTherapist[] therapists, double[][] coordinates) {
+		ImportedJob[] jobs = new ImportedJob[this.nJobs];
+		this.nearestRooms = new int[this.nRooms + 1][];
+		// probability of starting a chain such that the expected share of jobs in chains is predecessor_share
+		double averageChainLength = (2 + this.maxChainLength) / 2.0;
+		double chainProbability = this.predecessorShare / (this.predecessorShare + (1 - this.predecessorShare) * averageChainLength);
+
+		int id = 0;
+		while (id < this.nJobs) {
+			int chainLength = 1;
+			if (this.maxChainLength > 1 && this.random.nextDouble() < chainProbability)
+				chainLength = Math.min(2 + this.random.nextInt(this.maxChainLength - 1), this.nJobs - id);
+
+			boolean morning = this.random.nextBoolean();
+			int shiftStart = morning ? START_MORNING_SHIFT : START_EVENING_SHIFT;
+			int shiftEnd = morning ? END_MORNING_SHIFT : END_EVENING_SHIFT;
+
+			int earliestPossibleStart = shiftStart;
+			for (int c = 0; c < chainLength; c++) {
+				int duration = this.minDuration + this.random.nextInt(this.maxDuration - this.minDuration + 1);
+				// the chain ends if the remaining time of the shift is too short
+				if (c > 0 && earliestPossibleStart + duration > shiftEnd)
+					break;
+
+				ImportedJob job = new ImportedJob();
+				job.setId(id);
+				job.setDuration(duration);
+				job.setSkill(this.random.nextInt(therapists[this.random.nextInt(therapists.length)].getSkill() + 1));
+
+				// time window [earliestStart, latestStart] within [earliestPossibleStart, shiftEnd - duration]
+				int slack = shiftEnd - duration - earliestPossibleStart;
+				int width = (int) Math.round((1 - this.timeWindowTightness) * slack);
+				int earliestStart = earliestPossibleStart + this.random.nextInt(slack - width + 1);
+				job.setEarliestStart(earliestStart);
+				job.setLatestStart(earliestStart + width);
+
+				int preferredLocation = 1 + this.random.nextInt(this.nRooms);
+				job.setPreferredLocationId(preferredLocation);
+				job.setLocationIds(this.getNearestRooms(preferredLocation, coordinates));
+				job.setPredJobsIds(c > 0 ? new int[] {id - 1} : new int[0]);
+
+				jobs[id++] = job;
+				earliestPossibleStart = earliestStart + duration;
+			}
+		}
+		return jobs;
+	}
+
+	/**
+	 * Retrieve the possible locations of a job: the preferred location and its nearest rooms.
+	 * The result is cached per preferred location.
+	 * @param preferredLocation: preferred location of the job
+	 * @param coordinates: coordinates of the locations
+	 * @return possible locations (preferred location first)
+	 */
+	private int[] getNearestRooms(int preferredLocation, double[][] coordinates) {
+		int nLocations = Math.min(this.locationsPerJob, this.nRooms);
+		if (nLocations <= 1)
+			return new int[] {preferredLocation};
+		if (this.nearestRooms[preferredLocation] != null)
+			return this.nearestRooms[preferredLocation];
+
+		Integer[] rooms = new Integer[this.nRooms];
+		for (int r = 0; r < this.nRooms; r++)
+			rooms[r] = r + 1;
+		double x = coordinates[0][preferredLocation];
+		double y = coordinates[1][preferredLocation];
+		Arrays.sort(rooms, Comparator.comparingDouble(r -> Math.hypot(coordinates[0][r] - x, coordinates[1][r] - y)));
+
+		List<Integer> locations = new ArrayList<Integer>();
+		locations.add(preferredLocation);
+		for (int i = 0; i < rooms.length && locations.size() < nLocations; i++)
+			if (rooms[i] != preferredLocation)
+				locations.add(rooms[i]);
+		this.nearestRooms[preferredLocation] = locations.stream().mapToInt(Integer::intValue).toArray();
+		return this.nearestRooms[preferredLocation];
+	}
+
+	/**
+	 * Writes the attached instance in the JSON schema of the hospital instances.
+	 * @param instance: instance being written
+	 * @param path: path of the JSON file
+	 */
+	public static void writeToJSON(ImportedInstance instance, String path) {
+		Gson gson = new GsonBuilder().create();
+		try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(path), StandardCharsets.UTF_8), 1 << 16)) {
+			gson.toJson(instance, writer);
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	//
+	// SETTERS
+	//
+	/**
+	 * Sets the number of jobs.
+	 * @param nJobs: number of jobs
+	 */
+	public void setNJobs(int nJobs) {
+		this.nJobs = nJobs;
+	}
+
+	/**
+	 * Sets the number of rooms (without the depot).
+	 * @param nRooms: number of rooms
+	 */
+	public void setNRooms(int nRooms) {
+		this.nRooms = nRooms;
+	}
+
+	/**
+	 * Sets the number of therapists.
+	 * @param nTherapists: number of therapists
+	 */
+	public void setNTherapists(int nTherapists) {
+		this.nTherapists = nTherapists;
+	}
+
+	/**
+	 * Sets the number of skill levels (skill levels 0 .. skillLevels-1).
+	 * @param skillLevels: number of skill levels
+	 */
+	public void setSkillLevels(int skillLevels) {
+		this.skillLevels = skillLevels;
+	}
+
+	/**
+	 * Sets the share of therapists with a short shift.
+	 * @param shortShiftShare: share of therapists with a short shift
+	 */
+	public void setShortShiftShare(double shortShiftShare) {
+		this.shortShiftShare = shortShiftShare;
+	}
+
+	/**
+	 * Sets the (expected) share of jobs being part of a predecessor chain.
+	 * @param predecessorShare: share of jobs being part of a predecessor chain
+	 */
+	public void setPredecessorShare(double predecessorShare) {
+		this.predecessorShare = predecessorShare;
+	}
+
+	/**
+	 * Sets the maximal length of a predecessor chain.
+	 * @param maxChainLength: maximal length of a predecessor chain
+	 */
+	public void setMaxChainLength(int maxChainLength) {
+		this.maxChainLength = maxChainLength;
+	}
+
+	/**
+	 * Sets the tightness of the time windows (0: whole shift; 1: fixed starting time).
+	 * @param timeWindowTightness: tightness of the time windows
+	 */
+	public void setTimeWindowTightness(double timeWindowTightness) {
+		this.timeWindowTightness = Math.max(0, Math.min(1, timeWindowTightness));
+	}
+
+	/**
+	 * Sets the number of possible locations of a job (location flexibility).
+	 * @param locationsPerJob: number of possible locations of a job
+	 */
+	public void setLocationsPerJob(int locationsPerJob) {
+		this.locationsPerJob = locationsPerJob;
+	}
+
+	/**
+	 * Sets the range of the room capacities.
+	 * @param minRoomCapacity: minimal capacity of a room
+	 * @param maxRoomCapacity: maximal capacity of a room
+	 */
+	public void setRoomCapacity(int minRoomCapacity, int maxRoomCapacity) {
+		this.minRoomCapacity = Math.max(1, minRoomCapacity);
+		this.maxRoomCapacity = Math.max(this.minRoomCapacity, maxRoomCapacity);
+	}
+
+	/**
+	 * Sets the range of the job durations (planning intervals).
+	 * @param minDuration: minimal duration of a job
+	 * @param maxDuration: maximal duration of a job
+	 */
+	public void setDuration(int minDuration, int maxDuration) {
+		this.minDuration = minDuration;
+		this.maxDuration = maxDuration;
+	}
+
+	/**
+	 * Sets the travel time between the most distant rooms (planning intervals).
+	 * @param maxTravelTime: travel time between the most distant rooms
+	 */
+	public void setMaxTravelTime(double maxTravelTime) {
+		this.maxTravelTime = maxTravelTime;
+	}
+}
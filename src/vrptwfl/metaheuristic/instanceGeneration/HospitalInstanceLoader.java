@@ -2,13 +2,13 @@ package vrptwfl.metaheuristic.instanceGeneration;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import vrptwfl.metaheuristic.data.Data;
+import vrptwfl.metaheuristic.data.DistanceMatrix;
 import vrptwfl.metaheuristic.utils.DataUtils;
 import vrptwfl.metaheuristic.Config;
 
@@ -45,76 +45,82 @@ public class HospitalInstanceLoader {
 			data[0] = new Data(instanceName);
 		}
 
-		// create GSON loader
-		HospitalGSONLoader dataLoader = new HospitalGSONLoader();
+		// create streaming loader
+		HospitalStreamingLoader dataLoader = new HospitalStreamingLoader();
 		
 		try {
 			// load instance from JSON
-			ImportedInstance instance = dataLoader.loadHospitalInstanceFromJSON(instanceName);
+			dataLoader.loadHospitalInstanceFromJSON(instanceName);
 			
 			// Load therapists
-			ImportedTherapist[] therapists =  instance.getTherapists(); 
+			int[] therapistSkills = dataLoader.getTherapistSkills();
+			boolean[] shortShift = dataLoader.getTherapistShortShift();
+			boolean[] shiftStartMorning = dataLoader.getTherapistShiftStartMorning();
 			
 			// if split regular shift is activated 
-			if(Config.getInstance().splitRegularShift) 
-				therapists = this.splitRegularShifts(therapists);
+			if(Config.getInstance().splitRegularShift) {
+				boolean[][] splitShifts = this.splitRegularShifts(therapistSkills, shortShift, shiftStartMorning);
+				therapistSkills = this.getSkillsOfSplitShifts(therapistSkills, shortShift);
+				shortShift = splitShifts[0];
+				shiftStartMorning = splitShifts[1];
+			}
 			
 			// generate working patterns and vehicles
 			if (Config.getInstance().solveAsTwoProblems) {
 				// note the therapists below are already split because splitRegularShifts is always true if solveAsTwoProblems
-				ImportedTherapist[][] aux = this.getTherapistsForMorningAndEveningShift(therapists);
-				ImportedTherapist[] morningTherapists = aux[0];
-				ImportedTherapist[] eveningTherapists = aux[1];
-				
 				ArrayList<Integer> mTherapistsSkill = new ArrayList<Integer>();
-				for (ImportedTherapist t : morningTherapists)
-					mTherapistsSkill.add(t.getSkill());
-				
 				ArrayList<Integer> eTherapistsSkill = new ArrayList<Integer>();
-				for (ImportedTherapist t : eveningTherapists)
-					eTherapistsSkill.add(t.getSkill());
+				for (int t = 0; t < therapistSkills.length; t++) {
+					if (!shortShift[t]) 
+						continue;
+					if (shiftStartMorning[t])
+						mTherapistsSkill.add(therapistSkills[t]);
+					else 
+						eTherapistsSkill.add(therapistSkills[t]);
+				}
 
 				// generate vehicles // initialization of vehicles when empty solution is created
-				data[0].setNVehicles(morningTherapists.length);
+				data[0].setNVehicles(mTherapistsSkill.size());
 				data[0].setVehicleCapacity(vehicleCapacity);
 				data[0].setVehiclesSkillLvl(DataUtils.convertListToArray(mTherapistsSkill));
 
 				data[1].setVehicleCapacity(vehicleCapacity);
-				data[1].setNVehicles(eveningTherapists.length);
+				data[1].setNVehicles(eTherapistsSkill.size());
 				data[1].setVehiclesSkillLvl(DataUtils.convertListToArray(eTherapistsSkill));
 			} else {
-				//TODO DONE? Chris - create data object if there is not solveAsTwoProblems activated
-				ArrayList<Integer> therapistsSkillLvls = new ArrayList<Integer>();
-				for (ImportedTherapist t : therapists)
-					therapistsSkillLvls.add(t.getSkill());
-				
-				data[0].setNVehicles(therapists.length);
+				data[0].setNVehicles(therapistSkills.length);
 				data[0].setVehicleCapacity(vehicleCapacity);
-				data[0].setVehiclesSkillLvl(DataUtils.convertListToArray(therapistsSkillLvls));
+				data[0].setVehiclesSkillLvl(therapistSkills);
 			}
 
-			ImportedRoom[] rooms = instance.getRooms(); 
-			ImportedJob[] importedRealJobs = instance.getJobs();
-			double[][] realJobs = this.generateRealJobs(importedRealJobs);
-			HashMap<Integer, ArrayList<Integer>> predJobs = this.generatePredJobs(importedRealJobs);
-			HashMap<Integer, ArrayList<Integer>> job2Location = getJobToLocation(importedRealJobs);
-			HashMap<Integer, ArrayList<Integer>> location2Job = getLocationToJob(importedRealJobs);
+			int[][] realJobs = dataLoader.getJobInformation();
+			HashMap<Integer, ArrayList<Integer>> predJobs = dataLoader.getPredJobs();
+			HashMap<Integer, ArrayList<Integer>> job2Location = dataLoader.getJobToLocations();
+			HashMap<Integer, ArrayList<Integer>> location2Job = dataLoader.getLocationToJobs();
 
 			// generate locations from rooms
-			ArrayList<Integer> locationCapacity = this.getLocationCapacities(rooms);
-			double[][] distances = instance.getDistances();
+			int[] locationCapacity = dataLoader.getLocationCapacity();
+			int nLocations = dataLoader.getNLocations();
+			double[] distanceValues = dataLoader.getDistances();
+			DistanceMatrix.Values values = (i, j) -> distanceValues[i * nLocations + j];
+			DistanceMatrix.Layout layout = DistanceMatrix.checkLayout(nLocations, Data.getDistanceMatrixLayout(), values);
+			// the flat layout adopts the loaded row-major array (no copy)
+			DistanceMatrix distances = layout == DistanceMatrix.Layout.FLAT && !Config.getInstance().mapDistanceMatrices 
+					? DistanceMatrix.wrap(nLocations, distanceValues)
+					: Data.createMatrix(data[0].getInstanceName(), dataLoader.getSourceFile(), "distances", nLocations, layout, values);
 			// location network stays the same for morning and evening, and none-split
 			
 			for (Data d : data) {
+				d.setSourceFile(dataLoader.getSourceFile());
 				d.setDistanceMatrix(distances);
-				d.setMaxDistanceInGraph(this.getMaxDistanceInGraph(distances));
+				d.setMaxDistanceInGraph(dataLoader.getMaxDistance());
 				d.setLocationCapacity(locationCapacity);
 				d.setCustomerToLocation(job2Location);
 				d.setLocationsToCustomers(location2Job);
 			}
 
 			if (Config.getInstance().solveAsTwoProblems) {
-				ArrayList<double[][]> morningEveningJobs = this.getJobsForMorningAndEveningShift(realJobs);
+				ArrayList<int[][]> morningEveningJobs = this.getJobsForMorningAndEveningShift(realJobs, dataLoader.getJobTimes());
 				HashMap<Integer, ArrayList<Integer>> morningPredJobs = this.getPredJobsShift(predJobs, morningEveningJobs.get(0));
 				HashMap<Integer, ArrayList<Integer>> eveningPredJobs = this.getPredJobsShift(predJobs, morningEveningJobs.get(1));
 				this.handleDataTransfer(morningEveningJobs.get(0), data[0], morningPredJobs);
@@ -134,20 +140,20 @@ public class HospitalInstanceLoader {
 	 * @param jobInformation
 	 * @param data
 	 */
-	private void handleDataTransfer(double[][] jobInformation, Data data, HashMap<Integer, ArrayList<Integer>> predJobs) {
+	private void handleDataTransfer(int[][] jobInformation, Data data, HashMap<Integer, ArrayList<Integer>> predJobs) {
         List<Integer> customerIds = IntStream.rangeClosed(1, jobInformation[0].length-1).boxed().collect(Collectors.toList());
-		int[] originalCustomerIds = DataUtils.convertDoubleArrToIntArr(jobInformation[6]);
-        data.setEndOfPlanningHorizon((int) jobInformation[1][0]); // <-- Depot Info
-        data.setStartOfPlanningHorizon((int) jobInformation[0][0]);
+		int[] originalCustomerIds = jobInformation[6];
+        data.setEndOfPlanningHorizon(jobInformation[1][0]); // <-- Depot Info
+        data.setStartOfPlanningHorizon(jobInformation[0][0]);
 		data.setCustomers(DataUtils.convertListToArray(customerIds));
         data.setOriginalCustomerIds(originalCustomerIds);
-		data.setEarliestStartTimes(DataUtils.convertDoubleArrToIntArr(jobInformation[0]));
-		data.setLatestStartTimes(DataUtils.convertDoubleArrToIntArr(jobInformation[1]));
-		data.setServiceDurations(DataUtils.convertDoubleArrToIntArr(jobInformation[2]));
-		data.setDemands(DataUtils.convertDoubleArrToIntArr(jobInformation[3]));
+		data.setEarliestStartTimes(jobInformation[0]);
+		data.setLatestStartTimes(jobInformation[1]);
+		data.setServiceDurations(jobInformation[2]);
+		data.setDemands(jobInformation[3]);
 		data.setNCustomers(jobInformation[0].length-1);
-		data.setRequiredSkillLvl(DataUtils.convertDoubleArrToIntArr(jobInformation[4]));
-		data.setCustomersPreferredLocation(DataUtils.convertDoubleArrToIntArr(jobInformation[5]));
+		data.setRequiredSkillLvl(jobInformation[4]);
+		data.setCustomersPreferredLocation(jobInformation[5]);
 		data.setPredCustomers(predJobs);
 		data.calculateAverageStartTimes();
 		data.createSwappingCosts();
@@ -162,10 +168,10 @@ public class HospitalInstanceLoader {
 	 * @param jobInfo: job information - shift dependent
 	 * @return HashMap with all relevant predecessor jobs
 	 */
-	private HashMap<Integer, ArrayList<Integer>> getPredJobsShift (HashMap<Integer, ArrayList<Integer>> predJobs, double[][] jobInfo) {
+	private HashMap<Integer, ArrayList<Integer>> getPredJobsShift (HashMap<Integer, ArrayList<Integer>> predJobs, int[][] jobInfo) {
 		HashMap<Integer, ArrayList<Integer>> shiftPredJobs = new HashMap<Integer, ArrayList<Integer>>();
 		for (int i=1; i<jobInfo[0].length; i++) {
-			int customerId = (int) jobInfo[6][i];
+			int customerId = jobInfo[6][i];
 			shiftPredJobs.put(customerId, predJobs.get(customerId));
 		}
 		return shiftPredJobs;
@@ -177,10 +183,11 @@ public class HospitalInstanceLoader {
 	 * form 12am-1pm. Calculating with a time interval of 5 min, the
 	 * break is between 48-60 (morning: 8am-12am = 240min; 240min/5 = 48)
 	 * @param realJobs: (all) imported jobs
+	 * @param jobTimes: times of the imported jobs as given in the input (see HospitalStreamingLoader.getJobTimes)
 	 * @return List of morning jobs (index: 0) and evening jobs (index: 1)
 	 */
 	// Planning with 540 min after 8am (working start); 48-60 lunch time
-	private ArrayList<double[][]> getJobsForMorningAndEveningShift(double[][] realJobs) {
+	private ArrayList<int[][]> getJobsForMorningAndEveningShift(int[][] realJobs, double[][] jobTimes) {
 		int endMorningShift = (int) Math.floor((double) 240 / this.planningInterval);
 		int startEveningShift = (int) Math.floor((double) 300 / this.planningInterval);
 		int shiftEnd = (int) Math.floor((double) 540 / this.planningInterval);
@@ -191,14 +198,14 @@ public class HospitalInstanceLoader {
 		int nEveningJobs = 0;
 		int endOfPlanningHorizon = -1;
 		for (int i = 0 ; i<realJobs[0].length; i++) {
-			if (realJobs[1][i] > startEveningShift - Config.getInstance().epsilon)
+			if (jobTimes[1][i] > startEveningShift - Config.getInstance().epsilon)
 				nEveningJobs++;
-			if ( (realJobs[1][i] + realJobs[2][i]) > endOfPlanningHorizon)
-				endOfPlanningHorizon = (int) (realJobs[1][i] + realJobs[2][i]);
+			if ( (jobTimes[1][i] + jobTimes[2][i]) > endOfPlanningHorizon)
+				endOfPlanningHorizon = (int) (jobTimes[1][i] + jobTimes[2][i]);
 		}
 		
-		double[][] morningJobInformation = new double[7][realJobs[0].length-nEveningJobs+1];
-		double[][] eveningJobInformation = new double[7][nEveningJobs+1];
+		int[][] morningJobInformation = new int[7][realJobs[0].length-nEveningJobs+1];
+		int[][] eveningJobInformation = new int[7][nEveningJobs+1];
 		int morningIdx = 1;
 		int eveningIdx = 1;
 
@@ -223,13 +230,13 @@ public class HospitalInstanceLoader {
 
 		// check morning shift
 		for (int i = 0; i<realJobs[0].length; i++) {
-			int jobEarliestStart = (int) realJobs[0][i];
-			int jobLatestStart = (int) realJobs[1][i];
-			int jobDuration = (int) realJobs[2][i];
-			int jobDemand = (int) realJobs[3][i];
-			int jobSkill = (int) realJobs[4][i];
-			int jobPreferredLocationId = (int) realJobs[5][i];
-			int customerId = (int) realJobs[6][i];
+			int jobEarliestStart = realJobs[0][i];
+			int jobLatestStart = realJobs[1][i];
+			int jobDuration = realJobs[2][i];
+			int jobDemand = realJobs[3][i];
+			int jobSkill = realJobs[4][i];
+			int jobPreferredLocationId = realJobs[5][i];
+			int customerId = realJobs[6][i];
 			
 			if (jobEarliestStart + jobDuration < endMorningShift + Config.getInstance().epsilon) {
 				morningJobInformation[0][morningIdx] = jobEarliestStart;
@@ -253,207 +260,59 @@ public class HospitalInstanceLoader {
 				eveningIdx ++;
 			}
 		}
-		ArrayList<double[][]> morningEveningInfo = new ArrayList<double[][]>();
+		ArrayList<int[][]> morningEveningInfo = new ArrayList<int[][]>();
 		morningEveningInfo.add(morningJobInformation);
 		morningEveningInfo.add(eveningJobInformation);
 		return morningEveningInfo;
 	}
 
-	/**
-	 * Retrieve the therapists separated in the morning and evening shift.
-	 * The method checks whether the shift starts in the morning. If so,
-	 * the therapist is added to the morning fleet, otherwise it is assigned
-	 * to the evening fleet. First index 0 is morning shift, first index 1 is evening.
-	 * @param therapists: (all) imported therapists
-	 * @return array with morning (index:0) and evening (index:1) therapists
-	 */
-	private ImportedTherapist[][] getTherapistsForMorningAndEveningShift(ImportedTherapist[] therapists) {
-		ArrayList<ImportedTherapist> auxMorning = new ArrayList<>();
-		int indexMorning = 0;
-		ArrayList<ImportedTherapist> auxEvening = new ArrayList<>();
-		int indexEvening = 0;
-
-		for (ImportedTherapist therapist: therapists) {
-			if (therapist.isShortShift()) {
-				if (therapist.isShiftStartMorning()) {
-					therapist.setId(indexMorning++);  // re-index -> if there are n therapist, ids 0 to n-1 must exist
-					auxMorning.add(therapist);
-				} else {
-					auxEvening.add(therapist);
-					therapist.setId(indexEvening++);
-				}
-			}
-		}
-		// assert that no regular shifts exist
-		assert (auxMorning.size() + auxEvening.size() == therapists.length):
-				"Error: length of morning shift (" + auxMorning.size() +
-						") and evening shift (" + auxEvening.size() +
-						") not equal length of all shifts (" + therapists.length + ")";
-
-		return new ImportedTherapist[][]{auxMorning.toArray(new ImportedTherapist[0]), 
-										 auxEvening.toArray(new ImportedTherapist[0])};
-	}
-
 	/**
 	 * Method to split regular shift into 2x short shifts (morning and evening)
-	 * this can be done since all therapists have a lunch break from 12-1pm
-	 * @param therapists therapists
-	 * @return imported therapists (just split if long shift)
+	 * this can be done since all therapists have a lunch break from 12-1pm.
+	 * Retrieves the short shift indicators (index:0) and the shift start indicators (index:1) 
+	 * of the split therapists.
+	 * @param skills: therapists' skill levels
+	 * @param shortShift: indicators whether the therapists have only a short shift
+	 * @param shiftStartMorning: indicators whether the therapists' shifts start in the morning
+	 * @return short shift (index:0) and shift start (index:1) indicators after splitting
 	 */
-	private ImportedTherapist[] splitRegularShifts(ImportedTherapist[] therapists) {
-		ArrayList<ImportedTherapist> listSplitShifts = new ArrayList<>();
-		int idx = -1;
-		// information about which therapists were split important to connect them after the optimization again
-		for(ImportedTherapist input: therapists) {
-			if(input.isShortShift()) {
-				// if already short shift, only adjust id
-				idx++;
-				input.setId(idx);
-				input.setWasSplit(false);
-				listSplitShifts.add(input);
+	private boolean[][] splitRegularShifts(int[] skills, boolean[] shortShift, boolean[] shiftStartMorning) {
+		int nSplit = skills.length;
+		for (boolean isShort : shortShift) 
+			if (!isShort) nSplit++;
+		
+		boolean[][] split = new boolean[2][nSplit];
+		int idx = 0;
+		for (int t = 0; t < skills.length; t++) {
+			if (shortShift[t]) {
+				// if already short shift, keep it
+				split[0][idx] = true;
+				split[1][idx++] = shiftStartMorning[t];
 			} else {
-				// if regular shift 
-				// a) create morning shift
-				idx++;
-				ImportedTherapist morning = new ImportedTherapist(idx, input.getSkill(), true, true);
-				morning.setWasSplit(true);
-				listSplitShifts.add(morning);
-				
-				// b) create evening shift
-				idx++;
-				ImportedTherapist evening = new ImportedTherapist(idx, input.getSkill(), true, false);
-				evening.setWasSplit(true);
-				listSplitShifts.add(evening);
+				// if regular shift: a) create morning shift, b) create evening shift
+				split[0][idx] = true;
+				split[1][idx++] = true;
+				split[0][idx] = true;
+				split[1][idx++] = false;
 			}
 		}
-		return listSplitShifts.toArray(new ImportedTherapist[listSplitShifts.size()]);
-	}
-
-	/**
-	 * Retrieve the job locations for the customers. The possible locations are 
-	 * stored within a HashMap, where keys are the customer identifiers and the
-	 * values are lists of possible location where a customer can be served. 
-	 * Note (0 is reserved for the depots).
-	 * @param importedRealJobs: imported job information
-	 * @return HashMap containing the job identifiers per customer
-	 */
-	private HashMap<Integer, ArrayList<Integer>> getJobToLocation(ImportedJob[] importedRealJobs) {
-		HashMap<Integer, ArrayList<Integer>> customerToLocations = new HashMap<Integer, ArrayList<Integer>>();
-		for(int i = 0; i < importedRealJobs.length; i++) {
-			ImportedJob im = importedRealJobs[i];
-			ArrayList<Integer> tmp = new ArrayList<Integer>();
-			for (int entryidx = 0 ; entryidx<im.getLocationIds().length; entryidx++)
-				tmp.add(im.getLocationIds()[entryidx]);
-			customerToLocations.put(im.getId()+1, tmp);
-		}
-		customerToLocations.put(0, new ArrayList<Integer>(Arrays.asList(0)));
-		return customerToLocations;
+		return split;
 	}
 	
 	/**
-	 * Retrieve a mapping from locations to the possible customers/patients/job-identifiers.
-	 * Note: index 0 is reserved for the depots
-	 * @param importedRealJobs: imported job information
-	 * @return HashMap mapping from locations to customers identifiers
+	 * Retrieve the skill levels of the therapists after splitting the regular shifts,
+	 * i.e., the skill level of a therapist with a regular shift is added twice.
+	 * @param skills: therapists' skill levels
+	 * @param shortShift: indicators whether the therapists have only a short shift
+	 * @return skill levels after splitting
 	 */
-	private HashMap<Integer, ArrayList<Integer>> getLocationToJob (ImportedJob[] importedRealJobs) {
-		HashMap<Integer, ArrayList<Integer>> locationsToCustomers = new HashMap<Integer, ArrayList<Integer>>();
-		for (int i = 0; i < importedRealJobs.length; i++) {
-			ImportedJob im = importedRealJobs[i];
-			for (int locEntry = 0 ; locEntry<im.getLocationIds().length; locEntry++) {
-				if (locationsToCustomers.get(im.getLocationIds()[locEntry]) == null)
-					locationsToCustomers.put(im.getLocationIds()[locEntry], new ArrayList<Integer>());
-				if (!locationsToCustomers.get(im.getLocationIds()[locEntry]).contains(im.getId() + 1))
-					locationsToCustomers.get(im.getLocationIds()[locEntry]).add(im.getId() + 1);
-			}
+	private int[] getSkillsOfSplitShifts(int[] skills, boolean[] shortShift) {
+		ArrayList<Integer> splitSkills = new ArrayList<Integer>();
+		for (int t = 0; t < skills.length; t++) {
+			splitSkills.add(skills[t]);
+			if (!shortShift[t])
+				splitSkills.add(skills[t]);
 		}
-		locationsToCustomers.put(0, new ArrayList<Integer>());
-		return locationsToCustomers;
+		return DataUtils.convertListToArray(splitSkills);
 	}
-	
-	/**
-	 * Retrieve all the predecessor jobs being defined in the input data. 
-	 * They are returned within a HashMap where the key are the customer 
-	 * identifiers and the values are lists containing the 
-	 * identifiers (+1) of the predecessor jobs. Note: +1 because 0 is reserved
-	 * for the depot information.
-	 * @param importedRealJobs: imported jobs
-	 * @return HashMap containing the predecessor jobs
-	 */
-	private HashMap<Integer, ArrayList<Integer>> generatePredJobs(ImportedJob[] importedRealJobs) {
-		HashMap<Integer, ArrayList<Integer>> predJobs = new HashMap<Integer, ArrayList<Integer>>();
-		for(int i = 0; i < importedRealJobs.length; i++) {
-			ImportedJob im = importedRealJobs[i];
-			ArrayList<Integer> listPredJobs = new ArrayList<Integer>();
-			for (int predJobId : im.getPredJobsIds())
-				listPredJobs.add(predJobId + 1);
-			predJobs.put(im.getId() + 1, listPredJobs);
-		}
-		return predJobs;
-	}
-	
-	/**
-	 * Get the job information from the imported jobs as a two-dimensional
-	 * double array. The format is as follows:
-	 * 0 - earliest start times
-	 * 1 - latest start times
-	 * 2 - service duration 
-	 * 3 - demand
-	 * 4 - required skill of the job
-	 * 5 - preferred location id
-	 * 6 - id of the job (+1; as 0 is reserved for the depot)
-	 * @param importedRealJobs: imported job information
-	 * @return job information as two-dimensional array
-	 */
-	private double[][] generateRealJobs(ImportedJob[] importedRealJobs) {		
-		// init jobs only with job id
-		double[][] jobInformation = new double[7][importedRealJobs.length];
-		
-		for(int i = 0; i < jobInformation[0].length; i++) {
-			ImportedJob im = importedRealJobs[i];
-			jobInformation[0][i] = im.getEarliestStart();
-			jobInformation[1][i] = im.getLatestStart();
-			jobInformation[2][i] = im.getDuration();
-			jobInformation[3][i] = 1;
-			jobInformation[4][i] = im.getSkill();
-			jobInformation[5][i] = im.getPreferredLocationId();
-			jobInformation[6][i] = im.getId() + 1;
-		}
-		return jobInformation;
-	}
-	
-	/**
-	 * Defines the maximal capacity slots for the various locations being 
-	 * attached as parameters. If a capacity is set within the input of 
-	 * a hospital instance it is pre-defined, otherwise the capacity is 
-	 * set to a number that no restrictions can occur.
-	 * @param rooms: imported locations
-	 * @return list of capacity slots
-	 */
-	private ArrayList<Integer> getLocationCapacities(ImportedRoom[] rooms) {
-		ArrayList<Integer> locationCapacity = new ArrayList<Integer>();
-		for(int i = 0; i < rooms.length; i++) {
-			ImportedRoom r = rooms[i];
-			if (r.getCapacity() > 0)
-				locationCapacity.add(r.getCapacity());
-			else
-				locationCapacity.add(5);
-		}
-		return locationCapacity;
-	}
-	
-	/**
-	 * Returns the maximal distance with the attached distance matrix.
-	 * @param distMatrix matrix containing distances between locations
-	 * @return maximal value in the matrix
-	 */
-	private double getMaxDistanceInGraph(double[][] distMatrix) {
-		double max = -1;
-		for (int i=0; i<distMatrix.length; i++) 
-			for (int j=0; j<distMatrix[i].length; j++)
-				if (distMatrix[i][j] > max)
-					max = distMatrix[i][j];
-		return max;
-	}
-
 }
@@ -0,0 +1,465 @@
+package vrptwfl.metaheuristic.instanceGeneration;
+
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+/**
+ * Streaming loader for hospital instances.
+ * In contrast to the HospitalGSONLoader, no intermediate object graph
+ * (ImportedInstance, ImportedJob, ImportedRoom, ImportedTherapist) is created.
+ * The JSON file is processed token by token with a JsonReader and the
+ * information is written directly into the primitive arrays and mappings
+ * being used by the HospitalInstanceLoader to set up the data objects.
+ *
+ * @author Christian M.M. Frey
+ *
+ */
+public class HospitalStreamingLoader {
+
+	private static final int INITIAL_CAPACITY = 64;
+
+	private Path sourceFile;
+
+	// therapists
+	private int nTherapists;
+	private int[] therapistSkills;
+	private boolean[] therapistShortShift;
+	private boolean[] therapistShiftStartMorning;
+
+	// rooms
+	private int nRooms;
+	private int[] locationCapacity;
+
+	// jobs
+	// 0: earliest start - 1: latest start - 2: duration - 3: demand - 4: skill - 5: preferred location id - 6: id (+1)
+	private int nJobs;
+	private int[][] jobInformation;
+	// 0: earliest start - 1: latest start - 2: duration (as given in the input)
+	private double[][] jobTimes;
+	private HashMap<Integer, ArrayList<Integer>> jobToLocations;
+	private HashMap<Integer, ArrayList<Integer>> locationToJobs;
+	private HashMap<Integer, ArrayList<Integer>> predJobs;
+
+	// distances (row-major)
+	private int nLocations;
+	private double[] distances;
+	private double maxDistance;
+
+	/**
+	 * Load the hospital instance being attached as parameter. The file is read in a single pass:
+	 * therapists, rooms and jobs are collected in growable primitive buffers being trimmed at the
+	 * end; the size of the (square) distance matrix is taken from its first row, such that the
+	 * remaining rows are written directly into the final row-major array.
+	 * @param instanceName: name of hospital instance being loaded.
+	 * @throws IOException: occurs if file could not be read
+	 */
+	public void loadHospitalInstanceFromJSON(String instanceName) throws IOException {
+		this.sourceFile = getInstancePath(instanceName);
+
+		this.nTherapists = 0;
+		this.therapistSkills = new int[INITIAL_CAPACITY];
+		this.therapistShortShift = new boolean[INITIAL_CAPACITY];
+		this.therapistShiftStartMorning = new boolean[INITIAL_CAPACITY];
+		this.nRooms = 0;
+		this.locationCapacity = new int[INITIAL_CAPACITY];
+		this.nJobs = 0;
+		this.jobInformation = new int[7][INITIAL_CAPACITY];
+		this.jobTimes = new double[3][INITIAL_CAPACITY];
+		this.jobToLocations = new HashMap<Integer, ArrayList<Integer>>();
+		this.locationToJobs = new HashMap<Integer, ArrayList<Integer>>();
+		this.predJobs = new HashMap<Integer, ArrayList<Integer>>();
+		this.nLocations = 0;
+		this.distances = new double[0];
+		this.maxDistance = -1;
+
+		try (JsonReader reader = openReader(this.sourceFile.toString())) {
+			reader.beginObject();
+			while (reader.hasNext()) {
+				String name = reader.nextName();
+				if (reader.peek() == JsonToken.NULL) {
+					reader.nextNull();
+					continue;
+				}
+				switch (name) {
+					case "therapists": readTherapists(reader); break;
+					case "rooms": readRooms(reader); break;
+					case "jobs": readJobs(reader); break;
+					case "distances": readDistances(reader); break;
+					default: reader.skipValue();
+				}
+			}
+			reader.endObject();
+		}
+
+		// trim the buffers to the number of loaded elements
+		this.therapistSkills = Arrays.copyOf(this.therapistSkills, this.nTherapists);
+		this.therapistShortShift = Arrays.copyOf(this.therapistShortShift, this.nTherapists);
+		this.therapistShiftStartMorning = Arrays.copyOf(this.therapistShiftStartMorning, this.nTherapists);
+		this.locationCapacity = Arrays.copyOf(this.locationCapacity, this.nRooms);
+		for (int row = 0; row < this.jobInformation.length; row++)
+			this.jobInformation[row] = Arrays.copyOf(this.jobInformation[row], this.nJobs);
+		for (int row = 0; row < this.jobTimes.length; row++)
+			this.jobTimes[row] = Arrays.copyOf(this.jobTimes[row], this.nJobs);
+
+		// depot entries (index 0 is reserved for the depot)
+		this.jobToLocations.put(0, new ArrayList<Integer>(Arrays.asList(0)));
+		this.locationToJobs.put(0, new ArrayList<Integer>());
+	}
+
+	/**
+	 * Retrieve the path of the json file of the attached hospital instance.
+	 * @param instanceName: name of hospital instance
+	 * @return path of the instance file
+	 */
+	public static Path getInstancePath(String instanceName) {
+		return Path.of("./instances/Instances-Hospital/" + instanceName + ".json");
+	}
+
+	//
+	// STREAMING HELPERS
+	//
+	/**
+	 * Opens a json reader on the attached file.
+	 * @param path: path of the json file
+	 * @return json reader
+	 * @throws IOException
+	 */
+	private static JsonReader openReader(String path) throws IOException {
+		return new JsonReader(new BufferedReader(new InputStreamReader(new FileInputStream(path), "UTF-8"), 1 << 16));
+	}
+
+	/**
+	 * Reads the array of therapists.
+	 * @param reader: json reader positioned at the therapists array
+	 * @throws IOException
+	 */
+	private void readTherapists(JsonReader reader) throws IOException {
+		reader.beginArray();
+		while (reader.hasNext()) {
+			if (this.nTherapists == this.therapistSkills.length) {
+				int capacity = 2 * this.therapistSkills.length;
+				this.therapistSkills = Arrays.copyOf(this.therapistSkills, capacity);
+				this.therapistShortShift = Arrays.copyOf(this.therapistShortShift, capacity);
+				this.therapistShiftStartMorning = Arrays.copyOf(this.therapistShiftStartMorning, capacity);
+			}
+			int t = this.nTherapists++;
+			reader.beginObject();
+			while (reader.hasNext()) {
+				String name = reader.nextName();
+				if (reader.peek() == JsonToken.NULL) {
+					reader.nextNull();
+					continue;
+				}
+				switch (name) {
+					case "skill": this.therapistSkills[t] = reader.nextInt(); break;
+					case "shortShift": this.therapistShortShift[t] = reader.nextBoolean(); break;
+					case "shiftStartMorning": this.therapistShiftStartMorning[t] = reader.nextBoolean(); break;
+					default: reader.skipValue();
+				}
+			}
+			reader.endObject();
+		}
+		reader.endArray();
+	}
+
+	/**
+	 * Reads the array of rooms. If a capacity is set within the input it is
+	 * pre-defined, otherwise the capacity is set to a number that no restrictions can occur.
+	 * @param reader: json reader positioned at the rooms array
+	 * @throws IOException
+	 */
+	private void readRooms(JsonReader reader) throws IOException {
+		reader.beginArray();
+		while (reader.hasNext()) {
+			int capacity = 0;
+			reader.beginObject();
+			while (reader.hasNext()) {
+				String name = reader.nextName();
+				if (name.equals("capacity") && reader.peek() != JsonToken.NULL)
+					capacity = reader.nextInt();
+				else
+					reader.skipValue();
+			}
+			reader.endObject();
+			if (this.nRooms == this.locationCapacity.length)
+				this.locationCapacity = Arrays.copyOf(this.locationCapacity, 2 * this.nRooms);
+			this.locationCapacity[this.nRooms++] = capacity > 0 ? capacity : 5;
+		}
+		reader.endArray();
+	}
+
+	/**
+	 * Reads the array of jobs. The job information is written into the columns of
+	 * the job information array and the mappings (job to locations, locations to jobs,
+	 * predecessor jobs). Job identifiers are shifted by one as 0 is reserved for the depot.
+	 * The times are kept as given in the input (see getJobTimes) and truncated in the
+	 * job information.
+	 * @param reader: json reader positioned at the jobs array
+	 * @throws IOException
+	 */
+	private void readJobs(JsonReader reader) throws IOException {
+		reader.beginArray();
+		while (reader.hasNext()) {
+			if (this.nJobs == this.jobInformation[0].length) {
+				for (int row = 0; row < this.jobInformation.length; row++)
+					this.jobInformation[row] = Arrays.copyOf(this.jobInformation[row], 2 * this.nJobs);
+				for (int row = 0; row < this.jobTimes.length; row++)
+					this.jobTimes[row] = Arrays.copyOf(this.jobTimes[row], 2 * this.nJobs);
+			}
+			int j = this.nJobs++;
+			int customerId = 1;
+			this.jobInformation[3][j] = 1; // demand
+			ArrayList<Integer> locations = new ArrayList<Integer>();
+			ArrayList<Integer> predecessors = new ArrayList<Integer>();
+
+			reader.beginObject();
+			while (reader.hasNext()) {
+				String name = reader.nextName();
+				if (reader.peek() == JsonToken.NULL) {
+					reader.nextNull();
+					continue;
+				}
+				switch (name) {
+					case "id": customerId = reader.nextInt() + 1; break;
+					case "earliestStart": this.jobTimes[0][j] = reader.nextDouble(); break;
+					case "latestStart": this.jobTimes[1][j] = reader.nextDouble(); break;
+					case "duration": this.jobTimes[2][j] = reader.nextDouble(); break;
+					case "skill": this.jobInformation[4][j] = reader.nextInt(); break;
+					case "preferredLocationId": this.jobInformation[5][j] = reader.nextInt(); break;
+					case "locationIds": readIntArray(reader, locations, 0); break;
+					case "predJobsIds": readIntArray(reader, predecessors, 1); break;
+					default: reader.skipValue();
+				}
+			}
+			reader.endObject();
+			for (int row = 0; row < this.jobTimes.length; row++)
+				this.jobInformation[row][j] = (int) this.jobTimes[row][j];
+			this.jobInformation[6][j] = customerId;
+
+			this.jobToLocations.put(customerId, locations);
+			this.predJobs.put(customerId, predecessors);
+			for (int location : locations) {
+				ArrayList<Integer> jobsAtLocation = this.locationToJobs.get(location);
+				if (jobsAtLocation == null) {
+					jobsAtLocation = new ArrayList<Integer>();
+					this.locationToJobs.put(location, jobsAtLocation);
+				}
+				if (!jobsAtLocation.contains(customerId))
+					jobsAtLocation.add(customerId);
+			}
+		}
+		reader.endArray();
+	}
+
+	/**
+	 * Reads the (square) distance matrix row by row into the row-major array. The number of
+	 * locations is given by the length of the first row, which is read into a growable buffer;
+	 * the remaining rows are written directly into the final array. The maximal distance is 
+	 * determined while reading the values.
+	 * @param reader: json reader positioned at the distances array
+	 * @throws IOException: occurs if the matrix is not square
+	 */
+	private void readDistances(JsonReader reader) throws IOException {
+		reader.beginArray();
+		if (!reader.hasNext()) {
+			reader.endArray();
+			return;
+		}
+		// first row
+		double[] firstRow = new double[INITIAL_CAPACITY];
+		int n = 0;
+		reader.beginArray();
+		while (reader.hasNext()) {
+			if (n == firstRow.length)
+				firstRow = Arrays.copyOf(firstRow, 2 * n);
+			firstRow[n++] = this.readDistance(reader);
+		}
+		reader.endArray();
+		this.nLocations = n;
+		this.distances = new double[Math.multiplyExact(n, n)];
+		System.arraycopy(firstRow, 0, this.distances, 0, n);
+
+		// remaining rows
+		int i = 1;
+		for (; reader.hasNext(); i++) {
+			if (i == n)
+				throw new IOException("Distance matrix is not square (more than " + n + " rows)");
+			int idx = i * n;
+			int m = 0;
+			reader.beginArray();
+			while (reader.hasNext()) {
+				if (m++ == n)
+					throw new IOException("Distance matrix is not square (row " + i + " has more than " + n + " entries)");
+				this.distances[idx++] = this.readDistance(reader);
+			}
+			reader.endArray();
+			if (m != n)
+				throw new IOException("Distance matrix is not square (row " + i + " has " + m + " entries, expected " + n + ")");
+		}
+		reader.endArray();
+		if (i != n)
+			throw new IOException("Distance matrix is not square (" + i + " rows, expected " + n + ")");
+	}
+
+	/**
+	 * Reads a single distance and updates the maximal distance.
+	 * @param reader: json reader positioned at the distance
+	 * @return distance
+	 * @throws IOException
+	 */
+	private double readDistance(JsonReader reader) throws IOException {
+		double value = reader.nextDouble();
+		if (value > this.maxDistance)
+			this.maxDistance = value;
+		return value;
+	}
+
+	/**
+	 * Reads an array of integer values and adds them (shifted by offset) to the attached list.
+	 * @param reader: json reader positioned at the integer array
+	 * @param values: list the values are added to
+	 * @param offset: offset being added to each value
+	 * @throws IOException
+	 */
+	private void readIntArray(JsonReader reader, ArrayList<Integer> values, int offset) throws IOException {
+		reader.beginArray();
+		while (reader.hasNext())
+			values.add(reader.nextInt() + offset);
+		reader.endArray();
+	}
+
+
+	//
+	// GETTERS
+	//
+	/**
+	 * Retrieve the number of loaded therapists.
+	 * @return number of therapists
+	 */
+	public int getnTherapists() {
+		return this.nTherapists;
+	}
+
+	/**
+	 * Retrieve the therapists' skill levels.
+	 * @return skill level of the i-th therapist
+	 */
+	public int[] getTherapistSkills() {
+		return this.therapistSkills;
+	}
+
+	/**
+	 * Retrieve whether the therapists' shifts are only short ones (either morning or evening shift).
+	 * @return short shift indicator of the i-th therapist
+	 */
+	public boolean[] getTherapistShortShift() {
+		return this.therapistShortShift;
+	}
+
+	/**
+	 * Retrieve whether the therapists' shifts start in the morning.
+	 * @return shift start indicator of the i-th therapist
+	 */
+	public boolean[] getTherapistShiftStartMorning() {
+		return this.therapistShiftStartMorning;
+	}
+
+	/**
+	 * Retrieve the capacity slots of the locations (=rooms).
+	 * @return capacity slots of the i-th location
+	 */
+	public int[] getLocationCapacity() {
+		return this.locationCapacity;
+	}
+
+	/**
+	 * Retrieve the job information as two-dimensional array. The format is as follows:
+	 * 0 - earliest start times (truncated, see getJobTimes)
+	 * 1 - latest start times (truncated)
+	 * 2 - service duration (truncated)
+	 * 3 - demand
+	 * 4 - required skill of the job
+	 * 5 - preferred location id
+	 * 6 - id of the job (+1; as 0 is reserved for the depot)
+	 * @return job information
+	 */
+	public int[][] getJobInformation() {
+		return this.jobInformation;
+	}
+
+	/**
+	 * Retrieve the times of the jobs as given in the input (not truncated). The format is as follows:
+	 * 0 - earliest start times
+	 * 1 - latest start times
+	 * 2 - service duration
+	 * @return job times
+	 */
+	public double[][] getJobTimes() {
+		return this.jobTimes;
+	}
+
+	/**
+	 * Retrieve the mapping from customers (job id + 1) to their possible locations.
+	 * @return mapping from customers to locations
+	 */
+	public HashMap<Integer, ArrayList<Integer>> getJobToLocations() {
+		return this.jobToLocations;
+	}
+
+	/**
+	 * Retrieve the mapping from locations to customers (job id + 1).
+	 * @return mapping from locations to customers
+	 */
+	public HashMap<Integer, ArrayList<Integer>> getLocationToJobs() {
+		return this.locationToJobs;
+	}
+
+	/**
+	 * Retrieve the predecessor jobs (key: customer id - value: identifiers (+1) of predecessor jobs)
+	 * @return predecessor jobs
+	 */
+	public HashMap<Integer, ArrayList<Integer>> getPredJobs() {
+		return this.predJobs;
+	}
+
+	/**
+	 * Retrieve the distances between the locations (row-major, see getNLocations).
+	 * @return distance matrix
+	 */
+	public double[] getDistances() {
+		return this.distances;
+	}
+
+	/**
+	 * Retrieve the number of locations, i.e., the number of rows (= columns) of the distance matrix.
+	 * @return number of locations
+	 */
+	public int getNLocations() {
+		return this.nLocations;
+	}
+
+	/**
+	 * Retrieve the json file the instance was loaded from.
+	 * @return path of the instance file
+	 */
+	public Path getSourceFile() {
+		return this.sourceFile;
+	}
+
+	/**
+	 * Retrieve the maximal distance in the distance matrix.
+	 * @return maximal distance
+	 */
+	public double getMaxDistance() {
+		return this.maxDistance;
+	}
+}
@@ -35,7 +35,8 @@ public class SolomonInstanceGenerator {
      * @throws IOException
      */
     public Data loadInstance(String fileName, int nCustomers) throws ArgumentOutOfBoundsException, IOException {
-        String[] lines = readInstanceTextFile(fileName);
+        Path sourceFile = getInstancePath(fileName);
+        String[] lines = readInstanceTextFile(sourceFile);
 
         // get general information
         String instanceName = lines[0];
@@ -125,22 +126,32 @@ public class SolomonInstanceGenerator {
                 DataUtils.convertListToArray(requiredSkillLvl),
                 vehiclesSkillLvl,
                 predJobs,
-                DataUtils.convertListToArray(preferredLocations)
+                DataUtils.convertListToArray(preferredLocations),
+                sourceFile
         );
         data.setEndOfPlanningHorizon(latestStartTimes.get(0) + serviceDurations.get(0));
         
         return data;
     }
     
+    /**
+     * Retrieve the path of the instance file with the attached name.
+     * @param fileName: file name of the instance (e.g., R101.txt)
+     * @return path of the instance file
+     */
+    public static Path getInstancePath(String fileName) {
+        String locationOfSolomonInstances = "./instances/Instances-Solomon/";
+        return Path.of(locationOfSolomonInstances + fileName);
+    }
+
 	/**
 	 * Read the input file and return the information in a string array.
-	 * @param fileName: instance name to be processed
+	 * @param path: path of the instance file being processed
 	 * @return string array with the loaded information
 	 * @throws IOException
 	 */
-    private String[] readInstanceTextFile(String fileName) throws IOException {
-        String locationOfSolomonInstances = "./instances/Instances-Solomon/";
-        String entireTextFile = Files.readString(Path.of(locationOfSolomonInstances + fileName));
+    private String[] readInstanceTextFile(Path path) throws IOException {
+        String entireTextFile = Files.readString(path);
         entireTextFile = entireTextFile.replaceAll("\r\n", "\n"); // windows carriage returns
         return entireTextFile.split("\n"); // former by Alex (\r\n)
     }
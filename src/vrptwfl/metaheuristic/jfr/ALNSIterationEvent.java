@@ -0,0 +1,46 @@
+package vrptwfl.metaheuristic.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event covering a single iteration of the ALNS (destroy, repair,
+ * acceptance check and the update of weights and penalties).
+ *
+ * @author Christian M.M. Frey
+ */
+@Name("vrptwfl.ALNSIteration")
+@Label("ALNS Iteration")
+@Description("Single iteration of the adaptive large neighborhood search")
+@Category({"VRPTW-FL", "Solver"})
+public class ALNSIterationEvent extends jdk.jfr.Event {
+
+	@Label("Iteration")
+	public int iteration;
+
+	@Label("Destroy Operator")
+	public String destroyOperator;
+
+	@Label("Repair Operator")
+	public String repairOperator;
+
+	@Label("Removals")
+	public int removals;
+
+	@Label("Accepted")
+	@Description("Temporary solution has been accepted as new current solution")
+	public boolean accepted;
+
+	@Label("Improved")
+	@Description("Temporary solution is a new global best solution")
+	public boolean improved;
+
+	@Label("Cost Delta")
+	@Description("Costs of the temporary solution minus the costs of the current solution")
+	public double costDelta;
+
+	@Label("Temperature")
+	public double temperature;
+}
@@ -0,0 +1,37 @@
+package vrptwfl.metaheuristic.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event covering the construction of the initial solution
+ * (see ConstructionHeuristicRegret.constructSolution).
+ *
+ * @author Christian M.M. Frey
+ */
+@Name("vrptwfl.Construction")
+@Label("Construction Heuristic")
+@Description("Construction of the initial solution")
+@Category({"VRPTW-FL", "Solver"})
+public class ConstructionEvent extends jdk.jfr.Event {
+
+	@Label("Instance")
+	public String instanceName;
+
+	@Label("Heuristic")
+	public String heuristic;
+
+	@Label("Customers")
+	public int customers;
+
+	@Label("Unassigned Customers")
+	public int unassignedCustomers;
+
+	@Label("Costs")
+	public double costs;
+
+	@Label("Feasible")
+	public boolean feasible;
+}
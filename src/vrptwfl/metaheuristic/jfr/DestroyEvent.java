@@ -0,0 +1,27 @@
+package vrptwfl.metaheuristic.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event covering a single call of a destroy operator.
+ *
+ * @author Christian M.M. Frey
+ */
+@Name("vrptwfl.Destroy")
+@Label("Destroy Operator")
+@Description("Single call of a destroy operator")
+@Category({"VRPTW-FL", "Operators"})
+public class DestroyEvent extends jdk.jfr.Event {
+
+	@Label("Operator")
+	public String operator;
+
+	@Label("Removals")
+	public int removals;
+
+	@Label("Evaluated Removals")
+	public long evaluations;
+}
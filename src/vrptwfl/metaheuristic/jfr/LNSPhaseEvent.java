@@ -0,0 +1,31 @@
+package vrptwfl.metaheuristic.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event covering the LNS vehicle minimisation phase
+ * (see LNSOptimization.runLNS).
+ *
+ * @author Christian M.M. Frey
+ */
+@Name("vrptwfl.LNSPhase")
+@Label("LNS Vehicle Minimisation")
+@Description("First stage of the optimization minimising the number of vehicles being used")
+@Category({"VRPTW-FL", "Solver"})
+public class LNSPhaseEvent extends jdk.jfr.Event {
+
+	@Label("Iterations")
+	public int iterations;
+
+	@Label("Vehicles Before")
+	public int vehiclesBefore;
+
+	@Label("Vehicles After")
+	public int vehiclesAfter;
+
+	@Label("Costs")
+	public double costs;
+}
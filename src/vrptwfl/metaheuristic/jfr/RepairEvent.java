@@ -0,0 +1,30 @@
+package vrptwfl.metaheuristic.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event covering a single call of a repair operator.
+ *
+ * @author Christian M.M. Frey
+ */
+@Name("vrptwfl.Repair")
+@Label("Repair Operator")
+@Description("Single call of a repair operator")
+@Category({"VRPTW-FL", "Operators"})
+public class RepairEvent extends jdk.jfr.Event {
+
+	@Label("Operator")
+	public String operator;
+
+	@Label("Insertions")
+	public int insertions;
+
+	@Label("Evaluated Insertions")
+	public long evaluations;
+
+	@Label("Unassigned Customers")
+	public int unassignedCustomers;
+}
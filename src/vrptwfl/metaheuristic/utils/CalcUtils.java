@@ -2,8 +2,6 @@ package vrptwfl.metaheuristic.utils;
 
 import vrptwfl.metaheuristic.Config;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 /**
@@ -44,14 +42,25 @@ public class CalcUtils {
      * @return sorted random numbers within the predefined range
      */
     public static List<Integer> getSortedUniqueRandomNumbersInRange(int nNumbers, int rangeLowerBound, int rangeUpperBound) {
-        // add all numbers in range to list (numbers will be sorted in ascending order)
-        List<Integer> numbersInRange = new ArrayList<>() {{ for (int i = rangeLowerBound; i <= rangeUpperBound; i++) add(i); }};
-
-        Collections.shuffle(numbersInRange, Config.getInstance().randomGenerator); // shuffle order of numbers in list
-        numbersInRange = numbersInRange.subList(0, nNumbers);  // get first n numbers of shuffled list
+        ScratchArena arena = ScratchArena.forCurrentThread();
+        IntList numbers = arena.borrowIntList();
+        getSortedUniqueRandomNumbersInRange(nNumbers, rangeLowerBound, rangeUpperBound, numbers);
+        List<Integer> sortedNumbers = numbers.toList();
+        arena.release(numbers);
+        return sortedNumbers;
+    }
 
-        Collections.sort(numbersInRange); // sort these first n elements
-        return numbersInRange;
+    /**
+     * Draws sorted(!) unique random numbers in a predefined range into the attached list
+     * (the range is not materialized, see ScratchArena.sampleUniqueInRange)
+     * @param nNumbers: how many numbers are drawn
+     * @param rangeLowerBound: lower bound
+     * @param rangeUpperBound: upper bound
+     * @param numbers: list being cleared and filled with the sorted random numbers
+     */
+    public static void getSortedUniqueRandomNumbersInRange(int nNumbers, int rangeLowerBound, int rangeUpperBound, IntList numbers) {
+        getShuffledUniqueRandomNumbersInRange(nNumbers, rangeLowerBound, rangeUpperBound, numbers);
+        numbers.sort(); // sort the drawn numbers
     }
 
     /**
@@ -62,12 +71,24 @@ public class CalcUtils {
      * @return shuffled random numbers within the predefined range
      */
     public static List<Integer> getShuffledUniqueRandomNumbersInRange(int nNumbers, int rangeLowerBound, int rangeUpperBound) {
-        // add all numbers in range to list (numbers will be sorted in ascending order)
-        List<Integer> numbersInRange = new ArrayList<>() {{ for (int i = rangeLowerBound; i <= rangeUpperBound; i++) add(i); }};
-
-        Collections.shuffle(numbersInRange, Config.getInstance().randomGenerator); // shuffle order of numbers in list
-        numbersInRange = numbersInRange.subList(0, nNumbers);  // get first n numbers of shuffled list
+        ScratchArena arena = ScratchArena.forCurrentThread();
+        IntList numbers = arena.borrowIntList();
+        getShuffledUniqueRandomNumbersInRange(nNumbers, rangeLowerBound, rangeUpperBound, numbers);
+        List<Integer> shuffledNumbers = numbers.toList();
+        arena.release(numbers);
+        return shuffledNumbers;
+    }
 
-        return numbersInRange;
+    /**
+     * Draws shuffled unique random numbers in a predefined range into the attached list
+     * (the range is not materialized, see ScratchArena.sampleUniqueInRange)
+     * @param nNumbers: how many numbers are drawn
+     * @param rangeLowerBound: lower bound
+     * @param rangeUpperBound: upper bound
+     * @param numbers: list being cleared and filled with the random numbers (in the order of drawing)
+     */
+    public static void getShuffledUniqueRandomNumbersInRange(int nNumbers, int rangeLowerBound, int rangeUpperBound, IntList numbers) {
+        numbers.clear();
+        ScratchArena.forCurrentThread().sampleUniqueInRange(nNumbers, rangeLowerBound, rangeUpperBound, Config.getInstance().randomGenerator, numbers);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,158 @@
+package vrptwfl.metaheuristic.utils;
+
+import java.util.Arrays;
+
+/**
+ * Reusable sort buffer of scored customers as used by the relatedness based removals
+ * (e.g., customers sorted by their distance to a reference customer). A row consists of
+ * the customer, the vehicle serving the customer and up to two scores; the rows are stored
+ * as parallel primitive columns and are accessed by their rank. Initially, the ranks follow
+ * the order of insertion; sorting (stable), truncating and removing only permute the
+ * rank array, the rows themselves are not moved.
+ * It replaces the lists of double[] {customer, vehicleId, score} sorted with a comparator,
+ * i.e., filling and sorting the buffer does not allocate (see ScratchArena).
+ *
+ * @author Christian M.M. Frey
+ */
+public final class CustomerScoreBuffer {
+
+	private static final int INITIAL_CAPACITY = 64;
+
+	private int[] customer;
+	private int[] vehicle;
+	private double[] score;
+	private double[] secondScore;
+	private int[] order;     // rank -> row
+	private int[] orderTmp;
+
+	private int nRows;
+	private int size;        // number of ranked rows
+
+	/**
+	 * Constructor of an empty buffer.
+	 */
+	public CustomerScoreBuffer() {
+		this.customer = new int[INITIAL_CAPACITY];
+		this.vehicle = new int[INITIAL_CAPACITY];
+		this.score = new double[INITIAL_CAPACITY];
+		this.secondScore = new double[INITIAL_CAPACITY];
+		this.order = new int[INITIAL_CAPACITY];
+		this.orderTmp = new int[INITIAL_CAPACITY];
+	}
+
+	/**
+	 * Removes all rows (the memory is kept).
+	 */
+	public void clear() {
+		this.nRows = 0;
+		this.size = 0;
+	}
+
+	/**
+	 * Appends a row (ranked last).
+	 * @param customer: customer id
+	 * @param vehicle: id of the vehicle serving the customer
+	 * @param score: score
+	 */
+	public void add(int customer, int vehicle, double score) {
+		this.add(customer, vehicle, score, 0.);
+	}
+
+	/**
+	 * Appends a row (ranked last).
+	 * @param customer: customer id
+	 * @param vehicle: id of the vehicle serving the customer
+	 * @param score: score
+	 * @param secondScore: second score (see sortBySecondScore)
+	 */
+	public void add(int customer, int vehicle, double score, double secondScore) {
+		if (this.nRows == this.customer.length)
+			this.grow();
+		int i = this.nRows++;
+		this.customer[i] = customer;
+		this.vehicle[i] = vehicle;
+		this.score[i] = score;
+		this.secondScore[i] = secondScore;
+		this.order[this.size++] = i;
+	}
+
+	/**
+	 * Sorts the ranked rows by their score (ascending, stable).
+	 */
+	public void sortByScore() {
+		StableSort.sortIndices(this.order, this.orderTmp, this.size, this.score);
+	}
+
+	/**
+	 * Sorts the ranked rows by their second score (ascending, stable).
+	 */
+	public void sortBySecondScore() {
+		StableSort.sortIndices(this.order, this.orderTmp, this.size, this.secondScore);
+	}
+
+	/**
+	 * Keeps only the attached number of rows with the lowest ranks.
+	 * @param n: number of rows being kept
+	 */
+	public void truncate(int n) {
+		this.size = Math.min(this.size, n);
+	}
+
+	/**
+	 * Removes the row with the attached rank. The order of the remaining rows is kept.
+	 * @param rank: rank of the row
+	 */
+	public void remove(int rank) {
+		this.checkRank(rank);
+		System.arraycopy(this.order, rank + 1, this.order, rank, this.size - rank - 1);
+		this.size--;
+	}
+
+	/**
+	 * Doubles the capacity of the columns (the content is kept).
+	 */
+	private void grow() {
+		int capacity = 2 * this.customer.length;
+		this.customer = Arrays.copyOf(this.customer, capacity);
+		this.vehicle = Arrays.copyOf(this.vehicle, capacity);
+		this.score = Arrays.copyOf(this.score, capacity);
+		this.secondScore = Arrays.copyOf(this.secondScore, capacity);
+		this.order = Arrays.copyOf(this.order, capacity);
+		this.orderTmp = new int[capacity];
+	}
+
+	/**
+	 * Checks whether a row with the attached rank exists.
+	 * @param rank: rank of the row
+	 */
+	private void checkRank(int rank) {
+		if (rank < 0 || rank >= this.size)
+			throw new IndexOutOfBoundsException("Rank " + rank + " of " + this.size);
+	}
+
+	//
+	// GETTERS
+	//
+	public int size() {
+		return this.size;
+	}
+
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	public int getCustomer(int rank) {
+		this.checkRank(rank);
+		return this.customer[this.order[rank]];
+	}
+
+	public int getVehicle(int rank) {
+		this.checkRank(rank);
+		return this.vehicle[this.order[rank]];
+	}
+
+	public double getScore(int rank) {
+		this.checkRank(rank);
+		return this.score[this.order[rank]];
+	}
+}
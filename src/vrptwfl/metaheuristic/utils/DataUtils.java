@@ -56,13 +56,14 @@ public class DataUtils {
      * Retrieve the location index a customer is currently assigned to.
      * The possible locations are stored within the data object whereas 
      * the current assignment to one of its possible location is dependent
-     * on the current solution object.
+     * on the current solution object, which maintains the location id of
+     * each customer (see Solution.getCustomerLocationIds).
      * @param customerId: customer id
      * @param solution: solution object
      * @return location index 
      */
     public static int getLocationIndex (int customerId, Solution solution) {
-    	return solution.getData().getCustomersToLocations().get(solution.getData().getOriginalCustomerIds()[customerId]).get(solution.getCustomerAffiliationToLocations()[customerId]);
+    	return solution.getCustomerLocationIds()[customerId];
     }
     
     /**
@@ -75,12 +76,8 @@ public class DataUtils {
      */
     public static int[] getLocationIdxOfAllCustomers(Solution solution) {
     	int[] locs = new int[solution.getData().getCustomers().length+1]; //<- Depot + 1
-    	for (int customerID = 1; customerID<locs.length; customerID++) {
-    		if (solution.getCustomerAffiliationToLocations()[customerID] != -1)
-    			locs[customerID] = getLocationIndex(customerID, solution);
-    		else 
-    			locs[customerID] = -1;
-    	}
+    	int[] locationIds = solution.getCustomerLocationIds();
+    	System.arraycopy(locationIds, 1, locs, 1, Math.min(locs.length, locationIds.length) - 1);
     	return locs;
     }
     
@@ -0,0 +1,119 @@
+package vrptwfl.metaheuristic.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Growable list of primitive ints. The list is meant to be reused (see ScratchArena):
+ * clearing it keeps the memory, such that refilling it does not allocate.
+ *
+ * @author Christian M.M. Frey
+ */
+public final class IntList {
+
+	private static final int INITIAL_CAPACITY = 16;
+
+	private int[] values;
+	private int size;
+
+	/**
+	 * Constructor of an empty list.
+	 */
+	public IntList() {
+		this.values = new int[INITIAL_CAPACITY];
+	}
+
+	/**
+	 * Appends a value.
+	 * @param value: value being added
+	 */
+	public void add(int value) {
+		if (this.size == this.values.length)
+			this.values = Arrays.copyOf(this.values, 2 * this.values.length);
+		this.values[this.size++] = value;
+	}
+
+	/**
+	 * Appends all values of the attached list.
+	 * @param values: values being added
+	 */
+	public void addAll(List<Integer> values) {
+		for (int value : values)
+			this.add(value);
+	}
+
+	/**
+	 * Removes the value at the attached index. The order of the remaining values is kept.
+	 * @param index: index of the value being removed
+	 * @return removed value
+	 */
+	public int removeAt(int index) {
+		int value = this.get(index);
+		System.arraycopy(this.values, index + 1, this.values, index, this.size - index - 1);
+		this.size--;
+		return value;
+	}
+
+	/**
+	 * Keeps only the attached number of values at the front of the list (the memory is kept).
+	 * @param n: number of values being kept
+	 */
+	public void truncate(int n) {
+		this.size = Math.max(0, Math.min(this.size, n));
+	}
+
+	/**
+	 * Removes all values (the memory is kept).
+	 */
+	public void clear() {
+		this.size = 0;
+	}
+
+	/**
+	 * Sorts the values in ascending order.
+	 */
+	public void sort() {
+		Arrays.sort(this.values, 0, this.size);
+	}
+
+	/**
+	 * Checks whether the list contains the attached value.
+	 * @param value: value
+	 * @return whether the value is contained
+	 */
+	public boolean contains(int value) {
+		for (int i = 0; i < this.size; i++)
+			if (this.values[i] == value)
+				return true;
+		return false;
+	}
+
+	/**
+	 * Retrieve the values as (newly allocated) list of boxed integers.
+	 * @return list of values
+	 */
+	public List<Integer> toList() {
+		List<Integer> list = new ArrayList<>(this.size);
+		for (int i = 0; i < this.size; i++)
+			list.add(this.values[i]);
+		return list;
+	}
+
+	//
+	// GETTERS
+	//
+	public int get(int index) {
+		if (index < 0 || index >= this.size)
+			throw new IndexOutOfBoundsException("Index " + index + " of " + this.size);
+		return this.values[index];
+	}
+
+	public int size() {
+		return this.size;
+	}
+
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+}
@@ -0,0 +1,307 @@
+package vrptwfl.metaheuristic.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Lightweight in-process metrics registry supporting counters, gauges and histograms.
+ * The registry is dumped in the Prometheus text exposition format (version 0.0.4) to a local
+ * file, e.g., to be picked up by the textfile collector of the node exporter. The file is
+ * written to a temporary file first and moved afterwards, such that a scrape never reads
+ * a partially written file.
+ * A registry is owned by a single run, i.e., it is not thread-safe.
+ *
+ * @author Christian M.M. Frey
+ */
+public class MetricsRegistry {
+
+	private Map<String, Family> families = new LinkedHashMap<String, Family>();
+	private String[] commonLabels;
+
+	/**
+	 * Constructor of the registry.
+	 * @param commonLabels: labels (name/value pairs) attached to all metrics of the registry
+	 */
+	public MetricsRegistry(String... commonLabels) {
+		this.commonLabels = commonLabels;
+	}
+
+	//
+	// REGISTRATION
+	//
+	/**
+	 * Retrieve (or register) the counter with the attached name and labels.
+	 * @param name: name of the metric
+	 * @param help: description of the metric
+	 * @param labels: labels of the metric as name/value pairs
+	 * @return counter
+	 */
+	public Counter counter(String name, String help, String... labels) {
+		return (Counter) this.register(name, help, "counter", labels, () -> new Counter());
+	}
+
+	/**
+	 * Retrieve (or register) the gauge with the attached name and labels.
+	 * @param name: name of the metric
+	 * @param help: description of the metric
+	 * @param labels: labels of the metric as name/value pairs
+	 * @return gauge
+	 */
+	public Gauge gauge(String name, String help, String... labels) {
+		return (Gauge) this.register(name, help, "gauge", labels, () -> new Gauge());
+	}
+
+	/**
+	 * Retrieve (or register) the histogram with the attached name and labels.
+	 * @param name: name of the metric
+	 * @param help: description of the metric
+	 * @param buckets: upper bounds of the buckets (ascending)
+	 * @param labels: labels of the metric as name/value pairs
+	 * @return histogram
+	 */
+	public Histogram histogram(String name, String help, double[] buckets, String... labels) {
+		return (Histogram) this.register(name, help, "histogram", labels, () -> new Histogram(buckets));
+	}
+
+	/**
+	 * Registers a metric; if the metric is already registered, the registered one is returned.
+	 * @param name: name of the metric
+	 * @param help: description of the metric
+	 * @param type: prometheus type of the metric
+	 * @param labels: labels of the metric as name/value pairs
+	 * @param factory: creates the metric if it is not registered yet
+	 * @return registered metric
+	 */
+	private Metric register(String name, String help, String type, String[] labels, Supplier<Metric> factory) {
+		Family family = this.families.computeIfAbsent(name, k -> new Family(name, help, type));
+		if (!family.type.equals(type))
+			throw new IllegalArgumentException("Metric " + name + " is already registered as " + family.type);
+		return family.metrics.computeIfAbsent(this.formatLabels(labels), k -> factory.get());
+	}
+
+	//
+	// EXPORT
+	//
+	/**
+	 * Writes all metrics in the prometheus text exposition format.
+	 * @param writer: writer the metrics are written to
+	 * @throws IOException
+	 */
+	public void writeTo(Writer writer) throws IOException {
+		for (Family family : this.families.values()) {
+			writer.write("# HELP " + family.name + " " + family.help + "\n");
+			writer.write("# TYPE " + family.name + " " + family.type + "\n");
+			for (Map.Entry<String, Metric> entry : family.metrics.entrySet())
+				entry.getValue().writeTo(writer, family.name, entry.getKey());
+		}
+	}
+
+	/**
+	 * Dumps all metrics to the attached file. The metrics are written to a (uniquely named)
+	 * temporary file in the same directory which then replaces the attached file.
+	 * @param fileName: path of the metrics file (e.g., *.prom for the textfile collector)
+	 */
+	public void dumpToFile(String fileName) {
+		Path target = Paths.get(fileName).toAbsolutePath();
+		File dir = target.getParent().toFile();
+		dir.mkdirs();
+		Path tmp = null;
+		try {
+			tmp = Files.createTempFile(dir.toPath(), target.getFileName().toString(), ".tmp");
+			try (Writer writer = Files.newBufferedWriter(tmp)) {
+				this.writeTo(writer);
+			}
+			Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			e.printStackTrace();
+			if (tmp != null)
+				tmp.toFile().delete();
+		}
+	}
+
+	/**
+	 * Formats the common labels and the attached labels as prometheus label set.
+	 * @param labels: labels as name/value pairs
+	 * @return formatted label set (empty string if there are no labels)
+	 */
+	private String formatLabels(String[] labels) {
+		List<String> entries = new ArrayList<String>();
+		for (String[] pairs : new String[][] {this.commonLabels, labels})
+			for (int i = 0; i + 1 < pairs.length; i += 2)
+				entries.add(pairs[i] + "=\"" + escape(pairs[i + 1]) + "\"");
+		return entries.isEmpty() ? "" : "{" + String.join(",", entries) + "}";
+	}
+
+	/**
+	 * Escapes a label value according to the exposition format.
+	 * @param value: label value
+	 * @return escaped label value
+	 */
+	private static String escape(String value) {
+		return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+	}
+
+	/**
+	 * Formats a sample value according to the exposition format.
+	 * @param value: sample value
+	 * @return formatted value
+	 */
+	private static String formatValue(double value) {
+		if (Double.isNaN(value)) return "NaN";
+		if (Double.isInfinite(value)) return value > 0 ? "+Inf" : "-Inf";
+		return Double.toString(value);
+	}
+
+	/**
+	 * Adds a label to an already formatted label set.
+	 * @param labels: formatted label set
+	 * @param label: formatted label (name="value")
+	 * @return formatted label set including the attached label
+	 */
+	private static String addLabel(String labels, String label) {
+		return labels.isEmpty() ? "{" + label + "}" : labels.substring(0, labels.length() - 1) + "," + label + "}";
+	}
+
+	//
+	// METRIC TYPES
+	//
+	/**
+	 * All metrics with the same name (i.e., differing in their labels).
+	 */
+	private static class Family {
+		final String name;
+		final String help;
+		final String type;
+		final Map<String, Metric> metrics = new LinkedHashMap<String, Metric>();
+
+		Family(String name, String help, String type) {
+			this.name = name;
+			this.help = help;
+			this.type = type;
+		}
+	}
+
+	/**
+	 * A single metric.
+	 */
+	private static abstract class Metric {
+		abstract void writeTo(Writer writer, String name, String labels) throws IOException;
+	}
+
+	/**
+	 * Monotonically increasing counter.
+	 */
+	public static class Counter extends Metric {
+		private double value;
+
+		/**
+		 * Increments the counter by one.
+		 */
+		public void inc() {
+			this.value++;
+		}
+
+		/**
+		 * Increments the counter by the attached amount.
+		 * @param amount: amount (>= 0)
+		 */
+		public void inc(double amount) {
+			if (amount < 0)
+				throw new IllegalArgumentException("Counters can only be incremented by non-negative amounts");
+			this.value += amount;
+		}
+
+		/**
+		 * Retrieve the value of the counter.
+		 * @return value
+		 */
+		public double get() {
+			return this.value;
+		}
+
+		@Override
+		void writeTo(Writer writer, String name, String labels) throws IOException {
+			writer.write(name + labels + " " + formatValue(this.value) + "\n");
+		}
+	}
+
+	/**
+	 * Gauge, i.e., a value which can be set arbitrarily.
+	 */
+	public static class Gauge extends Metric {
+		private double value;
+
+		/**
+		 * Sets the value of the gauge.
+		 * @param value: value
+		 */
+		public void set(double value) {
+			this.value = value;
+		}
+
+		/**
+		 * Retrieve the value of the gauge.
+		 * @return value
+		 */
+		public double get() {
+			return this.value;
+		}
+
+		@Override
+		void writeTo(Writer writer, String name, String labels) throws IOException {
+			writer.write(name + labels + " " + formatValue(this.value) + "\n");
+		}
+	}
+
+	/**
+	 * Histogram with fixed buckets (cumulative counts are written).
+	 */
+	public static class Histogram extends Metric {
+		private final double[] buckets;
+		private final long[] counts;
+		private long count;
+		private double sum;
+
+		Histogram(double[] buckets) {
+			this.buckets = buckets;
+			this.counts = new long[buckets.length];
+		}
+
+		/**
+		 * Records the attached observation.
+		 * @param value: observed value
+		 */
+		public void observe(double value) {
+			for (int i = 0; i < this.buckets.length; i++) {
+				if (value <= this.buckets[i]) {
+					this.counts[i]++;
+					break;
+				}
+			}
+			this.count++;
+			this.sum += value;
+		}
+
+		@Override
+		void writeTo(Writer writer, String name, String labels) throws IOException {
+			long cumulated = 0;
+			for (int i = 0; i < this.buckets.length; i++) {
+				cumulated += this.counts[i];
+				writer.write(name + "_bucket" + addLabel(labels, "le=\"" + formatValue(this.buckets[i]) + "\"") + " " + cumulated + "\n");
+			}
+			writer.write(name + "_bucket" + addLabel(labels, "le=\"+Inf\"") + " " + this.count + "\n");
+			writer.write(name + "_sum" + labels + " " + formatValue(this.sum) + "\n");
+			writer.write(name + "_count" + labels + " " + this.count + "\n");
+		}
+	}
+}
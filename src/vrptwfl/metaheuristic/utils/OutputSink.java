@@ -0,0 +1,622 @@
+package vrptwfl.metaheuristic.utils;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+
+import vrptwfl.metaheuristic.Config;
+import vrptwfl.metaheuristic.alns.OperatorStatistics;
+import vrptwfl.metaheuristic.alns.insertions.AbstractInsertion;
+import vrptwfl.metaheuristic.alns.removals.AbstractRemoval;
+import vrptwfl.metaheuristic.common.Solution;
+import vrptwfl.metaheuristic.common.ViolationCounter;
+import vrptwfl.metaheuristic.common.Vehicle;
+import vrptwfl.metaheuristic.data.Data;
+
+/**
+ * This class implements the logging output of a single run.
+ * An output sink is created per run and handed to the objects writing logs
+ * (MainALNS, ALNSCore, construction heuristic). All writers are owned by the
+ * sink, i.e., they are confined to the thread executing the run and are buffered;
+ * they are flushed and closed when the sink is closed. Results of the run being
+ * aggregated in a file shared by several runs (e.g. results.txt) are appended
+ * atomically, see {@link WriterUtils#appendToSharedFile(String, String)}.
+ *
+ * @author Christian M.M. Frey
+ *
+ */
+public class OutputSink implements Closeable {
+
+	private Writer writerRemovals;
+	private Writer writerRepairs;
+	private Writer writerPenalties;
+	private Writer writerConfig;
+	private Writer writerFinalTour;
+	private Writer writerFinalTourCSV;
+	private Writer writerInitialTourCSV;
+	private Writer writerBacktracking;
+	private Writer writerProcessLog;
+	private Writer writerSummary;
+	private Writer writerUnscheduled;
+	private Writer writerPenaltiesDetailed;
+	private Writer writerAllTours;
+	private Writer writerIndividualPenalties;
+	private Writer writerOperatorStatistics;
+	private Writer writerLNS;
+	private List<Writer> writers = new ArrayList<Writer>();
+	private RunResourceMonitor resources;
+
+	private String outDir;
+	private String resultsFile;
+
+	private JSONObject penaltiesInfo = new JSONObject();
+	private JSONObject allTours = new JSONObject();
+
+	/**
+	 * Constructor of the output sink. Creates the output directory of the run
+	 * and opens its writers.
+	 * @param data: data object
+	 * @param parentDir: parent directory where the files are stored
+	 * @param outputFile: output file collecting the results of all runs
+	 * @param instanceName: name of the current instance
+	 */
+	public OutputSink(Data data, String parentDir, String outputFile, String instanceName) {
+		this.outDir = "./"+ parentDir +"/run_"+instanceName+ "/";
+		this.resultsFile = "./"+ parentDir +"/" + outputFile;
+		File f = new File(this.outDir);
+		f.mkdirs();
+		this.resources = new RunResourceMonitor();
+
+		try {
+			writerRemovals = this.open("removalProbabilities.txt", true);
+			writerRepairs = this.open("repairProbabilities.txt", true);
+			writerPenalties = this.open("logPenalties.csv", false);
+			writerConfig = this.open("config.json", false);
+			writerFinalTour = this.open("finalTour.txt", false);
+			writerFinalTourCSV = this.open("finalTourCSV.csv", false);
+			writerInitialTourCSV = this.open("initialTourCSV.csv", false);
+			writerBacktracking = this.open("backTrackingLog.csv", false);
+			writerProcessLog = this.open("logCosts.csv", false);
+			writerSummary = this.open("summary.csv", false);
+			writerUnscheduled = this.open("unscheduledInfo.csv", false);
+			writerPenaltiesDetailed = this.open("penaltiesDetailed.json", false);
+			writerAllTours = this.open("allTours.json", false);
+			writerIndividualPenalties = this.open("individualPenalties.json", false);
+			writerOperatorStatistics = this.open("operatorStatistics.csv", false);
+			writerLNS = this.open("lnsResult.txt", false);
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Opens a buffered writer for a file in the output directory of the run.
+	 * @param fileName: name of the file
+	 * @param append: whether the file is appended
+	 * @return buffered writer
+	 * @throws IOException
+	 */
+	private Writer open(String fileName, boolean append) throws IOException {
+		Writer writer = new BufferedWriter(new FileWriter(this.outDir + fileName, append));
+		this.writers.add(writer);
+		return writer;
+	}
+
+	/**
+	 * Retrieve the output directory of the run.
+	 * @return output directory
+	 */
+	public String getOutDir() {
+		return this.outDir;
+	}
+
+	/**
+	 * Retrieve the monitor recording the allocations, garbage collections and the peak heap usage of the run
+	 * (measured from the creation until the closing of the sink).
+	 * @return resource monitor of the run
+	 */
+	public RunResourceMonitor getResourceMonitor() {
+		return this.resources;
+	}
+
+	/**
+	 * Flushes and closes all writers of the sink and ends the resource monitoring of the run.
+	 */
+	@Override
+	public void close() {
+		this.resources.close();
+		for (Writer writer : this.writers) {
+			try {
+				writer.close();
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+		this.writers.clear();
+	}
+
+	// INTIIALE SINGLE WRITERS - HEADERS
+	/**
+	 * Initialization of the writer for logging removal ops' probabilities.
+	 * @param operators: removal operators
+	 */
+	public void initRemovalProbabilities(AbstractRemoval[] operators) {
+		StringBuilder builder = new StringBuilder("iteration");
+		for (AbstractRemoval operator : operators) {
+			builder.append(";");
+			builder.append(operator.getFormattedClassName());
+		}
+		this.write(writerRemovals, builder.toString() + "\n");
+	}
+
+	/**
+	 * Initilization of the writer for logging insertion ops' probabilities.
+	 * @param operators: ineration operators
+	 */
+	public void initRepairProbabilities(AbstractInsertion[] operators) {
+		StringBuilder builder = new StringBuilder("iteration");
+		for (AbstractInsertion operator : operators) {
+			builder.append(";");
+			builder.append(operator.getFormattedClassName());
+		}
+		this.write(writerRepairs, builder.toString() + "\n");
+	}
+
+	/**
+	 * Initialization of the summary writer.
+	 */
+	public void initSummaryLog() {
+		this.write(writerSummary, "iteration;instanceName;nCustomers;nVehicles;nVehiclesUsed;notScheduledCustomers;elapsedTime;totalCosts;RoutingCosts;PenaltyCosts;SwappingCosts;allocatedMB;gcCount;gcTimeMs;peakHeapMB\n");
+	}
+
+	/**
+	 * Initialization of the processing log writer.
+	 */
+	public void initProcessLog() {
+		this.write(writerProcessLog, "instanceName;iteration;GlobalCosts;TmpCosts;CurrCosts;BestFeasibleCosts;isFeasible;timeElapsed;temperature;simulatedAnnealingRandomVal;DestroyOp;InsertionOp;nRemovals;GlobalCosts_var;TmpCosts_var;CurrCosts_var;BestFeasible_var\n");
+	}
+
+	/**
+	 * Initialization of the penalties writer.
+	 */
+	public void initPenaltyCounts() {
+		StringBuilder builder = new StringBuilder("iteration;total");
+		for (DataUtils.PenaltyIdx idx : DataUtils.PenaltyIdx.values()) {
+			builder.append(";");
+			builder.append(idx);
+		}
+		builder.append(";cumulatedTWDelta;cumulatedSkillDelta;swappingCosts");
+		this.write(writerPenalties, builder.toString() + "\n");
+	}
+
+	/**
+	 * Initialization of the backtracking logging.
+	 */
+	public void initBacktrackingLogging() {
+		this.write(writerBacktracking, "trial;noJumps;bestCosts;time\n");
+	}
+
+	/**
+	 * Initialization of the logging of individual penalties.
+	 */
+	public void initIndividualPenaltiesLogging() {
+		this.write(writerIndividualPenalties, "iteration;penalty;customerID\n");
+	}
+
+
+	// WRITE INFOS
+	/**
+	 * Write probabilities of the removal operators being drawn.
+	 * @param removals: removal operators
+	 * @param iterationNumber: the current iteration number
+	 */
+	public void writeRemovalProbabilities(AbstractRemoval[] removals, int iterationNumber) {
+		StringBuilder builder = new StringBuilder("" + iterationNumber);
+		for (AbstractRemoval removal : removals) {
+			builder.append(";");
+			builder.append(removal.getProbability());
+		}
+		this.write(writerRemovals, builder.toString() + "\n");
+	}
+
+	/**
+	 * Write probabilities of the insertion operators being drawn.
+	 * @param repairs: insertion operators
+	 * @param iterationNumber: the current iteration number
+	 */
+	public void writeRepairProbabilities(AbstractInsertion[] repairs, int iterationNumber) {
+		StringBuilder builder = new StringBuilder("" + iterationNumber);
+		for (AbstractInsertion repair : repairs) {
+			builder.append(";");
+			builder.append(repair.getProbability());
+		}
+		this.write(writerRepairs, builder.toString() + "\n");
+	}
+
+	/**
+	 * Write the summary table of the operators' runtime statistics (one line per operator).
+	 * Latencies are given in microseconds; the time share refers to the total time spent in all operators.
+	 * @param destroyStatistics: statistics of the destroy operators
+	 * @param repairStatistics: statistics of the repair operators
+	 */
+	public void writeOperatorStatistics(OperatorStatistics[] destroyStatistics, OperatorStatistics[] repairStatistics) {
+		List<OperatorStatistics> statistics = new ArrayList<OperatorStatistics>(Arrays.asList(destroyStatistics));
+		statistics.addAll(Arrays.asList(repairStatistics));
+		long totalNanos = 0;
+		for (OperatorStatistics entry : statistics)
+			totalNanos += entry.getTotalNanos();
+
+		this.write(writerOperatorStatistics, "type;operator;calls;totalTimeMs;timeShare;meanUs;p50Us;p90Us;p99Us;maxUs;evaluations;customers;accepted;newGlobalBest;globalCostReduction\n");
+		for (OperatorStatistics entry : statistics) {
+			this.write(writerOperatorStatistics, entry.getType() + ";" + entry.getOperatorName() + ";" + entry.getCalls() + ";" 
+					+ entry.getTotalNanos() / 1000000.0 + ";" + (totalNanos > 0 ? (double) entry.getTotalNanos() / totalNanos : 0.0) + ";"
+					+ entry.getMeanNanos() / 1000.0 + ";" + entry.getPercentileNanos(0.5) / 1000.0 + ";" + entry.getPercentileNanos(0.9) / 1000.0 + ";"
+					+ entry.getPercentileNanos(0.99) / 1000.0 + ";" + entry.getMaxNanos() / 1000.0 + ";" + entry.getEvaluations() + ";" 
+					+ entry.getCustomers() + ";" + entry.getAccepted() + ";" + entry.getNewGlobalBest() + ";" + entry.getGlobalCostReduction() + "\n");
+		}
+	}
+
+	/**
+	 * Write the configuration of the run.
+	 * @param config: Configuration file being logged
+	 */
+	public void writeConfig(Config config) {
+		WriterUtils.writeConfig(writerConfig, config);
+	}
+
+	/**
+	 * Write the summary of an iteration. Besides the costs, the memory usage of the run so far
+	 * is written (bytes allocated by the run's thread, garbage collections and peak heap usage).
+	 * @param iteration: the current iteration number
+	 * @param s: the current solution object
+	 * @param elapsedTime: the elapsed time
+	 */
+	public void writeSummaryLog(int iteration, Solution s, long elapsedTime) {
+		// iteration;instanceName;nCustomers;nVehicles;nVehiclesUsed;notScheduledCustomers;elapsedTime;totalCosts;RoutingCosts;PenaltyCosts;SwappingCosts;allocatedMB;gcCount;gcTimeMs;peakHeapMB
+		this.write(writerSummary, iteration + ";" + s.getData().getInstanceName() + ";" + s.getData().getnCustomers()
+				+ ";" + s.getData().getnVehicles() + ";" + s.getUsedVehicles().size() + ";" + s.getNotAssignedCustomers().size() + ";"
+				+ Math.round(elapsedTime) + ";" + s.getTotalCosts() + ";" + s.getVehicleTourCosts() + ";" + s.getTotalPenalyCosts() + ";" + s.getSwappingCosts() + ";"
+				+ this.resources.getAllocatedBytes() / 1048576.0 + ";" + this.resources.getGcCount() + ";" + this.resources.getGcTimeMs() + ";"
+				+ this.resources.getPeakHeapBytes() / 1048576.0 + "\n");
+	}
+
+	/**
+	 * Write the information of the current processing state:
+	 * @param solutionGlobal: global solution object
+	 * @param solutionTemp: temporary solution object
+	 * @param solutionCurr: current solution object
+	 * @param solutionBestFeasible: best feasible solution object
+	 * @param instanceName: current instance name being processed
+	 * @param iteration: the current iteration number
+	 * @param timeElapsed: the elapsed time
+	 * @param temperature: the temperature in the current iteration
+	 * @param simulatedAnnealingRandomVal: value for simulated annealing in the current iteration
+	 * @param destroyOp: the selected destroy operation
+	 * @param insertionOp: the selected insertion operation
+	 * @param nRemovals: the number of customer removals in the current iteration
+	 */
+	public void writeProcessLog(Solution solutionGlobal, Solution solutionTemp, Solution solutionCurr, Solution solutionBestFeasible,
+			String instanceName, int iteration, long timeElapsed, double temperature, double simulatedAnnealingRandomVal,
+			AbstractRemoval destroyOp, AbstractInsertion insertionOp, int nRemovals) {
+		solutionGlobal.calculateTotalCosts(false);
+		double solutionGlobalVariable = solutionGlobal.getTotalCosts();
+		solutionGlobal.calculateTotalCosts(true);
+		double solutionGlobalFixed = solutionGlobal.getTotalCosts();
+
+		solutionTemp.calculateTotalCosts(true);
+		double solutionTempFixed = solutionTemp.getTotalCosts();
+		solutionTemp.calculateTotalCosts(false);
+		double solutionTempVariable = solutionTemp.getTotalCosts();
+
+		solutionCurr.calculateTotalCosts(true);
+		double solutionCurrFixed = solutionCurr.getTotalCosts();
+		solutionCurr.calculateTotalCosts(false);
+		double solutionCurrVariable = solutionCurr.getTotalCosts();
+
+		double solutionBestFeasibleFixed = -1;
+		double solutionBestFeasibleVariable = -1;
+		if (solutionBestFeasible.isFeasible()) {
+			solutionBestFeasible.calculateTotalCosts(true);
+			solutionBestFeasibleFixed = solutionBestFeasible.getTotalCosts();
+			solutionBestFeasible.calculateTotalCosts(false);
+			solutionBestFeasibleVariable = solutionBestFeasible.getTotalCosts();
+		}
+
+		this.write(writerProcessLog, instanceName + ";" + iteration + ";" +
+				solutionGlobalFixed + ";" + solutionTempFixed + ";" + solutionCurrFixed + ";" + solutionBestFeasibleFixed + ";" +
+				solutionGlobal.isFeasible() + ";" + timeElapsed + ";" + temperature + ";" + simulatedAnnealingRandomVal + ";" +
+				(destroyOp != null ? destroyOp.getFormattedClassName(): "null") + ";" +
+				(insertionOp != null ? insertionOp.getFormattedClassName(): "null") + ";" + nRemovals + ";" +
+				solutionGlobalVariable + ";" + solutionTempVariable + ";" + solutionCurrVariable + ";" + solutionBestFeasibleVariable +
+				"\n");
+	}
+
+	/**
+	 * Write the result of the run into the results file shared by all runs.
+	 * Format: name, total costs, elapsed time, optimality gap
+	 * @param name: name of the instance (or data object)
+	 * @param solutionALNS: solution object after the ALNS procedure
+	 * @param timeElapsed: elapsed time
+	 * @param gap: optimality gap if available
+	 */
+	public void writeResult(String name, Solution solutionALNS, long timeElapsed, double gap) {
+		WriterUtils.appendToSharedFile(this.resultsFile, name + ";" + solutionALNS.getTotalCosts() + ";" + timeElapsed + ";" + gap + "\n");
+	}
+
+	/**
+	 * Writer information of unscheduled customers.
+	 * @param s: solution object whose information is logged
+	 */
+	public void writeUnscheduledInfo(Solution s) {
+		this.write(writerUnscheduled, "customer;originalCustomerID;customersStartTime;customersEndTime;serviceTime;preferredLocation\n");
+		for (Integer notAssigned : s.getNotAssignedCustomers()) {
+			double startTime = s.getData().getEarliestStartTimes()[notAssigned];
+			double endTime = s.getData().getLatestStartTimes()[notAssigned];
+			int preferredLoc = s.getData().getCustomersPreferredLocation()[notAssigned];
+			double serviceDuration = s.getData().getServiceDurations()[notAssigned];
+			int originalCustomerID = s.getData().getOriginalCustomerIds()[notAssigned];
+			this.write(writerUnscheduled, notAssigned + ";" + originalCustomerID + ";" + startTime + ";" + endTime + ";" + serviceDuration + ";" + preferredLoc + "\n");
+		}
+	}
+
+	/**
+	 * Write count of penalties.
+	 * @param iteration: current iteration number
+	 * @param solution: solution object
+	 */
+	public void writePenaltyCount(int iteration, Solution solution) {
+		StringBuilder builder = new StringBuilder(iteration+ ";" + solution.getViolations().getTotal());
+		for (int penaltyIdx = 0; penaltyIdx < DataUtils.PenaltyIdx.values().length; penaltyIdx++) {
+			builder.append(";");
+			builder.append(solution.getViolations().getCount(penaltyIdx));
+		}
+		builder.append(";" + solution.getCumDeltaTW());
+		builder.append(";" + solution.getCumDeltaskill());
+		builder.append(";" + solution.getSwappingCosts());
+		this.write(writerPenalties, builder.toString() + "\n");
+	}
+
+	/**
+	 * Write the initial scheduling as a formatted csv file.
+	 * @param s: solution object
+	 */
+	public void writeInitialTourCSV(Solution s) {
+		this.writeTourCSV(writerInitialTourCSV, s);
+	}
+
+	/**
+	 * Write the final scheduling as a formatted csv file.
+	 * @param s: solution object
+	 */
+	public void writeFinalTourCSV(Solution s) {
+		this.writeTourCSV(writerFinalTourCSV, s);
+	}
+
+	/**
+	 * Write the resulting scheduling as a formatted csv file.
+	 * @param writer: Writer which logs the tour information as csv
+	 * @param s: solution object
+	 */
+	private void writeTourCSV(Writer writer, Solution s) {
+		/*
+		 * vehicleID, customerID, OriginalCustomerId, servedLoc, preferredLoc, capacity, duration, starttime, endtime, travelTimePred, travelTimeSucc
+		 */
+		this.write(writer, "vehicleID;customerID;originalCustomerID;servedLoc;preferredLoc;capacitySlot;duration;starttime;endtime;customersStartTime;customersEndTime;distFrom;distTo;distToPreferredLoc\n");
+		for (Vehicle v: s.getVehicles()) {
+			int vehicleId = v.getId();
+			for (int i = 1; i < v.getCustomers().size() - 1 ; i++) {
+				int customerId = v.getCustomers().get(i);
+				int originalCustomerId = s.getData().getOriginalCustomerIds()[customerId];
+				int servedLoc = DataUtils.getLocationIndex(customerId, s);
+				int preferredLoc = s.getData().getCustomersPreferredLocation()[customerId];
+				int capacitySlot = s.getCustomerAffiliationToCapacity()[customerId];
+				int duration = s.getData().getServiceDurations()[customerId];
+				double startService = v.getStartOfServices().get(i);
+				double endService = v.getEndOfServices().get(i);
+				double customersStartTime = s.getData().getEarliestStartTimes()[customerId];
+				double customersEndTime = s.getData().getLatestStartTimes()[customerId];
+				double[] distances = getDistances(s, v, i, servedLoc, preferredLoc);
+
+				this.write(writer, vehicleId + ";" + customerId + ";" + originalCustomerId + ";" +
+						     servedLoc  + ";" + preferredLoc + ";" + capacitySlot  + ";" +
+						     duration + ";" + startService + ";" + endService + ";" +
+						     customersStartTime + ";" + customersEndTime + ";" +
+						     distances[0] + ";" + distances[1] + ";" + distances[2] + "\n");
+			}
+		}
+	}
+
+	/**
+	 * Write the final tour as un-formatted text.
+	 * @param tour: string representation of the current scheduling
+	 */
+	public void writeFinalTour(String tour) {
+		this.write(writerFinalTour, tour);
+	}
+
+	/**
+	 * Write the result of the LNS phase (vehicle removal) of the ALNS.
+	 * @param iteration: iteration in which the LNS phase ended
+	 * @param s: current solution after the LNS phase
+	 */
+	public void writeLNSResult(int iteration, Solution s) {
+		this.write(writerLNS, "=== LNS Result ===\n");
+		this.write(writerLNS, "iteration: " + iteration + "\n");
+		this.write(writerLNS, "vehicles used: " + s.getUsedVehicles().size() + "\n");
+		this.write(writerLNS, "=== END LNS ===\n");
+	}
+
+	/**
+	 * Logging for the backtracking procedure.
+	 * @param trial: current backtracking trial
+	 * @param jumps: number of backtracking jumps
+	 * @param costs: costs of the solution
+	 * @param time: elapsed time
+	 */
+	public void writeBacktrackingInfo(int trial, int jumps, double costs, long time) {
+		this.write(writerBacktracking, trial + ";" + jumps + ";" + costs + ";" + time + "\n");
+	}
+
+	/**
+	 * Helper function for tracking a tour information.
+	 * The method extracts the current scheduling and stores it in the field variable
+	 * 'allTours'.
+	 *
+	 * @param it: current iteration number
+	 * @param s: solution object
+	 */
+	@SuppressWarnings("unchecked")
+	public void addTourInformation(Integer it, Solution s) {
+		JSONObject tourInfo = new JSONObject();
+		for (Vehicle v: s.getVehicles()) {
+			JSONArray customersArrInfo = new JSONArray();
+			for (int i = 1; i < v.getCustomers().size() - 1 ; i++) {
+				int customerId = v.getCustomers().get(i);
+				int servedLoc = DataUtils.getLocationIndex(customerId, s);
+				int preferredLoc = s.getData().getCustomersPreferredLocation()[customerId];
+				double[] distances = getDistances(s, v, i, servedLoc, preferredLoc);
+
+				JSONArray customerInfo = new JSONArray();
+				customerInfo.add(customerId);
+				customerInfo.add(s.getData().getOriginalCustomerIds()[customerId]);
+				customerInfo.add(i);
+				customerInfo.add(servedLoc);
+				customerInfo.add(preferredLoc);
+				customerInfo.add(s.getCustomerAffiliationToCapacity()[customerId]);
+				customerInfo.add(s.getData().getServiceDurations()[customerId]);
+				customerInfo.add(v.getStartOfServices().get(i));
+				customerInfo.add(v.getEndOfServices().get(i));
+				customerInfo.add((double) s.getData().getEarliestStartTimes()[customerId]);
+				customerInfo.add((double) s.getData().getLatestStartTimes()[customerId]);
+				customerInfo.add(distances[0]);
+				customerInfo.add(distances[1]);
+				customerInfo.add(distances[2]);
+				customersArrInfo.add(customerInfo);
+			}
+			tourInfo.put(v.getId(), customersArrInfo);
+		}
+		allTours.put(it, tourInfo);
+	}
+
+	/**
+	 * Write out all tours being stored in the field variable 'allTours'.
+	 */
+	public void writeAllTourInformation() {
+		this.write(writerAllTours, toPrettyJson(allTours));
+	}
+
+	/**
+	 * Helper function for tracking the penalty feature vectors.
+	 * The method iterates the current GLS penalties and stores the in the field variable
+	 * 'penaltiesInfo'.
+	 *
+	 * @param it: current iteration number
+	 * @param s: solution object
+	 */
+	@SuppressWarnings("unchecked")
+	public void addToPenaltiesInformation(Integer it, Solution s) {
+		JSONObject customerCollection = new JSONObject();
+		for (int customer = 0; customer<s.getData().getGLSPenalties()[0].length; customer ++) {
+			JSONObject penaltyObj = new JSONObject();
+			for (int penaltyIdx = 0; penaltyIdx<s.getData().getGLSPenalties().length; penaltyIdx++) {
+				penaltyObj.put(DataUtils.PenaltyIdx.values()[penaltyIdx],
+							   s.getData().getGLSPenalties()[penaltyIdx][customer]
+							   );
+				penaltyObj.put("originalCustomerID", s.getData().getOriginalCustomerIds()[customer]);
+			}
+			customerCollection.put(String.valueOf(customer), penaltyObj);
+		}
+		penaltiesInfo.put(it, customerCollection);
+	}
+
+	/**
+	 * Write out the penalty feature vectors being stored in the field variable 'penaltiesInfo'.
+	 */
+	public void writePenaltiesDetailedInformation() {
+		this.write(writerPenaltiesDetailed, toPrettyJson(penaltiesInfo));
+	}
+
+	/**
+	 * Write the individual penalties of the attached solution.
+	 * @param iteration: current iteration number
+	 * @param solution: solution object
+	 */
+	public void writeIndividualPenalties(Integer iteration, Solution solution) {
+		ViolationCounter violations = solution.getViolations();
+		for (int penaltyIdx = 0; penaltyIdx < DataUtils.PenaltyIdx.values().length; penaltyIdx++) {
+			for (int i = 0; i < violations.getNViolatingCustomers(penaltyIdx); i++) {
+				int customer = violations.getViolatingCustomer(penaltyIdx, i);
+				for (int n = 0; n < violations.getCount(penaltyIdx, customer); n++)
+					this.write(writerIndividualPenalties, iteration + ";" +
+													      DataUtils.PenaltyIdx.values()[penaltyIdx] +  ";" +
+													      customer + "\n");
+			}
+		}
+	}
+
+
+	//
+	// HELPERS
+	//
+	/**
+	 * Writes the attached text into the attached (buffered) writer.
+	 * @param writer: writer of the sink
+	 * @param text: text being written
+	 */
+	private void write(Writer writer, String text) {
+		if (writer == null)
+			return;
+		try {
+			writer.write(text);
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Retrieve the distances of the customer at position i in the route of vehicle v:
+	 * distance from the predecessor's location, distance to the successor's location and
+	 * distance between the served and the preferred location.
+	 * @param s: solution object
+	 * @param v: vehicle
+	 * @param i: position in the route of the vehicle
+	 * @param servedLoc: location where the customer is served
+	 * @param preferredLoc: preferred location of the customer
+	 * @return distances (pred, succ, preferred location)
+	 */
+	private static double[] getDistances(Solution s, Vehicle v, int i, int servedLoc, int preferredLoc) {
+        int locPred = DataUtils.getLocationIndex(v.getCustomers().get(i-1), s);
+        int locCurr = DataUtils.getLocationIndex(v.getCustomers().get(i), s);
+        int locSucc = DataUtils.getLocationIndex(v.getCustomers().get(i+1), s);
+		return new double[] {
+				s.getData().getDistanceBetweenLocations(locPred, locCurr),
+				s.getData().getDistanceBetweenLocations(locCurr, locSucc),
+				s.getData().getDistanceBetweenLocations(servedLoc, preferredLoc)
+		};
+	}
+
+	/**
+	 * Converts the attached json object into a pretty printed string.
+	 * @param obj: json object
+	 * @return pretty printed json string
+	 */
+	private static String toPrettyJson(JSONObject obj) {
+		Gson gson = new GsonBuilder().setPrettyPrinting().create();
+		JsonElement je = JsonParser.parseString(obj.toJSONString());
+		return gson.toJson(je);
+	}
+}
@@ -0,0 +1,196 @@
+package vrptwfl.metaheuristic.utils;
+
+import java.io.Closeable;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+/**
+ * This class records the memory usage of a single run: the bytes allocated by the thread
+ * executing the run, the number and the accumulated duration of the garbage collections
+ * and the peak heap usage during the run.
+ * The measurement starts when the monitor is created and ends when it is closed. The thread
+ * allocation is measured for the thread creating the monitor; the garbage collections and the
+ * heap usage refer to the whole JVM, i.e., they include concurrent runs (e.g., BatchRunner).
+ * The peak heap usage is the maximal heap usage right before a garbage collection (notification
+ * of the garbage collectors) respectively at the time the monitor is read.
+ *
+ * @author Christian M.M. Frey
+ */
+public class RunResourceMonitor implements Closeable, NotificationListener {
+
+	private final long threadId;
+	private final long allocatedBytesStart;
+	private final long gcCountStart;
+	private final long gcTimeStart;
+	private final Set<String> heapPools = new HashSet<String>();
+	private final List<NotificationEmitter> emitters = new ArrayList<NotificationEmitter>();
+	private final AtomicLong peakHeapBytes = new AtomicLong();
+
+	// values at the time the monitor was closed (-1: still running)
+	private long allocatedBytesEnd = -1;
+	private long gcCountEnd = -1;
+	private long gcTimeEnd = -1;
+
+	/**
+	 * Constructor of the monitor. Starts the measurement for the current thread.
+	 */
+	public RunResourceMonitor() {
+		this.threadId = Thread.currentThread().getId();
+		this.allocatedBytesStart = getThreadAllocatedBytes(this.threadId);
+		this.gcCountStart = getTotalGcCount();
+		this.gcTimeStart = getTotalGcTime();
+
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans())
+			if (pool.getType() == MemoryType.HEAP)
+				this.heapPools.add(pool.getName());
+		this.updatePeak(ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed());
+
+		for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+			if (gc instanceof NotificationEmitter) {
+				((NotificationEmitter) gc).addNotificationListener(this, null, null);
+				this.emitters.add((NotificationEmitter) gc);
+			}
+		}
+	}
+
+	/**
+	 * Called by the garbage collectors after each collection. Updates the peak heap usage
+	 * with the heap usage before the collection.
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void handleNotification(Notification notification, Object handback) {
+		if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType()))
+			return;
+		GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+		long used = 0;
+		for (Map.Entry<String, MemoryUsage> entry : info.getGcInfo().getMemoryUsageBeforeGc().entrySet())
+			if (this.heapPools.contains(entry.getKey()))
+				used += entry.getValue().getUsed();
+		this.updatePeak(used);
+	}
+
+	/**
+	 * Ends the measurement and unregisters the listeners from the garbage collectors.
+	 * Must be called by the thread which created the monitor.
+	 */
+	@Override
+	public void close() {
+		if (this.allocatedBytesEnd >= 0)
+			return;
+		this.allocatedBytesEnd = getThreadAllocatedBytes(this.threadId);
+		this.gcCountEnd = getTotalGcCount();
+		this.gcTimeEnd = getTotalGcTime();
+		this.updatePeak(ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed());
+		for (NotificationEmitter emitter : this.emitters) {
+			try {
+				emitter.removeNotificationListener(this);
+			} catch (ListenerNotFoundException e) {
+				e.printStackTrace();
+			}
+		}
+		this.emitters.clear();
+	}
+
+	/**
+	 * Updates the peak heap usage.
+	 * @param used: heap usage in bytes
+	 */
+	private void updatePeak(long used) {
+		this.peakHeapBytes.accumulateAndGet(used, Math::max);
+	}
+
+	//
+	// GETTERS
+	//
+	/**
+	 * Retrieve the bytes allocated by the thread of the run (-1 if not supported by the JVM).
+	 * @return allocated bytes
+	 */
+	public long getAllocatedBytes() {
+		if (this.allocatedBytesStart < 0)
+			return -1;
+		long current = this.allocatedBytesEnd >= 0 ? this.allocatedBytesEnd : getThreadAllocatedBytes(this.threadId);
+		return current - this.allocatedBytesStart;
+	}
+
+	/**
+	 * Retrieve the number of garbage collections during the run.
+	 * @return number of garbage collections
+	 */
+	public long getGcCount() {
+		return (this.gcCountEnd >= 0 ? this.gcCountEnd : getTotalGcCount()) - this.gcCountStart;
+	}
+
+	/**
+	 * Retrieve the accumulated duration of the garbage collections during the run in milliseconds.
+	 * @return duration of the garbage collections (ms)
+	 */
+	public long getGcTimeMs() {
+		return (this.gcTimeEnd >= 0 ? this.gcTimeEnd : getTotalGcTime()) - this.gcTimeStart;
+	}
+
+	/**
+	 * Retrieve the peak heap usage during the run in bytes.
+	 * @return peak heap usage
+	 */
+	public long getPeakHeapBytes() {
+		if (this.allocatedBytesEnd < 0)
+			this.updatePeak(ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed());
+		return this.peakHeapBytes.get();
+	}
+
+	//
+	// JVM VALUES
+	//
+	/**
+	 * Retrieve the bytes allocated by the attached thread since its start.
+	 * @param threadId: identifier of the thread
+	 * @return allocated bytes (-1 if not supported by the JVM)
+	 */
+	private static long getThreadAllocatedBytes(long threadId) {
+		java.lang.management.ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+		if (threadBean instanceof com.sun.management.ThreadMXBean)
+			return ((com.sun.management.ThreadMXBean) threadBean).getThreadAllocatedBytes(threadId);
+		return -1;
+	}
+
+	/**
+	 * Retrieve the number of garbage collections of all collectors since the start of the JVM.
+	 * @return number of garbage collections
+	 */
+	private static long getTotalGcCount() {
+		long count = 0;
+		for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans())
+			count += Math.max(gc.getCollectionCount(), 0);
+		return count;
+	}
+
+	/**
+	 * Retrieve the accumulated duration of the garbage collections of all collectors since the start of the JVM.
+	 * @return duration of the garbage collections (ms)
+	 */
+	private static long getTotalGcTime() {
+		long time = 0;
+		for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans())
+			time += Math.max(gc.getCollectionTime(), 0);
+		return time;
+	}
+}
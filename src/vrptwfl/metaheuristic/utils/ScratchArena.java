@@ -0,0 +1,138 @@
+package vrptwfl.metaheuristic.utils;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Per-thread arena of scratch structures used by the operators within a single iteration,
+ * i.e., primitive lists (IntList), sort buffers of scored customers (CustomerScoreBuffer)
+ * and the buffers of the sampler of unique random numbers (see sampleUniqueInRange).
+ * An operator borrows a structure, uses it while it is executed and returns it afterwards;
+ * a borrowed structure is cleared, but keeps the memory of its previous uses. Structures that
+ * are not returned (e.g., if an exception is thrown) are simply collected by the GC.
+ * Structures must not escape the operator, e.g., the list of removed customers being
+ * returned by a removal is a regular list.
+ *
+ * @author Christian M.M. Frey
+ */
+public final class ScratchArena {
+
+	private static final ThreadLocal<ScratchArena> threadArena = ThreadLocal.withInitial(ScratchArena::new);
+
+	private final ArrayDeque<IntList> intLists = new ArrayDeque<>();
+	private final ArrayDeque<CustomerScoreBuffer> scoreBuffers = new ArrayDeque<>();
+
+	// virtual array of the sampler: sampleValues[i] is valid iff sampleStamps[i] == stamp (else: i)
+	private int[] sampleValues = new int[0];
+	private int[] sampleStamps = new int[0];
+	private int stamp;
+
+	/**
+	 * Retrieve the arena of the current thread.
+	 * @return scratch arena
+	 */
+	public static ScratchArena forCurrentThread() {
+		return threadArena.get();
+	}
+
+	/**
+	 * Borrows an (empty) primitive list.
+	 * @return list
+	 */
+	public IntList borrowIntList() {
+		IntList list = this.intLists.poll();
+		if (list == null)
+			return new IntList();
+		list.clear();
+		return list;
+	}
+
+	/**
+	 * Returns a borrowed list to the arena.
+	 * @param list: list being returned
+	 */
+	public void release(IntList list) {
+		this.intLists.push(list);
+	}
+
+	/**
+	 * Borrows an (empty) sort buffer of scored customers.
+	 * @return buffer
+	 */
+	public CustomerScoreBuffer borrowScoreBuffer() {
+		CustomerScoreBuffer buffer = this.scoreBuffers.poll();
+		if (buffer == null)
+			return new CustomerScoreBuffer();
+		buffer.clear();
+		return buffer;
+	}
+
+	/**
+	 * Returns a borrowed sort buffer to the arena.
+	 * @param buffer: buffer being returned
+	 */
+	public void release(CustomerScoreBuffer buffer) {
+		this.scoreBuffers.push(buffer);
+	}
+
+	/**
+	 * Draws nNumbers unique numbers uniformly at random from the range [rangeLowerBound, rangeUpperBound]
+	 * and appends them in the order of drawing to the attached list. The numbers are drawn by a
+	 * partial Fisher-Yates shuffle on a virtual array of the range: the value and stamp arrays of
+	 * the sampler cover the largest range drawn from so far (O(range) memory, reused across draws),
+	 * but only the swapped positions are written and a new stamp invalidates them, i.e., apart from
+	 * growing the arrays, a draw takes O(nNumbers) time without resetting them.
+	 * @param nNumbers: how many numbers are drawn
+	 * @param rangeLowerBound: lower bound
+	 * @param rangeUpperBound: upper bound
+	 * @param random: random number generator
+	 * @param numbers: list the drawn numbers are appended to
+	 */
+	public void sampleUniqueInRange(int nNumbers, int rangeLowerBound, int rangeUpperBound, Random random, IntList numbers) {
+		int n = rangeUpperBound - rangeLowerBound + 1;
+		if (nNumbers < 0 || nNumbers > n)
+			throw new IllegalArgumentException("Cannot draw " + nNumbers + " unique numbers from [" + rangeLowerBound + ", " + rangeUpperBound + "]");
+		this.nextStamp(n);
+		for (int i = 0; i < nNumbers; i++) {
+			int j = i + random.nextInt(n - i);
+			int drawn = this.getSampleValue(j);
+			this.setSampleValue(j, this.getSampleValue(i));
+			numbers.add(rangeLowerBound + drawn);
+		}
+	}
+
+	/**
+	 * Invalidates the virtual array of the sampler and enlarges it to the attached size.
+	 * @param n: size of the range
+	 */
+	private void nextStamp(int n) {
+		if (n > this.sampleValues.length) {
+			int capacity = Math.max(n, 2 * this.sampleValues.length);
+			this.sampleValues = new int[capacity];
+			this.sampleStamps = new int[capacity];
+			this.stamp = 0;
+		}
+		if (++this.stamp == Integer.MAX_VALUE) {
+			Arrays.fill(this.sampleStamps, 0);
+			this.stamp = 1;
+		}
+	}
+
+	/**
+	 * Sets the stamp of the sampler; used by the tests to reach the wrap-around of the stamp.
+	 * @param stamp: stamp of the last draw
+	 */
+	void setStamp(int stamp) {
+		this.stamp = stamp;
+	}
+
+	private int getSampleValue(int i) {
+		return this.sampleStamps[i] == this.stamp ? this.sampleValues[i] : i;
+	}
+
+	private void setSampleValue(int i, int value) {
+		this.sampleValues[i] = value;
+		this.sampleStamps[i] = this.stamp;
+	}
+}
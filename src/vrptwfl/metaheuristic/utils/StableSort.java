@@ -0,0 +1,46 @@
+package vrptwfl.metaheuristic.utils;
+
+/**
+ * Stable sort of row indices by double keys as used by the reusable buffers (e.g.,
+ * CustomerScoreBuffer, InsertionCandidates): the rows themselves are not moved, only the
+ * array of indices is permuted. The keys are compared by Double.compare, i.e., in the same
+ * order as the comparator based sorts of boxed doubles the buffers replace.
+ *
+ * @author Christian M.M. Frey
+ */
+public final class StableSort {
+
+	private StableSort() {}
+
+	/**
+	 * Bottom-up merge sort (stable) of the first size indices by the attached keys. The
+	 * sorted indices are stored in order; tmp is used as scratch array (content is lost).
+	 * @param order: indices of the rows (index into keys)
+	 * @param tmp: scratch array, at least of length size
+	 * @param size: number of indices being sorted
+	 * @param keys: keys of the rows
+	 */
+	public static void sortIndices(int[] order, int[] tmp, int size, double[] keys) {
+		int[] src = order;
+		int[] dst = tmp;
+		for (int width = 1; width < size; width *= 2) {
+			for (int lo = 0; lo < size; lo += 2 * width) {
+				int mid = Math.min(lo + width, size);
+				int hi = Math.min(lo + 2 * width, size);
+				int l = lo, r = mid, k = lo;
+				while (l < mid && r < hi)
+					dst[k++] = Double.compare(keys[src[r]], keys[src[l]]) < 0 ? src[r++] : src[l++];
+				while (l < mid)
+					dst[k++] = src[l++];
+				while (r < hi)
+					dst[k++] = src[r++];
+			}
+			int[] swap = src;
+			src = dst;
+			dst = swap;
+		}
+		// an odd number of passes leaves the result in the scratch array
+		if (src != order)
+			System.arraycopy(src, 0, order, 0, size);
+	}
+}
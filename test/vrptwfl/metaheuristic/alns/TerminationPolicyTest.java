@@ -0,0 +1,142 @@
+package vrptwfl.metaheuristic.alns;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import vrptwfl.metaheuristic.Config;
+import vrptwfl.metaheuristic.common.Solution;
+
+import static org.junit.Assert.*;
+
+public class TerminationPolicyTest {
+
+    private long now;
+    private TerminationPolicy policy;
+
+    @Before
+    public void setup() {
+        Config.bindToCurrentThread(Config.loadFromFile("resources/config.yaml"));
+        now = 1_000;
+        policy = new TerminationPolicy(100, () -> now);
+        policy.start();
+    }
+
+    @After
+    public void tearDown() {
+        Config.bindToCurrentThread(null);
+    }
+
+    private static Solution solution(double costs, boolean feasible) {
+        Solution solution = new Solution(null);
+        solution.setTotalCosts(costs);
+        solution.setFeasible(feasible);
+        return solution;
+    }
+
+    @Test
+    public void terminatesAfterIterationCap() {
+        assertFalse(policy.isTerminated(99));
+        assertEquals(TerminationPolicy.Reason.NONE, policy.getReason());
+        assertTrue(policy.isTerminated(100));
+        assertEquals(TerminationPolicy.Reason.ITERATIONS, policy.getReason());
+    }
+
+    @Test
+    public void terminatesAfterTimeLimit() {
+        policy.setTimeLimit(500);
+        now += 499;
+        assertFalse(policy.isTerminated(1));
+        assertEquals(0.998, policy.getProgress(1), 1e-9);
+        now += 1;
+        assertTrue(policy.isTerminated(1));
+        assertEquals(TerminationPolicy.Reason.TIME_LIMIT, policy.getReason());
+        assertEquals(1.0, policy.getProgress(1), 1e-9);
+    }
+
+    @Test
+    public void timeLimitIsMeasuredFromStart() {
+        policy.setTimeLimit(500);
+        now += 10_000;
+        policy.start();
+        assertFalse(policy.isTerminated(1));
+        assertEquals(0, policy.getTimeElapsed());
+    }
+
+    @Test
+    public void terminatesAfterIterationsWithoutImprovement() {
+        policy.setMaxIterationsWithoutImprovement(3);
+        policy.update(false, null);
+        policy.update(false, null);
+        assertFalse(policy.isTerminated(2));
+        // an improvement resets the counter
+        policy.update(true, null);
+        policy.update(false, null);
+        policy.update(false, null);
+        assertFalse(policy.isTerminated(5));
+        policy.update(false, null);
+        assertTrue(policy.isTerminated(6));
+        assertEquals(TerminationPolicy.Reason.NO_IMPROVEMENT, policy.getReason());
+    }
+
+    @Test
+    public void terminatesAtTargetCostsOfFeasibleSolution() {
+        policy.setTargetCosts(50);
+        policy.update(true, solution(40, false));
+        assertFalse("infeasible solutions do not reach the target", policy.isTerminated(1));
+        policy.update(true, solution(60, true));
+        assertFalse(policy.isTerminated(2));
+        policy.update(true, solution(50, true));
+        assertTrue(policy.isTerminated(3));
+        assertEquals(TerminationPolicy.Reason.TARGET_COSTS, policy.getReason());
+    }
+
+    @Test
+    public void firstCriterionByPriorityIsReported() {
+        policy.setTimeLimit(500);
+        policy.setMaxIterationsWithoutImprovement(1);
+        policy.setTargetCosts(50);
+
+        // iteration cap and no-improvement cap hold: no-improvement takes precedence
+        policy.update(false, null);
+        assertTrue(policy.isTerminated(100));
+        assertEquals(TerminationPolicy.Reason.NO_IMPROVEMENT, policy.getReason());
+
+        // ... the time limit takes precedence over both
+        policy.start();
+        policy.update(false, null);
+        now += 500;
+        assertTrue(policy.isTerminated(100));
+        assertEquals(TerminationPolicy.Reason.TIME_LIMIT, policy.getReason());
+
+        // ... the target costs over all of them
+        policy.update(false, solution(50, true));
+        assertTrue(policy.isTerminated(100));
+        assertEquals(TerminationPolicy.Reason.TARGET_COSTS, policy.getReason());
+
+        // ... and a requested stop over everything
+        policy.stop();
+        assertTrue(policy.isTerminated(100));
+        assertEquals(TerminationPolicy.Reason.STOPPED, policy.getReason());
+    }
+
+    @Test
+    public void startResetsCounters() {
+        policy.setMaxIterationsWithoutImprovement(1);
+        policy.setTargetCosts(50);
+        policy.update(false, solution(10, true));
+        policy.stop();
+        assertTrue(policy.isTerminated(1));
+        policy.start();
+        assertFalse(policy.isTerminated(1));
+        assertEquals(TerminationPolicy.Reason.NONE, policy.getReason());
+    }
+
+    @Test
+    public void progressIsShareOfLargerBudget() {
+        assertEquals(0.25, policy.getProgress(25), 1e-9);
+        policy.setTimeLimit(1_000);
+        now += 500;
+        assertEquals(0.5, policy.getProgress(25), 1e-9);
+        assertEquals(0.75, policy.getProgress(75), 1e-9);
+    }
+}
@@ -0,0 +1,117 @@
+package vrptwfl.metaheuristic.common;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+
+import static org.junit.Assert.*;
+
+public class CustomerSetTest {
+
+    private static void assertConsistent(CustomerSet set) {
+        for (int i = 0; i < set.size(); i++) {
+            assertEquals(i, set.indexOf(set.getCustomer(i)));
+            assertTrue(set.containsCustomer(set.getCustomer(i)));
+        }
+    }
+
+    @Test
+    public void removalViaIteratorVisitsEveryMemberOnce() {
+        CustomerSet set = CustomerSet.of(new int[] {1, 2, 3, 4, 5, 6});
+        List<Integer> visited = new ArrayList<>();
+        Iterator<Integer> iter = set.iterator();
+        while (iter.hasNext()) {
+            int customer = iter.next();
+            visited.add(customer);
+            if (customer % 2 == 0)
+                iter.remove();
+        }
+        visited.sort(null);
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6), visited);
+        assertEquals(3, set.size());
+        for (int customer = 1; customer <= 6; customer++)
+            assertEquals(customer % 2 == 1, set.containsCustomer(customer));
+        assertConsistent(set);
+    }
+
+    @Test
+    public void removalViaListIteratorMovesLastMember() {
+        CustomerSet set = CustomerSet.of(new int[] {7, 8, 9});
+        ListIterator<Integer> iter = set.listIterator();
+        assertEquals(Integer.valueOf(7), iter.next());
+        iter.remove();
+        // the last member is swapped into the freed position and is visited next
+        assertEquals(Integer.valueOf(9), iter.next());
+        assertEquals(Integer.valueOf(8), iter.next());
+        assertFalse(iter.hasNext());
+        assertEquals(Arrays.asList(9, 8), set);
+        assertConsistent(set);
+    }
+
+    @Test
+    public void removeAllViaIterator() {
+        CustomerSet set = CustomerSet.of(new int[] {3, 1, 2});
+        Iterator<Integer> iter = set.iterator();
+        while (iter.hasNext()) {
+            iter.next();
+            iter.remove();
+        }
+        assertTrue(set.isEmpty());
+        assertFalse(set.containsCustomer(1));
+        assertEquals(0, set.toIntArray().length);
+    }
+
+    @Test
+    public void sortUpdatesPositions() {
+        CustomerSet set = CustomerSet.of(new int[] {5, 3, 9, 1});
+        set.sort(Comparator.naturalOrder());
+        assertEquals(Arrays.asList(1, 3, 5, 9), set);
+        assertConsistent(set);
+        set.sort(Comparator.reverseOrder());
+        assertEquals(Arrays.asList(9, 5, 3, 1), set);
+        assertConsistent(set);
+        // removal after sorting uses the updated positions
+        assertTrue(set.removeCustomer(9));
+        assertEquals(Arrays.asList(1, 5, 3), set);
+        assertConsistent(set);
+    }
+
+    @Test
+    public void growsForHigherCustomerIds() {
+        CustomerSet set = new CustomerSet(2);
+        assertTrue(set.addCustomer(1));
+        assertTrue(set.addCustomer(10));
+        assertTrue(set.addCustomer(100));
+        assertFalse(set.addCustomer(10));
+        assertEquals(Arrays.asList(1, 10, 100), set);
+        assertFalse(set.containsCustomer(50));
+        assertFalse(set.containsCustomer(1000));
+        assertConsistent(set);
+    }
+
+    @Test
+    public void copyFromReusesOrReplacesArrays() {
+        CustomerSet source = CustomerSet.of(new int[] {4, 2, 6});
+        CustomerSet target = CustomerSet.of(new int[] {1, 5});
+        target.copyFrom(source);
+        assertEquals(source, target);
+        assertFalse(target.containsCustomer(1));
+        assertFalse(target.containsCustomer(5));
+        assertConsistent(target);
+
+        // the copy is independent of the source
+        target.removeCustomer(2);
+        assertTrue(source.containsCustomer(2));
+
+        // different capacity
+        CustomerSet small = new CustomerSet(1);
+        small.copyFrom(source);
+        assertEquals(source, small);
+        assertConsistent(small);
+    }
+}
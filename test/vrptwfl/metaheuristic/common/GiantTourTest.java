@@ -0,0 +1,216 @@
+package vrptwfl.metaheuristic.common;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class GiantTourTest {
+
+    private static final int MAX_CUSTOMER_ID = 8;
+    private static final int N_VEHICLES = 3;
+
+    private GiantTour tour;
+
+    @Before
+    public void setup() {
+        tour = new GiantTour(MAX_CUSTOMER_ID, N_VEHICLES);
+    }
+
+    // customers of a route from its start to its end depot
+    private static List<Integer> route(GiantTour tour, int vehicleId) {
+        List<Integer> customers = new ArrayList<>();
+        for (int node = tour.getNext(tour.getStartDepot(vehicleId)); node != tour.getEndDepot(vehicleId); node = tour.getNext(node)) {
+            assertEquals(vehicleId, tour.getRoute(node));
+            customers.add(node);
+        }
+        return customers;
+    }
+
+    // checks that next and prev are inverse and the routes are chained to a single giant tour
+    private static void assertConsistent(GiantTour tour) {
+        int nNodes = MAX_CUSTOMER_ID + 1 + 2 * N_VEHICLES;
+        for (int node = 1; node < nNodes; node++) {
+            if (tour.getRoute(node) == -1) {
+                assertEquals(-1, tour.getNext(node));
+                assertEquals(-1, tour.getPrev(node));
+                continue;
+            }
+            assertEquals(node, tour.getPrev(tour.getNext(node)));
+            assertEquals(node, tour.getNext(tour.getPrev(node)));
+        }
+        for (int v = 0; v < N_VEHICLES; v++)
+            assertEquals(tour.getStartDepot((v + 1) % N_VEHICLES), tour.getNext(tour.getEndDepot(v)));
+    }
+
+    private static void assertSameTour(GiantTour expected, GiantTour actual) {
+        int nNodes = MAX_CUSTOMER_ID + 1 + 2 * N_VEHICLES;
+        for (int node = 1; node < nNodes; node++) {
+            assertEquals("next of " + node, expected.getNext(node), actual.getNext(node));
+            assertEquals("prev of " + node, expected.getPrev(node), actual.getPrev(node));
+            assertEquals("route of " + node, expected.getRoute(node), actual.getRoute(node));
+        }
+    }
+
+    @Test
+    public void emptyRoutesLinkDepots() {
+        for (int v = 0; v < N_VEHICLES; v++) {
+            assertEquals(tour.getEndDepot(v), tour.getNext(tour.getStartDepot(v)));
+            assertEquals(v, tour.getRoute(tour.getStartDepot(v)));
+            assertTrue(tour.isDepot(tour.getStartDepot(v)));
+            assertFalse(tour.isEndDepot(tour.getStartDepot(v)));
+            assertTrue(tour.isEndDepot(tour.getEndDepot(v)));
+            assertTrue(route(tour, v).isEmpty());
+        }
+        for (int customer = 1; customer <= MAX_CUSTOMER_ID; customer++)
+            assertEquals(-1, tour.getRoute(customer));
+        assertConsistent(tour);
+    }
+
+    @Test
+    public void insertIntoEmptyRoute() {
+        tour.insert(4, 1, 0);
+        assertEquals(Arrays.asList(4), route(tour, 1));
+        assertEquals(1, tour.getRoute(4));
+        assertEquals(0, tour.getPredecessor(4));
+        assertEquals(0, tour.getSuccessor(4));
+        assertTrue(route(tour, 0).isEmpty());
+        assertTrue(route(tour, 2).isEmpty());
+        assertConsistent(tour);
+    }
+
+    @Test
+    public void insertAndRemoveAtRouteEnds() {
+        tour.insert(2, 0, 0);
+        // front
+        tour.insert(1, 0, 0);
+        // back
+        tour.insert(3, 0, 2);
+        // middle
+        tour.insert(5, 0, 1);
+        assertEquals(Arrays.asList(1, 5, 2, 3), route(tour, 0));
+        assertEquals(0, tour.getPredecessor(1));
+        assertEquals(5, tour.getSuccessor(1));
+        assertEquals(2, tour.getPredecessor(3));
+        assertEquals(0, tour.getSuccessor(3));
+        assertConsistent(tour);
+
+        // remove first and last customer
+        tour.remove(1);
+        tour.remove(3);
+        assertEquals(Arrays.asList(5, 2), route(tour, 0));
+        assertEquals(0, tour.getPredecessor(5));
+        assertEquals(0, tour.getSuccessor(2));
+        assertEquals(-1, tour.getRoute(1));
+        assertConsistent(tour);
+
+        // remove the remaining customers: the route is empty again
+        tour.remove(5);
+        tour.remove(2);
+        assertTrue(route(tour, 0).isEmpty());
+        assertEquals(tour.getEndDepot(0), tour.getNext(tour.getStartDepot(0)));
+        assertConsistent(tour);
+    }
+
+    @Test
+    public void rejectsInvalidInsertionsAndRemovals() {
+        tour.insert(1, 0, 0);
+        assertThrows(IllegalStateException.class, () -> tour.insert(1, 2, 0));
+        assertThrows(IllegalStateException.class, () -> tour.remove(2));
+        assertThrows(IllegalArgumentException.class, () -> tour.insertAfter(tour.getEndDepot(0), 2));
+        // unassigned predecessor
+        assertThrows(IllegalArgumentException.class, () -> tour.insert(2, 0, 3));
+        assertEquals(Arrays.asList(1), route(tour, 0));
+        assertConsistent(tour);
+    }
+
+    @Test
+    public void moveSegmentBetweenRoutes() {
+        for (int customer : new int[] {1, 2, 3, 4})
+            tour.insertAfter(tour.getPrev(tour.getEndDepot(0)), customer);
+        tour.insert(5, 2, 0);
+        tour.insert(6, 2, 5);
+
+        // segment 2, 3 moved after customer 5 of vehicle 2
+        tour.moveSegment(2, 3, 5);
+        assertEquals(Arrays.asList(1, 4), route(tour, 0));
+        assertEquals(Arrays.asList(5, 2, 3, 6), route(tour, 2));
+        assertEquals(2, tour.getRoute(2));
+        assertEquals(2, tour.getRoute(3));
+        assertEquals(5, tour.getPredecessor(2));
+        assertEquals(6, tour.getSuccessor(3));
+        assertConsistent(tour);
+
+        // whole route moved into an empty route
+        tour.moveSegment(1, 4, tour.getStartDepot(1));
+        assertTrue(route(tour, 0).isEmpty());
+        assertEquals(Arrays.asList(1, 4), route(tour, 1));
+        assertEquals(0, tour.getPredecessor(1));
+        assertEquals(0, tour.getSuccessor(4));
+        assertConsistent(tour);
+
+        // within a route: segment 5, 2 moved behind customer 6
+        tour.moveSegment(5, 2, 6);
+        assertEquals(Arrays.asList(3, 6, 5, 2), route(tour, 2));
+        assertConsistent(tour);
+    }
+
+    @Test
+    public void moveSegmentRejectsInvalidArguments() {
+        tour.insert(1, 0, 0);
+        tour.insert(2, 1, 0);
+        assertThrows(IllegalArgumentException.class, () -> tour.moveSegment(1, 2, tour.getStartDepot(2)));
+        assertThrows(IllegalArgumentException.class, () -> tour.moveSegment(3, 3, tour.getStartDepot(2)));
+        assertThrows(IllegalArgumentException.class, () -> tour.moveSegment(1, 1, tour.getEndDepot(2)));
+        assertThrows(IllegalArgumentException.class, () -> tour.moveSegment(1, 1, 4));
+        assertConsistent(tour);
+    }
+
+    @Test
+    public void moveSegmentRejectsNodeWithinSegment() {
+        for (int customer : new int[] {1, 2, 3, 4})
+            tour.insertAfter(tour.getPrev(tour.getEndDepot(0)), customer);
+        assertThrows(IllegalArgumentException.class, () -> tour.moveSegment(2, 4, 3));
+        assertThrows(IllegalArgumentException.class, () -> tour.moveSegment(2, 4, 2));
+        assertThrows(IllegalArgumentException.class, () -> tour.moveSegment(2, 4, 4));
+        assertThrows(IllegalArgumentException.class, () -> tour.moveSegment(3, 3, 3));
+        // last precedes first: no segment
+        assertThrows(IllegalArgumentException.class, () -> tour.moveSegment(3, 2, 1));
+        assertEquals(Arrays.asList(1, 2, 3, 4), route(tour, 0));
+        assertConsistent(tour);
+
+        // the nodes delimiting the segment from outside are valid targets
+        tour.moveSegment(2, 3, 4);
+        assertEquals(Arrays.asList(1, 4, 2, 3), route(tour, 0));
+        tour.moveSegment(4, 2, tour.getStartDepot(0));
+        assertEquals(Arrays.asList(4, 2, 1, 3), route(tour, 0));
+        assertConsistent(tour);
+    }
+
+    @Test
+    public void copyFromYieldsSameLinks() {
+        tour.insert(3, 0, 0);
+        tour.insert(7, 0, 3);
+        tour.insert(1, 2, 0);
+
+        GiantTour other = new GiantTour(MAX_CUSTOMER_ID, N_VEHICLES);
+        other.insert(2, 1, 0);
+        other.insert(3, 1, 2);
+        assertTrue(other.isCompatible(tour));
+        other.copyFrom(tour);
+        assertSameTour(tour, other);
+
+        // the copy is independent of the source
+        other.remove(7);
+        assertEquals(0, tour.getRoute(7));
+
+        GiantTour copy = new GiantTour(tour);
+        assertSameTour(tour, copy);
+        assertFalse(tour.isCompatible(new GiantTour(MAX_CUSTOMER_ID, N_VEHICLES + 1)));
+        assertFalse(tour.isCompatible(new GiantTour(MAX_CUSTOMER_ID + 1, N_VEHICLES)));
+    }
+}
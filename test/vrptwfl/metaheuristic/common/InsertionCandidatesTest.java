@@ -0,0 +1,170 @@
+package vrptwfl.metaheuristic.common;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class InsertionCandidatesTest {
+
+    // adds a candidate whose customer id identifies it in the assertions
+    private static int add(InsertionCandidates candidates, int customer, double costs, double penaltyCosts) {
+        return candidates.add(customer, customer % 3, customer % 5, 10.0 * customer, costs, customer % 7, customer % 2, customer % 4, penaltyCosts);
+    }
+
+    private static int[] rankedCustomers(InsertionCandidates candidates) {
+        int[] customers = new int[candidates.size()];
+        for (int r = 0; r < candidates.size(); r++)
+            customers[r] = candidates.getCustomer(candidates.getRanked(r));
+        return customers;
+    }
+
+    @Test
+    public void sortByCostsIsStable() {
+        InsertionCandidates candidates = new InsertionCandidates();
+        add(candidates, 1, 5.0, 0.0);
+        add(candidates, 2, 3.0, 4.0);
+        add(candidates, 3, 5.0, 0.0);
+        add(candidates, 4, 1.0, 6.0);
+        add(candidates, 5, 3.0, 0.0);
+        add(candidates, 6, 5.0, 0.0);
+
+        // equal costs keep the order in which the candidates were added
+        candidates.sortByCosts(false);
+        assertArrayEquals(new int[] {4, 2, 5, 1, 3, 6}, rankedCustomers(candidates));
+
+        // with penalty: 5, 7, 5, 7, 3, 5
+        candidates.sortByCosts(true);
+        assertArrayEquals(new int[] {5, 1, 3, 6, 2, 4}, rankedCustomers(candidates));
+
+        // the rows themselves are not moved
+        for (int i = 0; i < candidates.size(); i++)
+            assertEquals(i + 1, candidates.getCustomer(i));
+    }
+
+    @Test
+    public void sortByCostsBeyondInitialCapacity() {
+        InsertionCandidates candidates = new InsertionCandidates();
+        int n = 200;
+        for (int c = 1; c <= n; c++)
+            add(candidates, c, c % 10, 0.0);
+        assertEquals(n, candidates.size());
+        candidates.sortByCosts(false);
+        int previousCustomer = 0;
+        double previousCosts = -1;
+        for (int r = 0; r < n; r++) {
+            int row = candidates.getRanked(r);
+            double costs = candidates.getCosts(row);
+            assertTrue(costs >= previousCosts);
+            if (costs == previousCosts)
+                assertTrue("ties are ranked by row", candidates.getCustomer(row) > previousCustomer);
+            previousCosts = costs;
+            previousCustomer = candidates.getCustomer(row);
+        }
+    }
+
+    @Test
+    public void getRankedRequiresSortedCandidates() {
+        InsertionCandidates candidates = new InsertionCandidates();
+        add(candidates, 1, 2.0, 0.0);
+        add(candidates, 2, 1.0, 0.0);
+        try {
+            candidates.getRanked(0);
+            fail("unsorted candidates were ranked");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        candidates.sortByCosts(false);
+        assertEquals(1, candidates.getRanked(0));
+
+        // each modification invalidates the ranking
+        candidates.setPenaltyCosts(0, 1.0);
+        assertThrows(IllegalStateException.class, () -> candidates.getRanked(0));
+        candidates.sortByCosts(false);
+        add(candidates, 3, 0.5, 0.0);
+        assertThrows(IllegalStateException.class, () -> candidates.getRanked(0));
+        candidates.sortByCosts(false);
+        candidates.remove(2);
+        assertThrows(IllegalStateException.class, () -> candidates.getRanked(0));
+        candidates.sortByCosts(false);
+        candidates.truncate(0, 1);
+        assertThrows(IllegalStateException.class, () -> candidates.getRanked(0));
+    }
+
+    @Test
+    public void getBestReturnsFirstOnTies() {
+        InsertionCandidates candidates = new InsertionCandidates();
+        assertEquals(-1, candidates.getBest(0, false));
+        add(candidates, 1, 4.0, 0.0);
+        add(candidates, 2, 2.0, 3.0);
+        add(candidates, 3, 2.0, 0.0);
+        add(candidates, 4, 4.0, 0.0);
+        add(candidates, 5, 2.0, 0.0);
+
+        assertEquals(1, candidates.getBest(0, false));
+        assertEquals(2, candidates.getBest(0, true));
+        // only rows [from, size) are inspected
+        assertEquals(2, candidates.getBest(2, false));
+        assertEquals(4, candidates.getBest(3, false));
+        assertEquals(-1, candidates.getBest(candidates.size(), false));
+    }
+
+    @Test
+    public void truncateKeepsPrefixAndMovesKeptRow() {
+        InsertionCandidates candidates = new InsertionCandidates();
+        for (int c = 1; c <= 6; c++)
+            add(candidates, c, c, 0.5 * c);
+        double[] kept = candidates.toArray(4);
+        candidates.truncate(2, 4);
+        assertEquals(3, candidates.size());
+        assertEquals(1, candidates.getCustomer(0));
+        assertEquals(2, candidates.getCustomer(1));
+        assertTrue(candidates.matches(2, kept));
+
+        // keeping the first row of the range
+        candidates.truncate(1, 1);
+        assertEquals(2, candidates.size());
+        assertEquals(2, candidates.getCustomer(1));
+    }
+
+    @Test
+    public void removeKeepsOrder() {
+        InsertionCandidates candidates = new InsertionCandidates();
+        for (int c = 1; c <= 5; c++)
+            add(candidates, c, 10 - c, 0.0);
+        double[] last = candidates.toArray(4);
+        candidates.remove(1);
+        assertEquals(4, candidates.size());
+        assertArrayEquals(new int[] {1, 3, 4, 5}, new int[] {candidates.getCustomer(0), candidates.getCustomer(1), candidates.getCustomer(2), candidates.getCustomer(3)});
+        assertTrue(candidates.matches(3, last));
+        candidates.remove(3);
+        candidates.remove(0);
+        assertEquals(2, candidates.size());
+        assertEquals(3, candidates.getCustomer(0));
+        assertEquals(4, candidates.getCustomer(1));
+    }
+
+    @Test
+    public void matchesArrayRepresentation() {
+        InsertionCandidates candidates = new InsertionCandidates();
+        int row = candidates.add(7, 2, 3, 120.5, 17.25, 4, 1, 6, 2.5);
+        double[] insertion = candidates.toArray(row);
+        assertArrayEquals(new double[] {7, 2, 3, 120.5, 17.25, 4, 1, 6, 2.5}, insertion, 0.0);
+        assertEquals(19.75, candidates.getTotalCosts(row), 0.0);
+        assertTrue(candidates.matches(row, insertion));
+        for (int k = 0; k < insertion.length; k++) {
+            double[] other = insertion.clone();
+            other[k] += 1;
+            assertFalse("field " + k, candidates.matches(row, other));
+        }
+        assertFalse(candidates.matches(row, new double[] {7, 2, 3, 120.5, 17.25, 4, 1, 6}));
+    }
+
+    @Test
+    public void threadBufferIsSharedAndCleared() {
+        InsertionCandidates candidates = InsertionCandidates.forCurrentThread();
+        add(candidates, 1, 1.0, 0.0);
+        InsertionCandidates again = InsertionCandidates.forCurrentThread();
+        assertSame(candidates, again);
+        assertTrue(again.isEmpty());
+    }
+}
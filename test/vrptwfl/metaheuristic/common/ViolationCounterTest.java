@@ -0,0 +1,115 @@
+package vrptwfl.metaheuristic.common;
+
+import org.junit.Test;
+import vrptwfl.metaheuristic.utils.DataUtils;
+
+import static org.junit.Assert.*;
+
+public class ViolationCounterTest {
+
+    private static final int MAX_CUSTOMER_ID = 10;
+    private static final int TW = DataUtils.PenaltyIdx.TWViolation.getId();
+    private static final int CAPACITY = DataUtils.PenaltyIdx.Capacity.getId();
+    private static final int SKILL = DataUtils.PenaltyIdx.SkillLvl.getId();
+
+    private static int[] violators(ViolationCounter counter, int penaltyIdx) {
+        int[] customers = new int[counter.getNViolatingCustomers(penaltyIdx)];
+        for (int i = 0; i < customers.length; i++)
+            customers[i] = counter.getViolatingCustomer(penaltyIdx, i);
+        return customers;
+    }
+
+    private static void assertEmpty(ViolationCounter counter) {
+        assertEquals(0, counter.getTotal());
+        for (DataUtils.PenaltyIdx type : DataUtils.PenaltyIdx.values()) {
+            assertEquals(0, counter.getCount(type.getId()));
+            assertEquals(0, counter.getNViolatingCustomers(type.getId()));
+            for (int customer = 0; customer <= MAX_CUSTOMER_ID; customer++)
+                assertEquals(0, counter.getCount(type.getId(), customer));
+        }
+    }
+
+    private static void assertSameViolations(ViolationCounter expected, ViolationCounter actual) {
+        assertEquals(expected.getTotal(), actual.getTotal());
+        for (DataUtils.PenaltyIdx type : DataUtils.PenaltyIdx.values()) {
+            int t = type.getId();
+            assertEquals(expected.getCount(t), actual.getCount(t));
+            assertArrayEquals(violators(expected, t), violators(actual, t));
+            for (int customer = 0; customer <= MAX_CUSTOMER_ID; customer++)
+                assertEquals(type + " " + customer, expected.getCount(t, customer), actual.getCount(t, customer));
+        }
+    }
+
+    @Test
+    public void recordsViolationsPerCustomer() {
+        ViolationCounter counter = new ViolationCounter(MAX_CUSTOMER_ID);
+        counter.add(TW, 5);
+        counter.add(TW, 2);
+        counter.add(TW, 5);
+        counter.add(CAPACITY, 10);
+        assertEquals(4, counter.getTotal());
+        assertEquals(3, counter.getCount(TW));
+        assertEquals(2, counter.getCount(TW, 5));
+        assertEquals(1, counter.getCount(TW, 2));
+        // violating customers in the order of their first violation
+        assertArrayEquals(new int[] {5, 2}, violators(counter, TW));
+        assertArrayEquals(new int[] {10}, violators(counter, CAPACITY));
+        assertEquals(0, counter.getNViolatingCustomers(SKILL));
+    }
+
+    @Test
+    public void recordClearRecord() {
+        ViolationCounter counter = new ViolationCounter(MAX_CUSTOMER_ID);
+        counter.add(TW, 3);
+        counter.add(TW, 3);
+        counter.add(SKILL, 7);
+        counter.clear();
+        assertEmpty(counter);
+
+        // no stale counts or violators of the first recording
+        counter.add(TW, 4);
+        counter.add(SKILL, 7);
+        assertEquals(2, counter.getTotal());
+        assertEquals(0, counter.getCount(TW, 3));
+        assertEquals(1, counter.getCount(TW, 4));
+        assertEquals(1, counter.getCount(SKILL, 7));
+        assertArrayEquals(new int[] {4}, violators(counter, TW));
+        assertArrayEquals(new int[] {7}, violators(counter, SKILL));
+    }
+
+    @Test
+    public void copyFromReplacesDifferentViolators() {
+        ViolationCounter source = new ViolationCounter(MAX_CUSTOMER_ID);
+        source.add(TW, 1);
+        source.add(TW, 8);
+        source.add(TW, 1);
+        source.add(CAPACITY, 6);
+
+        ViolationCounter target = new ViolationCounter(MAX_CUSTOMER_ID);
+        target.add(TW, 2);
+        target.add(TW, 8);
+        target.add(SKILL, 9);
+        target.add(SKILL, 9);
+
+        assertTrue(target.isCompatible(source));
+        target.copyFrom(source);
+        assertSameViolations(source, target);
+        assertEquals(0, target.getCount(TW, 2));
+        assertEquals(0, target.getCount(SKILL, 9));
+
+        // the copy is independent of the source
+        target.add(SKILL, 3);
+        assertEquals(0, source.getCount(SKILL));
+        source.clear();
+        assertEquals(3, target.getCount(TW));
+
+        // copying an empty counter
+        target.copyFrom(source);
+        assertEmpty(target);
+
+        // copy constructor
+        source.add(CAPACITY, 4);
+        assertSameViolations(source, new ViolationCounter(source));
+        assertFalse(target.isCompatible(new ViolationCounter(MAX_CUSTOMER_ID + 1)));
+    }
+}
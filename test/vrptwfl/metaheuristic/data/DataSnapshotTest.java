@@ -0,0 +1,159 @@
+package vrptwfl.metaheuristic.data;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import vrptwfl.metaheuristic.Config;
+import vrptwfl.metaheuristic.instanceGeneration.SolomonInstanceGenerator;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class DataSnapshotTest {
+
+    private static final int N_CUSTOMERS = 25;
+    // segments of 64 bytes, i.e., most values of the snapshot cross a segment boundary at some point
+    private static final int SEGMENT_BITS = 6;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Config config;
+    private Path sourceFile;
+
+    @Before
+    public void setup() throws Exception {
+        config = Config.loadFromFile("resources/config.yaml");
+        config.dataSnapshotDir = folder.newFolder("snapshots").getPath();
+        config.distanceMatrixDir = folder.newFolder("matrices").getPath();
+        config.mapDistanceMatrices = false;
+        config.distanceMatrixLayout = "flat";
+        Config.bindToCurrentThread(config);
+        sourceFile = folder.getRoot().toPath().resolve("R101.txt");
+        Files.copy(SolomonInstanceGenerator.getInstancePath("R101.txt"), sourceFile, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @After
+    public void tearDown() {
+        Config.bindToCurrentThread(null);
+    }
+
+    private Data[] load() throws Exception {
+        Data data = new SolomonInstanceGenerator().loadInstance("R101.txt", N_CUSTOMERS);
+        data.setSourceFile(sourceFile);
+        return new Data[] {data};
+    }
+
+    private static void assertSameMatrix(String kind, DistanceMatrix expected, DistanceMatrix actual) {
+        assertEquals(kind, expected.size(), actual.size());
+        DistanceMatrix.Layout layout = actual.getLayout();
+        boolean singlePrecision = layout == DistanceMatrix.Layout.FLOAT || layout == DistanceMatrix.Layout.TRIANGULAR_FLOAT;
+        for (int i = 0; i < expected.size(); i++) {
+            for (int j = 0; j < expected.size(); j++) {
+                double value = singlePrecision ? (float) expected.get(i, j) : expected.get(i, j);
+                assertEquals(kind + " (" + i + ", " + j + ")", value, actual.get(i, j), 0.0);
+            }
+        }
+    }
+
+    private void assertSameData(Data expected, Data actual) {
+        assertEquals(expected.getInstanceName(), actual.getInstanceName());
+        assertEquals(sourceFile, actual.getSourceFile());
+        assertEquals(expected.getnCustomers(), actual.getnCustomers());
+        assertEquals(expected.getnVehicles(), actual.getnVehicles());
+        assertEquals(expected.getVehicleCapacity(), actual.getVehicleCapacity());
+        assertEquals(expected.getMaxDistanceInGraph(), actual.getMaxDistanceInGraph(), 0.0);
+        assertEquals(expected.getEndOfPlanningHorizon(), actual.getEndOfPlanningHorizon(), 0.0);
+        assertArrayEquals(expected.getCustomers(), actual.getCustomers());
+        assertArrayEquals(expected.getLocationCapacity(), actual.getLocationCapacity());
+        assertArrayEquals(expected.getDemands(), actual.getDemands());
+        assertArrayEquals(expected.getEarliestStartTimes(), actual.getEarliestStartTimes());
+        assertArrayEquals(expected.getLatestStartTimes(), actual.getLatestStartTimes());
+        assertArrayEquals(expected.getServiceDurations(), actual.getServiceDurations());
+        assertArrayEquals(expected.getOriginalCustomerIds(), actual.getOriginalCustomerIds());
+        assertArrayEquals(expected.getCustomersPreferredLocation(), actual.getCustomersPreferredLocation());
+
+        // every kind of matrix
+        assertSameMatrix("distances", expected.getDistanceMatrix(), actual.getDistanceMatrix());
+        assertSameMatrix("swapping", expected.getSwappingCosts(), actual.getSwappingCosts());
+        double[][] averageStartTimes = expected.getAverageStartTimesMatrix();
+        for (int i = 0; i < averageStartTimes.length; i++)
+            assertArrayEquals("average start times " + i, averageStartTimes[i], actual.getAverageStartTimesMatrix()[i], 0.0);
+
+        assertEquals(expected.getPredCustomers(), actual.getPredCustomers());
+        assertEquals(expected.getCustomersToLocations(), actual.getCustomersToLocations());
+        assertEquals(expected.getLocationsToCustomers(), actual.getLocationsToCustomers());
+    }
+
+    @Test
+    public void roundTripKeepsAllData() throws Exception {
+        Data[] data = load();
+        Path path = DataSnapshot.getSnapshotPath("R101", N_CUSTOMERS, sourceFile);
+        DataSnapshot.write(data, path);
+        for (DistanceMatrix.Layout layout : DistanceMatrix.Layout.values()) {
+            config.distanceMatrixLayout = layout.name().toLowerCase();
+            for (boolean mapped : new boolean[] {false, true}) {
+                config.mapDistanceMatrices = mapped;
+                Data[] read = DataSnapshot.read(path, SEGMENT_BITS);
+                assertNotNull(read);
+                assertEquals(1, read.length);
+                assertEquals(layout, read[0].getDistanceMatrix().getLayout());
+                assertEquals(mapped, read[0].getDistanceMatrix() instanceof MappedDistanceMatrix);
+                assertSameData(data[0], read[0]);
+            }
+        }
+        // default segment size
+        assertSameData(data[0], DataSnapshot.read(path)[0]);
+    }
+
+    @Test
+    public void mappedMatricesAreKeyedByInstanceFile() throws Exception {
+        Path path = DataSnapshot.getSnapshotPath("R101", N_CUSTOMERS, sourceFile);
+        DataSnapshot.write(load(), path);
+        config.mapDistanceMatrices = true;
+        Data[] read = DataSnapshot.read(path, SEGMENT_BITS);
+        // the matrix file carries the key of the instance file, not the one of the snapshot
+        String sourceKey = Data.getSourceKey(sourceFile);
+        List<Path> files;
+        try (Stream<Path> list = Files.list(Path.of(config.distanceMatrixDir))) {
+            files = list.collect(Collectors.toList());
+        }
+        assertEquals(2, files.size());
+        for (Path file : files)
+            assertTrue(file.toString(), file.getFileName().toString().endsWith("_" + sourceKey + ".matrix"));
+        assertTrue(read[0].getDistanceMatrix() instanceof MappedDistanceMatrix);
+    }
+
+    @Test
+    public void editedInstanceFileInvalidatesSnapshot() throws Exception {
+        Path path = DataSnapshot.getSnapshotPath("R101", N_CUSTOMERS, sourceFile);
+        DataSnapshot.write(load(), path);
+        assertNotNull(DataSnapshot.readIfExists(path));
+
+        Files.writeString(sourceFile, Files.readString(sourceFile) + "\n");
+        Files.setLastModifiedTime(sourceFile, FileTime.fromMillis(Files.getLastModifiedTime(sourceFile).toMillis() + 1000));
+
+        // the edited file yields a new snapshot name ...
+        Path edited = DataSnapshot.getSnapshotPath("R101", N_CUSTOMERS, sourceFile);
+        assertNotEquals(path, edited);
+        assertNull(DataSnapshot.readIfExists(edited));
+        // ... and the stale snapshot is rejected by its header
+        assertNull(DataSnapshot.read(path));
+    }
+
+    @Test
+    public void unknownInstanceFileHasNoSnapshot() {
+        assertNull(DataSnapshot.getSnapshotPath("R101", N_CUSTOMERS, folder.getRoot().toPath().resolve("missing.txt")));
+        assertNull(DataSnapshot.getSnapshotPath("R101", N_CUSTOMERS, null));
+        assertNull(DataSnapshot.readIfExists(null));
+    }
+}
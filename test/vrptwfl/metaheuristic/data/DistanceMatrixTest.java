@@ -0,0 +1,92 @@
+package vrptwfl.metaheuristic.data;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class DistanceMatrixTest {
+
+    private static final int SIZE = 7;
+
+    // symmetric, integral entries (exact in float), zero diagonal
+    private static double symmetric(int i, int j) {
+        return i == j ? 0 : 10 * Math.max(i, j) + Math.min(i, j) + 1;
+    }
+
+    // asymmetric entries
+    private static double asymmetric(int i, int j) {
+        return 10 * i + j + 0.5;
+    }
+
+    private static double[][] full(DistanceMatrix.Values values) {
+        double[][] matrix = new double[SIZE][SIZE];
+        for (int i = 0; i < SIZE; i++)
+            for (int j = 0; j < SIZE; j++)
+                matrix[i][j] = values.get(i, j);
+        return matrix;
+    }
+
+    private static void assertMatches(double[][] expected, DistanceMatrix matrix) {
+        assertEquals(expected.length, matrix.size());
+        for (int i = 0; i < expected.length; i++) {
+            for (int j = 0; j < expected.length; j++)
+                assertEquals("entry (" + i + ", " + j + ")", expected[i][j], matrix.get(i, j), 0.0);
+            assertArrayEquals(expected[i], matrix.getRow(i), 0.0);
+        }
+    }
+
+    @Test
+    public void allLayoutsMatchFullMatrix() {
+        double[][] expected = full(DistanceMatrixTest::symmetric);
+        for (DistanceMatrix.Layout layout : DistanceMatrix.Layout.values()) {
+            DistanceMatrix matrix = DistanceMatrix.create(expected, layout);
+            assertEquals(layout, matrix.getLayout());
+            assertMatches(expected, matrix);
+        }
+    }
+
+    @Test
+    public void fullLayoutsKeepAsymmetricEntries() {
+        double[][] expected = full(DistanceMatrixTest::asymmetric);
+        assertMatches(expected, DistanceMatrix.create(expected, DistanceMatrix.Layout.FLAT));
+        assertMatches(expected, DistanceMatrix.create(expected, DistanceMatrix.Layout.FLOAT));
+    }
+
+    @Test
+    public void triangularLayoutRejectsAsymmetricMatrix() {
+        double[][] matrix = full(DistanceMatrixTest::asymmetric);
+        for (DistanceMatrix.Layout layout : new DistanceMatrix.Layout[] {DistanceMatrix.Layout.TRIANGULAR, DistanceMatrix.Layout.TRIANGULAR_FLOAT}) {
+            try {
+                DistanceMatrix.create(matrix, layout);
+                fail("layout " + layout + " accepted an asymmetric matrix");
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void triangularIndexAtDiagonal() {
+        // row i starts at i * (i + 1) / 2; the diagonal entry is the last one of the row
+        assertEquals(0, DistanceMatrix.triangularIndex(0, 0));
+        assertEquals(2, DistanceMatrix.triangularIndex(1, 1));
+        assertEquals(3, DistanceMatrix.triangularIndex(2, 0));
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(DistanceMatrix.triangularIndex(i, i) + 1, DistanceMatrix.triangularIndex(i + 1, 0));
+            for (int j = 0; j < i; j++)
+                assertEquals(DistanceMatrix.triangularIndex(i, j), DistanceMatrix.triangularIndex(j, i));
+        }
+        assertEquals(DistanceMatrix.triangularLength(SIZE), DistanceMatrix.triangularIndex(SIZE - 1, SIZE - 1) + 1);
+    }
+
+    @Test
+    public void wrapAdoptsRowMajorArray() {
+        double[][] expected = full(DistanceMatrixTest::asymmetric);
+        double[] rowMajor = new double[SIZE * SIZE];
+        for (int i = 0; i < SIZE; i++)
+            System.arraycopy(expected[i], 0, rowMajor, i * SIZE, SIZE);
+        DistanceMatrix matrix = DistanceMatrix.wrap(SIZE, rowMajor);
+        assertEquals(DistanceMatrix.Layout.FLAT, matrix.getLayout());
+        assertMatches(expected, matrix);
+    }
+}
@@ -0,0 +1,92 @@
+package vrptwfl.metaheuristic.data;
+
+import org.junit.Test;
+import vrptwfl.metaheuristic.common.Solution;
+import vrptwfl.metaheuristic.common.ViolationCounter;
+import vrptwfl.metaheuristic.utils.DataUtils;
+
+import static org.junit.Assert.*;
+
+public class GLSViolationHistoryTest {
+
+    private static final int MAX_CUSTOMER_ID = 10;
+    private static final int TW = DataUtils.PenaltyIdx.TWViolation.getId();
+    private static final int CAPACITY = DataUtils.PenaltyIdx.Capacity.getId();
+
+    // solution with the given number of time window violations (one per customer), capacity violations are set to id % 2
+    private static Solution solution(int id) {
+        ViolationCounter violations = new ViolationCounter(MAX_CUSTOMER_ID);
+        for (int customer = 1; customer <= id; customer++)
+            violations.add(TW, customer);
+        if (id % 2 == 1)
+            violations.add(CAPACITY, 1);
+        Solution s = new Solution(null);
+        s.setViolations(violations);
+        s.setTotalCosts(100.0 * id);
+        return s;
+    }
+
+    // checks that the history holds the summaries of the given solutions, oldest first
+    private static void assertHolds(GLSViolationHistory history, int... ids) {
+        assertEquals(ids.length, history.size());
+        for (int i = 0; i < ids.length; i++) {
+            assertEquals("costs of summary " + i, 100.0 * ids[i], history.getTotalCosts(i), 0.0);
+            assertEquals("time windows of summary " + i, ids[i], history.getViolations(i)[TW]);
+            assertEquals("capacity of summary " + i, ids[i] % 2, history.getViolations(i)[CAPACITY]);
+        }
+    }
+
+    @Test
+    public void fillBelowCapacity() {
+        GLSViolationHistory history = new GLSViolationHistory(3);
+        assertEquals(0, history.size());
+        history.record(solution(1));
+        history.record(solution(2));
+        assertHolds(history, 1, 2);
+        assertEquals(2, history.getNRecorded());
+        assertEquals(0, history.getViolations(0)[DataUtils.PenaltyIdx.Unscheduled.getId()]);
+        assertThrows(IndexOutOfBoundsException.class, () -> history.getTotalCosts(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> history.getViolations(-1));
+    }
+
+    @Test
+    public void wraparoundOverwritesOldest() {
+        GLSViolationHistory history = new GLSViolationHistory(3);
+        for (int id = 1; id <= 5; id++)
+            history.record(solution(id));
+        // summaries 1 and 2 are overwritten, the oldest kept one is in the middle of the ring
+        assertHolds(history, 3, 4, 5);
+        assertEquals(5, history.getNRecorded());
+        assertThrows(IndexOutOfBoundsException.class, () -> history.getTotalCosts(3));
+
+        // a full turn of the ring
+        for (int id = 6; id <= 8; id++)
+            history.record(solution(id));
+        assertHolds(history, 6, 7, 8);
+    }
+
+    @Test
+    public void clearKeepsRecordedCount() {
+        GLSViolationHistory history = new GLSViolationHistory(3);
+        for (int id = 1; id <= 4; id++)
+            history.record(solution(id));
+        history.clear();
+        assertEquals(0, history.size());
+        assertThrows(IndexOutOfBoundsException.class, () -> history.getViolations(0));
+        assertEquals(4, history.getNRecorded());
+
+        // the ring is filled from its start again
+        history.record(solution(7));
+        history.record(solution(2));
+        assertHolds(history, 7, 2);
+        assertEquals(6, history.getNRecorded());
+    }
+
+    @Test
+    public void zeroCapacityKeepsNothing() {
+        GLSViolationHistory history = new GLSViolationHistory(0);
+        history.record(solution(1));
+        assertEquals(0, history.size());
+        assertEquals(0, history.getNRecorded());
+    }
+}
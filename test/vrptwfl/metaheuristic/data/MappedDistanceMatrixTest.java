@@ -0,0 +1,97 @@
+package vrptwfl.metaheuristic.data;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import vrptwfl.metaheuristic.Config;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.Assert.*;
+
+public class MappedDistanceMatrixTest {
+
+    private static final int SIZE = 13;
+    // segments of 64 bytes, i.e., 8 doubles or 16 floats per segment
+    private static final int SEGMENT_BITS = 6;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Config config;
+
+    @Before
+    public void setup() {
+        config = Config.loadFromFile("resources/config.yaml");
+        config.mapDistanceMatrices = true;
+        config.distanceMatrixDir = folder.getRoot().getPath();
+        config.distanceMatrixLayout = "flat";
+        Config.bindToCurrentThread(config);
+    }
+
+    @After
+    public void tearDown() {
+        Config.bindToCurrentThread(null);
+    }
+
+    // symmetric, integral entries (exact in float)
+    private static double value(int i, int j) {
+        return 100 * Math.max(i, j) + Math.min(i, j);
+    }
+
+    @Test
+    public void readsAcrossSegmentBoundaries() {
+        for (DistanceMatrix.Layout layout : DistanceMatrix.Layout.values()) {
+            Path path = folder.getRoot().toPath().resolve("segments_" + layout + ".matrix");
+            MappedDistanceMatrix matrix = MappedDistanceMatrix.open(path, SIZE, layout, MappedDistanceMatrixTest::value, SEGMENT_BITS);
+            assertEquals(layout, matrix.getLayout());
+            assertEquals((matrix.getStorageBytes() + 63) / 64, matrix.getNSegments());
+            assertTrue(matrix.getNSegments() > 1);
+            for (int i = 0; i < SIZE; i++)
+                for (int j = 0; j < SIZE; j++)
+                    assertEquals(layout + " (" + i + ", " + j + ")", value(i, j), matrix.get(i, j), 0.0);
+        }
+    }
+
+    @Test
+    public void reopeningKeepsExistingFile() throws IOException {
+        Path path = folder.getRoot().toPath().resolve("reopen.matrix");
+        MappedDistanceMatrix.open(path, SIZE, DistanceMatrix.Layout.FLAT, MappedDistanceMatrixTest::value, SEGMENT_BITS);
+        FileTime written = Files.getLastModifiedTime(path);
+        // a different segment size maps the existing file again, the values are not evaluated
+        MappedDistanceMatrix matrix = MappedDistanceMatrix.open(path, SIZE, DistanceMatrix.Layout.FLAT, (i, j) -> -1, SEGMENT_BITS + 1);
+        assertEquals(written, Files.getLastModifiedTime(path));
+        assertEquals(value(SIZE - 1, 3), matrix.get(SIZE - 1, 3), 0.0);
+    }
+
+    @Test
+    public void modifiedSourceFileYieldsNewMatrix() throws IOException {
+        Path source = folder.newFile("instance.txt").toPath();
+        Files.writeString(source, "version 1");
+        DistanceMatrix first = Data.createMatrix("instance", source, "distances", SIZE, DistanceMatrix.Layout.FLAT, (i, j) -> 1.0);
+        assertTrue(first instanceof MappedDistanceMatrix);
+        assertEquals(1.0, first.get(2, 3), 0.0);
+
+        // same source file -> same matrix file
+        DistanceMatrix same = Data.createMatrix("instance", source, "distances", SIZE, DistanceMatrix.Layout.FLAT, (i, j) -> 2.0);
+        assertEquals(1.0, same.get(2, 3), 0.0);
+
+        // edited source file -> new matrix file
+        Files.writeString(source, "version 2 (edited)");
+        Files.setLastModifiedTime(source, FileTime.fromMillis(Files.getLastModifiedTime(source).toMillis() + 1000));
+        DistanceMatrix edited = Data.createMatrix("instance", source, "distances", SIZE, DistanceMatrix.Layout.FLAT, (i, j) -> 2.0);
+        assertEquals(2.0, edited.get(2, 3), 0.0);
+    }
+
+    @Test
+    public void unknownSourceFileIsNotMapped() {
+        DistanceMatrix matrix = Data.createMatrix("instance", null, "distances", SIZE, DistanceMatrix.Layout.FLAT, MappedDistanceMatrixTest::value);
+        assertFalse(matrix instanceof MappedDistanceMatrix);
+        assertEquals(value(4, 7), matrix.get(4, 7), 0.0);
+    }
+}
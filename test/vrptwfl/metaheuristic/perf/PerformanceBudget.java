@@ -0,0 +1,125 @@
+package vrptwfl.metaheuristic.perf;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.Map;
+
+import org.yaml.snakeyaml.Yaml;
+
+/**
+ * Measures throughput and allocation of an operation and checks them against the
+ * stored baselines (resources/perf_baselines.yaml). A measurement fails if its
+ * throughput drops below baseline / throughput_tolerance or if its allocation per
+ * operation exceeds baseline * allocation_tolerance. The tolerances can be overridden
+ * by the system properties perf.throughputTolerance and perf.allocationTolerance.
+ * The measured values are printed, such that the baselines can be updated.
+ *
+ * @author Christian M.M. Frey
+ */
+public class PerformanceBudget {
+
+	public static final String BASELINE_FILE = "resources/perf_baselines.yaml";
+
+	private Map<String, Object> baselines;
+	private double throughputTolerance;
+	private double allocationTolerance;
+
+	/**
+	 * An operation being measured.
+	 */
+	public interface Operation {
+		/**
+		 * Executes the operation once.
+		 * @return number of units processed by the call (e.g., ALNS iterations)
+		 * @throws Exception
+		 */
+		long run() throws Exception;
+	}
+
+	/**
+	 * Result of a measurement.
+	 */
+	public static class Measurement {
+		public final double opsPerSecond;
+		public final double bytesPerOp;
+
+		Measurement(double opsPerSecond, double bytesPerOp) {
+			this.opsPerSecond = opsPerSecond;
+			this.bytesPerOp = bytesPerOp;
+		}
+	}
+
+	/**
+	 * Constructor. Loads the baselines and the tolerances.
+	 */
+	@SuppressWarnings("unchecked")
+	public PerformanceBudget() {
+		try (InputStream inputStream = new FileInputStream(new File(BASELINE_FILE))) {
+			Map<String, Object> obj = new Yaml().load(inputStream);
+			this.baselines = (Map<String, Object>) obj.get("baselines");
+			this.throughputTolerance = Double.parseDouble(System.getProperty("perf.throughputTolerance", String.valueOf(obj.get("throughput_tolerance"))));
+			this.allocationTolerance = Double.parseDouble(System.getProperty("perf.allocationTolerance", String.valueOf(obj.get("allocation_tolerance"))));
+		} catch (IOException e) {
+			throw new IllegalStateException("Could not read performance baselines " + BASELINE_FILE, e);
+		}
+	}
+
+	/**
+	 * Measures the attached operation. The operation is executed warmup times without
+	 * measuring, then repetitions times while the elapsed time and the bytes allocated
+	 * by the current thread are measured.
+	 * @param warmup: number of warmup executions
+	 * @param repetitions: number of measured executions
+	 * @param operation: operation being measured
+	 * @return measurement (per unit returned by the operation)
+	 * @throws Exception
+	 */
+	public static Measurement measure(int warmup, int repetitions, Operation operation) throws Exception {
+		for (int i = 0; i < warmup; i++)
+			operation.run();
+
+		com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long threadId = Thread.currentThread().getId();
+		long units = 0;
+		long bytesBefore = threadBean.getThreadAllocatedBytes(threadId);
+		long timeBefore = System.nanoTime();
+		for (int i = 0; i < repetitions; i++)
+			units += operation.run();
+		long nanos = System.nanoTime() - timeBefore;
+		long bytes = threadBean.getThreadAllocatedBytes(threadId) - bytesBefore;
+
+		units = Math.max(units, 1);
+		return new Measurement(units * 1e9 / Math.max(nanos, 1), (double) bytes / units);
+	}
+
+	/**
+	 * Checks the attached measurement against the baseline with the attached name.
+	 * @param name: name of the baseline
+	 * @param measurement: measured values
+	 */
+	@SuppressWarnings("unchecked")
+	public void check(String name, Measurement measurement) {
+		System.out.println(String.format(Locale.ROOT, "[perf] %s: ops_per_second: %.1f, bytes_per_op: %.0f",
+				name, measurement.opsPerSecond, measurement.bytesPerOp));
+
+		Map<String, Object> baseline = this.baselines != null ? (Map<String, Object>) this.baselines.get(name) : null;
+		if (baseline == null) {
+			fail("No performance baseline '" + name + "' in " + BASELINE_FILE);
+			return;
+		}
+		double opsPerSecond = ((Number) baseline.get("ops_per_second")).doubleValue();
+		double bytesPerOp = ((Number) baseline.get("bytes_per_op")).doubleValue();
+
+		assertTrue(name + ": throughput " + measurement.opsPerSecond + " ops/s is below the budget of " + opsPerSecond / this.throughputTolerance
+				+ " ops/s (baseline " + opsPerSecond + ")", measurement.opsPerSecond >= opsPerSecond / this.throughputTolerance);
+		assertTrue(name + ": allocation " + measurement.bytesPerOp + " bytes/op exceeds the budget of " + bytesPerOp * this.allocationTolerance
+				+ " bytes/op (baseline " + bytesPerOp + ")", measurement.bytesPerOp <= bytesPerOp * this.allocationTolerance);
+	}
+}
@@ -0,0 +1,99 @@
+package vrptwfl.metaheuristic.perf;
+
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import vrptwfl.metaheuristic.Config;
+import vrptwfl.metaheuristic.ConstructionHeuristicRegret;
+import vrptwfl.metaheuristic.MainALNS;
+import vrptwfl.metaheuristic.alns.ALNSCore;
+import vrptwfl.metaheuristic.alns.removals.RandomRemoval;
+import vrptwfl.metaheuristic.common.Solution;
+import vrptwfl.metaheuristic.data.Data;
+import vrptwfl.metaheuristic.utils.OutputSink;
+
+/**
+ * Performance regression tests: fixed-seed construction, insertion evaluation and a fixed
+ * number of ALNS iterations on the bundled Solomon instance R104 (100 customers).
+ * Throughput and allocation are checked against the baselines in resources/perf_baselines.yaml.
+ * Run with: mvn -Pperf test
+ *
+ * @author Christian M.M. Frey
+ */
+@Category(PerformanceTests.class)
+public class PerformanceRegressionTest {
+
+	private static final String INSTANCE = "R104";
+	private static final int N_CUSTOMERS = 100;
+	private static final long SEED = 42;
+
+	private PerformanceBudget budget;
+	private Config config;
+	private Data data;
+
+	@Before
+	public void setup() throws Exception {
+		this.budget = new PerformanceBudget();
+		this.config = Config.loadFromFile("resources/config.yaml");
+		this.config.randomGenerator = new Random(SEED);
+		this.config.enableMetrics = false;
+		Config.bindToCurrentThread(this.config);
+
+		this.data = MainALNS.loadSolomonInstance(INSTANCE, N_CUSTOMERS)[0];
+		MainALNS.setInstanceSpecificParameters(this.data.getnCustomers(), this.data.getMaxDistanceInGraph());
+		if (this.config.enableGLS || this.config.enableGLSFeature)
+			this.data.initGLSSettings();
+	}
+
+	@After
+	public void tearDown() {
+		Config.bindToCurrentThread(null);
+	}
+
+	@Test
+	public void constructionWithinBudget() throws Exception {
+		try (OutputSink sink = new OutputSink(this.data, "test_out/perf", "results_perf.txt", INSTANCE)) {
+			PerformanceBudget.Measurement measurement = PerformanceBudget.measure(3, 5, () -> {
+				new ConstructionHeuristicRegret(this.data, sink).constructSolution(2);
+				return 1;
+			});
+			this.budget.check("construction_R104", measurement);
+		}
+	}
+
+	@Test
+	public void possibleInsertionsWithinBudget() throws Exception {
+		Solution solution;
+		try (OutputSink sink = new OutputSink(this.data, "test_out/perf", "results_perf.txt", INSTANCE)) {
+			solution = new ConstructionHeuristicRegret(this.data, sink).constructSolution(2);
+		}
+		solution.setIsConstruction(false);
+		new RandomRemoval(this.data).destroy(solution);
+		Solution partialSolution = solution;
+
+		PerformanceBudget.Measurement measurement = PerformanceBudget.measure(20, 100, () -> {
+			for (int customer : partialSolution.getNotAssignedCustomers())
+				partialSolution.getPossibleInsertionsForCustomer(customer);
+			return partialSolution.getNotAssignedCustomers().size();
+		});
+		this.budget.check("possible_insertions_R104", measurement);
+	}
+
+	@Test
+	public void alnsIterationsWithinBudget() throws Exception {
+		this.config.alnsIterations = 250;
+		try (OutputSink sink = new OutputSink(this.data, "test_out/perf", "results_perf.txt", INSTANCE)) {
+			Solution solutionConstr = new ConstructionHeuristicRegret(this.data, sink).constructSolution(2);
+			PerformanceBudget.Measurement measurement = PerformanceBudget.measure(1, 2, () -> {
+				ALNSCore alns = new ALNSCore(this.data, sink);
+				alns.runALNS(solutionConstr.copyDeep());
+				return alns.getIterationsPerformed();
+			});
+			this.budget.check("alns_iteration_R104", measurement);
+		}
+	}
+}
@@ -0,0 +1,10 @@
+package vrptwfl.metaheuristic.perf;
+
+/**
+ * JUnit category of the performance regression tests. Tests of this category are
+ * excluded from the default test run and executed with the maven profile 'perf'.
+ *
+ * @author Christian M.M. Frey
+ */
+public interface PerformanceTests {
+}
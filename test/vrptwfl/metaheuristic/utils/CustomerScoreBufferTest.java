@@ -0,0 +1,81 @@
+package vrptwfl.metaheuristic.utils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CustomerScoreBufferTest {
+
+    private static int[] customers(CustomerScoreBuffer buffer) {
+        int[] customers = new int[buffer.size()];
+        for (int r = 0; r < buffer.size(); r++)
+            customers[r] = buffer.getCustomer(r);
+        return customers;
+    }
+
+    @Test
+    public void sortByScoreIsStable() {
+        CustomerScoreBuffer buffer = new CustomerScoreBuffer();
+        buffer.add(1, 0, 3.0, 1.0);
+        buffer.add(2, 1, 1.0, 2.0);
+        buffer.add(3, 0, 3.0, 0.0);
+        buffer.add(4, 2, 1.0, 2.0);
+        buffer.add(5, 1, 2.0, 1.0);
+        buffer.add(6, 2, 3.0, 0.0);
+
+        buffer.sortByScore();
+        assertArrayEquals(new int[] {2, 4, 5, 1, 3, 6}, customers(buffer));
+        assertEquals(1, buffer.getVehicle(0));
+        assertEquals(1.0, buffer.getScore(1), 0.0);
+
+        // sorting by the second score keeps the order by score on ties
+        buffer.sortBySecondScore();
+        assertArrayEquals(new int[] {3, 6, 5, 1, 2, 4}, customers(buffer));
+    }
+
+    @Test
+    public void sortBeyondInitialCapacity() {
+        CustomerScoreBuffer buffer = new CustomerScoreBuffer();
+        int n = 300;
+        for (int c = 1; c <= n; c++)
+            buffer.add(c, c % 4, (c * 7) % 10);
+        buffer.sortByScore();
+        assertEquals(n, buffer.size());
+        for (int r = 1; r < n; r++) {
+            assertTrue(buffer.getScore(r - 1) <= buffer.getScore(r));
+            if (buffer.getScore(r - 1) == buffer.getScore(r))
+                assertTrue("ties keep the order of insertion", buffer.getCustomer(r - 1) < buffer.getCustomer(r));
+        }
+    }
+
+    @Test
+    public void truncateAndRemoveKeepRanks() {
+        CustomerScoreBuffer buffer = new CustomerScoreBuffer();
+        for (int c = 1; c <= 6; c++)
+            buffer.add(c, 0, 10 - c);
+        buffer.sortByScore();
+        buffer.truncate(4);
+        assertArrayEquals(new int[] {6, 5, 4, 3}, customers(buffer));
+        buffer.remove(1);
+        assertArrayEquals(new int[] {6, 4, 3}, customers(buffer));
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.getCustomer(3));
+
+        // rows added afterwards are ranked last
+        buffer.add(7, 0, 0.0);
+        assertArrayEquals(new int[] {6, 4, 3, 7}, customers(buffer));
+        buffer.sortByScore();
+        assertArrayEquals(new int[] {7, 6, 4, 3}, customers(buffer));
+    }
+
+    @Test
+    public void clearRemovesAllRows() {
+        CustomerScoreBuffer buffer = new CustomerScoreBuffer();
+        buffer.add(1, 0, 1.0);
+        buffer.add(2, 0, 0.5);
+        buffer.clear();
+        assertTrue(buffer.isEmpty());
+        buffer.add(3, 1, 2.0);
+        buffer.sortByScore();
+        assertArrayEquals(new int[] {3}, customers(buffer));
+    }
+}
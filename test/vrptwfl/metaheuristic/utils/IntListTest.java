@@ -0,0 +1,64 @@
+package vrptwfl.metaheuristic.utils;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class IntListTest {
+
+    @Test
+    public void growsBeyondInitialCapacity() {
+        IntList list = new IntList();
+        for (int i = 0; i < 100; i++)
+            list.add(i * i);
+        assertEquals(100, list.size());
+        for (int i = 0; i < 100; i++)
+            assertEquals(i * i, list.get(i));
+        assertTrue(list.contains(99 * 99));
+        assertFalse(list.contains(2));
+    }
+
+    @Test
+    public void truncateKeepsFront() {
+        IntList list = new IntList();
+        list.addAll(Arrays.asList(5, 3, 8, 1));
+        list.truncate(10);
+        assertEquals(4, list.size());
+        list.truncate(2);
+        assertEquals(Arrays.asList(5, 3), list.toList());
+        assertFalse(list.contains(8));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(2));
+
+        // values added after truncating overwrite the dropped ones
+        list.add(9);
+        assertEquals(Arrays.asList(5, 3, 9), list.toList());
+        list.truncate(0);
+        assertTrue(list.isEmpty());
+    }
+
+    @Test
+    public void removeAtKeepsOrder() {
+        IntList list = new IntList();
+        list.addAll(Arrays.asList(4, 7, 2, 9));
+        assertEquals(7, list.removeAt(1));
+        assertEquals(Arrays.asList(4, 2, 9), list.toList());
+        assertEquals(9, list.removeAt(2));
+        assertEquals(Arrays.asList(4, 2), list.toList());
+    }
+
+    @Test
+    public void clearKeepsList() {
+        IntList list = new IntList();
+        for (int i = 0; i < 40; i++)
+            list.add(i);
+        list.clear();
+        assertTrue(list.isEmpty());
+        assertFalse(list.contains(0));
+        list.add(3);
+        list.add(1);
+        list.sort();
+        assertEquals(Arrays.asList(1, 3), list.toList());
+    }
+}
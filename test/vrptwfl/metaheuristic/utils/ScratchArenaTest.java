@@ -0,0 +1,119 @@
+package vrptwfl.metaheuristic.utils;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class ScratchArenaTest {
+
+    private static void assertUniqueInRange(IntList numbers, int lo, int hi) {
+        boolean[] seen = new boolean[hi - lo + 1];
+        for (int i = 0; i < numbers.size(); i++) {
+            int number = numbers.get(i);
+            assertTrue(number + " not in [" + lo + ", " + hi + "]", number >= lo && number <= hi);
+            assertFalse(number + " drawn twice", seen[number - lo]);
+            seen[number - lo] = true;
+        }
+    }
+
+    @Test
+    public void samplesAreUniqueAndInRange() {
+        ScratchArena arena = new ScratchArena();
+        Random random = new Random(42);
+        IntList numbers = new IntList();
+        for (int draw = 0; draw < 200; draw++) {
+            int lo = random.nextInt(20) - 10;
+            int hi = lo + random.nextInt(50);
+            int k = random.nextInt(hi - lo + 2);
+            numbers.clear();
+            arena.sampleUniqueInRange(k, lo, hi, random, numbers);
+            assertEquals(k, numbers.size());
+            assertUniqueInRange(numbers, lo, hi);
+        }
+    }
+
+    @Test
+    public void drawingWholeRangeYieldsPermutation() {
+        ScratchArena arena = new ScratchArena();
+        IntList numbers = new IntList();
+        // the numbers are appended to the list
+        numbers.add(-1);
+        arena.sampleUniqueInRange(25, 1, 25, new Random(7), numbers);
+        assertEquals(26, numbers.size());
+        assertEquals(-1, numbers.removeAt(0));
+        assertUniqueInRange(numbers, 1, 25);
+
+        numbers.clear();
+        arena.sampleUniqueInRange(1, 5, 5, new Random(7), numbers);
+        assertEquals(5, numbers.get(0));
+        numbers.clear();
+        arena.sampleUniqueInRange(0, 1, 3, new Random(7), numbers);
+        assertTrue(numbers.isEmpty());
+    }
+
+    @Test
+    public void rejectsTooManyNumbers() {
+        ScratchArena arena = new ScratchArena();
+        assertThrows(IllegalArgumentException.class, () -> arena.sampleUniqueInRange(4, 1, 3, new Random(1), new IntList()));
+        assertThrows(IllegalArgumentException.class, () -> arena.sampleUniqueInRange(-1, 1, 3, new Random(1), new IntList()));
+    }
+
+    @Test
+    public void samplesStayUniqueAfterStampWrapsAround() {
+        ScratchArena arena = new ScratchArena();
+        Random random = new Random(3);
+        IntList numbers = new IntList();
+        // the first draw leaves swapped positions stamped with 1
+        arena.sampleUniqueInRange(10, 0, 19, random, numbers);
+        // the stamp of the next draw is Integer.MAX_VALUE - 1, the one after wraps around to 1
+        arena.setStamp(Integer.MAX_VALUE - 2);
+        for (int draw = 0; draw < 3; draw++) {
+            numbers.clear();
+            arena.sampleUniqueInRange(20, 0, 19, random, numbers);
+            assertEquals(20, numbers.size());
+            assertUniqueInRange(numbers, 0, 19);
+        }
+    }
+
+    @Test
+    public void borrowedIntListIsCleared() {
+        ScratchArena arena = new ScratchArena();
+        IntList list = arena.borrowIntList();
+        list.add(1);
+        list.add(2);
+        arena.release(list);
+        IntList again = arena.borrowIntList();
+        assertSame(list, again);
+        assertTrue(again.isEmpty());
+        // a second borrow without a return yields another list
+        assertNotSame(again, arena.borrowIntList());
+    }
+
+    @Test
+    public void borrowedScoreBufferIsCleared() {
+        ScratchArena arena = new ScratchArena();
+        CustomerScoreBuffer buffer = arena.borrowScoreBuffer();
+        buffer.add(1, 0, 2.0);
+        arena.release(buffer);
+        CustomerScoreBuffer again = arena.borrowScoreBuffer();
+        assertSame(buffer, again);
+        assertTrue(again.isEmpty());
+        again.add(3, 1, 1.0);
+        assertEquals(3, again.getCustomer(0));
+        assertNotSame(again, arena.borrowScoreBuffer());
+    }
+
+    @Test
+    public void arenaIsPerThread() throws InterruptedException {
+        ScratchArena arena = ScratchArena.forCurrentThread();
+        assertSame(arena, ScratchArena.forCurrentThread());
+        ScratchArena[] other = new ScratchArena[1];
+        Thread thread = new Thread(() -> other[0] = ScratchArena.forCurrentThread());
+        thread.start();
+        thread.join();
+        assertNotNull(other[0]);
+        assertNotSame(arena, other[0]);
+    }
+}
@@ -0,0 +1,64 @@
+package vrptwfl.metaheuristic.utils;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class StableSortTest {
+
+    private static int[] identity(int size, int length) {
+        int[] order = new int[length];
+        for (int i = 0; i < size; i++)
+            order[i] = i;
+        return order;
+    }
+
+    @Test
+    public void matchesComparatorSortOfBoxedKeys() {
+        Random random = new Random(11);
+        // sizes with an odd and an even number of merge passes
+        for (int size : new int[] {0, 1, 2, 3, 5, 8, 17, 100}) {
+            double[] keys = new double[size];
+            for (int i = 0; i < size; i++)
+                keys[i] = random.nextInt(6);
+            int[] order = identity(size, size + 3);
+            StableSort.sortIndices(order, new int[size + 3], size, keys);
+
+            Integer[] expected = new Integer[size];
+            for (int i = 0; i < size; i++)
+                expected[i] = i;
+            Arrays.sort(expected, Comparator.comparing(i -> keys[i]));
+            for (int r = 0; r < size; r++)
+                assertEquals("rank " + r + " of " + size, (int) expected[r], order[r]);
+        }
+    }
+
+    @Test
+    public void sortsPermutedIndicesStably() {
+        double[] keys = {2.0, 1.0, 2.0, 0.0, 1.0};
+        int[] order = {4, 2, 0, 1, 3};
+        StableSort.sortIndices(order, new int[5], 5, keys);
+        // ties keep the order of the indices before the sort
+        assertArrayEquals(new int[] {3, 4, 1, 2, 0}, order);
+    }
+
+    @Test
+    public void ordersSignedZerosAndNaNLikeDoubleCompare() {
+        double[] keys = {Double.NaN, 0.0, -0.0, Double.NEGATIVE_INFINITY};
+        int[] order = identity(4, 4);
+        StableSort.sortIndices(order, new int[4], 4, keys);
+        assertArrayEquals(new int[] {3, 2, 1, 0}, order);
+    }
+
+    @Test
+    public void keepsIndicesBeyondSize() {
+        double[] keys = {3.0, 1.0, 2.0, 0.0};
+        int[] order = {0, 1, 2, 3};
+        StableSort.sortIndices(order, new int[4], 3, keys);
+        assertArrayEquals(new int[] {1, 2, 0, 3}, order);
+    }
+}